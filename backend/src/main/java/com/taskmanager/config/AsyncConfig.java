@@ -0,0 +1,49 @@
+package com.taskmanager.config;
+
+import java.util.concurrent.Callable;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+// Executor das respostas assíncronas do MVC (StreamingResponseBody de GET /api/tasks/stream). O Spring Boot
+// não cria o applicationTaskExecutor quando já existe outro Executor (o passwordHashExecutor), então ele é
+// definido aqui: uma thread virtual por resposta, sem fila nem limite de threads. A vaga do limitador de
+// concorrência só é devolvida quando a resposta assíncrona termina (RateLimitFilter).
+@Configuration
+public class AsyncConfig {
+
+    @Bean
+    public WebMvcConfigurer asyncSupportConfigurer() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("mvc-async-");
+        executor.setVirtualThreads(true);
+        return new WebMvcConfigurer() {
+            @Override
+            public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+                configurer.setTaskExecutor(executor);
+                configurer.registerCallableInterceptors(sqlStatementCounterPropagation());
+            }
+        };
+    }
+
+    // O SQL emitido na thread de trabalho conta para a requisição (orçamento de SQL, amostra do limitador)
+    private static CallableProcessingInterceptor sqlStatementCounterPropagation() {
+        return new CallableProcessingInterceptor() {
+            @Override
+            public <T> void preProcess(NativeWebRequest request, Callable<T> task) {
+                SqlStatementCounter.bind((SqlStatementCounter.Stats) request.getAttribute(
+                        SqlStatementCounter.STATS_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST));
+            }
+
+            @Override
+            public <T> void postProcess(NativeWebRequest request, Callable<T> task, Object concurrentResult) {
+                SqlStatementCounter.unbind();
+            }
+        };
+    }
+}
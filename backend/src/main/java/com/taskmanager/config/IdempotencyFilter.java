@@ -0,0 +1,245 @@
+package com.taskmanager.config;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import com.taskmanager.service.IdempotencyService;
+import com.taskmanager.service.IdempotentResponse;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Suporte ao cabeçalho Idempotency-Key nos endpoints configurados. A chave é isolada por usuário e a
+// impressão digital (método, caminho, query e corpo) impede reaproveitar a chave com outra requisição.
+// Repetições recebem a resposta gravada sem chegar ao controller nem ao TaskService.
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyFilter.class);
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyService idempotencyService;
+    private final boolean enabled;
+    private final int maxBodyBytes;
+    private final List<String[]> endpoints = new ArrayList<>();
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public IdempotencyFilter(IdempotencyService idempotencyService,
+                             @Value("${app.idempotency.enabled:true}") boolean enabled,
+                             @Value("${app.idempotency.max-body-bytes:1048576}") int maxBodyBytes,
+                             @Value("${app.idempotency.endpoints:/api/tasks:POST,/api/tasks/bulk-update-status:POST}") String endpoints) {
+        this.idempotencyService = idempotencyService;
+        this.enabled = enabled;
+        this.maxBodyBytes = maxBodyBytes;
+        // Formato: caminho:MÉTODO, separados por vírgula (mesmo estilo de app.public-endpoints)
+        for (String endpoint : endpoints.split(",")) {
+            if (!endpoint.isBlank()) {
+                this.endpoints.add(endpoint.trim().split(":"));
+            }
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!enabled || request.getHeader(IDEMPOTENCY_KEY_HEADER) == null) {
+            return true;
+        }
+        for (String[] endpoint : endpoints) {
+            if ((endpoint.length < 2 || endpoint[1].equalsIgnoreCase(request.getMethod()))
+                    && pathMatcher.match(endpoint[0], request.getRequestURI())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String idempotencyKey = request.getHeader(IDEMPOTENCY_KEY_HEADER).trim();
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            // Sem usuário a requisição será recusada pela autorização; não há o que deduplicar
+            chain.doFilter(request, response);
+            return;
+        }
+        if (idempotencyKey.isEmpty() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            writeError(response, HttpStatus.BAD_REQUEST, "Idempotency-Key inválida (1 a " + MAX_KEY_LENGTH + " caracteres).");
+            return;
+        }
+        if (request.getContentLengthLong() > maxBodyBytes) {
+            writeError(response, HttpStatus.PAYLOAD_TOO_LARGE, "Corpo grande demais para uma requisição idempotente.");
+            return;
+        }
+
+        // Sem Content-Length (chunked) o limite vale durante a leitura: lê-se no máximo um byte além dele
+        byte[] body = request.getInputStream().readNBytes((int) Math.min((long) maxBodyBytes + 1, Integer.MAX_VALUE));
+        if (body.length > maxBodyBytes) {
+            writeError(response, HttpStatus.PAYLOAD_TOO_LARGE, "Corpo grande demais para uma requisição idempotente.");
+            return;
+        }
+        String key = authentication.getName() + ":" + idempotencyKey;
+        String fingerprint = fingerprint(request, body);
+
+        IdempotencyService.Claim claim;
+        try {
+            claim = idempotencyService.claim(key, fingerprint);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            writeError(response, HttpStatus.SERVICE_UNAVAILABLE, "Requisição interrompida.");
+            return;
+        }
+
+        switch (claim.getOutcome()) {
+            case REPLAY -> replay(response, claim.getResponse(), idempotencyKey);
+            case MISMATCH -> {
+                logger.warn("Idempotency-Key {} reutilizada com outra requisição: {} {}", idempotencyKey, request.getMethod(), request.getRequestURI());
+                writeError(response, HttpStatus.UNPROCESSABLE_ENTITY, "Idempotency-Key já usada com outra requisição.");
+            }
+            case IN_PROGRESS -> {
+                response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+                writeError(response, HttpStatus.CONFLICT, "Requisição com esta Idempotency-Key ainda em processamento.");
+            }
+            case EXECUTE -> execute(request, response, chain, body, key, fingerprint);
+        }
+    }
+
+    private void execute(HttpServletRequest request, HttpServletResponse response, FilterChain chain,
+                         byte[] body, String key, String fingerprint) throws ServletException, IOException {
+        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        boolean completed = false;
+        try {
+            chain.doFilter(new CachedBodyRequest(request, body), responseWrapper);
+            idempotencyService.complete(key, fingerprint, responseWrapper.getStatus(),
+                    responseWrapper.getContentType(), responseWrapper.getContentAsByteArray());
+            completed = true;
+        } finally {
+            if (!completed) {
+                idempotencyService.abandon(key);
+            }
+            responseWrapper.copyBodyToResponse();
+        }
+    }
+
+    private void replay(HttpServletResponse response, IdempotentResponse stored, String idempotencyKey) throws IOException {
+        logger.info("Repetindo a resposta gravada para a Idempotency-Key {}", idempotencyKey);
+        response.setStatus(stored.getStatus());
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (stored.getContentType() != null) {
+            response.setContentType(stored.getContentType());
+        }
+        response.setContentLength(stored.getBody().length);
+        response.getOutputStream().write(stored.getBody());
+    }
+
+    private static String fingerprint(HttpServletRequest request, byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((request.getMethod() + " " + request.getRequestURI() + "?" + request.getQueryString() + "\n")
+                    .getBytes(StandardCharsets.UTF_8));
+            digest.update(body);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+
+    private static void writeError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write(message);
+    }
+
+    // O corpo já foi lido para calcular a impressão digital; o controller o lê de novo daqui
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                // O corpo já está em memória: não há o que esperar, os dados ficam disponíveis na hora
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    if (!isAsyncStarted()) {
+                        throw new IllegalStateException("ReadListener exige uma requisição assíncrona");
+                    }
+                    try {
+                        if (!isFinished()) {
+                            listener.onDataAvailable();
+                        }
+                        if (isFinished()) {
+                            listener.onAllDataRead();
+                        }
+                    } catch (IOException e) {
+                        listener.onError(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -1,9 +1,18 @@
 package com.taskmanager.config;
 
+import java.util.List;
+
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 
 @Configuration
@@ -11,11 +20,30 @@ public class JacksonConfig {
 
     @Bean
     public ObjectMapper objectMapper() {
-        ObjectMapper objectMapper = new ObjectMapper();
-        objectMapper.registerModule(new JavaTimeModule());
-        // Desativar ajuste automático de fuso horário
-        objectMapper.configure(com.fasterxml.jackson.databind.SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
-        objectMapper.configure(com.fasterxml.jackson.databind.DeserializationFeature.ADJUST_DATES_TO_CONTEXT_TIME_ZONE, false);
-        return objectMapper;
+        return mapperBuilder().build();
+    }
+
+    // Formatos binários negociados pelo cabeçalho Accept (application/x-jackson-smile, application/cbor).
+    // Adicionados ao fim da lista: sem Accept explícito a resposta continua em JSON.
+    @Bean
+    public WebMvcConfigurer binaryFormatsConfigurer() {
+        return new WebMvcConfigurer() {
+            @Override
+            public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+                converters.add(new MappingJackson2SmileHttpMessageConverter(mapperBuilder().smile().build()));
+                converters.add(new MappingJackson2CborHttpMessageConverter(mapperBuilder().cbor().build()));
+            }
+        };
+    }
+
+    // Configuração única compartilhada por JSON, Smile e CBOR; cada formato só troca a JsonFactory
+    public static Jackson2ObjectMapperBuilder mapperBuilder() {
+        return new Jackson2ObjectMapperBuilder()
+                .modules(new JavaTimeModule())
+                // Desativar ajuste automático de fuso horário
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS,
+                        DeserializationFeature.ADJUST_DATES_TO_CONTEXT_TIME_ZONE)
+                // O builder do Spring desativa por padrão; mantém o comportamento anterior da API
+                .featuresToEnable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
     }
-}
\ No newline at end of file
+}
@@ -15,11 +15,15 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import com.taskmanager.service.JwtUtilService;
+import com.taskmanager.service.TokenRevocationList;
 
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.SignatureException;
 import io.jsonwebtoken.UnsupportedJwtException;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -35,6 +39,12 @@ public class JwtRequestFilter extends OncePerRequestFilter {
     @Autowired
     private JwtUtilService jwtUtilService;
 
+    @Autowired
+    private TokenRevocationList tokenRevocationList;
+
+    @Autowired
+    private ObservationRegistry observationRegistry;
+
     public JwtRequestFilter(ApplicationContext applicationContext) {
         this.applicationContext = applicationContext;
     }
@@ -55,12 +65,27 @@ public class JwtRequestFilter extends OncePerRequestFilter {
         if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
             jwt = authorizationHeader.substring(7);
             logger.debug("Token JWT extraído: {}", jwt);
-            try {
-                username = jwtUtilService.extractUsername(jwt);
-                logger.debug("Usuário extraído do token: {}", username);
+            // Mede a verificação do token (assinatura, expiração e revogação) por resultado.
+            // A observação gera o timer taskflow.jwt.verification e o span correspondente no trace.
+            Observation verification = Observation.createNotStarted("taskflow.jwt.verification", observationRegistry)
+                    .contextualName("jwt verify")
+                    .start();
+            String outcome = "invalid";
+            try (Observation.Scope scope = verification.openScope()) {
+                Claims claims = jwtUtilService.parseClaims(jwt);
+                // Consulta apenas memória (filtro de Bloom + conjunto exato), sem acesso ao banco
+                if (tokenRevocationList.isRevoked(claims.getId())) {
+                    outcome = "revoked";
+                    logger.warn("Token JWT revogado (jti={}) para a requisição: {} {}", claims.getId(), method, requestURI);
+                } else {
+                    outcome = "valid";
+                    username = claims.getSubject();
+                    logger.debug("Usuário extraído do token: {}", username);
+                }
             } catch (IllegalArgumentException e) {
                 logger.error("Não foi possível extrair o usuário do token JWT: {}", e.getMessage());
             } catch (ExpiredJwtException e) {
+                outcome = "expired";
                 logger.error("Token JWT expirado: {}", e.getMessage());
             } catch (SignatureException e) {
                 logger.error("Assinatura do token JWT inválida: {}", e.getMessage());
@@ -70,6 +95,8 @@ public class JwtRequestFilter extends OncePerRequestFilter {
                 logger.error("Token JWT não suportado: {}", e.getMessage());
             } catch (Exception e) {
                 logger.error("Erro ao extrair usuário do token JWT: {}", e.getMessage(), e);
+            } finally {
+                verification.lowCardinalityKeyValue("outcome", outcome).stop();
             }
         } else {
             logger.debug("Cabeçalho Authorization não contém 'Bearer ' ou está ausente.");
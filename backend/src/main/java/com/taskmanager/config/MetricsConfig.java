@@ -0,0 +1,67 @@
+package com.taskmanager.config;
+
+import java.util.Collection;
+import java.util.Optional;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+public class MetricsConfig {
+
+    // Contador de SQL por requisição (usado pelo RequestMetricsFilter), registrado no proxy do DataSource
+    // que o datasource-micrometer já monta: vale para Hibernate e JdbcTemplate
+    @Bean
+    public SqlStatementCounter sqlStatementCounter() {
+        return new SqlStatementCounter();
+    }
+
+    // O tempo de cada método de repositório já é medido pelo actuator (spring.data.repository.invocations);
+    // aqui soma-se a quantidade de linhas devolvidas por método.
+    @Bean
+    public static BeanPostProcessor repositoryRowCountPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, repositoryInformation) -> proxyFactory.addAdvice(
+                                    rowCountInterceptor(meterRegistry, repositoryInformation.getRepositoryInterface().getSimpleName()))));
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static MethodInterceptor rowCountInterceptor(ObjectProvider<MeterRegistry> meterRegistry, String repository) {
+        return invocation -> {
+            Object result = invocation.proceed();
+            int rows;
+            if (result instanceof Collection<?> collection) {
+                rows = collection.size();
+            } else if (result instanceof Slice<?> slice) {
+                rows = slice.getNumberOfElements();
+            } else if (result instanceof Optional<?> optional) {
+                rows = optional.isPresent() ? 1 : 0;
+            } else {
+                // Contagens, escritas e streams não têm um número de linhas conhecido aqui
+                return result;
+            }
+            DistributionSummary.builder("taskflow.repository.rows")
+                    .description("Linhas devolvidas por método de repositório")
+                    .tag("repository", repository)
+                    .tag("method", invocation.getMethod().getName())
+                    .register(meterRegistry.getObject())
+                    .record(rows);
+            return result;
+        };
+    }
+}
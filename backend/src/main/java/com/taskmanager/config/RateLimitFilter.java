@@ -0,0 +1,184 @@
+package com.taskmanager.config;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.taskmanager.service.AdaptiveConcurrencyLimiter;
+import com.taskmanager.service.RateLimiterStore;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Roda na cadeia do Spring Security logo após o JwtRequestFilter, já com o usuário autenticado.
+// Três barreiras, na ordem: limite adaptativo de concorrência, balde de tokens por usuário (ou IP) e
+// orçamento ponderado por custo para endpoints caros. Todas respondem 429 com Retry-After; uma recusa
+// não gasta o que as barreiras anteriores concederam (a vaga é devolvida, o token do usuário também).
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitFilter.class);
+
+    private final RateLimiterStore store;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final StartupWarmup startupWarmup;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final long requestIntervalMicros;
+    private final long requestBurstMicros;
+    private final long expensiveIntervalMicros;
+    private final long expensiveBurstMicros;
+    private final List<ExpensiveEndpoint> expensiveEndpoints = new ArrayList<>();
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public RateLimitFilter(RateLimiterStore store,
+                           AdaptiveConcurrencyLimiter concurrencyLimiter,
+                           StartupWarmup startupWarmup,
+                           MeterRegistry meterRegistry,
+                           @Value("${app.ratelimit.enabled:true}") boolean enabled,
+                           @Value("${app.ratelimit.requests-per-second:20}") double requestsPerSecond,
+                           @Value("${app.ratelimit.burst:40}") int burst,
+                           @Value("${app.ratelimit.expensive.units-per-second:2}") double expensiveUnitsPerSecond,
+                           @Value("${app.ratelimit.expensive.burst:40}") int expensiveBurst,
+                           @Value("${app.ratelimit.expensive.endpoints:}") String expensiveEndpoints) {
+        this.store = store;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.startupWarmup = startupWarmup;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.requestIntervalMicros = (long) (TimeUnit.SECONDS.toMicros(1) / requestsPerSecond);
+        this.requestBurstMicros = burst * requestIntervalMicros;
+        this.expensiveIntervalMicros = (long) (TimeUnit.SECONDS.toMicros(1) / expensiveUnitsPerSecond);
+        this.expensiveBurstMicros = expensiveBurst * expensiveIntervalMicros;
+        // Formato: caminho:MÉTODO:custo, separados por vírgula (mesmo estilo de app.public-endpoints)
+        for (String endpoint : expensiveEndpoints.split(",")) {
+            if (!endpoint.isBlank()) {
+                String[] parts = endpoint.trim().split(":");
+                int cost = parts.length > 2 ? Integer.parseInt(parts[2]) : 1;
+                this.expensiveEndpoints.add(new ExpensiveEndpoint(parts[0], parts.length > 1 ? parts[1] : null, Math.min(cost, expensiveBurst)));
+            }
+        }
+        logger.info("Limite por usuário: {}/s (burst {}); endpoints caros: {} unidades/s (burst {}) {}",
+                requestsPerSecond, burst, expensiveUnitsPerSecond, expensiveBurst, this.expensiveEndpoints);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // As requisições de aquecimento (antes do readiness) não consomem nem esbarram nos limites
+        return !enabled || !request.getRequestURI().startsWith("/api/") || startupWarmup.isWarmupRequest(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String client = clientKey(request);
+
+        // Primeiro a barreira que não consome token: recusada aqui, a requisição não pesa no balde do cliente
+        if (!concurrencyLimiter.tryAcquire()) {
+            reject(request, response, client, "concurrency", 1);
+            return;
+        }
+
+        String userKey = "user:" + client;
+        long waitMicros = store.tryAcquire(userKey, requestIntervalMicros, requestBurstMicros);
+        if (waitMicros > 0) {
+            concurrencyLimiter.release(0, false);
+            reject(request, response, client, "rate", TimeUnit.MICROSECONDS.toSeconds(waitMicros) + 1);
+            return;
+        }
+
+        ExpensiveEndpoint expensive = findExpensive(request);
+        if (expensive != null) {
+            waitMicros = store.tryAcquire("expensive:" + client, expensive.cost * expensiveIntervalMicros, expensiveBurstMicros);
+            if (waitMicros > 0) {
+                store.refund(userKey, requestIntervalMicros);
+                concurrencyLimiter.release(0, false);
+                reject(request, response, client, "expensive", TimeUnit.MICROSECONDS.toSeconds(waitMicros) + 1);
+                return;
+            }
+        }
+
+        long startedAt = System.nanoTime();
+        // Contagem da requisição (RequestMetricsFilter); nas assíncronas inclui o SQL da thread de trabalho
+        SqlStatementCounter.Stats stats = SqlStatementCounter.current();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            // Uma resposta assíncrona (fluxo NDJSON, consultas canceláveis) só devolve a vaga ao terminar: é
+            // nela que a conexão do pool fica ocupada. Ela não serve de amostra de latência para o AIMD (a
+            // duração acompanha o ritmo do cliente); das síncronas, só as que chegaram ao banco.
+            boolean sampled = !request.isAsyncStarted();
+            RequestCompletion.whenComplete(request, () -> concurrencyLimiter.release(System.nanoTime() - startedAt,
+                    sampled && stats != null && stats.getTotal() > 0));
+        }
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()) {
+            return authentication.getName();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private ExpensiveEndpoint findExpensive(HttpServletRequest request) {
+        for (ExpensiveEndpoint endpoint : expensiveEndpoints) {
+            if ((endpoint.method == null || endpoint.method.equalsIgnoreCase(request.getMethod()))
+                    && pathMatcher.match(endpoint.pattern, request.getRequestURI())) {
+                return endpoint;
+            }
+        }
+        return null;
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, String client, String reason,
+                        long retryAfterSeconds) throws IOException {
+        logger.warn("Requisição recusada ({}) para {}: {} {}; Retry-After {} s",
+                reason, client, request.getMethod(), request.getRequestURI(), retryAfterSeconds);
+        Counter.builder("taskflow.ratelimit.rejected")
+                .description("Requisições recusadas pelo limitador")
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write("Muitas requisições. Tente novamente mais tarde.");
+    }
+
+    private static final class ExpensiveEndpoint {
+        private final String pattern;
+        private final String method;
+        private final int cost;
+
+        private ExpensiveEndpoint(String pattern, String method, int cost) {
+            this.pattern = pattern;
+            this.method = method;
+            this.cost = cost;
+        }
+
+        @Override
+        public String toString() {
+            return (method == null ? "*" : method) + " " + pattern + " (custo " + cost + ")";
+        }
+    }
+}
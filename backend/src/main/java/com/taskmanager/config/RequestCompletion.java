@@ -0,0 +1,49 @@
+package com.taskmanager.config;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.http.HttpServletRequest;
+
+// Fim de uma requisição para os filtros: ao sair do chain.doFilter, ou, se ela virou assíncrona (fluxos,
+// DeferredResult), só quando a resposta assíncrona termina, expira ou falha. Os filtros não rodam de novo
+// no despacho assíncrono (OncePerRequestFilter), então é este o ponto de liberar o que a requisição ocupa.
+final class RequestCompletion {
+
+    private RequestCompletion() {
+    }
+
+    static void whenComplete(HttpServletRequest request, Runnable action) {
+        if (!request.isAsyncStarted()) {
+            action.run();
+            return;
+        }
+        AtomicBoolean done = new AtomicBoolean();
+        Runnable once = () -> {
+            if (done.compareAndSet(false, true)) {
+                action.run();
+            }
+        };
+        request.getAsyncContext().addListener(new AsyncListener() {
+            @Override
+            public void onComplete(AsyncEvent event) {
+                once.run();
+            }
+
+            @Override
+            public void onTimeout(AsyncEvent event) {
+                once.run();
+            }
+
+            @Override
+            public void onError(AsyncEvent event) {
+                once.run();
+            }
+
+            @Override
+            public void onStartAsync(AsyncEvent event) {
+            }
+        });
+    }
+}
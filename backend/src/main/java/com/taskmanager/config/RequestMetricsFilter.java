@@ -0,0 +1,106 @@
+package com.taskmanager.config;
+
+import java.io.IOException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Registra, por endpoint, quantos comandos SQL cada requisição emitiu, quantas parecem ter N+1
+// e quantas estouraram o orçamento de SQL (@SqlBudget)
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestMetricsFilter.class);
+
+    private final MeterRegistry meterRegistry;
+    private final int nPlusOneThreshold;
+    private final boolean budgetEnabled;
+    private final int defaultBudget;
+
+    public RequestMetricsFilter(MeterRegistry meterRegistry,
+                                @Value("${app.metrics.n-plus-one-threshold:5}") int nPlusOneThreshold,
+                                @Value("${app.sql.budget.enabled:true}") boolean budgetEnabled,
+                                @Value("${app.sql.budget.default-max-statements:20}") int defaultBudget) {
+        this.meterRegistry = meterRegistry;
+        this.nPlusOneThreshold = nPlusOneThreshold;
+        this.budgetEnabled = budgetEnabled;
+        this.defaultBudget = defaultBudget;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        SqlStatementCounter.Stats stats = SqlStatementCounter.begin();
+        // Já no início: as respostas assíncronas levam as estatísticas para a thread de trabalho (AsyncConfig)
+        request.setAttribute(SqlStatementCounter.STATS_ATTRIBUTE, stats);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            SqlStatementCounter.end();
+            RequestCompletion.whenComplete(request, () -> record(request, stats));
+        }
+    }
+
+    private void record(HttpServletRequest request, SqlStatementCounter.Stats stats) {
+        // Usa o padrão da rota (ex.: /api/tasks/{id}) para não explodir a cardinalidade das tags
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        String method = request.getMethod();
+
+        DistributionSummary.builder("taskflow.http.sql.statements")
+                .description("Comandos SQL emitidos por requisição")
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.getTotal());
+
+        if (stats.getMaxRepeats() >= nPlusOneThreshold) {
+            Counter.builder("taskflow.http.sql.n_plus_one")
+                    .description("Requisições em que o mesmo SQL se repetiu além do limite (suspeita de N+1)")
+                    .tag("method", method)
+                    .tag("uri", uri)
+                    .register(meterRegistry)
+                    .increment();
+            logger.debug("Suspeita de N+1 em {} {}: {} repetições de [{}]", method, uri, stats.getMaxRepeats(), stats.getMostRepeatedSql());
+        }
+
+        int budget = budgetFor(request);
+        if (budgetEnabled && budget > 0 && stats.getTotal() > budget) {
+            Counter.builder("taskflow.http.sql.budget_exceeded")
+                    .description("Requisições que emitiram mais SQL do que o orçamento do endpoint")
+                    .tag("method", method)
+                    .tag("uri", uri)
+                    .register(meterRegistry)
+                    .increment();
+            logger.warn("Orçamento de SQL excedido em {} {}: {} comandos (limite {}); mais repetido ({}x): {}",
+                    method, uri, stats.getTotal(), budget, stats.getMaxRepeats(), stats.getMostRepeatedSql());
+        }
+    }
+
+    private int budgetFor(HttpServletRequest request) {
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (handler instanceof HandlerMethod handlerMethod) {
+            SqlBudget budget = handlerMethod.getMethodAnnotation(SqlBudget.class);
+            if (budget != null) {
+                return budget.value();
+            }
+        }
+        return defaultBudget;
+    }
+}
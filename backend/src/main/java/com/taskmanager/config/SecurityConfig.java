@@ -1,10 +1,15 @@
 package com.taskmanager.config;
 
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -13,7 +18,9 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -30,13 +37,64 @@ public class SecurityConfig {
     @Autowired
     private JwtRequestFilter jwtRequestFilter;
 
+    @Autowired
+    private RateLimitFilter rateLimitFilter;
+
+    @Autowired
+    private IdempotencyFilter idempotencyFilter;
+
     @Autowired
     private UserDetailsService customUserDetailsService;
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        logger.info("Configurando PasswordEncoder como BCryptPasswordEncoder...");
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${app.auth.bcrypt-strength:10}") int bcryptStrength) {
+        logger.info("Configurando PasswordEncoder delegado (bcrypt, custo {})...", bcryptStrength);
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put("bcrypt", new ConfiguredCostBCryptPasswordEncoder(bcryptStrength));
+        DelegatingPasswordEncoder passwordEncoder = new DelegatingPasswordEncoder("bcrypt", encoders);
+        // Hashes antigos, gravados sem o prefixo {bcrypt}, continuam válidos e são regravados no próximo login
+        passwordEncoder.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder(bcryptStrength));
+        return passwordEncoder;
+    }
+
+    // O BCryptPasswordEncoder só pede regravação quando o custo gravado é menor que o configurado; aqui qualquer
+    // custo diferente é regravado no próximo login, inclusive ao reduzir app.auth.bcrypt-strength
+    static final class ConfiguredCostBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+        private final int strength;
+
+        ConfiguredCostBCryptPasswordEncoder(int strength) {
+            super(strength);
+            this.strength = strength;
+        }
+
+        @Override
+        public boolean upgradeEncoding(String encodedPassword) {
+            // Formato $2a$10$...: o custo são os dois dígitos entre o segundo e o terceiro $
+            if (encodedPassword == null || encodedPassword.length() < 7 || encodedPassword.charAt(6) != '$') {
+                return super.upgradeEncoding(encodedPassword);
+            }
+            try {
+                return Integer.parseInt(encodedPassword.substring(4, 6)) != strength;
+            } catch (NumberFormatException e) {
+                return super.upgradeEncoding(encodedPassword);
+            }
+        }
+    }
+
+    // Pool dedicado ao cálculo de hashes de senha: picos de login não ocupam as threads da API de tarefas
+    @Bean
+    public ThreadPoolTaskExecutor passwordHashExecutor(@Value("${app.auth.hash-threads:0}") int hashThreads,
+                                                       @Value("${app.auth.hash-queue-capacity:256}") int queueCapacity) {
+        int threads = hashThreads > 0 ? hashThreads : Runtime.getRuntime().availableProcessors();
+        logger.info("Configurando executor de hash de senha: {} threads, fila de {}", threads, queueCapacity);
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("password-hash-");
+        executor.initialize();
+        return executor;
     }
 
     @Bean
@@ -54,13 +112,29 @@ public class SecurityConfig {
         CorsConfiguration configuration = new CorsConfiguration();
         configuration.setAllowedOrigins(Arrays.asList("http://localhost:3000")); // Permite requisições do frontend
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS")); // Inclui PUT explicitamente
-        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type"));
+        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", IdempotencyFilter.IDEMPOTENCY_KEY_HEADER));
         configuration.setAllowCredentials(true);
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", configuration);
         return source;
     }
 
+    // O limitador e o filtro de idempotência só fazem sentido dentro da cadeia de segurança (dependem do
+    // usuário autenticado): impede que o Spring Boot os registre também como filtros de servlet, antes da autenticação.
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration(RateLimitFilter filter) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
+    @Bean
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilterRegistration(IdempotencyFilter filter) {
+        FilterRegistrationBean<IdempotencyFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         logger.info("Configurando regras de segurança para HttpSecurity...");
@@ -80,10 +154,16 @@ public class SecurityConfig {
                 .requestMatchers("/api/users").permitAll()
                 .requestMatchers("/api/tasks/**").hasAuthority("ROLE_USER") // Garante que GET, POST, PUT, DELETE para /api/tasks/** sejam permitidos para ROLE_USER
                 .requestMatchers("/api/tags/**").hasAuthority("ROLE_USER")
+                .requestMatchers("/api/projects/**").hasAuthority("ROLE_USER")
+                .requestMatchers("/api/query/**").hasAuthority("ROLE_USER")
+                // Servidos apenas na porta de gerenciamento (management.server.port), fora do tráfego público
+                .requestMatchers(EndpointRequest.to("health", "prometheus")).permitAll()
                 .anyRequest().denyAll()
         );
 
         http.addFilterBefore(jwtRequestFilter, UsernamePasswordAuthenticationFilter.class);
+        http.addFilterAfter(rateLimitFilter, JwtRequestFilter.class);
+        http.addFilterAfter(idempotencyFilter, RateLimitFilter.class);
 
         logger.info("SecurityFilterChain configurado com sucesso.");
         return http.build();
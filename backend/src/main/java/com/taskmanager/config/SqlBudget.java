@@ -0,0 +1,20 @@
+package com.taskmanager.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Número máximo de comandos SQL que uma requisição ao endpoint anotado deve emitir,
+ * contando a partir do RequestMetricsFilter (inclui a carga do usuário feita pelo JwtRequestFilter).
+ * Endpoints sem a anotação usam app.sql.budget.default-max-statements.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SqlBudget {
+
+    int value();
+}
@@ -0,0 +1,93 @@
+package com.taskmanager.config;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+/**
+ * Conta os comandos SQL executados na thread corrente, entre begin() e end(). Fica no proxy do
+ * DataSource (datasource-proxy, o mesmo do datasource-micrometer), então conta tanto o SQL do Hibernate
+ * quanto o do JdbcTemplate; um lote (executeBatch) conta como um comando. Comandos com o mesmo texto
+ * (parâmetros são "?") repetidos muitas vezes numa mesma requisição são o sintoma típico de N+1.
+ */
+public class SqlStatementCounter implements QueryExecutionListener {
+
+    // Atributo da requisição com as estatísticas finais; permite aos testes verificar o orçamento de SQL
+    public static final String STATS_ATTRIBUTE = SqlStatementCounter.class.getName() + ".STATS";
+
+    private static final ThreadLocal<Stats> CURRENT = new ThreadLocal<>();
+
+    public static Stats begin() {
+        Stats stats = new Stats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static Stats end() {
+        Stats stats = CURRENT.get();
+        CURRENT.remove();
+        return stats;
+    }
+
+    public static Stats current() {
+        return CURRENT.get();
+    }
+
+    // Trabalho da requisição feito em outra thread (respostas assíncronas): conta nas mesmas estatísticas
+    public static void bind(Stats stats) {
+        if (stats != null) {
+            CURRENT.set(stats);
+        }
+    }
+
+    public static void unbind() {
+        CURRENT.remove();
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Stats stats = CURRENT.get();
+        if (stats != null) {
+            for (QueryInfo queryInfo : queryInfoList) {
+                stats.record(queryInfo.getQuery());
+            }
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    public static final class Stats {
+        private final Map<String, Integer> countBySql = new HashMap<>();
+        private int total;
+        private int maxRepeats;
+        private String mostRepeatedSql;
+
+        // Sincronizado: com respostas assíncronas a thread da requisição e a de trabalho podem registrar
+        private synchronized void record(String sql) {
+            total++;
+            int repeats = countBySql.merge(sql, 1, Integer::sum);
+            if (repeats > maxRepeats) {
+                maxRepeats = repeats;
+                mostRepeatedSql = sql;
+            }
+        }
+
+        public synchronized int getTotal() {
+            return total;
+        }
+
+        public synchronized int getMaxRepeats() {
+            return maxRepeats;
+        }
+
+        public synchronized String getMostRepeatedSql() {
+            return mostRepeatedSql;
+        }
+    }
+}
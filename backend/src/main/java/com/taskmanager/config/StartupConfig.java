@@ -0,0 +1,101 @@
+package com.taskmanager.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationInitializer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.security.web.SecurityFilterChain;
+
+import com.taskmanager.dto.ActivityDTO;
+import com.taskmanager.dto.ActivitySummaryDTO;
+import com.taskmanager.dto.AssigneeDTO;
+import com.taskmanager.dto.AuthRequestDTO;
+import com.taskmanager.dto.AuthResponseDTO;
+import com.taskmanager.dto.BoardCardDTO;
+import com.taskmanager.dto.BoardColumnDTO;
+import com.taskmanager.dto.CommentDTO;
+import com.taskmanager.dto.CursorPageDTO;
+import com.taskmanager.dto.InboxItemDTO;
+import com.taskmanager.dto.LoginRequest;
+import com.taskmanager.dto.RefreshTokenRequestDTO;
+import com.taskmanager.dto.TagUsageDTO;
+import com.taskmanager.dto.TaskDTO;
+import com.taskmanager.entity.Project;
+import com.taskmanager.entity.Tag;
+import com.taskmanager.entity.Task;
+import com.taskmanager.entity.TaskTag;
+import com.taskmanager.entity.User;
+import com.taskmanager.service.ActivityLogService;
+import com.taskmanager.service.RankRebalancer;
+import com.taskmanager.service.ReminderScheduler;
+import com.taskmanager.service.TaskWriteBehindService;
+import com.taskmanager.service.TokenRevocationList;
+
+import jakarta.persistence.EntityManagerFactory;
+
+// Partida rápida (perfil fast-startup, build com -Paot/-Pcds/-Pnative). Com spring.main.lazy-initialization
+// os controllers, serviços e repositórios só são criados na primeira requisição (o StartupWarmup faz isso antes
+// do readiness); o que tem de estar pronto antes do primeiro usuário continua ansioso: banco e migrations,
+// segurança e os serviços de fundo (fila do histórico, lembretes, rebalanceador, lista de revogação,
+// diário da gravação adiada).
+@Configuration
+@ImportRuntimeHints(StartupConfig.NativeHints.class)
+public class StartupConfig {
+
+    @Bean
+    public static LazyInitializationExcludeFilter eagerStartupBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(
+                DataSource.class,
+                FlywayMigrationInitializer.class,
+                EntityManagerFactory.class,
+                SecurityFilterChain.class,
+                TokenRevocationList.class,
+                ActivityLogService.class,
+                ReminderScheduler.class,
+                RankRebalancer.class,
+                TaskWriteBehindService.class,
+                StartupWarmup.class);
+    }
+
+    // Dicas de reflexão/recursos para a imagem nativa além das que o Spring AOT e o Hibernate já geram
+    static final class NativeHints implements RuntimeHintsRegistrar {
+
+        // JJWT 0.11 instancia as implementações por nome e acha o (de)serializador Jackson via ServiceLoader
+        private static final String[] JJWT_TYPES = {
+                "io.jsonwebtoken.impl.DefaultJwtBuilder",
+                "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+                "io.jsonwebtoken.impl.DefaultJwtParser",
+                "io.jsonwebtoken.impl.DefaultClaims",
+                "io.jsonwebtoken.impl.DefaultHeader",
+                "io.jsonwebtoken.impl.DefaultJwsHeader",
+                "io.jsonwebtoken.impl.compression.DefaultCompressionCodecResolver",
+                "io.jsonwebtoken.jackson.io.JacksonSerializer",
+                "io.jsonwebtoken.jackson.io.JacksonDeserializer"};
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            for (String type : JJWT_TYPES) {
+                hints.reflection().registerTypeIfPresent(classLoader, type,
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+            }
+            hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.io.*");
+
+            // Respostas ResponseEntity<?> não dizem o tipo ao AOT: DTOs e entidades serializados pelo Jackson
+            new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                    ActivityDTO.class, ActivitySummaryDTO.class, AssigneeDTO.class, AuthRequestDTO.class,
+                    AuthResponseDTO.class, BoardCardDTO.class, BoardColumnDTO.class, CommentDTO.class,
+                    CursorPageDTO.class, InboxItemDTO.class, LoginRequest.class, RefreshTokenRequestDTO.class,
+                    TagUsageDTO.class, TaskDTO.class, Task.class, Tag.class, Project.class, User.class);
+            // Chave composta (@IdClass) instanciada pelo Hibernate
+            hints.reflection().registerType(TaskTag.Key.class, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.DECLARED_FIELDS);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.taskmanager.config;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.taskmanager.repository.UserRepository;
+import com.taskmanager.service.JwtUtilService;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+// Aquecimento antes do readiness: o Spring Boot só publica ReadinessState.ACCEPTING_TRAFFIC depois que os
+// listeners de ApplicationReadyEvent terminam, então as requisições feitas aqui (pela porta real, passando
+// por Tomcat, filtros, Jackson e banco) criam os beans preguiçosos e dão ao JIT os caminhos quentes antes
+// de o balanceador mandar tráfego. Sem app.warmup.username só os caminhos públicos são exercitados.
+@Component
+public class StartupWarmup {
+
+    private static final Logger logger = LoggerFactory.getLogger(StartupWarmup.class);
+
+    public static final String WARMUP_HEADER = "X-Warmup-Token";
+
+    private final UserRepository userRepository;
+    private final JwtUtilService jwtUtilService;
+    private final boolean enabled;
+    private final String username;
+    private final int iterations;
+    private final long maxDurationMillis;
+    private final List<String> endpoints = new ArrayList<>();
+    // Só este processo conhece o segredo: identifica as próprias requisições para o RateLimitFilter
+    private final String secret = UUID.randomUUID().toString();
+
+    public StartupWarmup(UserRepository userRepository,
+                         JwtUtilService jwtUtilService,
+                         @Value("${app.warmup.enabled:true}") boolean enabled,
+                         @Value("${app.warmup.username:}") String username,
+                         @Value("${app.warmup.iterations:200}") int iterations,
+                         @Value("${app.warmup.max-duration-ms:30000}") long maxDurationMillis,
+                         @Value("${app.warmup.endpoints:/api/tasks,/api/tasks/board,/api/tasks/filter?status=Pendente,/api/tasks/overdue/count,/api/tasks/assigned,/api/tags/stats}") String endpoints) {
+        this.userRepository = userRepository;
+        this.jwtUtilService = jwtUtilService;
+        this.enabled = enabled;
+        this.username = username.trim();
+        this.iterations = iterations;
+        this.maxDurationMillis = maxDurationMillis;
+        for (String endpoint : endpoints.split(",")) {
+            if (!endpoint.isBlank()) {
+                this.endpoints.add(endpoint.trim());
+            }
+        }
+    }
+
+    public boolean isWarmupRequest(HttpServletRequest request) {
+        return secret.equals(request.getHeader(WARMUP_HEADER));
+    }
+
+    // Último listener de ApplicationReadyEvent: os serviços de fundo já iniciaram
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void warmUp(ApplicationReadyEvent event) {
+        String port = event.getApplicationContext().getEnvironment().getProperty("local.server.port");
+        if (!enabled || port == null) {
+            return;
+        }
+        long startedAt = System.nanoTime();
+        long deadline = startedAt + Duration.ofMillis(maxDurationMillis).toNanos();
+        String baseUrl = "http://localhost:" + port;
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+
+        String token = null;
+        if (!username.isEmpty()) {
+            if (userRepository.findByUsername(username).isPresent()) {
+                token = jwtUtilService.generateToken(username);
+            } else {
+                logger.warn("Usuário de aquecimento {} não existe; aquecendo só os caminhos públicos", username);
+            }
+        }
+
+        int requests = 0;
+        int failures = 0;
+        for (int i = 0; i < iterations && System.nanoTime() < deadline; i++) {
+            List<HttpRequest> batch = new ArrayList<>();
+            if (token != null) {
+                for (String endpoint : endpoints) {
+                    batch.add(request(baseUrl + endpoint, token).GET().build());
+                }
+            } else {
+                // Refresh token inválido: filtro público, Jackson e serviço de tokens, sem custo de bcrypt
+                batch.add(request(baseUrl + "/api/auth/refresh", null)
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"refreshToken\":\"warmup\"}"))
+                        .build());
+            }
+            for (HttpRequest request : batch) {
+                requests++;
+                try {
+                    HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                    if (response.statusCode() >= 500) {
+                        failures++;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (Exception e) {
+                    failures++;
+                }
+            }
+        }
+        logger.info("Aquecimento concluído: {} requisições ({} falhas) em {} ms",
+                requests, failures, Duration.ofNanos(System.nanoTime() - startedAt).toMillis());
+    }
+
+    private HttpRequest.Builder request(String url, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofSeconds(10))
+                .header(WARMUP_HEADER, secret);
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+}
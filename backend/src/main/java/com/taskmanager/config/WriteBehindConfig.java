@@ -0,0 +1,44 @@
+package com.taskmanager.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.taskmanager.service.TaskWriteBehindService;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Lê as próprias escritas: antes de qualquer outra requisição do usuário, as mudanças que ele deixou para a
+// gravação adiada vão ao banco. Sem pendências dele (ou com o recurso desativado) é só uma consulta, sem trava,
+// à contagem por usuário.
+@Configuration
+public class WriteBehindConfig {
+
+    @Bean
+    public WebMvcConfigurer writeBehindConfigurer(TaskWriteBehindService taskWriteBehindService) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(new HandlerInterceptor() {
+                    @Override
+                    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                        // Outra mudança adiada do mesmo cliente não precisa esperar o envio das anteriores
+                        if (TaskWriteBehindService.prefersAsync(request.getHeader(TaskWriteBehindService.PREFER_HEADER))) {
+                            return true;
+                        }
+                        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+                        if (authentication != null && authentication.isAuthenticated()) {
+                            taskWriteBehindService.flushUser(authentication.getName());
+                        }
+                        return true;
+                    }
+                }).addPathPatterns("/api/**");
+            }
+        };
+    }
+}
@@ -1,8 +1,17 @@
 package com.taskmanager.controller;
 
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -17,7 +26,15 @@ import org.springframework.web.bind.annotation.RestController;
 
 import com.taskmanager.dto.AuthRequestDTO;
 import com.taskmanager.dto.AuthResponseDTO;
+import com.taskmanager.dto.RefreshTokenRequestDTO;
 import com.taskmanager.service.JwtUtilService;
+import com.taskmanager.service.LoginAttemptService;
+import com.taskmanager.service.RefreshTokenService;
+import com.taskmanager.service.TokenRevocationList;
+
+import io.jsonwebtoken.Claims;
+
+import jakarta.servlet.http.HttpServletRequest;
 
 @RestController
 @RequestMapping("/api/auth")
@@ -28,40 +45,117 @@ public class AuthController {
     private final AuthenticationManager authenticationManager;
     private final UserDetailsService userDetailsService;
     private final JwtUtilService jwtUtilService;
+    private final LoginAttemptService loginAttemptService;
+    private final ThreadPoolTaskExecutor passwordHashExecutor;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationList tokenRevocationList;
 
     public AuthController(AuthenticationManager authenticationManager,
                           UserDetailsService userDetailsService,
-                          JwtUtilService jwtUtilService) {
+                          JwtUtilService jwtUtilService,
+                          LoginAttemptService loginAttemptService,
+                          @Qualifier("passwordHashExecutor") ThreadPoolTaskExecutor passwordHashExecutor,
+                          RefreshTokenService refreshTokenService,
+                          TokenRevocationList tokenRevocationList) {
         this.authenticationManager = authenticationManager;
         this.userDetailsService = userDetailsService;
         this.jwtUtilService = jwtUtilService;
+        this.loginAttemptService = loginAttemptService;
+        this.passwordHashExecutor = passwordHashExecutor;
+        this.refreshTokenService = refreshTokenService;
+        this.tokenRevocationList = tokenRevocationList;
     }
 
+    // O hash da senha roda no executor dedicado; a thread do Tomcat é liberada enquanto isso
     @PostMapping("/login")
-    public ResponseEntity<?> createAuthenticationToken(@RequestBody AuthRequestDTO authRequest) {
-        logger.info("Recebendo solicitação de login para o usuário: {}", authRequest.getUsername());
+    public CompletableFuture<ResponseEntity<?>> createAuthenticationToken(@RequestBody AuthRequestDTO authRequest,
+                                                                          HttpServletRequest request) {
+        final String username = authRequest.getUsername();
+        final String clientIp = request.getRemoteAddr();
+        logger.info("Recebendo solicitação de login para o usuário: {}", username);
+
+        // Rejeição antecipada, antes de qualquer hash ser calculado
+        if (loginAttemptService.isBlocked(username, clientIp)) {
+            logger.warn("Login bloqueado temporariamente para o usuário {} (IP {})", username, clientIp);
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(loginAttemptService.retryAfterSeconds(username, clientIp)))
+                    .body("Muitas tentativas de login. Tente novamente mais tarde."));
+        }
+
+        try {
+            return CompletableFuture.supplyAsync(() -> authenticate(authRequest, clientIp), passwordHashExecutor);
+        } catch (RejectedExecutionException e) {
+            logger.warn("Fila de autenticação cheia; recusando login do usuário {}", username);
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body("Serviço de autenticação sobrecarregado. Tente novamente."));
+        }
+    }
+
+    private ResponseEntity<?> authenticate(AuthRequestDTO authRequest, String clientIp) {
         try {
             Authentication authentication = authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(authRequest.getUsername(), authRequest.getPassword())
             );
             logger.debug("Autenticação bem-sucedida para o usuário: {}", authRequest.getUsername());
+            loginAttemptService.loginSucceeded(authRequest.getUsername());
 
-            final UserDetails userDetails = userDetailsService.loadUserByUsername(authRequest.getUsername());
-            final String jwt = jwtUtilService.generateToken(userDetails.getUsername());
+            final AuthResponseDTO tokens = refreshTokenService.issueTokens(authentication.getName());
 
             logger.info("Token JWT gerado com sucesso para o usuário: {}", authRequest.getUsername());
-            return ResponseEntity.ok(new AuthResponseDTO(jwt));
+            return ResponseEntity.ok(tokens);
         } catch (AuthenticationException e) {
             logger.error("Falha na autenticação para o usuário {}: {}", authRequest.getUsername(), e.getMessage());
+            loginAttemptService.loginFailed(authRequest.getUsername(), clientIp);
             return ResponseEntity.status(401).body("Usuário ou senha incorretos");
         }
     }
 
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refreshToken(@RequestBody RefreshTokenRequestDTO refreshRequest) {
+        logger.info("Recebendo solicitação de renovação de token");
+        if (refreshRequest.getRefreshToken() == null || refreshRequest.getRefreshToken().isBlank()) {
+            return ResponseEntity.status(400).body("Refresh token ausente");
+        }
+        try {
+            return ResponseEntity.ok(refreshTokenService.rotate(refreshRequest.getRefreshToken()));
+        } catch (AuthenticationException e) {
+            logger.warn("Falha ao renovar token: {}", e.getMessage());
+            return ResponseEntity.status(401).body("Refresh token inválido ou expirado");
+        }
+    }
+
+    // Revoga a família do refresh token e, se enviado, o token de acesso atual
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(@RequestBody(required = false) RefreshTokenRequestDTO logoutRequest,
+                                    @RequestHeader(value = "Authorization", required = false) String authorization) {
+        logger.info("Recebendo solicitação de logout");
+        if (logoutRequest != null && logoutRequest.getRefreshToken() != null) {
+            refreshTokenService.revokeFamily(logoutRequest.getRefreshToken());
+        }
+        if (authorization != null && authorization.startsWith("Bearer ")) {
+            try {
+                Claims claims = jwtUtilService.parseClaims(authorization.substring(7));
+                tokenRevocationList.revoke(claims.getId(),
+                        LocalDateTime.ofInstant(claims.getExpiration().toInstant(), ZoneId.systemDefault()));
+            } catch (Exception e) {
+                logger.debug("Token de acesso inválido ou expirado no logout: {}", e.getMessage());
+            }
+        }
+        return ResponseEntity.noContent().build();
+    }
+
     @PostMapping("/validate")
     public ResponseEntity<?> validateToken(@RequestHeader("Authorization") String token) {
         logger.info("Validando token JWT: {}", token);
         try {
             String jwt = token.startsWith("Bearer ") ? token.substring(7) : token;
+            // Mesma verificação do JwtRequestFilter: token de quem fez logout (ou revogado) não vale mais
+            Claims claims = jwtUtilService.parseClaims(jwt);
+            if (tokenRevocationList.isRevoked(claims.getId())) {
+                logger.warn("Token revogado (jti={}) apresentado para validação", claims.getId());
+                return ResponseEntity.status(401).body("Token revogado");
+            }
             UserDetails userDetails = userDetailsService.loadUserByUsername(jwtUtilService.extractUsername(jwt));
             if (jwtUtilService.validateToken(jwt, userDetails.getUsername())) {
                 logger.info("Token válido para o usuário: {}", userDetails.getUsername());
@@ -0,0 +1,139 @@
+package com.taskmanager.controller;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.taskmanager.config.SqlBudget;
+import com.taskmanager.entity.Project;
+import com.taskmanager.entity.ProjectMember;
+import com.taskmanager.service.ProjectMembershipService;
+import com.taskmanager.service.ProjectService;
+
+@RestController
+@RequestMapping("/api/projects")
+public class ProjectController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProjectController.class);
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private ProjectMembershipService projectMembershipService;
+
+    @SqlBudget(2)
+    @GetMapping
+    public ResponseEntity<List<Project>> getProjects() {
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+        logger.info("Listando projetos do usuário {}", username);
+        return ResponseEntity.ok(projectService.getProjects(username));
+    }
+
+    @SqlBudget(3)
+    @PostMapping
+    public ResponseEntity<Project> createProject(@RequestBody ProjectRequest request) {
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+        logger.info("Recebendo requisição para criar projeto: {}", request.getName());
+        try {
+            return ResponseEntity.ok(projectService.createProject(request.getName(), username));
+        } catch (IllegalArgumentException e) {
+            logger.error("Projeto inválido: {}", e.getMessage());
+            return ResponseEntity.status(400).build();
+        }
+    }
+
+    @SqlBudget(2)
+    @GetMapping("/{id}/members")
+    public ResponseEntity<List<ProjectMember>> getMembers(@PathVariable Long id) {
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+        if (!projectMembershipService.forUser(username).canAccess(id)) {
+            logger.error("Usuário {} não participa do projeto {}", username, id);
+            return ResponseEntity.status(403).build();
+        }
+        return ResponseEntity.ok(projectService.getMembers(id, username));
+    }
+
+    // Convite: o dono adiciona um usuário existente ao projeto
+    @SqlBudget(5)
+    @PostMapping("/{id}/members")
+    public ResponseEntity<ProjectMember> addMember(@PathVariable Long id, @RequestBody MemberRequest request) {
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+        logger.info("Usuário {} adicionando {} ao projeto {}", username, request.getUsername(), id);
+        if (request.getUsername() == null || request.getUsername().trim().isEmpty()) {
+            logger.error("Nome do usuário convidado é nulo ou vazio.");
+            return ResponseEntity.status(400).build();
+        }
+        if (!projectMembershipService.forUser(username).isOwner(id)) {
+            logger.error("Usuário {} não é dono do projeto {}", username, id);
+            return ResponseEntity.status(403).build();
+        }
+        try {
+            return ResponseEntity.ok(projectService.addMember(id, request.getUsername().trim(), username));
+        } catch (IllegalArgumentException e) {
+            logger.error("Convite inválido para o projeto {}: {}", id, e.getMessage());
+            return ResponseEntity.status(400).build();
+        } catch (RuntimeException e) {
+            logger.error("Erro ao adicionar membro ao projeto {}: {}", id, e.getMessage());
+            return ResponseEntity.status(404).build();
+        }
+    }
+
+    // O dono remove membros; um membro pode remover a si mesmo (sair do projeto)
+    @SqlBudget(6)
+    @DeleteMapping("/{id}/members/{userId}")
+    public ResponseEntity<Void> removeMember(@PathVariable Long id, @PathVariable Long userId) {
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+        logger.info("Usuário {} removendo o usuário {} do projeto {}", username, userId, id);
+        ProjectMembershipService.Membership membership = projectMembershipService.forUser(username);
+        if (!membership.canAccess(id) || (membership.getUserId() != userId && !membership.isOwner(id))) {
+            logger.error("Usuário {} não tem permissão para remover membros do projeto {}", username, id);
+            return ResponseEntity.status(403).build();
+        }
+        try {
+            projectService.removeMember(id, userId, username);
+            return ResponseEntity.noContent().build();
+        } catch (IllegalArgumentException e) {
+            logger.error("Remoção inválida no projeto {}: {}", id, e.getMessage());
+            return ResponseEntity.status(400).build();
+        } catch (RuntimeException e) {
+            logger.error("Erro ao remover membro do projeto {}: {}", id, e.getMessage());
+            return ResponseEntity.status(404).build();
+        }
+    }
+}
+
+class ProjectRequest {
+    private String name;
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+}
+
+class MemberRequest {
+    private String username;
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+}
@@ -0,0 +1,153 @@
+package com.taskmanager.controller;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.taskmanager.config.SqlBudget;
+import com.taskmanager.service.ProjectMembershipService;
+import com.taskmanager.service.QuerySelection;
+import com.taskmanager.service.TaskQueryService;
+
+// Consultas com seleção de campos: o corpo traz a seleção ("{ id title tags { name } }") e/ou o hash dela.
+// GET aceita só consultas persistidas (hash na query string), o que permite cache HTTP das respostas.
+@RestController
+@RequestMapping("/api/query")
+public class QueryController {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryController.class);
+
+    private static final int MAX_PAGE_SIZE = 200;
+
+    @Autowired
+    private TaskQueryService taskQueryService;
+
+    @Autowired
+    private ProjectMembershipService projectMembershipService;
+
+    // Uma consulta para as tarefas e uma por relação pedida (tags, owner, assignees), qualquer que seja a página
+    @SqlBudget(4)
+    @PostMapping("/tasks")
+    public ResponseEntity<?> queryTasks(@RequestBody TaskQueryRequest request) {
+        return execute(request.getQuery(), request.getSha256Hash(), request.getProjectId(), request.getStatus(),
+                request.isIncludeArchived(), request.getCursor(), request.getLimit());
+    }
+
+    @SqlBudget(4)
+    @GetMapping("/tasks")
+    public ResponseEntity<?> queryPersistedTasks(
+            @RequestParam String sha256Hash,
+            @RequestParam(required = false) Long projectId,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false, defaultValue = "false") boolean includeArchived,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false, defaultValue = "50") int limit) {
+        return execute(null, sha256Hash, projectId, status, includeArchived, cursor, limit);
+    }
+
+    private ResponseEntity<?> execute(String query, String sha256Hash, Long projectId, String status,
+                                      boolean includeArchived, String cursor, int limit) {
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+        logger.info("Consulta de tarefas do usuário {} no projeto {}: hash={}, status={}, limit={}",
+                username, projectId, sha256Hash, status, limit);
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            logger.error("Limite inválido para a consulta: {}", limit);
+            return ResponseEntity.status(400).body("O limit deve estar entre 1 e " + MAX_PAGE_SIZE + ".");
+        }
+        if (status != null && !status.equals("Pendente") && !status.equals("Em Andamento") && !status.equals("Concluída")) {
+            logger.error("Status inválido para a consulta: {}", status);
+            return ResponseEntity.status(400).body("O status deve ser 'Pendente', 'Em Andamento' ou 'Concluída'.");
+        }
+        ProjectMembershipService.Membership membership = projectMembershipService.forUser(username);
+        Long scope = membership.resolve(projectId);
+        if (!membership.canAccess(scope)) {
+            logger.error("Usuário {} não participa do projeto {}", username, scope);
+            return ResponseEntity.status(403).build();
+        }
+        try {
+            QuerySelection selection = taskQueryService.resolve(query, sha256Hash);
+            if (selection == null) {
+                logger.debug("Consulta persistida desconhecida: {}", sha256Hash);
+                return ResponseEntity.status(404).body("PersistedQueryNotFound");
+            }
+            return ResponseEntity.ok(taskQueryService.queryTasks(scope, selection, status, includeArchived, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            logger.error("Consulta inválida do usuário {}: {}", username, e.getMessage());
+            return ResponseEntity.status(400).body(e.getMessage());
+        }
+    }
+}
+
+class TaskQueryRequest {
+    private String query;
+    private String sha256Hash;
+    private Long projectId;
+    private String status;
+    private boolean includeArchived;
+    private String cursor;
+    private int limit = 50;
+
+    public String getQuery() {
+        return query;
+    }
+
+    public void setQuery(String query) {
+        this.query = query;
+    }
+
+    public String getSha256Hash() {
+        return sha256Hash;
+    }
+
+    public void setSha256Hash(String sha256Hash) {
+        this.sha256Hash = sha256Hash;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(Long projectId) {
+        this.projectId = projectId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public boolean isIncludeArchived() {
+        return includeArchived;
+    }
+
+    public void setIncludeArchived(boolean includeArchived) {
+        this.includeArchived = includeArchived;
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public void setLimit(int limit) {
+        this.limit = limit;
+    }
+}
@@ -6,12 +6,22 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.taskmanager.config.SqlBudget;
+import com.taskmanager.dto.TagUsageDTO;
 import com.taskmanager.entity.Tag;
 import com.taskmanager.repository.TagRepository;
+import com.taskmanager.service.ProjectMembershipService;
+import com.taskmanager.service.TagService;
 
 @RestController
 @RequestMapping("/api/tags")
@@ -19,9 +29,17 @@ public class TagController {
 
     private static final Logger logger = LoggerFactory.getLogger(TagController.class);
 
+    private static final int MAX_STATS_LIMIT = 1000;
+
     @Autowired
     private TagRepository tagRepository;
 
+    @Autowired
+    private TagService tagService;
+
+    @Autowired
+    private ProjectMembershipService projectMembershipService;
+
     @GetMapping
     public ResponseEntity<List<Tag>> getAllTags() {
         logger.info("Recebendo requisição para listar todas as tags...");
@@ -29,4 +47,95 @@ public class TagController {
         logger.info("Tags encontradas: {}", tags);
         return ResponseEntity.ok(tags);
     }
-}
\ No newline at end of file
+
+    // Tags mais usadas (todas as tarefas), a partir dos contadores mantidos a cada inclusão/remoção
+    @SqlBudget(1)
+    @GetMapping("/stats")
+    public ResponseEntity<List<TagUsageDTO>> getTagStats(@RequestParam(required = false, defaultValue = "100") int limit) {
+        if (limit < 1 || limit > MAX_STATS_LIMIT) {
+            logger.error("Limite inválido para as estatísticas de tags: {}", limit);
+            return ResponseEntity.status(400).build();
+        }
+        return ResponseEntity.ok(tagService.getUsage(limit));
+    }
+
+    // Tags mais usadas nas tarefas criadas pelo usuário autenticado
+    @SqlBudget(2)
+    @GetMapping("/stats/me")
+    public ResponseEntity<List<TagUsageDTO>> getMyTagStats(@RequestParam(required = false, defaultValue = "100") int limit) {
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+        if (limit < 1 || limit > MAX_STATS_LIMIT) {
+            logger.error("Limite inválido para as estatísticas de tags: {}", limit);
+            return ResponseEntity.status(400).build();
+        }
+        ProjectMembershipService.Membership membership = projectMembershipService.forUser(username);
+        return ResponseEntity.ok(tagService.getUsageByUser(membership.getUserId(), limit));
+    }
+
+    @SqlBudget(4)
+    @PutMapping("/{id}")
+    public ResponseEntity<TagUsageDTO> renameTag(@PathVariable Long id, @RequestBody TagNameRequest request) {
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+        logger.info("Usuário {} renomeando a tag {} para '{}'", username, id, request.getName());
+        if (!tagService.canManage(username)) {
+            logger.error("Usuário {} não tem permissão para renomear tags", username);
+            return ResponseEntity.status(403).build();
+        }
+        try {
+            return ResponseEntity.ok(tagService.renameTag(id, request.getName()));
+        } catch (IllegalArgumentException e) {
+            logger.error("Nome inválido para a tag {}: {}", id, e.getMessage());
+            return ResponseEntity.status(400).build();
+        } catch (IllegalStateException e) {
+            logger.error("Conflito ao renomear a tag {}: {}", id, e.getMessage());
+            return ResponseEntity.status(409).build();
+        } catch (RuntimeException e) {
+            logger.error("Erro ao renomear a tag {}: {}", id, e.getMessage());
+            return ResponseEntity.status(404).build();
+        }
+    }
+
+    // Funde tags duplicadas (ex.: "urgent" e "Urgent") na tag {id}; o número de comandos cresce com os lotes
+    @PostMapping("/{id}/merge")
+    public ResponseEntity<TagUsageDTO> mergeTags(@PathVariable Long id, @RequestBody TagMergeRequest request) {
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+        logger.info("Usuário {} fundindo as tags {} na tag {}", username, request.getSourceTagIds(), id);
+        if (!tagService.canManage(username)) {
+            logger.error("Usuário {} não tem permissão para fundir tags", username);
+            return ResponseEntity.status(403).build();
+        }
+        try {
+            return ResponseEntity.ok(tagService.mergeTags(id, request.getSourceTagIds()));
+        } catch (IllegalArgumentException e) {
+            logger.error("Fusão inválida na tag {}: {}", id, e.getMessage());
+            return ResponseEntity.status(400).build();
+        } catch (RuntimeException e) {
+            logger.error("Erro ao fundir tags na tag {}: {}", id, e.getMessage());
+            return ResponseEntity.status(404).build();
+        }
+    }
+}
+
+class TagNameRequest {
+    private String name;
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+}
+
+class TagMergeRequest {
+    private List<Long> sourceTagIds;
+
+    public List<Long> getSourceTagIds() {
+        return sourceTagIds;
+    }
+
+    public void setSourceTagIds(List<Long> sourceTagIds) {
+        this.sourceTagIds = sourceTagIds;
+    }
+}
@@ -1,25 +1,61 @@
 package com.taskmanager.controller;
 
+import com.taskmanager.config.SqlBudget;
+import com.taskmanager.dto.ActivityDTO;
+import com.taskmanager.dto.ActivitySummaryDTO;
+import com.taskmanager.dto.AssigneeDTO;
+import com.taskmanager.dto.BoardCardDTO;
+import com.taskmanager.dto.BoardColumnDTO;
+import com.taskmanager.dto.CommentDTO;
+import com.taskmanager.dto.CursorPageDTO;
+import com.taskmanager.dto.InboxItemDTO;
 import com.taskmanager.dto.TaskDTO;
 import com.taskmanager.entity.Tag;
 import com.taskmanager.entity.Task;
-import com.taskmanager.entity.User;
+import com.taskmanager.entity.TaskComment;
 import com.taskmanager.repository.TagRepository;
+import com.taskmanager.repository.TaskAssignmentRepository;
+import com.taskmanager.repository.TaskBoardRepository;
+import com.taskmanager.repository.TaskProjectView;
 import com.taskmanager.repository.TaskRepository;
-import com.taskmanager.repository.UserRepository;
+import com.taskmanager.repository.TaskSearchRepository;
+import com.taskmanager.repository.TaskStreamRepository;
+import com.taskmanager.service.ActivityLogService;
+import com.taskmanager.service.ProjectMembershipService;
+import com.taskmanager.service.QueryCancellationService;
+import com.taskmanager.service.RankKeys;
+import com.taskmanager.service.ReminderScheduler;
+import com.taskmanager.service.TaskAssignmentService;
+import com.taskmanager.service.TaskFilterIndex;
+import com.taskmanager.service.TaskHistoryService;
+import com.taskmanager.service.TaskListCache;
+import com.taskmanager.service.TaskSearchService;
 import com.taskmanager.service.TaskService;
+import com.taskmanager.service.TaskStreamService;
+import com.taskmanager.service.TaskTagService;
+import com.taskmanager.service.TaskWriteBehindService;
 import org.hibernate.Hibernate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/tasks")
@@ -27,6 +63,9 @@ public class TaskController {
 
     private static final Logger logger = LoggerFactory.getLogger(TaskController.class);
 
+    private static final int MAX_BOARD_PAGE_SIZE = 100;
+    private static final int MAX_SEARCH_TAGS = 10;
+
     @Autowired
     private TaskService taskService;
 
@@ -34,24 +73,77 @@ public class TaskController {
     private TaskRepository taskRepository;
 
     @Autowired
-    private UserRepository userRepository;
+    private TagRepository tagRepository;
 
     @Autowired
-    private TagRepository tagRepository;
+    private ReminderScheduler reminderScheduler;
+
+    @Autowired
+    private TaskBoardRepository taskBoardRepository;
+
+    @Autowired
+    private ProjectMembershipService projectMembershipService;
+
+    @Autowired
+    private ActivityLogService activityLogService;
+
+    @Autowired
+    private TaskHistoryService taskHistoryService;
+
+    @Autowired
+    private TaskAssignmentService taskAssignmentService;
+
+    @Autowired
+    private TaskAssignmentRepository taskAssignmentRepository;
 
+    @Autowired
+    private TaskTagService taskTagService;
+
+    @Autowired
+    private TaskStreamService taskStreamService;
+
+    @Autowired
+    private TaskFilterIndex taskFilterIndex;
+
+    @Autowired
+    private TaskListCache taskListCache;
+
+    @Autowired
+    private TaskSearchService taskSearchService;
+
+    @Autowired
+    private TaskWriteBehindService taskWriteBehindService;
+
+    @Autowired
+    private QueryCancellationService queryCancellationService;
+
+    @SqlBudget(3)
     @GetMapping
-    public ResponseEntity<List<Task>> getAllTasks(
+    public ResponseEntity<?> getAllTasks(
             @RequestParam(defaultValue = "false") boolean includeArchived,
             @RequestParam(defaultValue = "createdAt") String sortBy,
-            @RequestParam(defaultValue = "desc") String sortOrder) {
-        logger.info("Obtendo todas as tarefas... Include archived: {}, Sort by: {}, Order: {}", includeArchived, sortBy, sortOrder);
+            @RequestParam(defaultValue = "desc") String sortOrder,
+            @RequestParam(required = false) Long projectId,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        logger.info("Obtendo todas as tarefas... Include archived: {}, Sort by: {}, Order: {}, Project: {}", includeArchived, sortBy, sortOrder, projectId);
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String username = authentication.getName();
-        List<Task> tasks = taskService.getAllTasks(username, includeArchived, sortBy, sortOrder);
+        if (taskListCache.isEnabled() && TaskListCache.acceptsJson(accept)) {
+            // Acesso verificado pelo cache de participação: num acerto a resposta sai dos bytes guardados, sem SQL
+            ProjectMembershipService.Membership membership = projectMembershipService.forUser(username);
+            Long scope = membership.resolve(projectId);
+            if (membership.canAccess(scope)) {
+                byte[] json = taskListCache.getOrLoad(scope, includeArchived, sortBy, sortOrder.equalsIgnoreCase("asc"),
+                        () -> taskService.getAllTasks(username, scope, includeArchived, sortBy, sortOrder));
+                return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(json);
+            }
+        }
+        List<Task> tasks = taskService.getAllTasks(username, projectId, includeArchived, sortBy, sortOrder);
         logger.info("Tarefas encontradas: {}", tasks.size());
         return ResponseEntity.ok(tasks);
     }
 
+    @SqlBudget(5)
     @PostMapping
     public ResponseEntity<Task> createTask(@RequestBody TaskDTO taskDTO) {
         logger.info("Recebendo requisição para criar tarefa: {}", taskDTO);
@@ -63,23 +155,35 @@ public class TaskController {
         return ResponseEntity.ok(createdTask);
     }
 
+    @SqlBudget(8)
     @PutMapping("/{id}")
-    public ResponseEntity<Task> updateTask(@PathVariable Long id, @RequestBody TaskDTO taskDTO) {
+    public ResponseEntity<Task> updateTask(@PathVariable Long id, @RequestBody TaskDTO taskDTO,
+                                           @RequestHeader(value = TaskWriteBehindService.PREFER_HEADER, required = false) String prefer) {
         logger.info("Recebendo requisição para atualizar tarefa com ID: {}", id);
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String username = authentication.getName();
+        // Só o status mudou e o cliente aceita a resposta antes da gravação: 202, gravada no próximo envio
+        if (TaskWriteBehindService.prefersAsync(prefer) && taskWriteBehindService.updateStatusLater(id, taskDTO, username)) {
+            logger.info("Mudança de status da tarefa {} adiada", id);
+            return ResponseEntity.accepted().header(TaskWriteBehindService.PREFERENCE_APPLIED_HEADER, TaskWriteBehindService.RESPOND_ASYNC).build();
+        }
         logger.info("Tentando atualizar tarefa: {}", taskDTO.getTitle());
+        // Uma mudança adiada desta tarefa vai antes ao banco (fora da transação da edição); se o envio falha,
+        // a edição não acontece: a pendente a sobrescreveria depois
+        taskWriteBehindService.flushTasks(List.of(id));
         Task updatedTask = taskService.updateTask(id, taskDTO, username);
         logger.info("Tarefa atualizada com sucesso: {}", updatedTask.getId());
         return ResponseEntity.ok(updatedTask);
     }
 
+    @SqlBudget(3)
     @GetMapping("/filter")
     public ResponseEntity<List<Task>> filterTasksByStatus(
             @RequestParam String status,
             @RequestParam(required = false, defaultValue = "false") boolean includeArchived,
             @RequestParam(required = false, defaultValue = "createdAt") String sortBy,
-            @RequestParam(required = false, defaultValue = "desc") String order) {
+            @RequestParam(required = false, defaultValue = "desc") String order,
+            @RequestParam(required = false) Long projectId) {
         try {
             logger.info("Iniciando filtragem de tarefas por status: {}, Include archived: {}, Sort by: {}, Order: {}", status, includeArchived, sortBy, order);
 
@@ -111,14 +215,18 @@ public class TaskController {
             }
             logger.debug("Usuário autenticado: {}", username);
 
-            // Buscar o usuário no banco de dados
-            logger.debug("Buscando usuário com username: {}", username);
-            User user = userRepository.findByUsername(username).orElse(null);
-            if (user == null) {
+            // Projetos do usuário (cache em memória): a verificação de acesso não consulta o banco
+            ProjectMembershipService.Membership membership = projectMembershipService.find(username).orElse(null);
+            if (membership == null) {
                 logger.error("Usuário não encontrado no banco de dados: {}", username);
                 return ResponseEntity.status(404).build();
             }
-            logger.debug("Usuário encontrado: ID = {}, Username = {}", user.getId(), user.getUsername());
+            logger.debug("Usuário encontrado: ID = {}, Username = {}", membership.getUserId(), username);
+            Long scope = membership.resolve(projectId);
+            if (!membership.canAccess(scope)) {
+                logger.error("Usuário {} não participa do projeto {}", username, scope);
+                return ResponseEntity.status(403).build();
+            }
 
             // Forçar a sincronização com o banco de dados
             logger.debug("Forçando sincronização com o banco de dados antes de buscar as tarefas.");
@@ -129,7 +237,7 @@ public class TaskController {
 
             // Buscar as tarefas com o status especificado e com base no parâmetro includeArchived
             logger.debug("Buscando tarefas do usuário {} com status: {} e archived: {}", username, status, includeArchived);
-            List<Task> tasks = taskRepository.findByUserAndStatusAndArchived(user, status, includeArchived, sort);
+            List<Task> tasks = taskRepository.findByProjectIdAndStatusAndArchived(scope, status, includeArchived, sort);
             logger.info("Tarefas encontradas com status {}: {}", status, tasks.size());
             return ResponseEntity.ok(tasks);
         } catch (Exception e) {
@@ -138,12 +246,14 @@ public class TaskController {
         }
     }
 
+    @SqlBudget(3)
     @GetMapping("/filter-by-tag")
     public ResponseEntity<List<Task>> filterTasksByTag(
             @RequestParam String tag,
             @RequestParam(required = false, defaultValue = "false") boolean includeArchived,
             @RequestParam(required = false, defaultValue = "createdAt") String sortBy,
-            @RequestParam(required = false, defaultValue = "desc") String order) {
+            @RequestParam(required = false, defaultValue = "desc") String order,
+            @RequestParam(required = false) Long projectId) {
         try {
             logger.info("Iniciando filtragem de tarefas por tag: {}, Include archived: {}, Sort by: {}, Order: {}", tag, includeArchived, sortBy, order);
 
@@ -170,14 +280,18 @@ public class TaskController {
             }
             logger.debug("Usuário autenticado: {}", username);
 
-            // Buscar o usuário no banco de dados
-            logger.debug("Buscando usuário com username: {}", username);
-            User user = userRepository.findByUsername(username).orElse(null);
-            if (user == null) {
+            // Projetos do usuário (cache em memória): a verificação de acesso não consulta o banco
+            ProjectMembershipService.Membership membership = projectMembershipService.find(username).orElse(null);
+            if (membership == null) {
                 logger.error("Usuário não encontrado no banco de dados: {}", username);
                 return ResponseEntity.status(404).build();
             }
-            logger.debug("Usuário encontrado: ID = {}, Username = {}", user.getId(), user.getUsername());
+            logger.debug("Usuário encontrado: ID = {}, Username = {}", membership.getUserId(), username);
+            Long scope = membership.resolve(projectId);
+            if (!membership.canAccess(scope)) {
+                logger.error("Usuário {} não participa do projeto {}", username, scope);
+                return ResponseEntity.status(403).build();
+            }
 
             // Forçar a sincronização com o banco de dados
             logger.debug("Forçando sincronização com o banco de dados antes de buscar as tarefas.");
@@ -188,7 +302,7 @@ public class TaskController {
 
             // Buscar as tarefas com a tag especificada e com base no parâmetro includeArchived
             logger.debug("Buscando tarefas do usuário {} com tag: {} e archived: {}", username, tag, includeArchived);
-            List<Task> tasks = taskRepository.findByUserAndTagsNameAndArchived(user, tag, includeArchived, sort);
+            List<Task> tasks = taskRepository.findByProjectIdAndTagsNameAndArchived(scope, tag, includeArchived, sort);
             logger.info("Tarefas encontradas com tag {}: {}", tag, tasks.size());
             return ResponseEntity.ok(tasks);
         } catch (Exception e) {
@@ -197,144 +311,171 @@ public class TaskController {
         }
     }
 
+    @SqlBudget(3)
     @GetMapping("/filter-by-due-date")
-    public ResponseEntity<List<Task>> filterTasksByDueDate(
+    public DeferredResult<ResponseEntity<List<Task>>> filterTasksByDueDate(
             @RequestParam String startDate,
             @RequestParam String endDate,
             @RequestParam(required = false, defaultValue = "false") boolean includeArchived,
             @RequestParam(required = false, defaultValue = "createdAt") String sortBy,
-            @RequestParam(required = false, defaultValue = "desc") String order) {
-        try {
-            logger.info("Iniciando filtragem de tarefas por intervalo de dueDate: startDate={}, endDate={}, Include archived: {}, Sort by: {}, Order: {}", 
-                        startDate, endDate, includeArchived, sortBy, order);
-
-            // Validar os parâmetros startDate e endDate
-            if (startDate == null || startDate.trim().isEmpty()) {
-                logger.error("Parâmetro 'startDate' é nulo ou vazio.");
-                return ResponseEntity.status(400).build();
-            }
-            if (endDate == null || endDate.trim().isEmpty()) {
-                logger.error("Parâmetro 'endDate' é nulo ou vazio.");
-                return ResponseEntity.status(400).build();
-            }
-
-            // Converter os parâmetros para LocalDateTime
-            LocalDateTime start;
-            LocalDateTime end;
+            @RequestParam(required = false, defaultValue = "desc") String order,
+            @RequestParam(required = false) Long projectId) {
+        return queryCancellationService.submit("filter-by-due-date", () -> {
             try {
-                start = LocalDateTime.parse(startDate);
-                end = LocalDateTime.parse(endDate);
-            } catch (Exception e) {
-                logger.error("Formato inválido para startDate ou endDate. Use o formato ISO (ex.: 2025-05-15T10:00:00). Erro: {}", e.getMessage());
-                return ResponseEntity.status(400).build();
-            }
+                logger.info("Iniciando filtragem de tarefas por intervalo de dueDate: startDate={}, endDate={}, Include archived: {}, Sort by: {}, Order: {}", 
+                            startDate, endDate, includeArchived, sortBy, order);
 
-            // Validar que startDate é anterior a endDate
-            if (start.isAfter(end)) {
-                logger.error("startDate deve ser anterior a endDate.");
-                return ResponseEntity.status(400).build();
-            }
+                // Validar os parâmetros startDate e endDate
+                if (startDate == null || startDate.trim().isEmpty()) {
+                    logger.error("Parâmetro 'startDate' é nulo ou vazio.");
+                    return ResponseEntity.status(400).build();
+                }
+                if (endDate == null || endDate.trim().isEmpty()) {
+                    logger.error("Parâmetro 'endDate' é nulo ou vazio.");
+                    return ResponseEntity.status(400).build();
+                }
 
-            // Obter o usuário autenticado do SecurityContextHolder
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            if (authentication == null) {
-                logger.error("Contexto de autenticação é nulo.");
-                return ResponseEntity.status(401).build();
-            }
-            if (!authentication.isAuthenticated()) {
-                logger.error("Usuário não está autenticado.");
-                return ResponseEntity.status(401).build();
-            }
-            String username = authentication.getName();
-            if (username == null || username.trim().isEmpty()) {
-                logger.error("Nome do usuário autenticado é nulo ou vazio.");
-                return ResponseEntity.status(401).build();
-            }
-            logger.debug("Usuário autenticado: {}", username);
+                // Converter os parâmetros para LocalDateTime
+                LocalDateTime start;
+                LocalDateTime end;
+                try {
+                    start = LocalDateTime.parse(startDate);
+                    end = LocalDateTime.parse(endDate);
+                } catch (Exception e) {
+                    logger.error("Formato inválido para startDate ou endDate. Use o formato ISO (ex.: 2025-05-15T10:00:00). Erro: {}", e.getMessage());
+                    return ResponseEntity.status(400).build();
+                }
 
-            // Buscar o usuário no banco de dados
-            logger.debug("Buscando usuário com username: {}", username);
-            User user = userRepository.findByUsername(username).orElse(null);
-            if (user == null) {
-                logger.error("Usuário não encontrado no banco de dados: {}", username);
-                return ResponseEntity.status(404).build();
-            }
-            logger.debug("Usuário encontrado: ID = {}, Username = {}", user.getId(), user.getUsername());
+                // Validar que startDate é anterior a endDate
+                if (start.isAfter(end)) {
+                    logger.error("startDate deve ser anterior a endDate.");
+                    return ResponseEntity.status(400).build();
+                }
 
-            // Forçar a sincronização com o banco de dados
-            logger.debug("Forçando sincronização com o banco de dados antes de buscar as tarefas.");
-            taskRepository.flush();
+                // Obter o usuário autenticado do SecurityContextHolder
+                Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+                if (authentication == null) {
+                    logger.error("Contexto de autenticação é nulo.");
+                    return ResponseEntity.status(401).build();
+                }
+                if (!authentication.isAuthenticated()) {
+                    logger.error("Usuário não está autenticado.");
+                    return ResponseEntity.status(401).build();
+                }
+                String username = authentication.getName();
+                if (username == null || username.trim().isEmpty()) {
+                    logger.error("Nome do usuário autenticado é nulo ou vazio.");
+                    return ResponseEntity.status(401).build();
+                }
+                logger.debug("Usuário autenticado: {}", username);
 
-            // Definir a ordenação
-            Sort sort = Sort.by(order.equalsIgnoreCase("asc") ? Sort.Direction.ASC : Sort.Direction.DESC, sortBy);
+                // Projetos do usuário (cache em memória): a verificação de acesso não consulta o banco
+                ProjectMembershipService.Membership membership = projectMembershipService.find(username).orElse(null);
+                if (membership == null) {
+                    logger.error("Usuário não encontrado no banco de dados: {}", username);
+                    return ResponseEntity.status(404).build();
+                }
+                logger.debug("Usuário encontrado: ID = {}, Username = {}", membership.getUserId(), username);
+                Long scope = membership.resolve(projectId);
+                if (!membership.canAccess(scope)) {
+                    logger.error("Usuário {} não participa do projeto {}", username, scope);
+                    return ResponseEntity.status(403).build();
+                }
 
-            // Buscar as tarefas com dueDate no intervalo especificado e com base no parâmetro includeArchived
-            logger.debug("Buscando tarefas do usuário {} com dueDate entre {} e {}, e archived: {}", username, startDate, endDate, includeArchived);
-            List<Task> tasks = taskRepository.findByUserAndDueDateBetweenAndArchived(user, start, end, includeArchived, sort);
-            logger.info("Tarefas encontradas com dueDate entre {} e {}: {}", startDate, endDate, tasks.size());
-            return ResponseEntity.ok(tasks);
-        } catch (Exception e) {
-            logger.error("Erro ao filtrar tarefas por intervalo de dueDate: {}", e.getMessage(), e);
-            return ResponseEntity.status(500).build();
-        }
+                // Forçar a sincronização com o banco de dados
+                logger.debug("Forçando sincronização com o banco de dados antes de buscar as tarefas.");
+                taskRepository.flush();
+
+                // Definir a ordenação
+                Sort sort = Sort.by(order.equalsIgnoreCase("asc") ? Sort.Direction.ASC : Sort.Direction.DESC, sortBy);
+
+                // Buscar as tarefas com dueDate no intervalo especificado e com base no parâmetro includeArchived
+                logger.debug("Buscando tarefas do usuário {} com dueDate entre {} e {}, e archived: {}", username, startDate, endDate, includeArchived);
+                List<Task> tasks = queryCancellationService.query(
+                            () -> taskRepository.findByProjectIdAndDueDateBetweenAndArchived(scope, start, end, includeArchived, sort));
+                logger.info("Tarefas encontradas com dueDate entre {} e {}: {}", startDate, endDate, tasks.size());
+                return ResponseEntity.ok(tasks);
+            } catch (QueryTimeoutException e) {
+                // Tempo máximo do comando esgotado (TaskRepository): o cliente pode tentar um intervalo menor
+                logger.error("Filtragem por intervalo de dueDate excedeu o tempo máximo: {}", e.getMessage());
+                return ResponseEntity.status(503).build();
+            } catch (Exception e) {
+                logger.error("Erro ao filtrar tarefas por intervalo de dueDate: {}", e.getMessage(), e);
+                return ResponseEntity.status(500).build();
+            }
+        });
     }
 
+    @SqlBudget(3)
     @GetMapping("/overdue")
-    public ResponseEntity<List<Task>> getOverdueTasks(
+    public DeferredResult<ResponseEntity<List<Task>>> getOverdueTasks(
             @RequestParam(required = false, defaultValue = "false") boolean includeArchived,
             @RequestParam(required = false, defaultValue = "createdAt") String sortBy,
-            @RequestParam(required = false, defaultValue = "desc") String order) {
-        try {
-            logger.info("Iniciando busca de tarefas atrasadas... Include archived: {}, Sort by: {}, Order: {}", includeArchived, sortBy, order);
-
-            // Obter o usuário autenticado do SecurityContextHolder
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            if (authentication == null) {
-                logger.error("Contexto de autenticação é nulo.");
-                return ResponseEntity.status(401).build();
-            }
-            if (!authentication.isAuthenticated()) {
-                logger.error("Usuário não está autenticado.");
-                return ResponseEntity.status(401).build();
-            }
-            String username = authentication.getName();
-            if (username == null || username.trim().isEmpty()) {
-                logger.error("Nome do usuário autenticado é nulo ou vazio.");
-                return ResponseEntity.status(401).build();
-            }
-            logger.debug("Usuário autenticado: {}", username);
+            @RequestParam(required = false, defaultValue = "desc") String order,
+            @RequestParam(required = false) Long projectId) {
+        return queryCancellationService.submit("overdue", () -> {
+            try {
+                logger.info("Iniciando busca de tarefas atrasadas... Include archived: {}, Sort by: {}, Order: {}", includeArchived, sortBy, order);
 
-            // Buscar o usuário no banco de dados
-            logger.debug("Buscando usuário com username: {}", username);
-            User user = userRepository.findByUsername(username).orElse(null);
-            if (user == null) {
-                logger.error("Usuário não encontrado no banco de dados: {}", username);
-                return ResponseEntity.status(404).build();
-            }
-            logger.debug("Usuário encontrado: ID = {}, Username = {}", user.getId(), user.getUsername());
+                // Obter o usuário autenticado do SecurityContextHolder
+                Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+                if (authentication == null) {
+                    logger.error("Contexto de autenticação é nulo.");
+                    return ResponseEntity.status(401).build();
+                }
+                if (!authentication.isAuthenticated()) {
+                    logger.error("Usuário não está autenticado.");
+                    return ResponseEntity.status(401).build();
+                }
+                String username = authentication.getName();
+                if (username == null || username.trim().isEmpty()) {
+                    logger.error("Nome do usuário autenticado é nulo ou vazio.");
+                    return ResponseEntity.status(401).build();
+                }
+                logger.debug("Usuário autenticado: {}", username);
 
-            // Forçar a sincronização com o banco de dados
-            logger.debug("Forçando sincronização com o banco de dados antes de buscar as tarefas.");
-            taskRepository.flush();
+                // Projetos do usuário (cache em memória): a verificação de acesso não consulta o banco
+                ProjectMembershipService.Membership membership = projectMembershipService.find(username).orElse(null);
+                if (membership == null) {
+                    logger.error("Usuário não encontrado no banco de dados: {}", username);
+                    return ResponseEntity.status(404).build();
+                }
+                logger.debug("Usuário encontrado: ID = {}, Username = {}", membership.getUserId(), username);
+                Long scope = membership.resolve(projectId);
+                if (!membership.canAccess(scope)) {
+                    logger.error("Usuário {} não participa do projeto {}", username, scope);
+                    return ResponseEntity.status(403).build();
+                }
 
-            // Definir a ordenação
-            Sort sort = Sort.by(order.equalsIgnoreCase("asc") ? Sort.Direction.ASC : Sort.Direction.DESC, sortBy);
+                // Forçar a sincronização com o banco de dados
+                logger.debug("Forçando sincronização com o banco de dados antes de buscar as tarefas.");
+                taskRepository.flush();
 
-            // Buscar tarefas atrasadas (dueDate antes de agora, status diferente de "Concluída" e com base no parâmetro includeArchived)
-            LocalDateTime now = LocalDateTime.now();
-            logger.debug("Buscando tarefas do usuário {} com dueDate antes de {} e status diferente de 'Concluída', e archived: {}", username, now, includeArchived);
-            List<Task> tasks = taskRepository.findByUserAndDueDateBeforeAndStatusNotAndArchived(user, now, "Concluída", includeArchived, sort);
-            logger.info("Tarefas atrasadas encontradas: {}", tasks.size());
-            return ResponseEntity.ok(tasks);
-        } catch (Exception e) {
-            logger.error("Erro ao buscar tarefas atrasadas: {}", e.getMessage(), e);
-            return ResponseEntity.status(500).build();
-        }
+                // Definir a ordenação
+                Sort sort = Sort.by(order.equalsIgnoreCase("asc") ? Sort.Direction.ASC : Sort.Direction.DESC, sortBy);
+
+                // Buscar tarefas atrasadas (dueDate antes de agora, status diferente de "Concluída" e com base no parâmetro includeArchived)
+                LocalDateTime now = LocalDateTime.now();
+                logger.debug("Buscando tarefas do usuário {} com dueDate antes de {} e status diferente de 'Concluída', e archived: {}", username, now, includeArchived);
+                List<Task> tasks = queryCancellationService.query(
+                            () -> taskRepository.findByProjectIdAndDueDateBeforeAndStatusNotAndArchived(scope, now, "Concluída", includeArchived, sort));
+                logger.info("Tarefas atrasadas encontradas: {}", tasks.size());
+                return ResponseEntity.ok(tasks);
+            } catch (QueryTimeoutException e) {
+                logger.error("Busca de tarefas atrasadas excedeu o tempo máximo: {}", e.getMessage());
+                return ResponseEntity.status(503).build();
+            } catch (Exception e) {
+                logger.error("Erro ao buscar tarefas atrasadas: {}", e.getMessage(), e);
+                return ResponseEntity.status(500).build();
+            }
+        });
     }
 
+    @SqlBudget(3)
     @GetMapping("/overdue/count")
     public ResponseEntity<Long> getOverdueTasksCount(
-            @RequestParam(required = false, defaultValue = "false") boolean includeArchived) {
+            @RequestParam(required = false, defaultValue = "false") boolean includeArchived,
+            @RequestParam(required = false) Long projectId) {
         try {
             logger.info("Iniciando contagem de tarefas atrasadas... Include archived: {}", includeArchived);
 
@@ -357,14 +498,18 @@ public class TaskController {
             }
             logger.debug("Usuário autenticado: {}", username);
 
-            // Buscar o usuário no banco de dados
-            logger.debug("Buscando usuário com username: {}", username);
-            User user = userRepository.findByUsername(username).orElse(null);
-            if (user == null) {
+            // Projetos do usuário (cache em memória): a verificação de acesso não consulta o banco
+            ProjectMembershipService.Membership membership = projectMembershipService.find(username).orElse(null);
+            if (membership == null) {
                 logger.error("Usuário não encontrado no banco de dados: {}", username);
                 return ResponseEntity.status(404).build();
             }
-            logger.debug("Usuário encontrado: ID = {}, Username = {}", user.getId(), user.getUsername());
+            logger.debug("Usuário encontrado: ID = {}, Username = {}", membership.getUserId(), username);
+            Long scope = membership.resolve(projectId);
+            if (!membership.canAccess(scope)) {
+                logger.error("Usuário {} não participa do projeto {}", username, scope);
+                return ResponseEntity.status(403).build();
+            }
 
             // Forçar a sincronização com o banco de dados
             logger.debug("Forçando sincronização com o banco de dados antes de contar as tarefas.");
@@ -373,7 +518,7 @@ public class TaskController {
             // Contar tarefas atrasadas (dueDate antes de agora, status diferente de "Concluída" e com base no parâmetro includeArchived)
             LocalDateTime now = LocalDateTime.now();
             logger.debug("Contando tarefas do usuário {} com dueDate antes de {} e status diferente de 'Concluída', e archived: {}", username, now, includeArchived);
-            long count = taskRepository.countByUserAndDueDateBeforeAndStatusNotAndArchived(user, now, "Concluída", includeArchived);
+            long count = taskRepository.countByProjectIdAndDueDateBeforeAndStatusNotAndArchived(scope, now, "Concluída", includeArchived);
             logger.info("Número de tarefas atrasadas encontradas: {}", count);
             return ResponseEntity.ok(count);
         } catch (Exception e) {
@@ -382,6 +527,138 @@ public class TaskController {
         }
     }
 
+    // Listagem, filtro por status e atrasadas em NDJSON, escrita conforme as linhas chegam do banco (sem montar a
+    // lista em memória). Roda numa thread virtual; o cliente lento desacelera a leitura do cursor.
+    @SqlBudget(1)
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamTasks(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false, defaultValue = "false") boolean overdue,
+            @RequestParam(required = false, defaultValue = "false") boolean includeArchived,
+            @RequestParam(required = false, defaultValue = "createdAt") String sortBy,
+            @RequestParam(required = false, defaultValue = "desc") String order,
+            @RequestParam(required = false) Long projectId) {
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+        logger.info("Fluxo de tarefas do projeto {} para o usuário {}: status={}, overdue={}, Include archived: {}, Sort by: {}, Order: {}",
+                projectId, username, status, overdue, includeArchived, sortBy, order);
+        if (!TaskStreamRepository.isSortable(sortBy)
+                || (status != null && !status.equals("Pendente") && !status.equals("Em Andamento") && !status.equals("Concluída"))) {
+            logger.error("Parâmetros inválidos para o fluxo de tarefas: status={}, sortBy={}", status, sortBy);
+            return ResponseEntity.status(400).build();
+        }
+        Long scope = boardScope(username, projectId);
+        if (scope == null) {
+            return ResponseEntity.status(403).build();
+        }
+        boolean ascending = order.equalsIgnoreCase("asc");
+        StreamingResponseBody body = out -> taskStreamService.writeTasks(scope, status, overdue, includeArchived, sortBy, ascending, out);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    // Quadro Kanban: N primeiras tarefas de cada status e o total por coluna numa única consulta
+    @SqlBudget(2)
+    @GetMapping("/board")
+    public ResponseEntity<List<BoardColumnDTO>> getBoard(
+            @RequestParam(required = false, defaultValue = "false") boolean includeArchived,
+            @RequestParam(required = false, defaultValue = "createdAt") String sortBy,
+            @RequestParam(required = false, defaultValue = "desc") String order,
+            @RequestParam(required = false, defaultValue = "20") int limit,
+            @RequestParam(required = false) Long projectId) {
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+        logger.info("Montando quadro do projeto {} para o usuário {}: Include archived: {}, Sort by: {}, Order: {}, Limit: {}",
+                projectId, username, includeArchived, sortBy, order, limit);
+        if (!TaskBoardRepository.isSortable(sortBy) || limit < 1 || limit > MAX_BOARD_PAGE_SIZE) {
+            logger.error("Parâmetros inválidos para o quadro: sortBy={}, limit={}", sortBy, limit);
+            return ResponseEntity.status(400).build();
+        }
+        Long scope = boardScope(username, projectId);
+        if (scope == null) {
+            return ResponseEntity.status(403).build();
+        }
+        List<BoardColumnDTO> board = taskBoardRepository.findBoard(scope, includeArchived, sortBy, order.equalsIgnoreCase("asc"), limit);
+        return ResponseEntity.ok(board);
+    }
+
+    // "Carregar mais" de uma coluna, a partir do nextCursor devolvido pelo quadro ou pela página anterior
+    @SqlBudget(2)
+    @GetMapping("/board/column")
+    public ResponseEntity<BoardColumnDTO> getBoardColumn(
+            @RequestParam String status,
+            @RequestParam String cursor,
+            @RequestParam(required = false, defaultValue = "false") boolean includeArchived,
+            @RequestParam(required = false, defaultValue = "20") int limit,
+            @RequestParam(required = false) Long projectId) {
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+        logger.info("Carregando mais tarefas da coluna {} do projeto {} para o usuário {}", status, projectId, username);
+        if (limit < 1 || limit > MAX_BOARD_PAGE_SIZE) {
+            logger.error("Limite inválido para a coluna: {}", limit);
+            return ResponseEntity.status(400).build();
+        }
+        TaskBoardRepository.Cursor position;
+        try {
+            position = TaskBoardRepository.Cursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            logger.error("Cursor inválido para a coluna {}: {}", status, e.getMessage());
+            return ResponseEntity.status(400).build();
+        }
+        Long scope = boardScope(username, projectId);
+        if (scope == null) {
+            return ResponseEntity.status(403).build();
+        }
+        return ResponseEntity.ok(taskBoardRepository.findColumnPage(scope, status, includeArchived, position, limit));
+    }
+
+    // Busca combinada, do id mais novo para o mais antigo: status, todas as tags de tagIds, arquivamento e a
+    // semana (segunda a domingo) que contém dueWeek. Os filtros são resolvidos no índice em memória
+    // (app.filter-index.enabled) e só os cartões da página vão ao banco.
+    @SqlBudget(2)
+    @GetMapping("/search")
+    public ResponseEntity<CursorPageDTO<BoardCardDTO>> searchTasks(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) List<Long> tagIds,
+            @RequestParam(required = false, defaultValue = "false") boolean archived,
+            @RequestParam(required = false) String dueWeek,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false, defaultValue = "20") int limit,
+            @RequestParam(required = false) Long projectId) {
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+        logger.info("Busca de tarefas no projeto {} para o usuário {}: status={}, tagIds={}, archived={}, dueWeek={}",
+                projectId, username, status, tagIds, archived, dueWeek);
+        if (limit < 1 || limit > MAX_BOARD_PAGE_SIZE
+                || (status != null && !status.equals("Pendente") && !status.equals("Em Andamento") && !status.equals("Concluída"))
+                || (tagIds != null && tagIds.size() > MAX_SEARCH_TAGS)) {
+            logger.error("Parâmetros inválidos para a busca: status={}, tagIds={}, limit={}", status, tagIds, limit);
+            return ResponseEntity.status(400).build();
+        }
+        LocalDate week;
+        TaskSearchRepository.Cursor position;
+        try {
+            week = dueWeek == null ? null : LocalDate.parse(dueWeek);
+            position = cursor == null ? null : TaskSearchRepository.Cursor.decode(cursor);
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            logger.error("dueWeek ou cursor inválido na busca: {}", e.getMessage());
+            return ResponseEntity.status(400).build();
+        }
+        Long scope = boardScope(username, projectId);
+        if (scope == null) {
+            return ResponseEntity.status(403).build();
+        }
+        List<Long> tags = tagIds == null ? List.of() : tagIds.stream().distinct().toList();
+        return ResponseEntity.ok(taskSearchService.search(scope, status, tags, archived, week, position, limit));
+    }
+
+    // Projeto do quadro (o pessoal, sem projectId) ou null se o usuário não participa dele
+    private Long boardScope(String username, Long projectId) {
+        ProjectMembershipService.Membership membership = projectMembershipService.forUser(username);
+        Long scope = membership.resolve(projectId);
+        if (!membership.canAccess(scope)) {
+            logger.error("Usuário {} não participa do projeto {}", username, scope);
+            return null;
+        }
+        return scope;
+    }
+
+    @SqlBudget(4)
     @GetMapping("/{id}")
     public ResponseEntity<Task> getTaskById(@PathVariable Long id) {
         try {
@@ -410,14 +687,13 @@ public class TaskController {
             }
             logger.debug("Usuário autenticado: {}", username);
 
-            // Buscar o usuário no banco de dados
-            logger.debug("Buscando usuário com username: {}", username);
-            User user = userRepository.findByUsername(username).orElse(null);
-            if (user == null) {
+            // Projetos do usuário (cache em memória): a verificação de acesso não consulta o banco
+            ProjectMembershipService.Membership membership = projectMembershipService.find(username).orElse(null);
+            if (membership == null) {
                 logger.error("Usuário não encontrado no banco de dados: {}", username);
                 return ResponseEntity.status(404).build();
             }
-            logger.debug("Usuário encontrado: ID = {}, Username = {}", user.getId(), user.getUsername());
+            logger.debug("Usuário encontrado: ID = {}, Username = {}", membership.getUserId(), username);
 
             // Forçar a sincronização com o banco de dados
             logger.debug("Forçando sincronização com o banco de dados antes de buscar a tarefa.");
@@ -432,18 +708,10 @@ public class TaskController {
             }
             logger.debug("Tarefa encontrada: ID = {}, Title = {}", task.getId(), task.getTitle());
 
-            // Forçar o carregamento do usuário associado à tarefa
-            Hibernate.initialize(task.getUser());
-            User taskUser = task.getUser();
-            if (taskUser == null) {
-                logger.error("Tarefa com ID {} não possui um usuário associado.", id);
-                return ResponseEntity.status(400).build();
-            }
-
-            logger.debug("Verificando propriedade da tarefa: user_id da tarefa = {}, id do usuário autenticado = {}", 
-                        taskUser.getId(), user.getId());
-            if (!taskUser.getId().equals(user.getId())) {
-                logger.error("Usuário {} (ID: {}) não tem permissão para acessar a tarefa {} (user_id: {})", username, user.getId(), id, taskUser.getId());
+            // Acesso pela participação no projeto da tarefa
+            logger.debug("Verificando acesso à tarefa: project_id da tarefa = {}, id do usuário autenticado = {}", task.getProjectId(), membership.getUserId());
+            if (!membership.canAccess(task.getProjectId())) {
+                logger.error("Usuário {} (ID: {}) não tem permissão para acessar a tarefa {} (project_id: {})", username, membership.getUserId(), id, task.getProjectId());
                 return ResponseEntity.status(403).build();
             }
 
@@ -455,17 +723,235 @@ public class TaskController {
         }
     }
 
+    @SqlBudget(7)
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteTask(@PathVariable Long id) {
         logger.info("Recebendo requisição para excluir tarefa com ID: {}", id);
 
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String username = authentication.getName();
+        taskWriteBehindService.flushTasks(List.of(id));
         taskService.deleteTask(id, username);
         logger.info("Tarefa excluída com sucesso: {}", id);
         return ResponseEntity.noContent().build();
     }
 
+    // Arrastar e soltar no quadro: só a linha da tarefa movida é atualizada
+    @SqlBudget(9)
+    @PostMapping("/{id}/move")
+    public ResponseEntity<Task> moveTask(@PathVariable Long id, @RequestBody MoveTaskRequest request,
+                                         @RequestHeader(value = TaskWriteBehindService.PREFER_HEADER, required = false) String prefer) {
+        logger.info("Recebendo requisição para mover a tarefa {} para a coluna {} (anterior: {}, próxima: {})",
+                id, request.getStatus(), request.getPreviousTaskId(), request.getNextTaskId());
+        if (request.getStatus() == null || request.getStatus().trim().isEmpty()) {
+            logger.error("Status de destino é nulo ou vazio.");
+            return ResponseEntity.status(400).build();
+        }
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+        if (TaskWriteBehindService.prefersAsync(prefer)
+                && taskWriteBehindService.moveLater(id, request.getStatus(), request.getPreviousTaskId(), request.getNextTaskId(), username)) {
+            logger.info("Movimento da tarefa {} adiado", id);
+            return ResponseEntity.accepted().header(TaskWriteBehindService.PREFERENCE_APPLIED_HEADER, TaskWriteBehindService.RESPOND_ASYNC).build();
+        }
+        // A tarefa e as vizinhas: a posição nova é calculada sobre as chaves já gravadas
+        List<Long> flushed = new ArrayList<>(List.of(id));
+        if (request.getPreviousTaskId() != null) {
+            flushed.add(request.getPreviousTaskId());
+        }
+        if (request.getNextTaskId() != null) {
+            flushed.add(request.getNextTaskId());
+        }
+        taskWriteBehindService.flushTasks(flushed);
+        try {
+            Task movedTask = taskService.moveTask(id, request.getStatus(), request.getPreviousTaskId(), request.getNextTaskId(), username);
+            return ResponseEntity.ok(movedTask);
+        } catch (IllegalArgumentException e) {
+            logger.error("Movimento inválido da tarefa {}: {}", id, e.getMessage());
+            return ResponseEntity.status(400).build();
+        }
+    }
+
+    // Comentários da tarefa, do mais recente para o mais antigo (paginação por cursor)
+    @SqlBudget(3)
+    @GetMapping("/{id}/comments")
+    public ResponseEntity<CursorPageDTO<CommentDTO>> getComments(
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false, defaultValue = "20") int limit) {
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+        logger.info("Listando comentários da tarefa {} para o usuário {}", id, username);
+        if (limit < 1 || limit > MAX_BOARD_PAGE_SIZE) {
+            logger.error("Limite inválido para os comentários: {}", limit);
+            return ResponseEntity.status(400).build();
+        }
+        ResponseEntity<CursorPageDTO<CommentDTO>> denied = checkTaskAccess(id, username);
+        if (denied != null) {
+            return denied;
+        }
+        try {
+            return ResponseEntity.ok(taskHistoryService.getComments(id, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            logger.error("Cursor inválido para os comentários da tarefa {}: {}", id, e.getMessage());
+            return ResponseEntity.status(400).build();
+        }
+    }
+
+    @SqlBudget(3)
+    @PostMapping("/{id}/comments")
+    public ResponseEntity<TaskComment> addComment(@PathVariable Long id, @RequestBody CommentRequest request) {
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+        logger.info("Recebendo comentário para a tarefa {} do usuário {}", id, username);
+        ProjectMembershipService.Membership membership = projectMembershipService.forUser(username);
+        Long projectId = taskRepository.findProjectIdById(id).orElse(null);
+        if (projectId == null) {
+            logger.warn("Tarefa não encontrada com ID: {}", id);
+            return ResponseEntity.status(404).build();
+        }
+        if (!membership.canAccess(projectId)) {
+            logger.error("Usuário {} não tem permissão para comentar na tarefa {} (project_id: {})", username, id, projectId);
+            return ResponseEntity.status(403).build();
+        }
+        try {
+            return ResponseEntity.ok(taskHistoryService.addComment(id, projectId, membership.getUserId(), request.getBody()));
+        } catch (IllegalArgumentException e) {
+            logger.error("Comentário inválido para a tarefa {}: {}", id, e.getMessage());
+            return ResponseEntity.status(400).build();
+        }
+    }
+
+    // Histórico de alterações da tarefa, do mais recente para o mais antigo (paginação por cursor)
+    @SqlBudget(3)
+    @GetMapping("/{id}/activity")
+    public ResponseEntity<CursorPageDTO<ActivityDTO>> getActivity(
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false, defaultValue = "20") int limit) {
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+        logger.info("Listando histórico da tarefa {} para o usuário {}", id, username);
+        if (limit < 1 || limit > MAX_BOARD_PAGE_SIZE) {
+            logger.error("Limite inválido para o histórico: {}", limit);
+            return ResponseEntity.status(400).build();
+        }
+        ResponseEntity<CursorPageDTO<ActivityDTO>> denied = checkTaskAccess(id, username);
+        if (denied != null) {
+            return denied;
+        }
+        try {
+            return ResponseEntity.ok(taskHistoryService.getActivity(id, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            logger.error("Cursor inválido para o histórico da tarefa {}: {}", id, e.getMessage());
+            return ResponseEntity.status(400).build();
+        }
+    }
+
+    // Eventos antigos, já compactados: contagem por dia e ação
+    @SqlBudget(3)
+    @GetMapping("/{id}/activity/summary")
+    public ResponseEntity<List<ActivitySummaryDTO>> getActivitySummary(@PathVariable Long id) {
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+        ResponseEntity<List<ActivitySummaryDTO>> denied = checkTaskAccess(id, username);
+        if (denied != null) {
+            return denied;
+        }
+        return ResponseEntity.ok(taskHistoryService.getActivitySummary(id));
+    }
+
+    // 404/403 quando a tarefa não existe ou o usuário não participa do projeto dela; null se o acesso é permitido
+    private <T> ResponseEntity<T> checkTaskAccess(Long id, String username) {
+        Long projectId = taskRepository.findProjectIdById(id).orElse(null);
+        if (projectId == null) {
+            logger.warn("Tarefa não encontrada com ID: {}", id);
+            return ResponseEntity.status(404).build();
+        }
+        if (!projectMembershipService.forUser(username).canAccess(projectId)) {
+            logger.error("Usuário {} não tem permissão para acessar a tarefa {} (project_id: {})", username, id, projectId);
+            return ResponseEntity.status(403).build();
+        }
+        return null;
+    }
+
+    // "Atribuídas a mim": tarefas de qualquer projeto em que o usuário é responsável, por prazo (sem prazo por último)
+    @SqlBudget(2)
+    @GetMapping("/assigned")
+    public ResponseEntity<CursorPageDTO<InboxItemDTO>> getAssignedTasks(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false, defaultValue = "false") boolean archived,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false, defaultValue = "20") int limit) {
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+        logger.info("Listando tarefas atribuídas ao usuário {}: Status: {}, Archived: {}", username, status, archived);
+        if (limit < 1 || limit > MAX_BOARD_PAGE_SIZE) {
+            logger.error("Limite inválido para as tarefas atribuídas: {}", limit);
+            return ResponseEntity.status(400).build();
+        }
+        try {
+            return ResponseEntity.ok(taskAssignmentService.getInbox(username, archived, status, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            logger.error("Cursor inválido para as tarefas atribuídas: {}", e.getMessage());
+            return ResponseEntity.status(400).build();
+        }
+    }
+
+    @SqlBudget(3)
+    @GetMapping("/{id}/assignees")
+    public ResponseEntity<List<AssigneeDTO>> getAssignees(@PathVariable Long id) {
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+        ResponseEntity<List<AssigneeDTO>> denied = checkTaskAccess(id, username);
+        if (denied != null) {
+            return denied;
+        }
+        return ResponseEntity.ok(taskAssignmentService.getAssignees(id));
+    }
+
+    // Atribui a tarefa a um membro do projeto dela; repetir a atribuição não tem efeito
+    @SqlBudget(5)
+    @PostMapping("/{id}/assignees")
+    public ResponseEntity<List<AssigneeDTO>> assignTask(@PathVariable Long id, @RequestBody AssigneeRequest request) {
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+        logger.info("Usuário {} atribuindo a tarefa {} a {}", username, id, request.getUsername());
+        ProjectMembershipService.Membership membership = projectMembershipService.forUser(username);
+        Long projectId = taskRepository.findProjectIdById(id).orElse(null);
+        if (projectId == null) {
+            logger.warn("Tarefa não encontrada com ID: {}", id);
+            return ResponseEntity.status(404).build();
+        }
+        if (!membership.canAccess(projectId)) {
+            logger.error("Usuário {} não tem permissão para atribuir a tarefa {} (project_id: {})", username, id, projectId);
+            return ResponseEntity.status(403).build();
+        }
+        try {
+            return ResponseEntity.ok(taskAssignmentService.assign(id, projectId, request.getUsername(), membership.getUserId()));
+        } catch (IllegalArgumentException e) {
+            logger.error("Atribuição inválida da tarefa {}: {}", id, e.getMessage());
+            return ResponseEntity.status(400).build();
+        }
+    }
+
+    @SqlBudget(4)
+    @DeleteMapping("/{id}/assignees/{userId}")
+    public ResponseEntity<Void> unassignTask(@PathVariable Long id, @PathVariable Long userId) {
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+        logger.info("Usuário {} removendo o responsável {} da tarefa {}", username, userId, id);
+        ProjectMembershipService.Membership membership = projectMembershipService.forUser(username);
+        Long projectId = taskRepository.findProjectIdById(id).orElse(null);
+        if (projectId == null) {
+            logger.warn("Tarefa não encontrada com ID: {}", id);
+            return ResponseEntity.status(404).build();
+        }
+        if (!membership.canAccess(projectId)) {
+            logger.error("Usuário {} não tem permissão para alterar os responsáveis da tarefa {} (project_id: {})", username, id, projectId);
+            return ResponseEntity.status(403).build();
+        }
+        try {
+            taskAssignmentService.unassign(id, projectId, userId, membership.getUserId());
+            return ResponseEntity.noContent().build();
+        } catch (RuntimeException e) {
+            logger.error("Responsável {} não encontrado na tarefa {}: {}", userId, id, e.getMessage());
+            return ResponseEntity.status(404).build();
+        }
+    }
+
+    @SqlBudget(6)
     @PostMapping("/bulk-update-status")
     public ResponseEntity<List<Task>> bulkUpdateStatus(@RequestBody BulkUpdateStatusRequest request) {
         try {
@@ -503,18 +989,18 @@ public class TaskController {
             }
             logger.debug("Usuário autenticado: {}", username);
 
-            // Buscar o usuário no banco de dados
-            logger.debug("Buscando usuário com username: {}", username);
-            User user = userRepository.findByUsername(username).orElse(null);
-            if (user == null) {
+            // Projetos do usuário (cache em memória): a verificação de acesso não consulta o banco
+            ProjectMembershipService.Membership membership = projectMembershipService.find(username).orElse(null);
+            if (membership == null) {
                 logger.error("Usuário não encontrado no banco de dados: {}", username);
                 return ResponseEntity.status(404).build();
             }
-            logger.debug("Usuário encontrado: ID = {}, Username = {}", user.getId(), user.getUsername());
+            logger.debug("Usuário encontrado: ID = {}, Username = {}", membership.getUserId(), username);
 
-            // Forçar a sincronização com o banco de dados
+            // Forçar a sincronização com o banco de dados (inclusive das mudanças adiadas destas tarefas)
             logger.debug("Forçando sincronização com o banco de dados antes de buscar as tarefas.");
             taskRepository.flush();
+            taskWriteBehindService.flushTasks(request.getTaskIds());
 
             // Buscar as tarefas pelos IDs fornecidos
             logger.debug("Buscando tarefas com IDs: {}", request.getTaskIds());
@@ -524,20 +1010,28 @@ public class TaskController {
                 return ResponseEntity.status(404).build();
             }
 
-            // Verificar se todas as tarefas pertencem ao usuário autenticado e atualizá-las
+            // Verificar se o usuário participa do projeto de todas as tarefas antes de alterar qualquer uma
             for (Task task : tasks) {
-                Hibernate.initialize(task.getUser());
-                User taskUser = task.getUser();
-                if (taskUser == null) {
-                    logger.error("Tarefa com ID {} não possui um usuário associado.", task.getId());
-                    return ResponseEntity.status(400).build();
-                }
-                logger.debug("Verificando propriedade da tarefa: user_id da tarefa = {}, id do usuário autenticado = {}", 
-                            taskUser.getId(), user.getId());
-                if (!taskUser.getId().equals(user.getId())) {
-                    logger.error("Usuário {} (ID: {}) não tem permissão para atualizar a tarefa {} (user_id: {})", username, user.getId(), task.getId(), taskUser.getId());
+                logger.debug("Verificando acesso à tarefa: project_id da tarefa = {}, id do usuário autenticado = {}", task.getProjectId(), membership.getUserId());
+                if (!membership.canAccess(task.getProjectId())) {
+                    logger.error("Usuário {} (ID: {}) não tem permissão para atualizar a tarefa {} (project_id: {})", username, membership.getUserId(), task.getId(), task.getProjectId());
                     return ResponseEntity.status(403).build();
                 }
+            }
+
+            // Tarefas que mudam de coluna vão para o fim da nova coluna do seu projeto, na ordem recebida
+            Map<Long, String> lastRanks = new HashMap<>();
+            Map<Long, String> previousStatuses = new HashMap<>();
+            for (Task task : tasks) {
+                if (!request.getNewStatus().equals(task.getStatus())) {
+                    previousStatuses.put(task.getId(), task.getStatus());
+                    String lastRank = lastRanks.containsKey(task.getProjectId())
+                            ? lastRanks.get(task.getProjectId())
+                            : taskRepository.findMaxRank(task.getProjectId(), request.getNewStatus());
+                    lastRank = RankKeys.between(lastRank, null);
+                    lastRanks.put(task.getProjectId(), lastRank);
+                    task.setRank(lastRank);
+                }
                 task.setStatus(request.getNewStatus());
             }
 
@@ -545,6 +1039,17 @@ public class TaskController {
             logger.debug("Salvando tarefas atualizadas: {}", tasks.size());
             List<Task> updatedTasks = taskRepository.saveAll(tasks);
             taskRepository.flush();
+            updatedTasks.forEach(reminderScheduler::reschedule);
+            updatedTasks.forEach(taskFilterIndex::onTaskSaved);
+            updatedTasks.stream().map(Task::getProjectId).distinct().forEach(taskListCache::invalidate);
+            taskAssignmentRepository.refreshInbox(updatedTasks);
+            for (Task task : updatedTasks) {
+                if (!previousStatuses.containsKey(task.getId())) {
+                    continue;
+                }
+                activityLogService.record(task.getId(), task.getProjectId(), membership.getUserId(), ActivityLogService.STATUS_CHANGED,
+                        "status: " + previousStatuses.get(task.getId()) + " -> " + request.getNewStatus() + " (em massa)");
+            }
             logger.info("Tarefas atualizadas com sucesso: {}", updatedTasks.size());
             return ResponseEntity.ok(updatedTasks);
         } catch (Exception e) {
@@ -553,6 +1058,7 @@ public class TaskController {
         }
     }
 
+    @SqlBudget(6)
     @PostMapping("/{id}/archive")
     public ResponseEntity<Task> archiveTask(@PathVariable Long id) {
         try {
@@ -581,18 +1087,18 @@ public class TaskController {
             }
             logger.debug("Usuário autenticado: {}", username);
 
-            // Buscar o usuário no banco de dados
-            logger.debug("Buscando usuário com username: {}", username);
-            User user = userRepository.findByUsername(username).orElse(null);
-            if (user == null) {
+            // Projetos do usuário (cache em memória): a verificação de acesso não consulta o banco
+            ProjectMembershipService.Membership membership = projectMembershipService.find(username).orElse(null);
+            if (membership == null) {
                 logger.error("Usuário não encontrado no banco de dados: {}", username);
                 return ResponseEntity.status(404).build();
             }
-            logger.debug("Usuário encontrado: ID = {}, Username = {}", user.getId(), user.getUsername());
+            logger.debug("Usuário encontrado: ID = {}, Username = {}", membership.getUserId(), username);
 
             // Forçar a sincronização com o banco de dados
             logger.debug("Forçando sincronização com o banco de dados antes de buscar a tarefa.");
             taskRepository.flush();
+            taskWriteBehindService.flushTasks(List.of(id));
 
             // Buscar a tarefa no banco de dados
             logger.debug("Buscando tarefa com ID: {}", id);
@@ -603,18 +1109,10 @@ public class TaskController {
             }
             logger.debug("Tarefa encontrada: ID = {}, Title = {}", task.getId(), task.getTitle());
 
-            // Forçar o carregamento do usuário associado à tarefa
-            Hibernate.initialize(task.getUser());
-            User taskUser = task.getUser();
-            if (taskUser == null) {
-                logger.error("Tarefa com ID {} não possui um usuário associado.", id);
-                return ResponseEntity.status(400).build();
-            }
-
-            logger.debug("Verificando propriedade da tarefa: user_id da tarefa = {}, id do usuário autenticado = {}", 
-                        taskUser.getId(), user.getId());
-            if (!taskUser.getId().equals(user.getId())) {
-                logger.error("Usuário {} (ID: {}) não tem permissão para arquivar a tarefa {} (user_id: {})", username, user.getId(), id, taskUser.getId());
+            // Acesso pela participação no projeto da tarefa
+            logger.debug("Verificando acesso à tarefa: project_id da tarefa = {}, id do usuário autenticado = {}", task.getProjectId(), membership.getUserId());
+            if (!membership.canAccess(task.getProjectId())) {
+                logger.error("Usuário {} (ID: {}) não tem permissão para arquivar a tarefa {} (project_id: {})", username, membership.getUserId(), id, task.getProjectId());
                 return ResponseEntity.status(403).build();
             }
 
@@ -622,6 +1120,11 @@ public class TaskController {
             task.setArchived(true);
             Task updatedTask = taskRepository.save(task);
             taskRepository.flush();
+            reminderScheduler.reschedule(updatedTask);
+            taskFilterIndex.onTaskSaved(updatedTask);
+            taskListCache.invalidate(updatedTask.getProjectId());
+            taskAssignmentRepository.refreshInbox(List.of(updatedTask));
+            activityLogService.record(id, task.getProjectId(), membership.getUserId(), ActivityLogService.ARCHIVED, null);
             logger.info("Tarefa com ID {} arquivada com sucesso.", id);
             return ResponseEntity.ok(updatedTask);
         } catch (Exception e) {
@@ -630,6 +1133,7 @@ public class TaskController {
         }
     }
 
+    @SqlBudget(6)
     @PostMapping("/{id}/unarchive")
     public ResponseEntity<Task> unarchiveTask(@PathVariable Long id) {
         try {
@@ -658,18 +1162,18 @@ public class TaskController {
             }
             logger.debug("Usuário autenticado: {}", username);
 
-            // Buscar o usuário no banco de dados
-            logger.debug("Buscando usuário com username: {}", username);
-            User user = userRepository.findByUsername(username).orElse(null);
-            if (user == null) {
+            // Projetos do usuário (cache em memória): a verificação de acesso não consulta o banco
+            ProjectMembershipService.Membership membership = projectMembershipService.find(username).orElse(null);
+            if (membership == null) {
                 logger.error("Usuário não encontrado no banco de dados: {}", username);
                 return ResponseEntity.status(404).build();
             }
-            logger.debug("Usuário encontrado: ID = {}, Username = {}", user.getId(), user.getUsername());
+            logger.debug("Usuário encontrado: ID = {}, Username = {}", membership.getUserId(), username);
 
             // Forçar a sincronização com o banco de dados
             logger.debug("Forçando sincronização com o banco de dados antes de buscar a tarefa.");
             taskRepository.flush();
+            taskWriteBehindService.flushTasks(List.of(id));
 
             // Buscar a tarefa no banco de dados
             logger.debug("Buscando tarefa com ID: {}", id);
@@ -680,18 +1184,10 @@ public class TaskController {
             }
             logger.debug("Tarefa encontrada: ID = {}, Title = {}", task.getId(), task.getTitle());
 
-            // Forçar o carregamento do usuário associado à tarefa
-            Hibernate.initialize(task.getUser());
-            User taskUser = task.getUser();
-            if (taskUser == null) {
-                logger.error("Tarefa com ID {} não possui um usuário associado.", id);
-                return ResponseEntity.status(400).build();
-            }
-
-            logger.debug("Verificando propriedade da tarefa: user_id da tarefa = {}, id do usuário autenticado = {}", 
-                        taskUser.getId(), user.getId());
-            if (!taskUser.getId().equals(user.getId())) {
-                logger.error("Usuário {} (ID: {}) não tem permissão para desarquivar a tarefa {} (user_id: {})", username, user.getId(), id, taskUser.getId());
+            // Acesso pela participação no projeto da tarefa
+            logger.debug("Verificando acesso à tarefa: project_id da tarefa = {}, id do usuário autenticado = {}", task.getProjectId(), membership.getUserId());
+            if (!membership.canAccess(task.getProjectId())) {
+                logger.error("Usuário {} (ID: {}) não tem permissão para desarquivar a tarefa {} (project_id: {})", username, membership.getUserId(), id, task.getProjectId());
                 return ResponseEntity.status(403).build();
             }
 
@@ -699,6 +1195,11 @@ public class TaskController {
             task.setArchived(false);
             Task updatedTask = taskRepository.save(task);
             taskRepository.flush();
+            reminderScheduler.reschedule(updatedTask);
+            taskFilterIndex.onTaskSaved(updatedTask);
+            taskListCache.invalidate(updatedTask.getProjectId());
+            taskAssignmentRepository.refreshInbox(List.of(updatedTask));
+            activityLogService.record(id, task.getProjectId(), membership.getUserId(), ActivityLogService.UNARCHIVED, null);
             logger.info("Tarefa com ID {} desarquivada com sucesso.", id);
             return ResponseEntity.ok(updatedTask);
         } catch (Exception e) {
@@ -707,6 +1208,54 @@ public class TaskController {
         }
     }
 
+    // Inclui várias tags em várias tarefas: um lote de INSERT ... ON CONFLICT DO NOTHING
+    @SqlBudget(5)
+    @PostMapping("/bulk-add-tags")
+    public ResponseEntity<Map<String, Integer>> bulkAddTags(@RequestBody BulkTagRequest request) {
+        return bulkTags(request, true);
+    }
+
+    // Remove várias tags de várias tarefas num único DELETE
+    @SqlBudget(4)
+    @PostMapping("/bulk-remove-tags")
+    public ResponseEntity<Map<String, Integer>> bulkRemoveTags(@RequestBody BulkTagRequest request) {
+        return bulkTags(request, false);
+    }
+
+    private ResponseEntity<Map<String, Integer>> bulkTags(BulkTagRequest request, boolean add) {
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+        logger.info("Usuário {} {} as tags {} nas tarefas {}", username, add ? "incluindo" : "removendo", request.getTagNames(), request.getTaskIds());
+        if (request.getTaskIds() == null || request.getTaskIds().isEmpty()) {
+            logger.error("Lista de IDs de tarefas é nula ou vazia.");
+            return ResponseEntity.status(400).build();
+        }
+        ProjectMembershipService.Membership membership = projectMembershipService.forUser(username);
+
+        // Projeto de cada tarefa; todas precisam ser acessíveis antes de alterar qualquer uma
+        Map<Long, Long> projectIds = new HashMap<>();
+        for (TaskProjectView view : taskRepository.findProjectIdsByIdIn(request.getTaskIds())) {
+            if (!membership.canAccess(view.getProjectId())) {
+                logger.error("Usuário {} não tem permissão para alterar as tags da tarefa {} (project_id: {})", username, view.getId(), view.getProjectId());
+                return ResponseEntity.status(403).build();
+            }
+            projectIds.put(view.getId(), view.getProjectId());
+        }
+        if (projectIds.isEmpty()) {
+            logger.warn("Nenhuma tarefa encontrada para os IDs fornecidos: {}", request.getTaskIds());
+            return ResponseEntity.status(404).build();
+        }
+        try {
+            int changed = add
+                    ? taskTagService.addTags(projectIds, request.getTagNames(), membership.getUserId())
+                    : taskTagService.removeTags(projectIds, request.getTagNames(), membership.getUserId());
+            return ResponseEntity.ok(Map.of("tasks", projectIds.size(), "changed", changed));
+        } catch (IllegalArgumentException e) {
+            logger.error("Requisição de tags em lote inválida: {}", e.getMessage());
+            return ResponseEntity.status(400).build();
+        }
+    }
+
+    @SqlBudget(6)
     @PostMapping("/{id}/tags")
     public ResponseEntity<Task> addTagToTask(@PathVariable Long id, @RequestBody TagRequest tagRequest) {
         try {
@@ -741,14 +1290,13 @@ public class TaskController {
             }
             logger.debug("Usuário autenticado: {}", username);
 
-            // Buscar o usuário no banco de dados
-            logger.debug("Buscando usuário com username: {}", username);
-            User user = userRepository.findByUsername(username).orElse(null);
-            if (user == null) {
+            // Projetos do usuário (cache em memória): a verificação de acesso não consulta o banco
+            ProjectMembershipService.Membership membership = projectMembershipService.find(username).orElse(null);
+            if (membership == null) {
                 logger.error("Usuário não encontrado no banco de dados: {}", username);
                 return ResponseEntity.status(404).build();
             }
-            logger.debug("Usuário encontrado: ID = {}, Username = {}", user.getId(), user.getUsername());
+            logger.debug("Usuário encontrado: ID = {}, Username = {}", membership.getUserId(), username);
 
             // Forçar a sincronização com o banco de dados
             logger.debug("Forçando sincronização com o banco de dados antes de buscar a tarefa.");
@@ -763,49 +1311,33 @@ public class TaskController {
             }
             logger.debug("Tarefa encontrada: ID = {}, Title = {}", task.getId(), task.getTitle());
 
-            // Forçar o carregamento do usuário associado à tarefa
-            Hibernate.initialize(task.getUser());
-            User taskUser = task.getUser();
-            if (taskUser == null) {
-                logger.error("Tarefa com ID {} não possui um usuário associado.", id);
-                return ResponseEntity.status(400).build();
-            }
-
-            logger.debug("Verificando propriedade da tarefa: user_id da tarefa = {}, id do usuário autenticado = {}", 
-                        taskUser.getId(), user.getId());
-            if (!taskUser.getId().equals(user.getId())) {
-                logger.error("Usuário {} (ID: {}) não tem permissão para adicionar tag à tarefa {} (user_id: {})", username, user.getId(), id, taskUser.getId());
+            // Acesso pela participação no projeto da tarefa
+            logger.debug("Verificando acesso à tarefa: project_id da tarefa = {}, id do usuário autenticado = {}", task.getProjectId(), membership.getUserId());
+            if (!membership.canAccess(task.getProjectId())) {
+                logger.error("Usuário {} (ID: {}) não tem permissão para adicionar tag à tarefa {} (project_id: {})", username, membership.getUserId(), id, task.getProjectId());
                 return ResponseEntity.status(403).build();
             }
 
-            // Buscar ou criar a tag
-            logger.debug("Buscando ou criando tag com nome: {}", tagRequest.getTagName());
-            Tag tag = tagRepository.findByName(tagRequest.getTagName())
-                    .orElseGet(() -> {
-                        Tag newTag = new Tag();
-                        newTag.setName(tagRequest.getTagName());
-                        return tagRepository.save(newTag);
-                    });
-            logger.debug("Tag encontrada ou criada: ID = {}, Name = {}", tag.getId(), tag.getName());
-
-            // Adicionar a tag à tarefa
-            Hibernate.initialize(task.getTags());
-            if (!task.getTags().contains(tag)) {
-                task.getTags().add(tag);
-                Task updatedTask = taskRepository.save(task);
-                taskRepository.flush();
-                logger.info("Tag {} adicionada à tarefa com ID {} com sucesso.", tag.getName(), id);
-                return ResponseEntity.ok(updatedTask);
+            // Buscar ou criar a tag e associá-la (uma linha em task_tags; as demais não são regravadas)
+            logger.debug("Associando a tag {} à tarefa {}", tagRequest.getTagName(), id);
+            if (taskTagService.addTag(id, task.getProjectId(), tagRequest.getTagName(), membership.getUserId())) {
+                logger.info("Tag {} adicionada à tarefa com ID {} com sucesso.", tagRequest.getTagName(), id);
             } else {
-                logger.info("Tag {} já está associada à tarefa com ID {}.", tag.getName(), id);
-                return ResponseEntity.ok(task);
+                logger.info("Tag {} já está associada à tarefa com ID {}.", tagRequest.getTagName(), id);
             }
+            // As tags da tarefa ainda não foram carregadas: a leitura já inclui a nova associação
+            Hibernate.initialize(task.getTags());
+            return ResponseEntity.ok(task);
+        } catch (IllegalArgumentException e) {
+            logger.error("Tag inválida para a tarefa {}: {}", id, e.getMessage());
+            return ResponseEntity.status(400).build();
         } catch (Exception e) {
             logger.error("Erro ao adicionar tag à tarefa com ID {}: {}", id, e.getMessage(), e);
             return ResponseEntity.status(500).build();
         }
     }
 
+    @SqlBudget(5)
     @DeleteMapping("/{id}/tags/{tagId}")
     public ResponseEntity<Task> removeTagFromTask(@PathVariable Long id, @PathVariable Long tagId) {
         try {
@@ -838,14 +1370,13 @@ public class TaskController {
             }
             logger.debug("Usuário autenticado: {}", username);
 
-            // Buscar o usuário no banco de dados
-            logger.debug("Buscando usuário com username: {}", username);
-            User user = userRepository.findByUsername(username).orElse(null);
-            if (user == null) {
+            // Projetos do usuário (cache em memória): a verificação de acesso não consulta o banco
+            ProjectMembershipService.Membership membership = projectMembershipService.find(username).orElse(null);
+            if (membership == null) {
                 logger.error("Usuário não encontrado no banco de dados: {}", username);
                 return ResponseEntity.status(404).build();
             }
-            logger.debug("Usuário encontrado: ID = {}, Username = {}", user.getId(), user.getUsername());
+            logger.debug("Usuário encontrado: ID = {}, Username = {}", membership.getUserId(), username);
 
             // Forçar a sincronização com o banco de dados
             logger.debug("Forçando sincronização com o banco de dados antes de buscar a tarefa.");
@@ -860,18 +1391,10 @@ public class TaskController {
             }
             logger.debug("Tarefa encontrada: ID = {}, Title = {}", task.getId(), task.getTitle());
 
-            // Forçar o carregamento do usuário associado à tarefa
-            Hibernate.initialize(task.getUser());
-            User taskUser = task.getUser();
-            if (taskUser == null) {
-                logger.error("Tarefa com ID {} não possui um usuário associado.", id);
-                return ResponseEntity.status(400).build();
-            }
-
-            logger.debug("Verificando propriedade da tarefa: user_id da tarefa = {}, id do usuário autenticado = {}", 
-                        taskUser.getId(), user.getId());
-            if (!taskUser.getId().equals(user.getId())) {
-                logger.error("Usuário {} (ID: {}) não tem permissão para remover tag da tarefa {} (user_id: {})", username, user.getId(), id, taskUser.getId());
+            // Acesso pela participação no projeto da tarefa
+            logger.debug("Verificando acesso à tarefa: project_id da tarefa = {}, id do usuário autenticado = {}", task.getProjectId(), membership.getUserId());
+            if (!membership.canAccess(task.getProjectId())) {
+                logger.error("Usuário {} (ID: {}) não tem permissão para remover tag da tarefa {} (project_id: {})", username, membership.getUserId(), id, task.getProjectId());
                 return ResponseEntity.status(403).build();
             }
 
@@ -884,18 +1407,14 @@ public class TaskController {
             }
             logger.debug("Tag encontrada: ID = {}, Name = {}", tag.getId(), tag.getName());
 
-            // Remover a tag da tarefa
-            Hibernate.initialize(task.getTags());
-            if (task.getTags().contains(tag)) {
-                task.getTags().remove(tag);
-                Task updatedTask = taskRepository.save(task);
-                taskRepository.flush();
+            // Remover a tag da tarefa (um DELETE só da linha da associação)
+            if (taskTagService.removeTag(id, task.getProjectId(), tag.getId(), tag.getName(), membership.getUserId())) {
                 logger.info("Tag {} removida da tarefa com ID {} com sucesso.", tag.getName(), id);
-                return ResponseEntity.ok(updatedTask);
             } else {
                 logger.info("Tag {} não está associada à tarefa com ID {}.", tag.getName(), id);
-                return ResponseEntity.ok(task);
             }
+            Hibernate.initialize(task.getTags());
+            return ResponseEntity.ok(task);
         } catch (Exception e) {
             logger.error("Erro ao remover tag da tarefa com ID {}: {}", id, e.getMessage(), e);
             return ResponseEntity.status(500).build();
@@ -934,4 +1453,79 @@ class TagRequest {
     public void setTagName(String tagName) {
         this.tagName = tagName;
     }
-}
\ No newline at end of file
+}
+
+class BulkTagRequest {
+    private List<Long> taskIds;
+    private List<String> tagNames;
+
+    public List<Long> getTaskIds() {
+        return taskIds;
+    }
+
+    public void setTaskIds(List<Long> taskIds) {
+        this.taskIds = taskIds;
+    }
+
+    public List<String> getTagNames() {
+        return tagNames;
+    }
+
+    public void setTagNames(List<String> tagNames) {
+        this.tagNames = tagNames;
+    }
+}
+
+class MoveTaskRequest {
+    private String status;
+    private Long previousTaskId;
+    private Long nextTaskId;
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Long getPreviousTaskId() {
+        return previousTaskId;
+    }
+
+    public void setPreviousTaskId(Long previousTaskId) {
+        this.previousTaskId = previousTaskId;
+    }
+
+    public Long getNextTaskId() {
+        return nextTaskId;
+    }
+
+    public void setNextTaskId(Long nextTaskId) {
+        this.nextTaskId = nextTaskId;
+    }
+}
+
+class CommentRequest {
+    private String body;
+
+    public String getBody() {
+        return body;
+    }
+
+    public void setBody(String body) {
+        this.body = body;
+    }
+}
+
+class AssigneeRequest {
+    private String username;
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+}
@@ -1,12 +1,17 @@
 package com.taskmanager.controller;
 
 import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -24,18 +29,34 @@ public class UserController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    @Qualifier("passwordHashExecutor")
+    private ThreadPoolTaskExecutor passwordHashExecutor;
+
+    // O hash da senha (bcrypt no custo configurado) roda no mesmo executor do login, fora das threads da API
     @PostMapping
-    public ResponseEntity<?> createUser(@RequestBody User user) {
-        try {
-            logger.info("Tentando criar usuário: {}", user.getUsername());
+    public CompletableFuture<ResponseEntity<?>> createUser(@RequestBody User user) {
+        logger.info("Tentando criar usuário: {}", user.getUsername());
 
-            // Verificar se o email já existe
-            if (userService.existsByEmail(user.getEmail())) {
-                logger.warn("Email já está em uso: {}", user.getEmail());
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                        .body("Erro: O email " + user.getEmail() + " já está em uso.");
-            }
+        // Verificar se o email já existe
+        if (userService.existsByEmail(user.getEmail())) {
+            logger.warn("Email já está em uso: {}", user.getEmail());
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body("Erro: O email " + user.getEmail() + " já está em uso."));
+        }
 
+        try {
+            return CompletableFuture.supplyAsync(() -> register(user), passwordHashExecutor);
+        } catch (RejectedExecutionException e) {
+            logger.warn("Fila de hash de senha cheia; recusando cadastro do usuário {}", user.getUsername());
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body("Serviço de cadastro sobrecarregado. Tente novamente."));
+        }
+    }
+
+    private ResponseEntity<?> register(User user) {
+        try {
             // Definir a data de criação
             user.setCreatedAt(LocalDateTime.now());
             User createdUser = userService.createUser(user);
@@ -0,0 +1,55 @@
+package com.taskmanager.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Resumo diário de eventos já compactados do histórico de uma tarefa
+public class ActivitySummaryDTO {
+
+    private LocalDate day;
+    private String action;
+    private Long events;
+    private LocalDateTime firstAt;
+    private LocalDateTime lastAt;
+
+    // Getters e Setters
+    public LocalDate getDay() {
+        return day;
+    }
+
+    public void setDay(LocalDate day) {
+        this.day = day;
+    }
+
+    public String getAction() {
+        return action;
+    }
+
+    public void setAction(String action) {
+        this.action = action;
+    }
+
+    public Long getEvents() {
+        return events;
+    }
+
+    public void setEvents(Long events) {
+        this.events = events;
+    }
+
+    public LocalDateTime getFirstAt() {
+        return firstAt;
+    }
+
+    public void setFirstAt(LocalDateTime firstAt) {
+        this.firstAt = firstAt;
+    }
+
+    public LocalDateTime getLastAt() {
+        return lastAt;
+    }
+
+    public void setLastAt(LocalDateTime lastAt) {
+        this.lastAt = lastAt;
+    }
+}
@@ -0,0 +1,45 @@
+package com.taskmanager.dto;
+
+import java.time.LocalDateTime;
+
+// Responsável por uma tarefa
+public class AssigneeDTO {
+
+    private Long userId;
+    private String username;
+    private Long assignedBy;
+    private LocalDateTime assignedAt;
+
+    // Getters e Setters
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public Long getAssignedBy() {
+        return assignedBy;
+    }
+
+    public void setAssignedBy(Long assignedBy) {
+        this.assignedBy = assignedBy;
+    }
+
+    public LocalDateTime getAssignedAt() {
+        return assignedAt;
+    }
+
+    public void setAssignedAt(LocalDateTime assignedAt) {
+        this.assignedAt = assignedAt;
+    }
+}
@@ -2,6 +2,7 @@ package com.taskmanager.dto;
 
 public class AuthResponseDTO {
     private String token;
+    private String refreshToken;
 
     public AuthResponseDTO() {
     }
@@ -10,6 +11,11 @@ public class AuthResponseDTO {
         this.token = token;
     }
 
+    public AuthResponseDTO(String token, String refreshToken) {
+        this.token = token;
+        this.refreshToken = refreshToken;
+    }
+
     public String getToken() {
         return token;
     }
@@ -17,4 +23,12 @@ public class AuthResponseDTO {
     public void setToken(String token) {
         this.token = token;
     }
+
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,53 @@
+package com.taskmanager.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Coluna do quadro Kanban. total só vem preenchido no quadro completo; nextCursor é nulo na última página.
+public class BoardColumnDTO {
+
+    private String status;
+    private Long total;
+    private List<BoardCardDTO> tasks = new ArrayList<>();
+    private String nextCursor;
+
+    public BoardColumnDTO() {
+    }
+
+    public BoardColumnDTO(String status) {
+        this.status = status;
+    }
+
+    // Getters e Setters
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Long getTotal() {
+        return total;
+    }
+
+    public void setTotal(Long total) {
+        this.total = total;
+    }
+
+    public List<BoardCardDTO> getTasks() {
+        return tasks;
+    }
+
+    public void setTasks(List<BoardCardDTO> tasks) {
+        this.tasks = tasks;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,28 @@
+package com.taskmanager.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Página de uma listagem paginada por cursor (keyset); nextCursor é nulo na última página
+public class CursorPageDTO<T> {
+
+    private List<T> items = new ArrayList<>();
+    private String nextCursor;
+
+    // Getters e Setters
+    public List<T> getItems() {
+        return items;
+    }
+
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,34 @@
+package com.taskmanager.dto;
+
+// Uso de uma tag: número de tarefas (todas, ou só as do usuário) que a têm
+public class TagUsageDTO {
+
+    private Long tagId;
+    private String name;
+    private long taskCount;
+
+    // Getters e Setters
+    public Long getTagId() {
+        return tagId;
+    }
+
+    public void setTagId(Long tagId) {
+        this.tagId = tagId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public long getTaskCount() {
+        return taskCount;
+    }
+
+    public void setTaskCount(long taskCount) {
+        this.taskCount = taskCount;
+    }
+}
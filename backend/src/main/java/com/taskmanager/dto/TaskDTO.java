@@ -12,6 +12,8 @@ public class TaskDTO {
     private String status;
     private String dueDate;
     private boolean archived;
+    // Opcional na criação: sem ele a tarefa vai para o projeto pessoal
+    private Long projectId;
 
     // Getters e Setters
     public String getTitle() {
@@ -30,6 +32,14 @@ public class TaskDTO {
         this.description = description;
     }
 
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(Long projectId) {
+        this.projectId = projectId;
+    }
+
     public String getStatus() {
         return status;
     }
@@ -1,7 +1,7 @@
 package com.taskmanager.entity;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.HashSet;
+import java.util.Set;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
 
@@ -26,7 +26,7 @@ public class Tag {
 
     @ManyToMany(mappedBy = "tags")
     @JsonBackReference(value = "task-tags")
-    private List<Task> tasks = new ArrayList<>();
+    private Set<Task> tasks = new HashSet<>();
 
     // Getters e Setters
     public Long getId() {
@@ -45,11 +45,11 @@ public class Tag {
         this.name = name;
     }
 
-    public List<Task> getTasks() {
+    public Set<Task> getTasks() {
         return tasks;
     }
 
-    public void setTasks(List<Task> tasks) {
+    public void setTasks(Set<Task> tasks) {
         this.tasks = tasks;
     }
 }
\ No newline at end of file
@@ -1,9 +1,13 @@
 package com.taskmanager.entity;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.LinkedHashSet;
+import java.util.Set;
 
+import org.hibernate.annotations.PartitionKey;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 
 import jakarta.persistence.Column;
@@ -15,6 +19,7 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OrderBy;
 import jakarta.persistence.Table;
 
 @Entity
@@ -41,18 +46,39 @@ public class Task {
 
     private boolean archived;
 
+    // Com projetos compartilhados a tarefa é vista por todos os membros: do criador só saem id e username
+    // (como o "owner" de POST /api/query/tasks), nunca o email
     @ManyToOne
     @JoinColumn(name = "user_id", nullable = false)
     @JsonManagedReference
+    @JsonIgnoreProperties({ "email", "createdAt" })
     private User user;
 
+    // Espelho somente-leitura de user_id
+    @Column(name = "user_id", insertable = false, updatable = false)
+    @JsonIgnore
+    private Long userId;
+
+    // Projeto (quadro) ao qual a tarefa pertence; o acesso é dado pela participação no projeto.
+    // user continua sendo quem criou a tarefa. Com a tabela particionada por projeto (V15), o Hibernate
+    // inclui esta coluna no WHERE de UPDATE/DELETE e o PostgreSQL poda as partições.
+    @PartitionKey
+    @Column(name = "project_id", nullable = false)
+    private Long projectId;
+
+    // Posição manual dentro da coluna (status) do quadro; ver RankKeys. "rank" é palavra reservada no SQL.
+    @Column(name = "board_rank")
+    private String rank;
+
+    // Somente leitura: as associações são gravadas pelo TaskTagRepository (ver TaskTag)
     @ManyToMany
+    @OrderBy("name")
     @JoinTable(
             name = "task_tags",
             joinColumns = @JoinColumn(name = "task_id"),
             inverseJoinColumns = @JoinColumn(name = "tag_id")
     )
-    private List<Tag> tags = new ArrayList<>();
+    private Set<Tag> tags = new LinkedHashSet<>();
 
     // Getters and setters
     public Long getId() {
@@ -117,13 +143,34 @@ public class Task {
 
     public void setUser(User user) {
         this.user = user;
+        this.userId = user != null ? user.getId() : null;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(Long projectId) {
+        this.projectId = projectId;
+    }
+
+    public String getRank() {
+        return rank;
+    }
+
+    public void setRank(String rank) {
+        this.rank = rank;
     }
 
-    public List<Tag> getTags() {
+    public Set<Tag> getTags() {
         return tags;
     }
 
-    public void setTags(List<Tag> tags) {
+    public void setTags(Set<Tag> tags) {
         this.tags = tags;
     }
 }
\ No newline at end of file
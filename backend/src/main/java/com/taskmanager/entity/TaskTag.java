@@ -0,0 +1,85 @@
+package com.taskmanager.entity;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+
+// Associação tarefa-tag (tabela task_tags) com semântica de conjunto: a chave primária (task_id, tag_id)
+// impede duplicatas. As associações são gravadas e removidas pelo TaskTagRepository, linha a linha ou
+// em lote; Task.tags é só o lado de leitura.
+@Entity
+@Table(name = "task_tags")
+@IdClass(TaskTag.Key.class)
+public class TaskTag {
+
+    @Id
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+
+    @Id
+    @Column(name = "tag_id", nullable = false)
+    private Long tagId;
+
+    public TaskTag() {
+    }
+
+    public TaskTag(Long taskId, Long tagId) {
+        this.taskId = taskId;
+        this.tagId = tagId;
+    }
+
+    // Getters e Setters
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    public void setTaskId(Long taskId) {
+        this.taskId = taskId;
+    }
+
+    public Long getTagId() {
+        return tagId;
+    }
+
+    public void setTagId(Long tagId) {
+        this.tagId = tagId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof TaskTag other && Objects.equals(taskId, other.taskId) && Objects.equals(tagId, other.tagId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(taskId, tagId);
+    }
+
+    public static class Key implements Serializable {
+        private Long taskId;
+        private Long tagId;
+
+        public Key() {
+        }
+
+        public Key(Long taskId, Long tagId) {
+            this.taskId = taskId;
+            this.tagId = tagId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key other && Objects.equals(taskId, other.taskId) && Objects.equals(tagId, other.tagId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(taskId, tagId);
+        }
+    }
+}
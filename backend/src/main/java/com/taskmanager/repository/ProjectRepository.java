@@ -0,0 +1,10 @@
+package com.taskmanager.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.taskmanager.entity.Project;
+
+@Repository
+public interface ProjectRepository extends JpaRepository<Project, Long> {
+}
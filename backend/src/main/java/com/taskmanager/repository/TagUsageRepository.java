@@ -0,0 +1,109 @@
+package com.taskmanager.repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.taskmanager.dto.TagUsageDTO;
+
+/**
+ * Leitura dos contadores de uso das tags (tag_usage e tag_user_usage) e recálculo a partir de
+ * task_tags, usado pelo rename/merge. Os incrementos ficam no TaskTagRepository.
+ */
+@Repository
+public class TagUsageRepository {
+
+    private static final String ALL_TAGS_SQL = """
+            SELECT g.id, g.name, COALESCE(u.task_count, 0) AS task_count
+            FROM tags g
+            LEFT JOIN tag_usage u ON u.tag_id = g.id
+            ORDER BY task_count DESC, g.name
+            LIMIT :limit
+            """;
+
+    private static final String USER_TAGS_SQL = """
+            SELECT g.id, g.name, u.task_count
+            FROM tag_user_usage u
+            JOIN tags g ON g.id = u.tag_id
+            WHERE u.user_id = :userId AND u.task_count > 0
+            ORDER BY u.task_count DESC, g.name
+            LIMIT :limit
+            """;
+
+    private static final String TAG_SQL = """
+            SELECT g.id, g.name, COALESCE(u.task_count, 0) AS task_count
+            FROM tags g
+            LEFT JOIN tag_usage u ON u.tag_id = g.id
+            WHERE g.id = :tagId
+            """;
+
+    private static final String RECOUNT_TAG_SQL = """
+            INSERT INTO tag_usage (tag_id, task_count)
+            SELECT g.id, (SELECT count(*) FROM task_tags tt WHERE tt.tag_id = g.id)
+            FROM tags g
+            WHERE g.id IN (:tagIds)
+            ON CONFLICT (tag_id) DO UPDATE SET task_count = EXCLUDED.task_count
+            """;
+
+    private static final String RECOUNT_USERS_SQL = """
+            INSERT INTO tag_user_usage (tag_id, user_id, task_count)
+            SELECT tt.tag_id, t.user_id, count(*)
+            FROM task_tags tt
+            JOIN tasks t ON t.id = tt.task_id
+            WHERE tt.tag_id IN (:tagIds)
+            GROUP BY tt.tag_id, t.user_id
+            ORDER BY tt.tag_id, t.user_id
+            ON CONFLICT (tag_id, user_id) DO UPDATE SET task_count = EXCLUDED.task_count
+            """;
+
+    // Usuários que deixaram de ter a tag em alguma tarefa
+    private static final String CLEAR_STALE_USERS_SQL = """
+            UPDATE tag_user_usage u SET task_count = 0
+            WHERE u.tag_id IN (:tagIds) AND u.task_count <> 0
+              AND NOT EXISTS (SELECT 1 FROM task_tags tt JOIN tasks t ON t.id = tt.task_id
+                              WHERE tt.tag_id = u.tag_id AND t.user_id = u.user_id)
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public TagUsageRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public List<TagUsageDTO> findAll(int limit) {
+        return jdbcTemplate.query(ALL_TAGS_SQL, new MapSqlParameterSource("limit", limit), TagUsageRepository::mapUsage);
+    }
+
+    public List<TagUsageDTO> findByUser(Long userId, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("userId", userId)
+                .addValue("limit", limit);
+        return jdbcTemplate.query(USER_TAGS_SQL, params, TagUsageRepository::mapUsage);
+    }
+
+    public TagUsageDTO findByTag(Long tagId) {
+        List<TagUsageDTO> usage = jdbcTemplate.query(TAG_SQL, new MapSqlParameterSource("tagId", tagId), TagUsageRepository::mapUsage);
+        return usage.isEmpty() ? null : usage.get(0);
+    }
+
+    // Recalcula os contadores das tags a partir das associações (varre só as linhas dessas tags)
+    public void recount(Collection<Long> tagIds) {
+        MapSqlParameterSource params = new MapSqlParameterSource("tagIds", tagIds);
+        jdbcTemplate.update(RECOUNT_TAG_SQL, params);
+        jdbcTemplate.update(CLEAR_STALE_USERS_SQL, params);
+        jdbcTemplate.update(RECOUNT_USERS_SQL, params);
+    }
+
+    private static TagUsageDTO mapUsage(ResultSet rs, int rowNum) throws SQLException {
+        TagUsageDTO usage = new TagUsageDTO();
+        usage.setTagId(rs.getLong("id"));
+        usage.setName(rs.getString("name"));
+        usage.setTaskCount(rs.getLong("task_count"));
+        return usage;
+    }
+}
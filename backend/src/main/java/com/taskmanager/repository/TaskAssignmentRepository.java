@@ -0,0 +1,212 @@
+package com.taskmanager.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import com.taskmanager.dto.AssigneeDTO;
+import com.taskmanager.dto.CursorPageDTO;
+import com.taskmanager.dto.InboxItemDTO;
+import com.taskmanager.entity.Task;
+
+/**
+ * Responsáveis (task_assignees) e caixa de entrada desnormalizada (task_inbox), em SQL nativo. As duas
+ * tabelas mudam juntas na atribuição e na remoção; as cópias dos campos da tarefa são regravadas a
+ * cada alteração dela. A caixa de entrada é lida por keyset sobre (due_date NULLS LAST, task_id).
+ */
+@Repository
+public class TaskAssignmentRepository {
+
+    private static final String INSERT_ASSIGNEE_SQL = """
+            INSERT INTO task_assignees (task_id, user_id, assigned_by, assigned_at)
+            VALUES (:taskId, :userId, :assignedBy, :assignedAt)
+            ON CONFLICT DO NOTHING
+            """;
+
+    private static final String INSERT_INBOX_SQL = """
+            INSERT INTO task_inbox (user_id, task_id, project_id, owner_id, title, status, due_date, archived, assigned_at)
+            SELECT :userId, t.id, t.project_id, t.user_id, t.title, t.status, t.due_date, t.archived, :assignedAt
+            FROM tasks t
+            WHERE t.id = :taskId
+            ON CONFLICT DO NOTHING
+            """;
+
+    private static final String REFRESH_INBOX_SQL = """
+            UPDATE task_inbox
+            SET project_id = :projectId, title = :title, status = :status, due_date = :dueDate, archived = :archived
+            WHERE task_id = :taskId
+            """;
+
+    private static final String ASSIGNEES_SQL = """
+            SELECT a.user_id, u.username, a.assigned_by, a.assigned_at
+            FROM task_assignees a
+            JOIN users u ON u.id = a.user_id
+            WHERE a.task_id = :taskId
+            ORDER BY a.assigned_at, a.user_id
+            """;
+
+    private static final String INBOX_SQL = """
+            SELECT task_id, project_id, owner_id, title, status, due_date, archived, assigned_at
+            FROM task_inbox
+            WHERE user_id = :userId AND archived = :archived %s %s
+            ORDER BY due_date NULLS LAST, task_id
+            LIMIT :limit
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public TaskAssignmentRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // true se a atribuição é nova
+    public boolean assign(Long taskId, Long userId, Long assignedBy, LocalDateTime assignedAt) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("taskId", taskId)
+                .addValue("userId", userId)
+                .addValue("assignedBy", assignedBy)
+                .addValue("assignedAt", Timestamp.valueOf(assignedAt));
+        if (jdbcTemplate.update(INSERT_ASSIGNEE_SQL, params) == 0) {
+            return false;
+        }
+        jdbcTemplate.update(INSERT_INBOX_SQL, params);
+        return true;
+    }
+
+    // true se a atribuição existia
+    public boolean unassign(Long taskId, Long userId) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("taskId", taskId)
+                .addValue("userId", userId);
+        jdbcTemplate.update("DELETE FROM task_inbox WHERE user_id = :userId AND task_id = :taskId", params);
+        return jdbcTemplate.update("DELETE FROM task_assignees WHERE task_id = :taskId AND user_id = :userId", params) > 0;
+    }
+
+    public List<AssigneeDTO> findAssignees(Long taskId) {
+        return jdbcTemplate.query(ASSIGNEES_SQL, new MapSqlParameterSource("taskId", taskId), (rs, rowNum) -> {
+            AssigneeDTO assignee = new AssigneeDTO();
+            assignee.setUserId(rs.getLong("user_id"));
+            assignee.setUsername(rs.getString("username"));
+            assignee.setAssignedBy(rs.getLong("assigned_by"));
+            assignee.setAssignedAt(rs.getTimestamp("assigned_at").toLocalDateTime());
+            return assignee;
+        });
+    }
+
+    // Regrava as cópias a partir das entidades (não depende do flush do Hibernate); um lote por chamada
+    public void refreshInbox(Collection<Task> tasks) {
+        List<SqlParameterSource> batch = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            batch.add(new MapSqlParameterSource()
+                    .addValue("taskId", task.getId())
+                    .addValue("projectId", task.getProjectId())
+                    .addValue("title", task.getTitle())
+                    .addValue("status", task.getStatus())
+                    .addValue("dueDate", task.getDueDate() == null ? null : Timestamp.valueOf(task.getDueDate()))
+                    .addValue("archived", task.isArchived()));
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(REFRESH_INBOX_SQL, batch.toArray(new SqlParameterSource[0]));
+        }
+    }
+
+    public void deleteByTask(Long taskId) {
+        MapSqlParameterSource params = new MapSqlParameterSource("taskId", taskId);
+        jdbcTemplate.update("DELETE FROM task_inbox WHERE task_id = :taskId", params);
+        jdbcTemplate.update("DELETE FROM task_assignees WHERE task_id = :taskId", params);
+    }
+
+    // Quem sai de um projeto deixa de ser responsável pelas tarefas dele
+    public void deleteByUserAndProject(Long userId, Long projectId) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("userId", userId)
+                .addValue("projectId", projectId);
+        jdbcTemplate.update("""
+                DELETE FROM task_assignees a
+                USING task_inbox i
+                WHERE i.user_id = :userId AND i.project_id = :projectId
+                  AND a.task_id = i.task_id AND a.user_id = i.user_id
+                """, params);
+        jdbcTemplate.update("DELETE FROM task_inbox WHERE user_id = :userId AND project_id = :projectId", params);
+    }
+
+    public CursorPageDTO<InboxItemDTO> findInbox(Long userId, boolean archived, String status, Cursor cursor, int limit) {
+        String statusFilter = status == null ? "" : "AND status = :status";
+        // NULLS LAST: depois de um prazo vêm os maiores e, por fim, as tarefas sem prazo; depois de uma sem prazo, só as sem prazo
+        String keyset = cursor == null ? ""
+                : cursor.dueDate == null
+                        ? "AND (due_date IS NULL AND task_id > :cursorId)"
+                        : "AND (due_date > :cursorDueDate OR (due_date = :cursorDueDate AND task_id > :cursorId) OR due_date IS NULL)";
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("userId", userId)
+                .addValue("archived", archived)
+                .addValue("status", status)
+                // Uma linha a mais indica se existe próxima página
+                .addValue("limit", limit + 1);
+        if (cursor != null) {
+            params.addValue("cursorId", cursor.taskId)
+                    .addValue("cursorDueDate", cursor.dueDate == null ? null : Timestamp.valueOf(cursor.dueDate));
+        }
+        List<InboxItemDTO> items = jdbcTemplate.query(INBOX_SQL.formatted(statusFilter, keyset), params, (rs, rowNum) -> {
+            InboxItemDTO item = new InboxItemDTO();
+            item.setTaskId(rs.getLong("task_id"));
+            item.setProjectId(rs.getLong("project_id"));
+            item.setOwnerId(rs.getLong("owner_id"));
+            item.setTitle(rs.getString("title"));
+            item.setStatus(rs.getString("status"));
+            Timestamp dueDate = rs.getTimestamp("due_date");
+            item.setDueDate(dueDate == null ? null : dueDate.toLocalDateTime());
+            item.setArchived(rs.getBoolean("archived"));
+            item.setAssignedAt(rs.getTimestamp("assigned_at").toLocalDateTime());
+            return item;
+        });
+
+        CursorPageDTO<InboxItemDTO> page = new CursorPageDTO<>();
+        if (items.size() > limit) {
+            items = items.subList(0, limit);
+            InboxItemDTO last = items.get(limit - 1);
+            page.setNextCursor(new Cursor(last.getDueDate(), last.getTaskId()).encode());
+        }
+        page.setItems(items);
+        return page;
+    }
+
+    /**
+     * Posição opaca na caixa de entrada: prazo (pode ser nulo) e id da última tarefa devolvida.
+     */
+    public static final class Cursor {
+        private final LocalDateTime dueDate;
+        private final long taskId;
+
+        Cursor(LocalDateTime dueDate, long taskId) {
+            this.dueDate = dueDate;
+            this.taskId = taskId;
+        }
+
+        public String encode() {
+            String raw = taskId + "\n" + (dueDate == null ? "" : dueDate);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        public static Cursor decode(String encoded) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8).split("\n", 2);
+                if (parts.length < 2) {
+                    throw new IllegalArgumentException("Cursor inválido.");
+                }
+                return new Cursor(parts[1].isEmpty() ? null : LocalDateTime.parse(parts[1]), Long.parseLong(parts[0]));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Cursor inválido.", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.taskmanager.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.taskmanager.dto.BoardCardDTO;
+import com.taskmanager.dto.BoardColumnDTO;
+
+/**
+ * Consultas do quadro Kanban em SQL nativo: o quadro inteiro (N primeiras tarefas de cada status
+ * e o total por coluna) sai de uma única consulta com funções de janela, e "carregar mais" de uma
+ * coluna usa paginação por cursor (keyset) sobre a mesma ordenação.
+ */
+@Repository
+public class TaskBoardRepository {
+
+    // Colunas fixas do quadro, na ordem de exibição; status fora desta lista aparecem depois delas
+    public static final List<String> COLUMNS = List.of("Pendente", "Em Andamento", "Concluída");
+
+    // Ordenações permitidas (nome da propriedade -> coluna); nada vindo da requisição entra cru no SQL
+    static final Map<String, String> SORT_COLUMNS = Map.of(
+            "createdAt", "created_at",
+            "dueDate", "due_date",
+            "title", "title",
+            "rank", "board_rank");
+
+    static final String CARD_COLUMNS = """
+            t.id, t.title, t.description, t.status, t.due_date, t.created_at, t.archived, t.board_rank,
+            ARRAY(SELECT tg.name FROM task_tags tt JOIN tags tg ON tg.id = tt.tag_id
+                  WHERE tt.task_id = t.id ORDER BY tg.name) AS tag_names""";
+
+    private static final String BOARD_SQL = """
+            SELECT %1$s, t.column_total
+            FROM (
+                SELECT t.*,
+                       row_number() OVER (PARTITION BY t.status ORDER BY t.%2$s %3$s NULLS LAST, t.id %3$s) AS rn,
+                       count(*) OVER (PARTITION BY t.status) AS column_total
+                FROM tasks t
+                WHERE t.project_id = :projectId AND (:includeArchived OR t.archived = false)
+            ) t
+            WHERE t.rn <= :limit
+            ORDER BY t.status, t.rn
+            """;
+
+    private static final String COLUMN_SQL = """
+            SELECT %1$s
+            FROM tasks t
+            WHERE t.project_id = :projectId AND t.status = :status AND (:includeArchived OR t.archived = false)
+              AND %4$s
+            ORDER BY t.%2$s %3$s NULLS LAST, t.id %3$s
+            LIMIT :limit
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public TaskBoardRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public static boolean isSortable(String sortBy) {
+        return SORT_COLUMNS.containsKey(sortBy);
+    }
+
+    public List<BoardColumnDTO> findBoard(Long projectId, boolean includeArchived, String sortBy, boolean ascending, int limit) {
+        String sql = BOARD_SQL.formatted(CARD_COLUMNS, SORT_COLUMNS.get(sortBy), ascending ? "ASC" : "DESC");
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("projectId", projectId)
+                .addValue("includeArchived", includeArchived)
+                .addValue("limit", limit);
+
+        Map<String, BoardColumnDTO> columns = new LinkedHashMap<>();
+        for (String status : COLUMNS) {
+            columns.put(status, emptyColumn(status));
+        }
+        jdbcTemplate.query(sql, params, rs -> {
+            BoardCardDTO card = mapCard(rs);
+            BoardColumnDTO column = columns.computeIfAbsent(card.getStatus(), TaskBoardRepository::emptyColumn);
+            column.setTotal(rs.getLong("column_total"));
+            column.getTasks().add(card);
+        });
+        for (BoardColumnDTO column : columns.values()) {
+            List<BoardCardDTO> tasks = column.getTasks();
+            if (column.getTotal() > tasks.size()) {
+                column.setNextCursor(Cursor.after(tasks.get(tasks.size() - 1), sortBy, ascending).encode());
+            }
+        }
+        return List.copyOf(columns.values());
+    }
+
+    public BoardColumnDTO findColumnPage(Long projectId, String status, boolean includeArchived, Cursor cursor, int limit) {
+        String column = SORT_COLUMNS.get(cursor.sortBy);
+        String operator = cursor.ascending ? ">" : "<";
+        // NULLS LAST: depois de um valor vêm os maiores/menores e, por fim, os nulos; depois de um nulo, só nulos
+        String keyset = cursor.value == null
+                ? "(t.%1$s IS NULL AND t.id %2$s :cursorId)".formatted(column, operator)
+                : "(t.%1$s %2$s :cursorValue OR (t.%1$s = :cursorValue AND t.id %2$s :cursorId) OR t.%1$s IS NULL)"
+                        .formatted(column, operator);
+        String sql = COLUMN_SQL.formatted(CARD_COLUMNS, column, cursor.ascending ? "ASC" : "DESC", keyset);
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("projectId", projectId)
+                .addValue("status", status)
+                .addValue("includeArchived", includeArchived)
+                .addValue("cursorId", cursor.id)
+                .addValue("cursorValue", cursor.value)
+                // Uma linha a mais indica se existe próxima página
+                .addValue("limit", limit + 1);
+
+        List<BoardCardDTO> cards = jdbcTemplate.query(sql, params, (rs, rowNum) -> mapCard(rs));
+        BoardColumnDTO page = new BoardColumnDTO(status);
+        if (cards.size() > limit) {
+            cards = cards.subList(0, limit);
+            page.setNextCursor(Cursor.after(cards.get(limit - 1), cursor.sortBy, cursor.ascending).encode());
+        }
+        page.setTasks(cards);
+        return page;
+    }
+
+    private static BoardColumnDTO emptyColumn(String status) {
+        BoardColumnDTO column = new BoardColumnDTO(status);
+        column.setTotal(0L);
+        return column;
+    }
+
+    static BoardCardDTO mapCard(ResultSet rs) throws SQLException {
+        BoardCardDTO card = new BoardCardDTO();
+        card.setId(rs.getLong("id"));
+        card.setTitle(rs.getString("title"));
+        card.setDescription(rs.getString("description"));
+        card.setStatus(rs.getString("status"));
+        card.setDueDate(toLocalDateTime(rs.getTimestamp("due_date")));
+        card.setCreatedAt(toLocalDateTime(rs.getTimestamp("created_at")));
+        card.setArchived(rs.getBoolean("archived"));
+        card.setRank(rs.getString("board_rank"));
+        Array tagNames = rs.getArray("tag_names");
+        card.setTags(tagNames == null ? List.of() : Arrays.asList((String[]) tagNames.getArray()));
+        return card;
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+
+    /**
+     * Posição opaca dentro de uma coluna: ordenação, direção, id e valor de ordenação do último cartão
+     * devolvido. Codificado em Base64 URL-safe para ir na query string.
+     */
+    public static final class Cursor {
+        private final String sortBy;
+        private final boolean ascending;
+        private final long id;
+        private final Object value;
+
+        private Cursor(String sortBy, boolean ascending, long id, Object value) {
+            this.sortBy = sortBy;
+            this.ascending = ascending;
+            this.id = id;
+            this.value = value;
+        }
+
+        static Cursor after(BoardCardDTO card, String sortBy, boolean ascending) {
+            Object value = switch (sortBy) {
+                case "dueDate" -> card.getDueDate();
+                case "title" -> card.getTitle();
+                case "rank" -> card.getRank();
+                default -> card.getCreatedAt();
+            };
+            return new Cursor(sortBy, ascending, card.getId(), value);
+        }
+
+        public String encode() {
+            // O valor vai por último: um título pode conter o separador
+            String raw = sortBy + "\n" + (ascending ? "asc" : "desc") + "\n" + id + "\n" + (value == null ? "" : "v" + value);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        public static Cursor decode(String encoded) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8).split("\n", 4);
+                String sortBy = parts[0];
+                if (parts.length < 4 || !SORT_COLUMNS.containsKey(sortBy)) {
+                    throw new IllegalArgumentException("Cursor inválido.");
+                }
+                Object value = null;
+                if (!parts[3].isEmpty()) {
+                    String raw = parts[3].substring(1);
+                    value = "title".equals(sortBy) || "rank".equals(sortBy) ? raw : LocalDateTime.parse(raw);
+                }
+                return new Cursor(sortBy, "asc".equals(parts[1]), Long.parseLong(parts[2]), value);
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Cursor inválido.", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.taskmanager.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.taskmanager.entity.TaskComment;
+
+@Repository
+public interface TaskCommentRepository extends JpaRepository<TaskComment, Long> {
+}
@@ -0,0 +1,12 @@
+package com.taskmanager.repository;
+
+import java.time.LocalDateTime;
+
+public interface TaskDueDateView {
+
+    Long getId();
+
+    Long getUserId();
+
+    LocalDateTime getDueDate();
+}
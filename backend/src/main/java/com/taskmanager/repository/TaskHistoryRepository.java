@@ -0,0 +1,157 @@
+package com.taskmanager.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.taskmanager.dto.ActivityDTO;
+import com.taskmanager.dto.ActivitySummaryDTO;
+import com.taskmanager.dto.CommentDTO;
+import com.taskmanager.dto.CursorPageDTO;
+
+/**
+ * Leitura paginada de comentários e do histórico de uma tarefa, do mais recente para o mais antigo.
+ * A paginação é por keyset sobre (task_id, created_at, id), a mesma ordem dos índices: cada página
+ * custa o mesmo, qualquer que seja a profundidade.
+ */
+@Repository
+public class TaskHistoryRepository {
+
+    private static final String COMMENTS_SQL = """
+            SELECT c.id, c.task_id, c.author_id, u.username, c.body, c.created_at
+            FROM task_comments c
+            JOIN users u ON u.id = c.author_id
+            WHERE c.task_id = :taskId %s
+            ORDER BY c.created_at DESC, c.id DESC
+            LIMIT :limit
+            """;
+
+    private static final String ACTIVITY_SQL = """
+            SELECT a.id, a.task_id, a.actor_id, u.username, a.action, a.details, a.created_at
+            FROM task_activity a
+            LEFT JOIN users u ON u.id = a.actor_id
+            WHERE a.task_id = :taskId %s
+            ORDER BY a.created_at DESC, a.id DESC
+            LIMIT :limit
+            """;
+
+    private static final String SUMMARY_SQL = """
+            SELECT day, action, events, first_at, last_at
+            FROM task_activity_daily
+            WHERE task_id = :taskId
+            ORDER BY day DESC, action
+            """;
+
+    private static final RowMapper<CommentDTO> COMMENT_MAPPER = (rs, rowNum) -> {
+        CommentDTO comment = new CommentDTO();
+        comment.setId(rs.getLong("id"));
+        comment.setTaskId(rs.getLong("task_id"));
+        comment.setAuthorId(rs.getLong("author_id"));
+        comment.setAuthorUsername(rs.getString("username"));
+        comment.setBody(rs.getString("body"));
+        comment.setCreatedAt(rs.getTimestamp("created_at").toLocalDateTime());
+        return comment;
+    };
+
+    private static final RowMapper<ActivityDTO> ACTIVITY_MAPPER = (rs, rowNum) -> {
+        ActivityDTO activity = new ActivityDTO();
+        activity.setId(rs.getLong("id"));
+        activity.setTaskId(rs.getLong("task_id"));
+        activity.setActorId(rs.getLong("actor_id"));
+        activity.setActorUsername(rs.getString("username"));
+        activity.setAction(rs.getString("action"));
+        activity.setDetails(rs.getString("details"));
+        activity.setCreatedAt(rs.getTimestamp("created_at").toLocalDateTime());
+        return activity;
+    };
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public TaskHistoryRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public CursorPageDTO<CommentDTO> findComments(Long taskId, Cursor cursor, int limit) {
+        List<CommentDTO> comments = query(COMMENTS_SQL, "c", taskId, cursor, limit, COMMENT_MAPPER);
+        return page(comments, limit, last -> new Cursor(last.getCreatedAt(), last.getId()));
+    }
+
+    public CursorPageDTO<ActivityDTO> findActivity(Long taskId, Cursor cursor, int limit) {
+        List<ActivityDTO> events = query(ACTIVITY_SQL, "a", taskId, cursor, limit, ACTIVITY_MAPPER);
+        return page(events, limit, last -> new Cursor(last.getCreatedAt(), last.getId()));
+    }
+
+    public List<ActivitySummaryDTO> findActivitySummary(Long taskId) {
+        return jdbcTemplate.query(SUMMARY_SQL, new MapSqlParameterSource("taskId", taskId), (rs, rowNum) -> {
+            ActivitySummaryDTO summary = new ActivitySummaryDTO();
+            summary.setDay(rs.getDate("day").toLocalDate());
+            summary.setAction(rs.getString("action"));
+            summary.setEvents(rs.getLong("events"));
+            summary.setFirstAt(rs.getTimestamp("first_at").toLocalDateTime());
+            summary.setLastAt(rs.getTimestamp("last_at").toLocalDateTime());
+            return summary;
+        });
+    }
+
+    private <T> List<T> query(String sql, String alias, Long taskId, Cursor cursor, int limit, RowMapper<T> mapper) {
+        // Comparação de linha: o PostgreSQL percorre o índice a partir da posição do cursor
+        String keyset = cursor == null ? "" : "AND (%1$s.created_at, %1$s.id) < (:cursorCreatedAt, :cursorId)".formatted(alias);
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("taskId", taskId)
+                // Uma linha a mais indica se existe próxima página
+                .addValue("limit", limit + 1);
+        if (cursor != null) {
+            params.addValue("cursorCreatedAt", Timestamp.valueOf(cursor.createdAt))
+                    .addValue("cursorId", cursor.id);
+        }
+        return jdbcTemplate.query(sql.formatted(keyset), params, mapper);
+    }
+
+    private static <T> CursorPageDTO<T> page(List<T> items, int limit, Function<T, Cursor> cursorAfter) {
+        CursorPageDTO<T> page = new CursorPageDTO<>();
+        if (items.size() > limit) {
+            items = items.subList(0, limit);
+            page.setNextCursor(cursorAfter.apply(items.get(limit - 1)).encode());
+        }
+        page.setItems(items);
+        return page;
+    }
+
+    /**
+     * Posição opaca na lista: created_at e id do último item devolvido, em Base64 URL-safe.
+     */
+    public static final class Cursor {
+        private final LocalDateTime createdAt;
+        private final long id;
+
+        Cursor(LocalDateTime createdAt, long id) {
+            this.createdAt = createdAt;
+            this.id = id;
+        }
+
+        public String encode() {
+            String raw = createdAt + "\n" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        public static Cursor decode(String encoded) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8).split("\n", 2);
+                if (parts.length < 2) {
+                    throw new IllegalArgumentException("Cursor inválido.");
+                }
+                return new Cursor(LocalDateTime.parse(parts[0]), Long.parseLong(parts[1]));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Cursor inválido.", e);
+            }
+        }
+    }
+}
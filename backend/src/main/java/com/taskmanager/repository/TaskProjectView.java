@@ -0,0 +1,8 @@
+package com.taskmanager.repository;
+
+public interface TaskProjectView {
+
+    Long getId();
+
+    Long getProjectId();
+}
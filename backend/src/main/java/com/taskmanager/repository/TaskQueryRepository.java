@@ -0,0 +1,219 @@
+package com.taskmanager.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Consultas montadas a partir dos campos pedidos (POST /api/query/tasks): o SELECT traz só as colunas
+ * selecionadas e cada relação (tags, dono, responsáveis) é carregada de uma vez para a página inteira
+ * com um único IN, no estilo DataLoader. Os nomes de campo vêm de listas fixas; nada da requisição entra
+ * cru no SQL.
+ */
+@Repository
+public class TaskQueryRepository {
+
+    // Campo exposto -> coluna, na ordem de exibição
+    public static final Map<String, String> TASK_FIELDS = orderedMap(
+            "id", "t.id",
+            "title", "t.title",
+            "description", "t.description",
+            "status", "t.status",
+            "dueDate", "t.due_date",
+            "createdAt", "t.created_at",
+            "archived", "t.archived",
+            "rank", "t.board_rank",
+            "projectId", "t.project_id");
+    public static final Map<String, String> TAG_FIELDS = orderedMap(
+            "id", "tg.id",
+            "name", "tg.name");
+    // Sem e-mail nem senha: outros membros do projeto veem só a identificação
+    public static final Map<String, String> USER_FIELDS = orderedMap(
+            "id", "u.id",
+            "username", "u.username");
+
+    private static final String TASKS_SQL = """
+            SELECT t.id AS key_id, t.user_id AS key_owner%1$s
+            FROM tasks t
+            WHERE t.project_id = :projectId AND t.archived = :archived%2$s
+            ORDER BY t.id DESC
+            LIMIT :limit
+            """;
+
+    private static final String TAGS_SQL = """
+            SELECT tt.task_id AS key_id%1$s
+            FROM task_tags tt
+            JOIN tags tg ON tg.id = tt.tag_id
+            WHERE tt.task_id IN (:ids)
+            ORDER BY tt.task_id, tg.name
+            """;
+
+    private static final String ASSIGNEES_SQL = """
+            SELECT ta.task_id AS key_id%1$s
+            FROM task_assignees ta
+            JOIN users u ON u.id = ta.user_id
+            WHERE ta.task_id IN (:ids)
+            ORDER BY ta.task_id, u.username
+            """;
+
+    private static final String USERS_SQL = """
+            SELECT u.id AS key_id%1$s
+            FROM users u
+            WHERE u.id IN (:ids)
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public TaskQueryRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Tarefas do projeto, das mais novas para as mais antigas. Cada linha traz os campos pedidos e, fora
+     * do mapa, o id e o dono (chaves dos carregadores das relações).
+     */
+    public List<Row> findTasks(Long projectId, String status, boolean archived, Cursor cursor, int limit, List<String> fields) {
+        StringBuilder filters = new StringBuilder();
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("projectId", projectId)
+                .addValue("archived", archived)
+                .addValue("limit", limit);
+        if (status != null) {
+            filters.append(" AND t.status = :status");
+            params.addValue("status", status);
+        }
+        if (cursor != null) {
+            filters.append(" AND t.id < :cursorId");
+            params.addValue("cursorId", cursor.taskId);
+        }
+        String sql = TASKS_SQL.formatted(columns(TASK_FIELDS, fields), filters);
+        return jdbcTemplate.query(sql, params, (rs, rowNum) ->
+                new Row(rs.getLong("key_id"), rs.getLong("key_owner"), values(rs, fields)));
+    }
+
+    // Tags de várias tarefas numa consulta: id da tarefa -> tags (por nome)
+    public Map<Long, List<Map<String, Object>>> findTags(Collection<Long> taskIds, List<String> fields) {
+        return groupByKey(TAGS_SQL.formatted(columns(TAG_FIELDS, fields)), taskIds, fields);
+    }
+
+    // Responsáveis de várias tarefas numa consulta: id da tarefa -> usuários (por nome)
+    public Map<Long, List<Map<String, Object>>> findAssignees(Collection<Long> taskIds, List<String> fields) {
+        return groupByKey(ASSIGNEES_SQL.formatted(columns(USER_FIELDS, fields)), taskIds, fields);
+    }
+
+    // Usuários por id numa consulta (donos das tarefas da página, sem repetição)
+    public Map<Long, Map<String, Object>> findUsers(Collection<Long> userIds, List<String> fields) {
+        Map<Long, Map<String, Object>> users = new HashMap<>();
+        if (userIds.isEmpty()) {
+            return users;
+        }
+        jdbcTemplate.query(USERS_SQL.formatted(columns(USER_FIELDS, fields)), new MapSqlParameterSource("ids", userIds),
+                rs -> {
+                    users.put(rs.getLong("key_id"), values(rs, fields));
+                });
+        return users;
+    }
+
+    private Map<Long, List<Map<String, Object>>> groupByKey(String sql, Collection<Long> ids, List<String> fields) {
+        Map<Long, List<Map<String, Object>>> groups = new HashMap<>();
+        if (ids.isEmpty()) {
+            return groups;
+        }
+        jdbcTemplate.query(sql, new MapSqlParameterSource("ids", ids), rs -> {
+            groups.computeIfAbsent(rs.getLong("key_id"), id -> new ArrayList<>()).add(values(rs, fields));
+        });
+        return groups;
+    }
+
+    // Colunas selecionadas com o nome do campo como apelido (entre aspas: camelCase)
+    private static String columns(Map<String, String> allowed, List<String> fields) {
+        StringBuilder columns = new StringBuilder();
+        for (String field : fields) {
+            String column = allowed.get(field);
+            if (column == null) {
+                throw new IllegalArgumentException("Campo desconhecido: " + field);
+            }
+            columns.append(", ").append(column).append(" AS \"").append(field).append('"');
+        }
+        return columns.toString();
+    }
+
+    private static Map<String, Object> values(ResultSet rs, List<String> fields) throws SQLException {
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (String field : fields) {
+            Object value = rs.getObject(field);
+            values.put(field, value instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : value);
+        }
+        return values;
+    }
+
+    private static Map<String, String> orderedMap(String... entries) {
+        Map<String, String> map = new LinkedHashMap<>();
+        for (int i = 0; i < entries.length; i += 2) {
+            map.put(entries[i], entries[i + 1]);
+        }
+        return Collections.unmodifiableMap(map);
+    }
+
+    public static final class Row {
+        private final long id;
+        private final long ownerId;
+        private final Map<String, Object> values;
+
+        Row(long id, long ownerId, Map<String, Object> values) {
+            this.id = id;
+            this.ownerId = ownerId;
+            this.values = values;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public long getOwnerId() {
+            return ownerId;
+        }
+
+        public Map<String, Object> getValues() {
+            return values;
+        }
+    }
+
+    // Posição opaca na listagem (id da última tarefa devolvida), em Base64 URL-safe
+    public static final class Cursor {
+        private final long taskId;
+
+        Cursor(long taskId) {
+            this.taskId = taskId;
+        }
+
+        public static Cursor after(Row row) {
+            return new Cursor(row.id);
+        }
+
+        public String encode() {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(Long.toString(taskId).getBytes(StandardCharsets.UTF_8));
+        }
+
+        public static Cursor decode(String encoded) {
+            try {
+                return new Cursor(Long.parseLong(new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8)));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Cursor inválido.", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.taskmanager.repository;
+
+public interface TaskRankView {
+
+    Long getId();
+
+    Long getProjectId();
+
+    String getStatus();
+
+    String getRank();
+}
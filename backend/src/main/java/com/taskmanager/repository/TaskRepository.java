@@ -1,27 +1,90 @@
 package com.taskmanager.repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.taskmanager.entity.Task;
-import com.taskmanager.entity.User;
+
+import jakarta.persistence.QueryHint;
 
 @Repository
 public interface TaskRepository extends JpaRepository<Task, Long> {
 
-    List<Task> findByUserAndArchived(User user, boolean archived, Sort sort);
+    // As listagens são escopadas pelo projeto (índices compostos começando por project_id) e trazem tags e
+    // autor na mesma consulta: num quadro compartilhado a serialização não dispara uma consulta por tarefa
+    // nem por membro (N+1)
+    @EntityGraph(attributePaths = { "tags", "user" })
+    List<Task> findByProjectIdAndArchived(Long projectId, boolean archived, Sort sort);
+
+    @EntityGraph(attributePaths = { "tags", "user" })
+    List<Task> findByProjectIdAndStatusAndArchived(Long projectId, String status, boolean archived, Sort sort);
+
+    @EntityGraph(attributePaths = { "tags", "user" })
+    List<Task> findByProjectIdAndTagsNameAndArchived(Long projectId, String tagName, boolean archived, Sort sort);
+
+    // Tempo máximo do comando por endpoint (segundos; o driver cancela no servidor ao esgotar): filtro por prazo e
+    // atrasadas varrem a faixa de datas do projeto e são as primeiras a pesar com projetos grandes
+    @EntityGraph(attributePaths = { "tags", "user" })
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_TIMEOUT, value = "10"))
+    List<Task> findByProjectIdAndDueDateBetweenAndArchived(Long projectId, LocalDateTime startDate, LocalDateTime endDate, boolean archived, Sort sort);
+
+    @EntityGraph(attributePaths = { "tags", "user" })
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_TIMEOUT, value = "10"))
+    List<Task> findByProjectIdAndDueDateBeforeAndStatusNotAndArchived(Long projectId, LocalDateTime dueDate, String status, boolean archived, Sort sort);
+
+    @Override
+    @EntityGraph(attributePaths = { "tags", "user" })
+    List<Task> findAllById(Iterable<Long> ids);
+
+    // Só o projeto da tarefa, para verificar o acesso sem carregar a tarefa (comentários e histórico)
+    @Query("select t.projectId from Task t where t.id = :id")
+    Optional<Long> findProjectIdById(@Param("id") Long id);
+
+    // Projeto de cada tarefa, para verificar o acesso às operações em lote sem carregar as tarefas
+    @Query("select t.id as id, t.projectId as projectId from Task t where t.id in :ids")
+    List<TaskProjectView> findProjectIdsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Última posição manual da coluna; a coluna board_rank usa COLLATE "C", a mesma ordem de String.compareTo
+    @Query("select max(t.rank) from Task t where t.projectId = :projectId and t.status = :status")
+    String findMaxRank(@Param("projectId") Long projectId, @Param("status") String status);
 
-    List<Task> findByUserAndStatusAndArchived(User user, String status, boolean archived, Sort sort);
+    // Trava a coluna (projeto, status) até o fim da transação, antes de findMaxRank e de qualquer linha dela: quem
+    // calcula a última posição e grava não corre com outra criação, mudança de coluna ou renormalização da mesma
+    // coluna. Comando próprio: no READ COMMITTED a leitura seguinte já enxerga o que foi gravado por quem soltou a trava
+    @Query(value = "SELECT 1 FROM (SELECT pg_advisory_xact_lock(hashtextextended(CAST(:projectId AS text) || ':' || :status, 0))) l",
+           nativeQuery = true)
+    Integer lockColumn(@Param("projectId") Long projectId, @Param("status") String status);
 
-    List<Task> findByUserAndTagsNameAndArchived(User user, String tagName, boolean archived, Sort sort);
+    // Trava a tarefa movida e as vizinhas até o fim da transação (serializa com o RankRebalancer)
+    @Query(value = "SELECT id AS \"id\", project_id AS \"projectId\", status AS \"status\", board_rank AS \"rank\" " +
+                   "FROM tasks WHERE id IN (:ids) FOR UPDATE", nativeQuery = true)
+    List<TaskRankView> lockRanks(@Param("ids") Collection<Long> ids);
 
-    List<Task> findByUserAndDueDateBetweenAndArchived(User user, LocalDateTime startDate, LocalDateTime endDate, boolean archived, Sort sort);
+    // As mesmas colunas sem travar: validação dos movimentos adiados (TaskWriteBehindService), fora de transação,
+    // e conferência das vizinhas no envio deles, com as colunas já travadas
+    @Query(value = "SELECT id AS \"id\", project_id AS \"projectId\", status AS \"status\", board_rank AS \"rank\" " +
+                   "FROM tasks WHERE id IN (:ids)", nativeQuery = true)
+    List<TaskRankView> findRanks(@Param("ids") Collection<Long> ids);
 
-    List<Task> findByUserAndDueDateBeforeAndStatusNotAndArchived(User user, LocalDateTime dueDate, String status, boolean archived, Sort sort);
+    // Contador do cabeçalho, chamado a cada carga da tela: deve ser rápido ou desistir
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_TIMEOUT, value = "3"))
+    long countByProjectIdAndDueDateBeforeAndStatusNotAndArchived(Long projectId, LocalDateTime dueDate, String status, boolean archived);
 
-    long countByUserAndDueDateBeforeAndStatusNotAndArchived(User user, LocalDateTime dueDate, String status, boolean archived);
+    // Leitura em streaming (cursor do servidor) para reconstruir o agendador de lembretes; exige transação aberta
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select t.id as id, t.user.id as userId, t.dueDate as dueDate from Task t " +
+           "where t.archived = false and t.status <> :doneStatus and t.dueDate > :from")
+    Stream<TaskDueDateView> streamPendingDueDates(@Param("doneStatus") String doneStatus, @Param("from") LocalDateTime from);
 }
\ No newline at end of file
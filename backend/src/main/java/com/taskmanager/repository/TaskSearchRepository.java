@@ -0,0 +1,125 @@
+package com.taskmanager.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.taskmanager.dto.BoardCardDTO;
+
+/**
+ * Busca combinada (status, tags, arquivamento e semana do prazo) em páginas por id decrescente. Os ids
+ * da página vêm do índice em memória (TaskFilterIndex) ou, sem ele, de {@link #findIds}; os cartões
+ * saem de uma única consulta por {@code id = ANY(?)}.
+ */
+@Repository
+public class TaskSearchRepository {
+
+    // Um array como parâmetro: o mesmo comando preparado serve a qualquer tamanho de página
+    private static final String CARDS_SQL = """
+            SELECT %s
+            FROM tasks t
+            WHERE t.id = ANY(?) AND t.project_id = ?
+            """.formatted(TaskBoardRepository.CARD_COLUMNS);
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public TaskSearchRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Caminho sem o índice: mesmo resultado, filtrado pelo banco
+    public List<Long> findIds(Long projectId, String status, Collection<Long> tagIds, boolean archived,
+                              LocalDateTime dueFrom, LocalDateTime dueTo, long beforeId, int limit) {
+        StringBuilder sql = new StringBuilder("""
+                SELECT t.id
+                FROM tasks t
+                WHERE t.project_id = :projectId AND t.archived = :archived AND t.id < :beforeId
+                """);
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("projectId", projectId)
+                .addValue("archived", archived)
+                .addValue("beforeId", beforeId)
+                .addValue("limit", limit);
+        if (status != null) {
+            sql.append(" AND t.status = :status");
+            params.addValue("status", status);
+        }
+        if (dueFrom != null) {
+            sql.append(" AND t.due_date >= :dueFrom AND t.due_date < :dueTo");
+            params.addValue("dueFrom", dueFrom).addValue("dueTo", dueTo);
+        }
+        if (!tagIds.isEmpty()) {
+            // Todas as tags pedidas (E), não qualquer uma
+            sql.append(" AND (SELECT count(*) FROM task_tags tt WHERE tt.task_id = t.id AND tt.tag_id IN (:tagIds)) = :tagCount");
+            params.addValue("tagIds", tagIds).addValue("tagCount", tagIds.size());
+        }
+        sql.append(" ORDER BY t.id DESC LIMIT :limit");
+        return jdbcTemplate.queryForList(sql.toString(), params, Long.class);
+    }
+
+    // Cartões das tarefas, na ordem dos ids; ids de outro projeto ou já excluídos são ignorados
+    public List<BoardCardDTO> findCards(Long projectId, long[] ids) {
+        if (ids.length == 0) {
+            return List.of();
+        }
+        Long[] boxed = new Long[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            boxed[i] = ids[i];
+        }
+        Map<Long, BoardCardDTO> cards = new HashMap<>();
+        jdbcTemplate.getJdbcTemplate().query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(CARDS_SQL);
+            statement.setArray(1, connection.createArrayOf("bigint", boxed));
+            statement.setLong(2, projectId);
+            return statement;
+        }, rs -> {
+            BoardCardDTO card = TaskBoardRepository.mapCard(rs);
+            cards.put(card.getId(), card);
+        });
+        List<BoardCardDTO> ordered = new ArrayList<>(cards.size());
+        for (long id : ids) {
+            BoardCardDTO card = cards.get(id);
+            if (card != null) {
+                ordered.add(card);
+            }
+        }
+        return ordered;
+    }
+
+    /**
+     * Posição opaca na busca: o id do último cartão devolvido (a ordem é sempre id decrescente).
+     */
+    public static final class Cursor {
+        private final long id;
+
+        public Cursor(long id) {
+            this.id = id;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public String encode() {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(Long.toString(id).getBytes(StandardCharsets.UTF_8));
+        }
+
+        public static Cursor decode(String encoded) {
+            try {
+                return new Cursor(Long.parseLong(new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8)));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Cursor inválido.", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.taskmanager.repository;
+
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.taskmanager.dto.BoardCardDTO;
+
+/**
+ * Leitura em fluxo das tarefas de um projeto (listagem, filtro por status e atrasadas): as linhas vêm do
+ * PostgreSQL em lotes de fetch-size por um cursor do servidor e são entregues uma a uma ao consumidor, sem
+ * montar a lista inteira em memória. Precisa rodar dentro de uma transação: com autocommit o driver ignora
+ * o fetch size e traz tudo de uma vez.
+ */
+@Repository
+public class TaskStreamRepository {
+
+    private static final String STREAM_SQL = """
+            SELECT %1$s
+            FROM tasks t
+            WHERE t.project_id = :projectId AND t.archived = :archived%4$s
+            ORDER BY t.%2$s %3$s NULLS LAST, t.id %3$s
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    // JdbcTemplate próprio: o fetch size não pode vazar para as demais consultas, que leem tudo de uma vez
+    public TaskStreamRepository(DataSource dataSource, @Value("${app.tasks.stream.fetch-size:500}") int fetchSize) {
+        JdbcTemplate streamingTemplate = new JdbcTemplate(dataSource);
+        streamingTemplate.setFetchSize(fetchSize);
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(streamingTemplate);
+    }
+
+    public static boolean isSortable(String sortBy) {
+        return TaskBoardRepository.isSortable(sortBy);
+    }
+
+    /**
+     * @param status      só tarefas deste status (null = todas)
+     * @param overdueAt   só tarefas com prazo antes deste instante e não concluídas (null = sem filtro)
+     * @param archived    mesmo critério das listagens de /api/tasks: archived = includeArchived
+     */
+    public void stream(Long projectId, String status, LocalDateTime overdueAt, boolean archived,
+                       String sortBy, boolean ascending, Consumer<BoardCardDTO> consumer) {
+        StringBuilder filters = new StringBuilder();
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("projectId", projectId)
+                .addValue("archived", archived);
+        if (status != null) {
+            filters.append(" AND t.status = :status");
+            params.addValue("status", status);
+        }
+        if (overdueAt != null) {
+            filters.append(" AND t.due_date < :overdueAt AND t.status <> 'Concluída'");
+            params.addValue("overdueAt", overdueAt);
+        }
+        String sql = STREAM_SQL.formatted(TaskBoardRepository.CARD_COLUMNS, TaskBoardRepository.SORT_COLUMNS.get(sortBy),
+                ascending ? "ASC" : "DESC", filters);
+        jdbcTemplate.query(sql, params, rs -> {
+            consumer.accept(TaskBoardRepository.mapCard(rs));
+        });
+    }
+}
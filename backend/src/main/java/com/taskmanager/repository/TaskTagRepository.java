@@ -0,0 +1,166 @@
+package com.taskmanager.repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import com.taskmanager.entity.TaskTag;
+
+/**
+ * Associações tarefa-tag em SQL nativo, com semântica de conjunto: incluir é um
+ * INSERT ... ON CONFLICT DO NOTHING e remover é um DELETE, cada um num único comando que também
+ * atualiza os contadores de uso (tag_usage e tag_user_usage), sem carregar Task.tags nem regravar as
+ * demais linhas da tarefa. Tags novas são criadas do mesmo jeito, sem corrida entre requisições
+ * concorrentes com o mesmo nome.
+ */
+@Repository
+public class TaskTagRepository {
+
+    private static final String INSERT_TAG_SQL = "INSERT INTO tags (name) VALUES (:name) ON CONFLICT (name) DO NOTHING";
+
+    // Os contadores são gravados em ordem de chave: lotes concorrentes travam as linhas na mesma ordem
+    private static final String ADD_LINKS_SQL = """
+            WITH added AS (
+                INSERT INTO task_tags (task_id, tag_id)
+                SELECT t.id, g.id
+                FROM tasks t CROSS JOIN tags g
+                WHERE t.id IN (:taskIds) AND g.id IN (:tagIds)
+                ON CONFLICT DO NOTHING
+                RETURNING task_id, tag_id
+            ), per_tag AS (
+                INSERT INTO tag_usage (tag_id, task_count)
+                SELECT tag_id, count(*) FROM added GROUP BY tag_id ORDER BY tag_id
+                ON CONFLICT (tag_id) DO UPDATE SET task_count = tag_usage.task_count + EXCLUDED.task_count
+            ), per_user AS (
+                INSERT INTO tag_user_usage (tag_id, user_id, task_count)
+                SELECT a.tag_id, t.user_id, count(*)
+                FROM added a JOIN tasks t ON t.id = a.task_id
+                GROUP BY a.tag_id, t.user_id ORDER BY a.tag_id, t.user_id
+                ON CONFLICT (tag_id, user_id) DO UPDATE SET task_count = tag_user_usage.task_count + EXCLUDED.task_count
+            )
+            SELECT task_id, tag_id FROM added
+            """;
+
+    private static final String REMOVE_LINKS_SQL = """
+            WITH removed AS (
+                DELETE FROM task_tags
+                WHERE %s
+                RETURNING task_id, tag_id
+            ), per_tag AS (
+                UPDATE tag_usage u SET task_count = u.task_count - r.n
+                FROM (SELECT tag_id, count(*) AS n FROM removed GROUP BY tag_id) r
+                WHERE u.tag_id = r.tag_id
+            ), per_user AS (
+                UPDATE tag_user_usage u SET task_count = u.task_count - r.n
+                FROM (SELECT rm.tag_id, t.user_id, count(*) AS n
+                      FROM removed rm JOIN tasks t ON t.id = rm.task_id
+                      GROUP BY rm.tag_id, t.user_id) r
+                WHERE u.tag_id = r.tag_id AND u.user_id = r.user_id
+            )
+            SELECT task_id, tag_id FROM removed
+            """;
+
+    // Um lote da fusão: move até :limit associações da tag de origem para a de destino (LIMIT NULL = todas)
+    private static final String MERGE_CHUNK_SQL = """
+            WITH chunk AS (
+                SELECT task_id FROM task_tags
+                WHERE tag_id = :sourceId
+                ORDER BY task_id
+                LIMIT :limit
+                FOR UPDATE
+            ), moved AS (
+                INSERT INTO task_tags (task_id, tag_id)
+                SELECT task_id, :targetId FROM chunk
+                ON CONFLICT DO NOTHING
+            )
+            DELETE FROM task_tags tt
+            USING chunk c
+            WHERE tt.tag_id = :sourceId AND tt.task_id = c.task_id
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public TaskTagRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Nome -> id, criando as tags que faltam. Um INSERT concorrente com o mesmo nome espera o outro e não
+    // faz nada; o SELECT seguinte (novo snapshot) já enxerga a tag criada por quem venceu.
+    public Map<String, Long> findOrCreateTags(Collection<String> names) {
+        if (names.isEmpty()) {
+            return Map.of();
+        }
+        SqlParameterSource[] batch = names.stream()
+                .map(name -> new MapSqlParameterSource("name", name))
+                .toArray(SqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate(INSERT_TAG_SQL, batch);
+        return findTags(names);
+    }
+
+    // Nome -> id só das tags que já existem
+    public Map<String, Long> findTags(Collection<String> names) {
+        Map<String, Long> ids = new HashMap<>();
+        if (!names.isEmpty()) {
+            jdbcTemplate.query("SELECT id, name FROM tags WHERE name IN (:names)", new MapSqlParameterSource("names", names),
+                    rs -> {
+                        ids.put(rs.getString("name"), rs.getLong("id"));
+                    });
+        }
+        return ids;
+    }
+
+    // Inclui todas as combinações tarefa x tag; devolve só as associações que não existiam
+    public List<TaskTag> addTags(Collection<Long> taskIds, Collection<Long> tagIds) {
+        if (taskIds.isEmpty() || tagIds.isEmpty()) {
+            return List.of();
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("taskIds", taskIds)
+                .addValue("tagIds", tagIds);
+        return jdbcTemplate.query(ADD_LINKS_SQL, params, TaskTagRepository::mapLink);
+    }
+
+    // Remove todas as combinações tarefa x tag num único DELETE; devolve as associações removidas
+    public List<TaskTag> removeTags(Collection<Long> taskIds, Collection<Long> tagIds) {
+        if (taskIds.isEmpty() || tagIds.isEmpty()) {
+            return List.of();
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("taskIds", taskIds)
+                .addValue("tagIds", tagIds);
+        return jdbcTemplate.query(REMOVE_LINKS_SQL.formatted("task_id IN (:taskIds) AND tag_id IN (:tagIds)"), params,
+                TaskTagRepository::mapLink);
+    }
+
+    // Antes de excluir a tarefa: as associações saem pelo mesmo caminho, descontando os contadores
+    public List<TaskTag> removeAllTags(Long taskId) {
+        return jdbcTemplate.query(REMOVE_LINKS_SQL.formatted("task_id = :taskId"), new MapSqlParameterSource("taskId", taskId),
+                TaskTagRepository::mapLink);
+    }
+
+    /**
+     * Move até {@code limit} associações de {@code sourceId} para {@code targetId} ({@code null} move
+     * todas); tarefas que já tinham as duas tags ficam só com a de destino. Os contadores não são
+     * atualizados aqui: a fusão os recalcula no fim. Devolve o número de associações retiradas da origem.
+     */
+    public int mergeChunk(Long sourceId, Long targetId, Integer limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("sourceId", sourceId)
+                .addValue("targetId", targetId)
+                .addValue("limit", limit, Types.INTEGER);
+        return jdbcTemplate.update(MERGE_CHUNK_SQL, params);
+    }
+
+    private static TaskTag mapLink(ResultSet rs, int rowNum) throws SQLException {
+        return new TaskTag(rs.getLong("task_id"), rs.getLong("tag_id"));
+    }
+}
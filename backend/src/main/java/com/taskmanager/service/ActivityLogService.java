@@ -0,0 +1,225 @@
+package com.taskmanager.service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Histórico de alterações das tarefas (tabela task_activity). As mutações só enfileiram o evento, após o
+ * commit da transação; uma thread própria grava a fila em lotes JDBC. Com a fila cheia, quem registra
+ * grava a fila na hora (contrapressão em vez de perder eventos). Eventos mais antigos que a retenção
+ * são resumidos por tarefa, dia e ação em task_activity_daily e removidos.
+ */
+@Service
+public class ActivityLogService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ActivityLogService.class);
+
+    public static final String CREATED = "CREATED";
+    public static final String UPDATED = "UPDATED";
+    public static final String MOVED = "MOVED";
+    public static final String STATUS_CHANGED = "STATUS_CHANGED";
+    public static final String ARCHIVED = "ARCHIVED";
+    public static final String UNARCHIVED = "UNARCHIVED";
+    public static final String TAG_ADDED = "TAG_ADDED";
+    public static final String TAG_REMOVED = "TAG_REMOVED";
+    public static final String COMMENTED = "COMMENTED";
+    public static final String DELETED = "DELETED";
+    public static final String ASSIGNED = "ASSIGNED";
+    public static final String UNASSIGNED = "UNASSIGNED";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO task_activity (task_id, project_id, actor_id, action, details, created_at) VALUES (?, ?, ?, ?, ?, ?)";
+
+    // Um único comando: remove um lote de eventos antigos e soma-os ao resumo diário
+    private static final String COMPACT_SQL = """
+            WITH moved AS (
+                DELETE FROM task_activity
+                WHERE id IN (SELECT id FROM task_activity WHERE created_at < ? ORDER BY created_at LIMIT ?)
+                RETURNING task_id, action, created_at
+            ), rolled AS (
+                INSERT INTO task_activity_daily (task_id, day, action, events, first_at, last_at)
+                SELECT task_id, created_at::date, action, count(*), min(created_at), max(created_at)
+                FROM moved
+                GROUP BY task_id, created_at::date, action
+                ON CONFLICT (task_id, day, action) DO UPDATE
+                SET events = task_activity_daily.events + EXCLUDED.events,
+                    first_at = LEAST(task_activity_daily.first_at, EXCLUDED.first_at),
+                    last_at = GREATEST(task_activity_daily.last_at, EXCLUDED.last_at)
+            )
+            SELECT count(*) FROM moved
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BlockingQueue<Entry> queue;
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final int retentionDays;
+    private final int compactBatchSize;
+    private final long compactIntervalMillis;
+    private final Counter written;
+    private final Counter failed;
+
+    private ScheduledExecutorService executor;
+
+    public ActivityLogService(JdbcTemplate jdbcTemplate,
+                              MeterRegistry meterRegistry,
+                              @Value("${app.activity.queue-capacity:10000}") int queueCapacity,
+                              @Value("${app.activity.batch-size:500}") int batchSize,
+                              @Value("${app.activity.flush-interval-ms:200}") long flushIntervalMillis,
+                              @Value("${app.activity.retention-days:90}") int retentionDays,
+                              @Value("${app.activity.compact-batch-size:5000}") int compactBatchSize,
+                              @Value("${app.activity.compact-interval-ms:3600000}") long compactIntervalMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.retentionDays = retentionDays;
+        this.compactBatchSize = compactBatchSize;
+        this.compactIntervalMillis = compactIntervalMillis;
+        this.written = Counter.builder("taskflow.activity.written")
+                .description("Eventos de histórico gravados")
+                .register(meterRegistry);
+        this.failed = Counter.builder("taskflow.activity.failed")
+                .description("Eventos de histórico descartados por erro de gravação")
+                .register(meterRegistry);
+        Gauge.builder("taskflow.activity.queue.size", queue, BlockingQueue::size)
+                .description("Eventos de histórico aguardando gravação")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        logger.info("Iniciando gravação do histórico: lotes de até {} eventos a cada {} ms; retenção de {} dias",
+                batchSize, flushIntervalMillis, retentionDays);
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "activity-log");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::flush, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+        executor.scheduleWithFixedDelay(this::compact, compactIntervalMillis, compactIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+        // O que ainda está na fila é gravado antes de encerrar
+        flush();
+    }
+
+    public void record(Long taskId, Long projectId, Long actorId, String action, String details) {
+        Entry entry = new Entry(taskId, projectId, actorId, action, details, LocalDateTime.now());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Alterações desfeitas por rollback não entram no histórico
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(entry);
+                }
+            });
+        } else {
+            enqueue(entry);
+        }
+    }
+
+    private void enqueue(Entry entry) {
+        if (queue.offer(entry)) {
+            return;
+        }
+        logger.warn("Fila do histórico cheia ({} eventos); gravando na thread da requisição", queue.size());
+        flush();
+        if (!queue.offer(entry)) {
+            write(List.of(entry));
+        }
+    }
+
+    public void flush() {
+        flushLock.lock();
+        try {
+            List<Entry> batch = new ArrayList<>(batchSize);
+            while (queue.drainTo(batch, batchSize) > 0) {
+                write(batch);
+                batch.clear();
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void write(List<Entry> batch) {
+        try {
+            List<Object[]> args = new ArrayList<>(batch.size());
+            for (Entry entry : batch) {
+                args.add(new Object[] { entry.taskId, entry.projectId, entry.actorId, entry.action, entry.details,
+                        Timestamp.valueOf(entry.createdAt) });
+            }
+            jdbcTemplate.batchUpdate(INSERT_SQL, args);
+            written.increment(batch.size());
+        } catch (Exception e) {
+            failed.increment(batch.size());
+            logger.error("Erro ao gravar {} eventos de histórico: {}", batch.size(), e.getMessage(), e);
+        }
+    }
+
+    public void compact() {
+        try {
+            LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+            long total = 0;
+            int moved;
+            do {
+                Integer count = jdbcTemplate.queryForObject(COMPACT_SQL, Integer.class, Timestamp.valueOf(cutoff), compactBatchSize);
+                moved = count != null ? count : 0;
+                total += moved;
+            } while (moved == compactBatchSize);
+            if (total > 0) {
+                logger.info("Histórico compactado: {} eventos anteriores a {} resumidos por dia", total, cutoff);
+            }
+        } catch (Exception e) {
+            logger.error("Erro ao compactar o histórico: {}", e.getMessage(), e);
+        }
+    }
+
+    private static final class Entry {
+        private final Long taskId;
+        private final Long projectId;
+        private final Long actorId;
+        private final String action;
+        private final String details;
+        private final LocalDateTime createdAt;
+
+        private Entry(Long taskId, Long projectId, Long actorId, String action, String details, LocalDateTime createdAt) {
+            this.taskId = taskId;
+            this.projectId = projectId;
+            this.actorId = actorId;
+            this.action = action;
+            this.details = details;
+            this.createdAt = createdAt;
+        }
+    }
+}
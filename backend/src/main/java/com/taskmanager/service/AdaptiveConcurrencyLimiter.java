@@ -0,0 +1,92 @@
+package com.taskmanager.service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Limite de requisições simultâneas ajustado por AIMD (additive increase, multiplicative decrease).
+ * Cada requisição que acessou o banco é uma amostra: acima do limiar de latência o limite é
+ * reduzido por um fator; abaixo dele, e com o limite de fato em uso, cresce uma unidade.
+ * Requisições além do limite são recusadas na hora, antes de disputarem o pool de conexões.
+ */
+@Service
+public class AdaptiveConcurrencyLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdaptiveConcurrencyLimiter.class);
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int limit;
+
+    public AdaptiveConcurrencyLimiter(MeterRegistry meterRegistry,
+                                      @Value("${app.ratelimit.concurrency.initial-limit:50}") int initialLimit,
+                                      @Value("${app.ratelimit.concurrency.min-limit:5}") int minLimit,
+                                      @Value("${app.ratelimit.concurrency.max-limit:200}") int maxLimit,
+                                      @Value("${app.ratelimit.concurrency.latency-threshold-ms:250}") long latencyThresholdMillis,
+                                      @Value("${app.ratelimit.concurrency.backoff-ratio:0.9}") double backoffRatio) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = TimeUnit.MILLISECONDS.toNanos(latencyThresholdMillis);
+        this.backoffRatio = backoffRatio;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        Gauge.builder("taskflow.ratelimit.concurrency.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Limite adaptativo de requisições simultâneas")
+                .register(meterRegistry);
+        Gauge.builder("taskflow.ratelimit.concurrency.in_flight", this, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Requisições em andamento sob o limite adaptativo")
+                .register(meterRegistry);
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    // sampled = a requisição acessou o banco; as demais só liberam a vaga
+    public void release(long latencyNanos, boolean sampled) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        if (!sampled) {
+            return;
+        }
+        synchronized (this) {
+            int current = limit;
+            if (latencyNanos > latencyThresholdNanos) {
+                limit = Math.max(minLimit, (int) (current * backoffRatio));
+                if (limit != current) {
+                    logger.debug("Latência {} ms acima do limiar; limite de concorrência {} -> {}",
+                            TimeUnit.NANOSECONDS.toMillis(latencyNanos), current, limit);
+                }
+            } else if (inFlightBefore * 2 >= current) {
+                // Só cresce se o limite atual estiver sendo usado; evita inflar o limite com tráfego baixo
+                limit = Math.min(maxLimit, current + 1);
+            }
+        }
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
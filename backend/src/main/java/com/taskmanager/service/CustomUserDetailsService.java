@@ -7,6 +7,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -14,8 +15,10 @@ import org.springframework.stereotype.Service;
 import com.taskmanager.entity.User;
 import com.taskmanager.repository.UserRepository;
 
+import io.micrometer.observation.annotation.Observed;
+
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private static final Logger logger = LoggerFactory.getLogger(CustomUserDetailsService.class);
 
@@ -23,6 +26,7 @@ public class CustomUserDetailsService implements UserDetailsService {
     private UserRepository userRepository;
 
     @Override
+    @Observed(name = "taskflow.service", contextualName = "load-user-details")
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         logger.debug("Tentando carregar usuário: {}", username);
         User user = userRepository.findByUsername(username)
@@ -37,4 +41,17 @@ public class CustomUserDetailsService implements UserDetailsService {
                 Arrays.asList(new SimpleGrantedAuthority("ROLE_USER")) // Adiciona a autoridade ROLE_USER
         );
     }
+
+    // Chamado pelo DaoAuthenticationProvider após um login bem-sucedido quando o hash usa custo/algoritmo antigo
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        logger.info("Regravando hash de senha do usuário {} com a configuração atual", userDetails.getUsername());
+        User user = userRepository.findByUsername(userDetails.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("Usuário não encontrado: " + userDetails.getUsername()));
+        user.setPassword(newPassword);
+        userRepository.save(user);
+        return org.springframework.security.core.userdetails.User.withUserDetails(userDetails)
+                .password(newPassword)
+                .build();
+    }
 }
\ No newline at end of file
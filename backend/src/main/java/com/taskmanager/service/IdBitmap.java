@@ -0,0 +1,374 @@
+package com.taskmanager.service;
+
+import java.util.Arrays;
+
+/**
+ * Conjunto compacto de ids (não negativos), no formato dos Roaring bitmaps: os ids são agrupados pelos
+ * bits altos (id >>> 16) e cada grupo guarda os 16 bits baixos num vetor ordenado (até 4096 valores,
+ * 2 bytes cada) ou num mapa de bits fixo de 8 KB, quando fica denso. Interseções e diferenças trabalham
+ * grupo a grupo, palavra a palavra nos mapas densos.
+ *
+ * Não é thread-safe: quem compartilha a instância sincroniza o acesso.
+ */
+public class IdBitmap {
+
+    // Acima disto o vetor ordenado ocupa mais que o mapa de bits (4096 x 2 bytes = 8 KB)
+    private static final int ARRAY_MAX = 4096;
+    private static final int BITMAP_WORDS = 1024;
+
+    private long[] keys = new long[4];
+    private Container[] containers = new Container[4];
+    private int size;
+
+    public boolean add(long id) {
+        checkId(id);
+        long key = id >>> 16;
+        int index = Arrays.binarySearch(keys, 0, size, key);
+        if (index < 0) {
+            index = -index - 1;
+            insert(index, key, new Container());
+        }
+        return containers[index].add((char) id);
+    }
+
+    public boolean remove(long id) {
+        if (id < 0) {
+            return false;
+        }
+        int index = Arrays.binarySearch(keys, 0, size, id >>> 16);
+        if (index < 0 || !containers[index].remove((char) id)) {
+            return false;
+        }
+        if (containers[index].cardinality == 0) {
+            delete(index);
+        }
+        return true;
+    }
+
+    public boolean contains(long id) {
+        if (id < 0) {
+            return false;
+        }
+        int index = Arrays.binarySearch(keys, 0, size, id >>> 16);
+        return index >= 0 && containers[index].contains((char) id);
+    }
+
+    public long cardinality() {
+        long total = 0;
+        for (int i = 0; i < size; i++) {
+            total += containers[i].cardinality;
+        }
+        return total;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // Novo conjunto com os ids presentes nos dois
+    public IdBitmap and(IdBitmap other) {
+        IdBitmap result = new IdBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < size && j < other.size) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                Container container = containers[i].and(other.containers[j]);
+                if (container.cardinality > 0) {
+                    result.append(keys[i], container);
+                }
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    // Novo conjunto com os ids deste que não estão em other
+    public IdBitmap andNot(IdBitmap other) {
+        IdBitmap result = new IdBitmap();
+        int j = 0;
+        for (int i = 0; i < size; i++) {
+            while (j < other.size && other.keys[j] < keys[i]) {
+                j++;
+            }
+            Container container = j < other.size && other.keys[j] == keys[i]
+                    ? containers[i].andNot(other.containers[j])
+                    : containers[i].copy();
+            if (container.cardinality > 0) {
+                result.append(keys[i], container);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Até limit ids menores que before, do maior para o menor (Long.MAX_VALUE para a primeira página):
+     * a mesma ordem de "id DESC" com cursor no último id devolvido.
+     */
+    public long[] pageDescending(long before, int limit) {
+        if (before <= 0 || limit <= 0) {
+            return new long[0];
+        }
+        long[] out = new long[limit];
+        long last = before - 1;
+        int index = Arrays.binarySearch(keys, 0, size, last >>> 16);
+        int below;
+        if (index >= 0) {
+            below = (int) (last & 0xFFFF) + 1;
+        } else {
+            // Grupo inexistente: começa pelo anterior, inteiro
+            index = -index - 2;
+            below = 0x10000;
+        }
+        int count = 0;
+        for (; index >= 0 && count < limit; index--) {
+            count = containers[index].collectDescending(below, keys[index] << 16, out, count, limit);
+            below = 0x10000;
+        }
+        return count == limit ? out : Arrays.copyOf(out, count);
+    }
+
+    // Estimativa da memória ocupada, para o orçamento de quem guarda vários conjuntos
+    public long sizeInBytes() {
+        long bytes = 32 + keys.length * 8L + containers.length * 8L;
+        for (int i = 0; i < size; i++) {
+            bytes += containers[i].sizeInBytes();
+        }
+        return bytes;
+    }
+
+    private static void checkId(long id) {
+        if (id < 0) {
+            throw new IllegalArgumentException("Id negativo: " + id);
+        }
+    }
+
+    private void insert(int index, long key, Container container) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            containers = Arrays.copyOf(containers, size * 2);
+        }
+        System.arraycopy(keys, index, keys, index + 1, size - index);
+        System.arraycopy(containers, index, containers, index + 1, size - index);
+        keys[index] = key;
+        containers[index] = container;
+        size++;
+    }
+
+    private void append(long key, Container container) {
+        insert(size, key, container);
+    }
+
+    private void delete(int index) {
+        System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+        System.arraycopy(containers, index + 1, containers, index, size - index - 1);
+        size--;
+        containers[size] = null;
+    }
+
+    // Os 16 bits baixos dos ids de um grupo: vetor ordenado (esparso) ou mapa de bits (denso)
+    private static final class Container {
+        private char[] array;
+        private long[] bits;
+        private int cardinality;
+
+        private Container() {
+            this.array = new char[4];
+        }
+
+        private Container(char[] array, int cardinality) {
+            this.array = array;
+            this.cardinality = cardinality;
+        }
+
+        private Container(long[] bits, int cardinality) {
+            this.bits = bits;
+            this.cardinality = cardinality;
+        }
+
+        private boolean contains(char value) {
+            if (bits != null) {
+                return (bits[value >>> 6] & (1L << value)) != 0;
+            }
+            return Arrays.binarySearch(array, 0, cardinality, value) >= 0;
+        }
+
+        private boolean add(char value) {
+            if (bits != null) {
+                long mask = 1L << value;
+                if ((bits[value >>> 6] & mask) != 0) {
+                    return false;
+                }
+                bits[value >>> 6] |= mask;
+                cardinality++;
+                return true;
+            }
+            int index = Arrays.binarySearch(array, 0, cardinality, value);
+            if (index >= 0) {
+                return false;
+            }
+            if (cardinality == ARRAY_MAX) {
+                toBitmap();
+                return add(value);
+            }
+            index = -index - 1;
+            if (cardinality == array.length) {
+                array = Arrays.copyOf(array, Math.min(ARRAY_MAX, cardinality * 2));
+            }
+            System.arraycopy(array, index, array, index + 1, cardinality - index);
+            array[index] = value;
+            cardinality++;
+            return true;
+        }
+
+        private boolean remove(char value) {
+            if (bits != null) {
+                long mask = 1L << value;
+                if ((bits[value >>> 6] & mask) == 0) {
+                    return false;
+                }
+                bits[value >>> 6] &= ~mask;
+                cardinality--;
+                // Volta a vetor só com folga, para não alternar a cada inclusão/remoção na fronteira
+                if (cardinality <= ARRAY_MAX / 2) {
+                    toArray();
+                }
+                return true;
+            }
+            int index = Arrays.binarySearch(array, 0, cardinality, value);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(array, index + 1, array, index, cardinality - index - 1);
+            cardinality--;
+            return true;
+        }
+
+        private Container and(Container other) {
+            if (bits != null && other.bits != null) {
+                long[] result = new long[BITMAP_WORDS];
+                int count = 0;
+                for (int i = 0; i < BITMAP_WORDS; i++) {
+                    result[i] = bits[i] & other.bits[i];
+                    count += Long.bitCount(result[i]);
+                }
+                return fromBits(result, count);
+            }
+            // Ao menos um é vetor: percorre o vetor menor e testa no outro
+            Container small = bits == null && (other.bits != null || cardinality <= other.cardinality) ? this : other;
+            Container large = small == this ? other : this;
+            char[] result = new char[small.cardinality];
+            int count = 0;
+            for (int i = 0; i < small.cardinality; i++) {
+                if (large.contains(small.array[i])) {
+                    result[count++] = small.array[i];
+                }
+            }
+            return new Container(result, count);
+        }
+
+        private Container andNot(Container other) {
+            if (bits != null) {
+                long[] result = bits.clone();
+                if (other.bits != null) {
+                    for (int i = 0; i < BITMAP_WORDS; i++) {
+                        result[i] &= ~other.bits[i];
+                    }
+                } else {
+                    for (int i = 0; i < other.cardinality; i++) {
+                        char value = other.array[i];
+                        result[value >>> 6] &= ~(1L << value);
+                    }
+                }
+                int count = 0;
+                for (long word : result) {
+                    count += Long.bitCount(word);
+                }
+                return fromBits(result, count);
+            }
+            char[] result = new char[cardinality];
+            int count = 0;
+            for (int i = 0; i < cardinality; i++) {
+                if (!other.contains(array[i])) {
+                    result[count++] = array[i];
+                }
+            }
+            return new Container(result, count);
+        }
+
+        private Container copy() {
+            return bits != null
+                    ? new Container(bits.clone(), cardinality)
+                    : new Container(Arrays.copyOf(array, Math.max(cardinality, 1)), cardinality);
+        }
+
+        // Valores menores que below, do maior para o menor, somados a base, a partir de out[count]
+        private int collectDescending(int below, long base, long[] out, int count, int limit) {
+            if (bits == null) {
+                int index;
+                if (below > 0xFFFF) {
+                    index = cardinality;
+                } else {
+                    index = Arrays.binarySearch(array, 0, cardinality, (char) below);
+                    index = index >= 0 ? index : -index - 1;
+                }
+                for (int i = index - 1; i >= 0 && count < limit; i--) {
+                    out[count++] = base | array[i];
+                }
+                return count;
+            }
+            int value = below - 1;
+            while (value >= 0 && count < limit) {
+                int word = value >>> 6;
+                // Só os bits de 0 até value dentro da palavra
+                long remaining = bits[word] & (-1L >>> (63 - (value & 63)));
+                while (remaining != 0 && count < limit) {
+                    int bit = 63 - Long.numberOfLeadingZeros(remaining);
+                    out[count++] = base | ((long) word << 6 | bit);
+                    remaining &= ~(1L << bit);
+                }
+                value = (word << 6) - 1;
+            }
+            return count;
+        }
+
+        private long sizeInBytes() {
+            return 24 + (bits != null ? 16 + bits.length * 8L : 16 + array.length * 2L);
+        }
+
+        private void toBitmap() {
+            long[] result = new long[BITMAP_WORDS];
+            for (int i = 0; i < cardinality; i++) {
+                result[array[i] >>> 6] |= 1L << array[i];
+            }
+            bits = result;
+            array = null;
+        }
+
+        private void toArray() {
+            char[] result = new char[Math.max(cardinality, 4)];
+            int count = 0;
+            for (int word = 0; word < BITMAP_WORDS; word++) {
+                long remaining = bits[word];
+                while (remaining != 0) {
+                    result[count++] = (char) (word << 6 | Long.numberOfTrailingZeros(remaining));
+                    remaining &= remaining - 1;
+                }
+            }
+            array = result;
+            bits = null;
+        }
+
+        private static Container fromBits(long[] bits, int cardinality) {
+            Container container = new Container(bits, cardinality);
+            if (cardinality <= ARRAY_MAX) {
+                container.toArray();
+            }
+            return container;
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.taskmanager.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Coordena as execuções por Idempotency-Key: a primeira requisição executa, duplicatas simultâneas
+ * esperam pelo resultado dela e as posteriores recebem a resposta gravada no IdempotencyStore.
+ * Respostas 5xx e exceções não são gravadas: a próxima tentativa executa de novo.
+ */
+@Service
+public class IdempotencyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyService.class);
+
+    // Intervalo de consulta quando a chave está em execução em outra réplica
+    private static final long REMOTE_POLL_MILLIS = 100;
+
+    public enum Outcome {
+        // Executar a requisição e chamar complete() ou abandon() ao final
+        EXECUTE,
+        // Devolver a resposta gravada
+        REPLAY,
+        // Mesma chave com outra requisição (método, caminho ou corpo diferentes)
+        MISMATCH,
+        // A primeira execução não terminou dentro do tempo de espera
+        IN_PROGRESS
+    }
+
+    public static final class Claim {
+        private final Outcome outcome;
+        private final IdempotentResponse response;
+
+        private Claim(Outcome outcome, IdempotentResponse response) {
+            this.outcome = outcome;
+            this.response = response;
+        }
+
+        public Outcome getOutcome() {
+            return outcome;
+        }
+
+        public IdempotentResponse getResponse() {
+            return response;
+        }
+    }
+
+    private static final class InFlight {
+        private final String fingerprint;
+        private final CompletableFuture<IdempotentResponse> result = new CompletableFuture<>();
+
+        private InFlight(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+    }
+
+    private final IdempotencyStore store;
+    private final long ttlMillis;
+    private final long leaseMillis;
+    private final long waitTimeoutNanos;
+    private final ConcurrentHashMap<String, InFlight> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyService(IdempotencyStore store,
+                              @Value("${app.idempotency.ttl-hours:24}") long ttlHours,
+                              @Value("${app.idempotency.lease-ms:60000}") long leaseMillis,
+                              @Value("${app.idempotency.wait-timeout-ms:10000}") long waitTimeoutMillis) {
+        this.store = store;
+        this.ttlMillis = TimeUnit.HOURS.toMillis(ttlHours);
+        this.leaseMillis = leaseMillis;
+        this.waitTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(waitTimeoutMillis);
+    }
+
+    public Claim claim(String key, String fingerprint) throws InterruptedException {
+        long deadline = System.nanoTime() + waitTimeoutNanos;
+        while (true) {
+            IdempotentResponse stored = store.find(key);
+            if (stored != null) {
+                return replayOrMismatch(stored, fingerprint);
+            }
+
+            InFlight mine = new InFlight(fingerprint);
+            InFlight running = inFlight.putIfAbsent(key, mine);
+            if (running == null) {
+                // A execução anterior pode ter gravado a resposta entre a consulta e a reserva
+                stored = store.find(key);
+                if (stored != null) {
+                    finish(key, null);
+                    return replayOrMismatch(stored, fingerprint);
+                }
+                if (store.tryClaim(key, fingerprint, System.currentTimeMillis() + leaseMillis)) {
+                    return new Claim(Outcome.EXECUTE, null);
+                }
+                // Em execução em outra réplica: libera quem espera aqui e consulta de novo em seguida
+                finish(key, null);
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return new Claim(Outcome.IN_PROGRESS, null);
+                }
+                Thread.sleep(Math.min(REMOTE_POLL_MILLIS, TimeUnit.NANOSECONDS.toMillis(remaining) + 1));
+                continue;
+            }
+
+            if (!running.fingerprint.equals(fingerprint)) {
+                return new Claim(Outcome.MISMATCH, null);
+            }
+            logger.debug("Aguardando a execução em andamento da chave de idempotência {}", key);
+            try {
+                IdempotentResponse response = running.result.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                if (response != null) {
+                    return new Claim(Outcome.REPLAY, response);
+                }
+                // A primeira execução falhou e não deixou resposta: tenta executar esta
+            } catch (TimeoutException e) {
+                return new Claim(Outcome.IN_PROGRESS, null);
+            } catch (ExecutionException e) {
+                // Não acontece: o futuro só é concluído com valor (ou null)
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    public void complete(String key, String fingerprint, int status, String contentType, byte[] body) {
+        if (status >= 500) {
+            abandon(key);
+            return;
+        }
+        IdempotentResponse response = new IdempotentResponse(fingerprint, status, contentType, body,
+                System.currentTimeMillis() + ttlMillis);
+        try {
+            store.save(key, response);
+        } finally {
+            finish(key, response);
+        }
+    }
+
+    public void abandon(String key) {
+        try {
+            store.release(key);
+        } finally {
+            finish(key, null);
+        }
+    }
+
+    private void finish(String key, IdempotentResponse response) {
+        InFlight running = inFlight.remove(key);
+        if (running != null) {
+            running.result.complete(response);
+        }
+    }
+
+    private static Claim replayOrMismatch(IdempotentResponse stored, String fingerprint) {
+        return stored.getFingerprint().equals(fingerprint)
+                ? new Claim(Outcome.REPLAY, stored)
+                : new Claim(Outcome.MISMATCH, null);
+    }
+}
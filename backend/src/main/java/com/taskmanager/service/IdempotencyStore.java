@@ -0,0 +1,21 @@
+package com.taskmanager.service;
+
+/**
+ * Onde ficam as respostas já concluídas de cada Idempotency-Key e, em implementações
+ * compartilhadas, a reserva das chaves em execução em outra réplica. A deduplicação
+ * de requisições simultâneas na mesma réplica é feita pelo IdempotencyService.
+ */
+public interface IdempotencyStore {
+
+    // Resposta concluída e ainda válida, ou null
+    IdempotentResponse find(String key);
+
+    // Reserva a chave para execução até leaseExpiresAtMillis; false se outra réplica a reservou e ainda não concluiu.
+    // A reserva expira sozinha, para que a queda de uma réplica não bloqueie a chave até o fim do TTL.
+    boolean tryClaim(String key, String fingerprint, long leaseExpiresAtMillis);
+
+    void save(String key, IdempotentResponse response);
+
+    // Desfaz a reserva após uma execução que não deve ser reaproveitada (erro ou 5xx)
+    void release(String key);
+}
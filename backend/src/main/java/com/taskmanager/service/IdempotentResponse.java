@@ -0,0 +1,43 @@
+package com.taskmanager.service;
+
+// Resposta gravada para uma Idempotency-Key, devolvida tal como foi na primeira execução
+public class IdempotentResponse {
+
+    private final String fingerprint;
+    private final int status;
+    private final String contentType;
+    private final byte[] body;
+    private final long expiresAtMillis;
+
+    public IdempotentResponse(String fingerprint, int status, String contentType, byte[] body, long expiresAtMillis) {
+        this.fingerprint = fingerprint;
+        this.status = status;
+        this.contentType = contentType;
+        this.body = body;
+        this.expiresAtMillis = expiresAtMillis;
+    }
+
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+
+    public long getExpiresAtMillis() {
+        return expiresAtMillis;
+    }
+
+    public boolean isExpired(long nowMillis) {
+        return expiresAtMillis <= nowMillis;
+    }
+}
@@ -0,0 +1,54 @@
+package com.taskmanager.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+// LRU limitado por quantidade de entradas; entradas vencidas são descartadas na leitura
+@Service
+@ConditionalOnProperty(name = "app.idempotency.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private final Map<String, IdempotentResponse> responses;
+
+    public InMemoryIdempotencyStore(@Value("${app.idempotency.max-entries:10000}") int maxEntries) {
+        this.responses = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, IdempotentResponse> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    @Override
+    public synchronized IdempotentResponse find(String key) {
+        IdempotentResponse response = responses.get(key);
+        if (response != null && response.isExpired(System.currentTimeMillis())) {
+            responses.remove(key);
+            return null;
+        }
+        return response;
+    }
+
+    // Numa única réplica a reserva é o próprio mapa de execuções do IdempotencyService
+    @Override
+    public boolean tryClaim(String key, String fingerprint, long leaseExpiresAtMillis) {
+        return true;
+    }
+
+    @Override
+    public synchronized void save(String key, IdempotentResponse response) {
+        responses.put(key, response);
+    }
+
+    @Override
+    public void release(String key) {
+    }
+
+    synchronized int size() {
+        return responses.size();
+    }
+}
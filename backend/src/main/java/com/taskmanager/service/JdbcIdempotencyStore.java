@@ -0,0 +1,102 @@
+package com.taskmanager.service;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+
+// Respostas compartilhadas entre réplicas na tabela idempotency_keys, com o LRU em memória na frente.
+// Linhas com status nulo são reservas de chaves em execução; expiram após o lease.
+@Service
+@ConditionalOnProperty(name = "app.idempotency.store", havingValue = "jdbc")
+public class JdbcIdempotencyStore implements IdempotencyStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(JdbcIdempotencyStore.class);
+
+    // A cada tantas gravações, remove as linhas vencidas
+    private static final int PURGE_EVERY = 1_000;
+
+    private static final String FIND_SQL = """
+            SELECT fingerprint, status, content_type, body, expires_at FROM idempotency_keys
+            WHERE idempotency_key = :key AND status IS NOT NULL AND expires_at > :now
+            """;
+
+    // Só sobrescreve uma linha existente se ela já venceu (resposta antiga ou reserva abandonada)
+    private static final String CLAIM_SQL = """
+            INSERT INTO idempotency_keys (idempotency_key, fingerprint, expires_at)
+            VALUES (:key, :fingerprint, :expiresAt)
+            ON CONFLICT (idempotency_key) DO UPDATE
+            SET fingerprint = EXCLUDED.fingerprint, status = NULL, content_type = NULL, body = NULL,
+                expires_at = EXCLUDED.expires_at
+            WHERE idempotency_keys.expires_at <= :now
+            """;
+
+    private static final String SAVE_SQL = """
+            UPDATE idempotency_keys SET status = :status, content_type = :contentType, body = :body, expires_at = :expiresAt
+            WHERE idempotency_key = :key
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final InMemoryIdempotencyStore cache;
+    private final AtomicInteger savesSincePurge = new AtomicInteger();
+
+    public JdbcIdempotencyStore(NamedParameterJdbcTemplate jdbcTemplate,
+                                @Value("${app.idempotency.max-entries:10000}") int maxEntries) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.cache = new InMemoryIdempotencyStore(maxEntries);
+    }
+
+    @Override
+    public IdempotentResponse find(String key) {
+        IdempotentResponse cached = cache.find(key);
+        if (cached != null) {
+            return cached;
+        }
+        List<IdempotentResponse> rows = jdbcTemplate.query(FIND_SQL,
+                new MapSqlParameterSource("key", key).addValue("now", new Timestamp(System.currentTimeMillis())),
+                (rs, rowNum) -> new IdempotentResponse(rs.getString("fingerprint"), rs.getInt("status"),
+                        rs.getString("content_type"), rs.getBytes("body"), rs.getTimestamp("expires_at").getTime()));
+        if (rows.isEmpty()) {
+            return null;
+        }
+        cache.save(key, rows.get(0));
+        return rows.get(0);
+    }
+
+    @Override
+    public boolean tryClaim(String key, String fingerprint, long leaseExpiresAtMillis) {
+        return jdbcTemplate.update(CLAIM_SQL, new MapSqlParameterSource("key", key)
+                .addValue("fingerprint", fingerprint)
+                .addValue("expiresAt", new Timestamp(leaseExpiresAtMillis))
+                .addValue("now", new Timestamp(System.currentTimeMillis()))) > 0;
+    }
+
+    @Override
+    public void save(String key, IdempotentResponse response) {
+        jdbcTemplate.update(SAVE_SQL, new MapSqlParameterSource("key", key)
+                .addValue("status", response.getStatus())
+                .addValue("contentType", response.getContentType())
+                .addValue("body", response.getBody())
+                .addValue("expiresAt", new Timestamp(response.getExpiresAtMillis())));
+        cache.save(key, response);
+        if (savesSincePurge.incrementAndGet() >= PURGE_EVERY) {
+            savesSincePurge.set(0);
+            int purged = jdbcTemplate.update("DELETE FROM idempotency_keys WHERE expires_at <= :now",
+                    new MapSqlParameterSource("now", new Timestamp(System.currentTimeMillis())));
+            logger.debug("Chaves de idempotência vencidas removidas: {}", purged);
+        }
+    }
+
+    @Override
+    public void release(String key) {
+        jdbcTemplate.update("DELETE FROM idempotency_keys WHERE idempotency_key = :key AND status IS NULL",
+                new MapSqlParameterSource("key", key));
+    }
+}
@@ -0,0 +1,122 @@
+package com.taskmanager.service;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+
+// Baldes compartilhados entre réplicas na tabela rate_limit_buckets: um único UPSERT por requisição,
+// com o relógio do banco para que réplicas com relógios diferentes concordem sobre o TAT.
+// Se o banco falhar, o limite passa a ser aplicado só localmente até ele voltar.
+// Linhas com TAT no passado (baldes cheios) são apagadas periodicamente: ausentes, valem o mesmo.
+@Service
+@ConditionalOnProperty(name = "app.ratelimit.store", havingValue = "jdbc")
+public class JdbcRateLimiterStore implements RateLimiterStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(JdbcRateLimiterStore.class);
+
+    private static final String NOW_MICROS = "(EXTRACT(EPOCH FROM clock_timestamp()) * 1000000)::BIGINT";
+
+    // EXCLUDED.tat_micros = agora + incremento; a linha só é atualizada se couber no burst
+    private static final String ACQUIRE_SQL = """
+            INSERT INTO rate_limit_buckets (bucket_key, tat_micros)
+            VALUES (:key, %s + :increment)
+            ON CONFLICT (bucket_key) DO UPDATE
+            SET tat_micros = GREATEST(rate_limit_buckets.tat_micros + :increment, EXCLUDED.tat_micros)
+            WHERE GREATEST(rate_limit_buckets.tat_micros + :increment, EXCLUDED.tat_micros)
+                  - (EXCLUDED.tat_micros - :increment) <= :burst
+            RETURNING tat_micros
+            """.formatted(NOW_MICROS);
+
+    private static final String EXCESS_SQL =
+            "SELECT tat_micros + :increment - " + NOW_MICROS + " - :burst FROM rate_limit_buckets WHERE bucket_key = :key";
+
+    private static final String REFUND_SQL =
+            "UPDATE rate_limit_buckets SET tat_micros = tat_micros - :increment WHERE bucket_key = :key";
+
+    private static final String PURGE_SQL = "DELETE FROM rate_limit_buckets WHERE tat_micros <= " + NOW_MICROS;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final LocalRateLimiterStore fallback = new LocalRateLimiterStore();
+    private final long purgeMillis;
+
+    private ScheduledExecutorService purgeExecutor;
+
+    public JdbcRateLimiterStore(NamedParameterJdbcTemplate jdbcTemplate,
+                                @Value("${app.ratelimit.jdbc.purge-ms:60000}") long purgeMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.purgeMillis = purgeMillis;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        purgeExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "rate-limit-purge");
+            thread.setDaemon(true);
+            return thread;
+        });
+        purgeExecutor.scheduleWithFixedDelay(this::purgeSafely, purgeMillis, purgeMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (purgeExecutor != null) {
+            purgeExecutor.shutdownNow();
+        }
+    }
+
+    @Override
+    public long tryAcquire(String key, long incrementMicros, long burstMicros) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("key", key)
+                .addValue("increment", incrementMicros)
+                .addValue("burst", burstMicros);
+        try {
+            List<Long> accepted = jdbcTemplate.queryForList(ACQUIRE_SQL, params, Long.class);
+            if (!accepted.isEmpty()) {
+                return 0;
+            }
+            List<Long> excess = jdbcTemplate.queryForList(EXCESS_SQL, params, Long.class);
+            return excess.isEmpty() ? 0 : Math.max(1, excess.get(0));
+        } catch (DataAccessException e) {
+            logger.warn("Falha ao consultar o limitador compartilhado; aplicando limite local: {}", e.getMessage());
+            return fallback.tryAcquire(key, incrementMicros, burstMicros);
+        }
+    }
+
+    @Override
+    public void refund(String key, long incrementMicros) {
+        try {
+            jdbcTemplate.update(REFUND_SQL, new MapSqlParameterSource()
+                    .addValue("key", key)
+                    .addValue("increment", incrementMicros));
+        } catch (DataAccessException e) {
+            logger.warn("Falha ao devolver consumo ao limitador compartilhado: {}", e.getMessage());
+        }
+        fallback.refund(key, incrementMicros);
+    }
+
+    void purgeSafely() {
+        try {
+            int removed = jdbcTemplate.update(PURGE_SQL, new MapSqlParameterSource());
+            if (removed > 0) {
+                logger.debug("{} baldes ociosos removidos de rate_limit_buckets", removed);
+            }
+        } catch (DataAccessException e) {
+            logger.warn("Falha ao limpar baldes ociosos do limitador compartilhado: {}", e.getMessage());
+        }
+    }
+}
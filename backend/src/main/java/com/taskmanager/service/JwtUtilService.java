@@ -2,11 +2,13 @@ package com.taskmanager.service;
 
 import java.security.Key;
 import java.util.Date;
+import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -16,14 +18,19 @@ public class JwtUtilService {
 
     private final Key jwtSecretKey;
     private final long expirationTime;
+    // O parser é imutável e thread-safe: criado uma vez em vez de a cada requisição
+    private final JwtParser jwtParser;
 
     public JwtUtilService(@Value("${jwt.secret}") String jwtSecret, @Value("${jwt.expiration}") long expirationTime) {
         this.jwtSecretKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
         this.expirationTime = expirationTime;
+        this.jwtParser = Jwts.parserBuilder().setSigningKey(jwtSecretKey).build();
     }
 
+    // Token de acesso de curta duração; o "jti" permite revogá-lo individualmente
     public String generateToken(String username) {
         return Jwts.builder()
+                .setId(UUID.randomUUID().toString())
                 .setSubject(username)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + expirationTime))
@@ -31,20 +38,21 @@ public class JwtUtilService {
                 .compact();
     }
 
+    public long getExpirationTime() {
+        return expirationTime;
+    }
+
+    public Claims parseClaims(String token) {
+        return jwtParser.parseClaimsJws(token).getBody();
+    }
+
     public String extractUsername(String token) {
-        return Jwts.parser()
-                .setSigningKey(jwtSecretKey)
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+        return parseClaims(token).getSubject();
     }
 
     public boolean validateToken(String token, String username) {
         try {
-            Claims claims = Jwts.parser()
-                    .setSigningKey(jwtSecretKey)
-                    .parseClaimsJws(token)
-                    .getBody();
+            Claims claims = parseClaims(token);
             String extractedUsername = claims.getSubject();
             Date expiration = claims.getExpiration();
             boolean isNotExpired = !expiration.before(new Date());
@@ -54,4 +62,4 @@ public class JwtUtilService {
             return false;
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,78 @@
+package com.taskmanager.service;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+// Baldes em memória, sem locks: o ConcurrentHashMap é particionado internamente e cada balde
+// é um único AtomicLong (TAT em microssegundos) atualizado por CAS.
+@Service
+@ConditionalOnProperty(name = "app.ratelimit.store", havingValue = "local", matchIfMissing = true)
+public class LocalRateLimiterStore implements RateLimiterStore {
+
+    // Acima deste tamanho, baldes ociosos são removidos no próximo consumo aceito, no máximo uma vez por
+    // intervalo: se todos estiverem ativos, a varredura O(n) não se repete a cada requisição
+    private static final int PURGE_THRESHOLD = 10_000;
+    private static final long PURGE_INTERVAL_MICROS = 1_000_000;
+
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong nextPurgeMicros = new AtomicLong(Long.MIN_VALUE);
+    private final LongSupplier clockMicros;
+
+    public LocalRateLimiterStore() {
+        this(() -> System.nanoTime() / 1_000);
+    }
+
+    LocalRateLimiterStore(LongSupplier clockMicros) {
+        this.clockMicros = clockMicros;
+    }
+
+    @Override
+    public long tryAcquire(String key, long incrementMicros, long burstMicros) {
+        long now = clockMicros.getAsLong();
+        AtomicLong tat = buckets.get(key);
+        if (tat == null) {
+            tat = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+        }
+        while (true) {
+            long current = tat.get();
+            long next = Math.max(current, now) + incrementMicros;
+            long excess = next - now - burstMicros;
+            if (excess > 0) {
+                return excess;
+            }
+            if (tat.compareAndSet(current, next)) {
+                break;
+            }
+        }
+        if (buckets.size() > PURGE_THRESHOLD) {
+            purge(now);
+        }
+        return 0;
+    }
+
+    @Override
+    public void refund(String key, long incrementMicros) {
+        AtomicLong tat = buckets.get(key);
+        if (tat != null) {
+            tat.addAndGet(-incrementMicros);
+        }
+    }
+
+    // Só a thread que ganha o CAS varre o mapa; as demais seguem sem esperar
+    private void purge(long now) {
+        long scheduled = nextPurgeMicros.get();
+        if (now < scheduled || !nextPurgeMicros.compareAndSet(scheduled, now + PURGE_INTERVAL_MICROS)) {
+            return;
+        }
+        // Balde com TAT no passado está cheio: removê-lo equivale a mantê-lo
+        buckets.values().removeIf(bucket -> bucket.get() <= now);
+    }
+
+    int size() {
+        return buckets.size();
+    }
+}
@@ -0,0 +1,95 @@
+package com.taskmanager.service;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+@Service
+public class LoginAttemptService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoginAttemptService.class);
+
+    // Acima deste tamanho, entradas expiradas são removidas na próxima falha registrada
+    private static final int PURGE_THRESHOLD = 10_000;
+
+    private final int maxFailedAttempts;
+    private final int maxFailedAttemptsPerIp;
+    private final long lockoutMillis;
+    private final ConcurrentHashMap<String, Attempts> attemptsByKey = new ConcurrentHashMap<>();
+
+    // O limite por IP é maior porque vários usuários podem compartilhar o mesmo endereço (NAT, proxy)
+    public LoginAttemptService(@Value("${app.auth.max-failed-attempts:5}") int maxFailedAttempts,
+                               @Value("${app.auth.max-failed-attempts-per-ip:50}") int maxFailedAttemptsPerIp,
+                               @Value("${app.auth.lockout-seconds:300}") long lockoutSeconds) {
+        this.maxFailedAttempts = maxFailedAttempts;
+        this.maxFailedAttemptsPerIp = maxFailedAttemptsPerIp;
+        this.lockoutMillis = TimeUnit.SECONDS.toMillis(lockoutSeconds);
+    }
+
+    // Consultado antes de qualquer hash ser calculado
+    public boolean isBlocked(String username, String clientIp) {
+        long now = System.currentTimeMillis();
+        return isBlocked(userKey(username), maxFailedAttempts, now) || isBlocked(ipKey(clientIp), maxFailedAttemptsPerIp, now);
+    }
+
+    public long retryAfterSeconds(String username, String clientIp) {
+        long now = System.currentTimeMillis();
+        long remaining = Math.max(remainingMillis(userKey(username), now), remainingMillis(ipKey(clientIp), now));
+        return Math.max(1, TimeUnit.MILLISECONDS.toSeconds(remaining));
+    }
+
+    public void loginFailed(String username, String clientIp) {
+        long now = System.currentTimeMillis();
+        record(userKey(username), maxFailedAttempts, now);
+        record(ipKey(clientIp), maxFailedAttemptsPerIp, now);
+        if (attemptsByKey.size() > PURGE_THRESHOLD) {
+            attemptsByKey.values().removeIf(attempts -> attempts.windowStart + lockoutMillis <= now);
+        }
+    }
+
+    public void loginSucceeded(String username) {
+        attemptsByKey.remove(userKey(username));
+    }
+
+    private boolean isBlocked(String key, int limit, long now) {
+        Attempts attempts = attemptsByKey.get(key);
+        return attempts != null && attempts.count >= limit && attempts.windowStart + lockoutMillis > now;
+    }
+
+    private long remainingMillis(String key, long now) {
+        Attempts attempts = attemptsByKey.get(key);
+        return attempts == null ? 0 : attempts.windowStart + lockoutMillis - now;
+    }
+
+    private void record(String key, int limit, long now) {
+        Attempts attempts = attemptsByKey.compute(key, (k, current) ->
+                current == null || current.windowStart + lockoutMillis <= now
+                        ? new Attempts(now, 1)
+                        : new Attempts(current.windowStart, current.count + 1));
+        if (attempts.count == limit) {
+            logger.warn("Limite de tentativas de login atingido para {}; bloqueado por {} s", key, TimeUnit.MILLISECONDS.toSeconds(lockoutMillis));
+        }
+    }
+
+    private static String userKey(String username) {
+        return "user:" + (username == null ? "" : username.toLowerCase());
+    }
+
+    private static String ipKey(String clientIp) {
+        return "ip:" + clientIp;
+    }
+
+    private static final class Attempts {
+        private final long windowStart;
+        private final int count;
+
+        private Attempts(long windowStart, int count) {
+            this.windowStart = windowStart;
+            this.count = count;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.taskmanager.service;
+
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+/**
+ * Cache de respostas já serializadas fora do heap: um único ByteBuffer direto dividido em blocos de
+ * tamanho fixo, e cada valor ocupa os blocos que precisar (não necessariamente contíguos). No heap ficam
+ * só a chave e a lista de blocos de cada entrada, em ordem de acesso (LRU); os bytes guardados não são
+ * percorridos pelo coletor de lixo. Ao faltar espaço, saem as entradas usadas há mais tempo.
+ */
+public class OffHeapJsonCache {
+
+    private final ByteBuffer arena;
+    private final int blockSize;
+    private final long ttlMillis;
+    private final ReentrantLock lock = new ReentrantLock();
+    // Pilha de blocos livres
+    private final int[] freeBlocks;
+    private int freeCount;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    public OffHeapJsonCache(int capacityBytes, int blockSize, long ttlMillis) {
+        if (blockSize <= 0 || capacityBytes < blockSize) {
+            throw new IllegalArgumentException("Capacidade deve comportar ao menos um bloco");
+        }
+        int blocks = capacityBytes / blockSize;
+        this.arena = ByteBuffer.allocateDirect(blocks * blockSize);
+        this.blockSize = blockSize;
+        this.ttlMillis = ttlMillis;
+        this.freeBlocks = new int[blocks];
+        for (int i = 0; i < blocks; i++) {
+            freeBlocks[i] = blocks - 1 - i;
+        }
+        this.freeCount = blocks;
+    }
+
+    // Cópia dos bytes guardados (vive pouco e morre na geração jovem) ou null
+    public byte[] get(String key) {
+        lock.lock();
+        try {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expiresAt <= System.currentTimeMillis()) {
+                release(entries.remove(key));
+                return null;
+            }
+            byte[] value = new byte[entry.length];
+            int offset = 0;
+            for (int block : entry.blocks) {
+                int length = Math.min(blockSize, entry.length - offset);
+                arena.get(block * blockSize, value, offset, length);
+                offset += length;
+            }
+            return value;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // false se o valor não cabe nem com o cache vazio
+    public boolean put(String key, byte[] value) {
+        int needed = Math.max(1, (value.length + blockSize - 1) / blockSize);
+        if (needed > freeBlocks.length) {
+            return false;
+        }
+        lock.lock();
+        try {
+            release(entries.remove(key));
+            Iterator<Entry> eldest = entries.values().iterator();
+            while (freeCount < needed && eldest.hasNext()) {
+                Entry evicted = eldest.next();
+                eldest.remove();
+                release(evicted);
+            }
+            int[] blocks = new int[needed];
+            for (int i = 0; i < needed; i++) {
+                blocks[i] = freeBlocks[--freeCount];
+                int offset = i * blockSize;
+                arena.put(blocks[i] * blockSize, value, offset, Math.min(blockSize, value.length - offset));
+            }
+            entries.put(key, new Entry(blocks, value.length, System.currentTimeMillis() + ttlMillis));
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int removeIf(Predicate<String> keyPredicate) {
+        lock.lock();
+        try {
+            int removed = 0;
+            Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<String, Entry> entry = iterator.next();
+                if (keyPredicate.test(entry.getKey())) {
+                    iterator.remove();
+                    release(entry.getValue());
+                    removed++;
+                }
+            }
+            return removed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void clear() {
+        removeIf(key -> true);
+    }
+
+    // Bytes ocupados pelos blocos em uso (inclui a sobra do último bloco de cada valor)
+    public long usedBytes() {
+        lock.lock();
+        try {
+            return (long) (freeBlocks.length - freeCount) * blockSize;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long capacityBytes() {
+        return (long) freeBlocks.length * blockSize;
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release(Entry entry) {
+        if (entry != null) {
+            for (int block : entry.blocks) {
+                freeBlocks[freeCount++] = block;
+            }
+        }
+    }
+
+    private static final class Entry {
+        private final int[] blocks;
+        private final int length;
+        private final long expiresAt;
+
+        private Entry(int[] blocks, int length, long expiresAt) {
+            this.blocks = blocks;
+            this.length = length;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
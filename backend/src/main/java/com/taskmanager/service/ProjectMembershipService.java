@@ -0,0 +1,174 @@
+package com.taskmanager.service;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.taskmanager.entity.ProjectMember;
+
+/**
+ * Conjunto de projetos de cada usuário, em memória. As verificações de acesso às tarefas (que passam a
+ * ser escopadas por projeto) consultam este cache em vez do banco; uma falha de cache custa uma única
+ * consulta que também resolve o id do usuário. Mudanças de participação invalidam a entrada do usuário
+ * afetado nesta réplica; nas demais a entrada expira após o TTL.
+ */
+@Service
+public class ProjectMembershipService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProjectMembershipService.class);
+
+    private static final String LOAD_SQL = """
+            SELECT u.id AS user_id, pu.project_id, pu.role, p.personal
+            FROM users u
+            LEFT JOIN project_users pu ON pu.user_id = u.id
+            LEFT JOIN projects p ON p.id = pu.project_id
+            WHERE u.username = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long ttlMillis;
+    private final int maxEntries;
+    private final ConcurrentHashMap<String, CachedMembership> cache = new ConcurrentHashMap<>();
+    // Incrementado a cada invalidação: uma carga iniciada antes dela não é guardada
+    private final AtomicLong generation = new AtomicLong();
+
+    public ProjectMembershipService(JdbcTemplate jdbcTemplate,
+                                    @Value("${app.projects.membership-cache-ttl-ms:30000}") long ttlMillis,
+                                    @Value("${app.projects.membership-cache-max-entries:10000}") int maxEntries) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.ttlMillis = ttlMillis;
+        this.maxEntries = maxEntries;
+    }
+
+    public Membership forUser(String username) {
+        return find(username).orElseThrow(() -> new RuntimeException("Usuário não encontrado: " + username));
+    }
+
+    public Optional<Membership> find(String username) {
+        long now = System.currentTimeMillis();
+        CachedMembership cached = cache.get(username);
+        if (cached != null && cached.expiresAt > now) {
+            return Optional.of(cached.membership);
+        }
+
+        long loadGeneration = generation.get();
+        Membership membership = load(username);
+        if (membership == null) {
+            return Optional.empty();
+        }
+        if (cache.size() >= maxEntries) {
+            cache.values().removeIf(entry -> entry.expiresAt <= now);
+            if (cache.size() >= maxEntries) {
+                cache.clear();
+            }
+        }
+        if (generation.get() == loadGeneration) {
+            cache.put(username, new CachedMembership(membership, now + ttlMillis));
+        }
+        return Optional.of(membership);
+    }
+
+    // Chamado após qualquer mudança de participação do usuário (novo projeto, convite, remoção). Dentro de
+    // uma transação, repete após o commit: uma carga feita antes dele ainda teria lido o estado antigo.
+    public void invalidate(Long userId) {
+        evict(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(userId);
+                }
+            });
+        }
+    }
+
+    private void evict(Long userId) {
+        generation.incrementAndGet();
+        cache.values().removeIf(entry -> entry.membership.userId == userId);
+        logger.debug("Cache de participação invalidado para o usuário {}", userId);
+    }
+
+    private Membership load(String username) {
+        Long[] userId = new Long[1];
+        Long[] personalProjectId = new Long[1];
+        Map<Long, String> roles = new HashMap<>();
+        jdbcTemplate.query(LOAD_SQL, rs -> {
+            userId[0] = rs.getLong("user_id");
+            long projectId = rs.getLong("project_id");
+            if (!rs.wasNull()) {
+                roles.put(projectId, rs.getString("role"));
+                if (rs.getBoolean("personal")) {
+                    personalProjectId[0] = projectId;
+                }
+            }
+        }, username);
+        if (userId[0] == null) {
+            return null;
+        }
+        logger.debug("Participação carregada para {}: {} projetos", username, roles.size());
+        return new Membership(userId[0], personalProjectId[0], roles);
+    }
+
+    int size() {
+        return cache.size();
+    }
+
+    public static final class Membership {
+        private final long userId;
+        private final Long personalProjectId;
+        private final Map<Long, String> roles;
+
+        Membership(long userId, Long personalProjectId, Map<Long, String> roles) {
+            this.userId = userId;
+            this.personalProjectId = personalProjectId;
+            this.roles = Collections.unmodifiableMap(roles);
+        }
+
+        public long getUserId() {
+            return userId;
+        }
+
+        public Long getPersonalProjectId() {
+            return personalProjectId;
+        }
+
+        public Set<Long> getProjectIds() {
+            return roles.keySet();
+        }
+
+        public boolean canAccess(Long projectId) {
+            return projectId != null && roles.containsKey(projectId);
+        }
+
+        public boolean isOwner(Long projectId) {
+            return ProjectMember.ROLE_OWNER.equals(roles.get(projectId));
+        }
+
+        // Sem projectId na requisição, vale o projeto pessoal
+        public Long resolve(Long projectId) {
+            return projectId != null ? projectId : personalProjectId;
+        }
+    }
+
+    private static final class CachedMembership {
+        private final Membership membership;
+        private final long expiresAt;
+
+        private CachedMembership(Membership membership, long expiresAt) {
+            this.membership = membership;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
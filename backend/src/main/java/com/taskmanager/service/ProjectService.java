@@ -0,0 +1,140 @@
+package com.taskmanager.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.taskmanager.entity.Project;
+import com.taskmanager.entity.ProjectMember;
+import com.taskmanager.entity.User;
+import com.taskmanager.repository.ProjectMemberRepository;
+import com.taskmanager.repository.ProjectRepository;
+import com.taskmanager.repository.TaskAssignmentRepository;
+import com.taskmanager.repository.UserRepository;
+
+import io.micrometer.observation.annotation.Observed;
+
+@Observed(name = "taskflow.service")
+@Service
+public class ProjectService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProjectService.class);
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private ProjectMemberRepository projectMemberRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectMembershipService projectMembershipService;
+
+    @Autowired
+    private TaskAssignmentRepository taskAssignmentRepository;
+
+    public List<Project> getProjects(String username) {
+        ProjectMembershipService.Membership membership = projectMembershipService.forUser(username);
+        return projectRepository.findAllById(membership.getProjectIds());
+    }
+
+    // Chamado no cadastro do usuário: tarefas criadas sem projectId vão para este projeto
+    public Project createPersonalProject(User user) {
+        Project project = saveProject(user.getUsername(), user.getId(), true);
+        logger.debug("Projeto pessoal {} criado para o usuário {}", project.getId(), user.getUsername());
+        return project;
+    }
+
+    @Transactional
+    public Project createProject(String name, String username) {
+        if (name == null || name.trim().isEmpty()) {
+            logger.error("O nome do projeto não pode ser nulo ou vazio.");
+            throw new IllegalArgumentException("O nome do projeto não pode ser nulo ou vazio.");
+        }
+        ProjectMembershipService.Membership membership = projectMembershipService.forUser(username);
+        Project project = saveProject(name.trim(), membership.getUserId(), false);
+        logger.debug("Projeto {} criado pelo usuário {}", project.getId(), username);
+        return project;
+    }
+
+    public List<ProjectMember> getMembers(Long projectId, String username) {
+        checkAccess(projectId, username, false);
+        return projectMemberRepository.findByProjectId(projectId);
+    }
+
+    @Transactional
+    public ProjectMember addMember(Long projectId, String memberUsername, String username) {
+        checkAccess(projectId, username, true);
+        Project project = projectRepository.findById(projectId)
+                .orElseThrow(() -> new RuntimeException("Projeto não encontrado: " + projectId));
+        if (project.isPersonal()) {
+            throw new IllegalArgumentException("O projeto pessoal não pode ser compartilhado.");
+        }
+        User member = userRepository.findByUsername(memberUsername)
+                .orElseThrow(() -> new RuntimeException("Usuário não encontrado: " + memberUsername));
+        ProjectMember existing = projectMemberRepository.findByProjectIdAndUserId(projectId, member.getId()).orElse(null);
+        if (existing != null) {
+            return existing;
+        }
+        ProjectMember saved = saveMember(projectId, member.getId(), ProjectMember.ROLE_MEMBER);
+        logger.info("Usuário {} adicionado ao projeto {} por {}", memberUsername, projectId, username);
+        return saved;
+    }
+
+    // O dono remove qualquer membro; um membro pode sair do projeto. O dono não sai do próprio projeto.
+    @Transactional
+    public void removeMember(Long projectId, Long memberUserId, String username) {
+        ProjectMembershipService.Membership membership = checkAccess(projectId, username, false);
+        if (membership.getUserId() != memberUserId && !membership.isOwner(projectId)) {
+            logger.error("Usuário {} não tem permissão para remover membros do projeto {}", username, projectId);
+            throw new RuntimeException("Usuário não tem permissão para remover membros deste projeto.");
+        }
+        ProjectMember member = projectMemberRepository.findByProjectIdAndUserId(projectId, memberUserId)
+                .orElseThrow(() -> new RuntimeException("Membro não encontrado: " + memberUserId));
+        if (ProjectMember.ROLE_OWNER.equals(member.getRole())) {
+            throw new IllegalArgumentException("O dono não pode ser removido do projeto.");
+        }
+        projectMemberRepository.delete(member);
+        taskAssignmentRepository.deleteByUserAndProject(memberUserId, projectId);
+        projectMembershipService.invalidate(memberUserId);
+        logger.info("Usuário {} removido do projeto {} por {}", memberUserId, projectId, username);
+    }
+
+    private ProjectMembershipService.Membership checkAccess(Long projectId, String username, boolean ownerOnly) {
+        ProjectMembershipService.Membership membership = projectMembershipService.forUser(username);
+        if (!membership.canAccess(projectId) || (ownerOnly && !membership.isOwner(projectId))) {
+            logger.error("Usuário {} não tem permissão sobre o projeto {}", username, projectId);
+            throw new RuntimeException("Usuário não tem permissão sobre este projeto.");
+        }
+        return membership;
+    }
+
+    private Project saveProject(String name, Long ownerId, boolean personal) {
+        Project project = new Project();
+        project.setName(name);
+        project.setOwnerId(ownerId);
+        project.setPersonal(personal);
+        project.setCreatedAt(LocalDateTime.now());
+        Project saved = projectRepository.save(project);
+        saveMember(saved.getId(), ownerId, ProjectMember.ROLE_OWNER);
+        return saved;
+    }
+
+    private ProjectMember saveMember(Long projectId, Long userId, String role) {
+        ProjectMember member = new ProjectMember();
+        member.setProjectId(projectId);
+        member.setUserId(userId);
+        member.setRole(role);
+        member.setJoinedAt(LocalDateTime.now());
+        ProjectMember saved = projectMemberRepository.save(member);
+        projectMembershipService.invalidate(userId);
+        return saved;
+    }
+}
@@ -0,0 +1,186 @@
+package com.taskmanager.service;
+
+import java.util.function.Supplier;
+
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import com.taskmanager.config.SqlStatementCounter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Consultas que param quando ninguém mais espera por elas. O endpoint roda como requisição assíncrona
+ * ({@link #submit}) numa thread virtual própria; se o cliente desconecta, o Tomcat avisa o DeferredResult
+ * e o comando em andamento é cancelado no PostgreSQL (Session.cancelQuery, o Statement.cancel do driver),
+ * liberando a conexão do pool. Consultas que ainda não começaram nem chegam ao banco. O tempo máximo de
+ * cada comando vem das dicas de consulta do TaskRepository.
+ *
+ * A thread de trabalho não é interrompida: no PostgreSQL JDBC, interromper a leitura fecha o socket e
+ * descarta a conexão sem cancelar o comando no servidor.
+ */
+@Service
+public class QueryCancellationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryCancellationService.class);
+
+    private static final ThreadLocal<Handle> CURRENT = new ThreadLocal<>();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("query-");
+
+    public QueryCancellationService(PlatformTransactionManager transactionManager,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${app.tasks.cancel-on-disconnect.enabled:true}") boolean enabled) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        executor.setVirtualThreads(true);
+    }
+
+    /**
+     * Executa handler fora da thread da requisição (com o mesmo usuário autenticado). As consultas feitas
+     * dentro dele por {@link #query} são canceladas se o cliente desconectar antes da resposta.
+     */
+    public <T> DeferredResult<ResponseEntity<T>> submit(String endpoint, Supplier<ResponseEntity<T>> handler) {
+        DeferredResult<ResponseEntity<T>> result = new DeferredResult<>();
+        if (!enabled) {
+            result.setResult(handler.get());
+            return result;
+        }
+        Handle handle = new Handle(endpoint);
+        result.onError(error -> cancel(handle, "disconnect", error));
+        result.onTimeout(() -> {
+            cancel(handle, "timeout", null);
+            result.setResult(ResponseEntity.status(503).build());
+        });
+        // O SQL da thread de trabalho conta para a requisição (@SqlBudget, amostra do limitador de concorrência,
+        // que só devolve a vaga quando a resposta assíncrona termina)
+        SqlStatementCounter.Stats stats = SqlStatementCounter.current();
+        executor.execute(new DelegatingSecurityContextRunnable(() -> {
+            CURRENT.set(handle);
+            SqlStatementCounter.bind(stats);
+            try {
+                result.setResult(handler.get());
+            } catch (RuntimeException e) {
+                result.setErrorResult(e);
+            } finally {
+                SqlStatementCounter.unbind();
+                CURRENT.remove();
+            }
+        }));
+        return result;
+    }
+
+    /**
+     * Executa a consulta numa transação somente leitura, registrando a sessão para que um cancelamento
+     * alcance o comando em andamento. Fora de {@link #submit}, apenas executa.
+     */
+    public <T> T query(Supplier<T> query) {
+        Handle handle = CURRENT.get();
+        if (handle == null) {
+            return query.get();
+        }
+        try {
+            return transactionTemplate.execute(status -> {
+                if (!handle.begin(entityManager.unwrap(Session.class))) {
+                    throw new IllegalStateException("Requisição abandonada pelo cliente; consulta não executada");
+                }
+                try {
+                    return query.get();
+                } finally {
+                    handle.end();
+                }
+            });
+        } catch (QueryTimeoutException e) {
+            // Cancelado por nós o comando termina com o mesmo erro (57014) que o tempo esgotado
+            if (!handle.isCancelled()) {
+                Counter.builder("taskflow.db.queries.timeouts")
+                        .description("Consultas interrompidas pelo tempo máximo do comando")
+                        .tag("endpoint", handle.endpoint)
+                        .register(meterRegistry)
+                        .increment();
+                logger.warn("Consulta de {} excedeu o tempo máximo: {}", handle.endpoint, e.getMessage());
+            }
+            throw e;
+        }
+    }
+
+    private void cancel(Handle handle, String reason, Throwable error) {
+        if (!handle.cancel()) {
+            return;
+        }
+        Counter.builder("taskflow.db.queries.cancelled")
+                .description("Consultas canceladas porque o cliente desistiu da resposta")
+                .tag("endpoint", handle.endpoint)
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+        logger.info("Cliente de {} desistiu ({}); consulta cancelada{}", handle.endpoint, reason,
+                error == null ? "" : ": " + error.getMessage());
+    }
+
+    // Sessão do comando em andamento; os métodos sincronizados evitam cancelar uma sessão já devolvida
+    private static final class Handle {
+        private final String endpoint;
+        private Session session;
+        private boolean cancelled;
+
+        private Handle(String endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        private synchronized boolean begin(Session session) {
+            if (cancelled) {
+                return false;
+            }
+            this.session = session;
+            return true;
+        }
+
+        private synchronized void end() {
+            session = null;
+        }
+
+        // true se havia um comando em andamento, agora cancelado
+        private synchronized boolean cancel() {
+            if (cancelled) {
+                return false;
+            }
+            cancelled = true;
+            if (session == null) {
+                return false;
+            }
+            try {
+                session.cancelQuery();
+            } catch (RuntimeException e) {
+                logger.warn("Não foi possível cancelar a consulta de {}: {}", endpoint, e.getMessage());
+                return false;
+            }
+            return true;
+        }
+
+        private synchronized boolean isCancelled() {
+            return cancelled;
+        }
+    }
+}
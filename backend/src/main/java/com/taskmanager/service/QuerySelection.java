@@ -0,0 +1,130 @@
+package com.taskmanager.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Campos pedidos pelo cliente, na sintaxe dos conjuntos de seleção do GraphQL:
+ * {@code { id title status tags { name } owner { username } }} (chaves externas e vírgulas opcionais).
+ * Só nomes e sub-seleções; argumentos vão à parte, nas variáveis da requisição. Imutável depois de
+ * montada, pode ser guardada em cache pelo hash da consulta.
+ */
+public final class QuerySelection {
+
+    private final List<String> fields;
+    private final Map<String, QuerySelection> relations;
+
+    private QuerySelection(List<String> fields, Map<String, QuerySelection> relations) {
+        this.fields = Collections.unmodifiableList(fields);
+        this.relations = Collections.unmodifiableMap(relations);
+    }
+
+    public static QuerySelection parse(String query) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Consulta vazia.");
+        }
+        Parser parser = new Parser(query);
+        QuerySelection selection;
+        if (parser.peek() == '{') {
+            selection = parser.selectionSet();
+        } else {
+            selection = parser.selections();
+        }
+        if (parser.peek() != Parser.END) {
+            throw parser.error("fim da consulta esperado");
+        }
+        return selection;
+    }
+
+    // Campos escalares, na ordem em que foram pedidos
+    public List<String> getFields() {
+        return fields;
+    }
+
+    public Map<String, QuerySelection> getRelations() {
+        return relations;
+    }
+
+    // Níveis de aninhamento: 1 quando não há sub-seleções
+    public int depth() {
+        int depth = 0;
+        for (QuerySelection relation : relations.values()) {
+            depth = Math.max(depth, relation.depth());
+        }
+        return depth + 1;
+    }
+
+    private static final class Parser {
+        private static final char END = '\0';
+
+        private final String query;
+        private int position;
+
+        private Parser(String query) {
+            this.query = query;
+        }
+
+        private QuerySelection selectionSet() {
+            expect('{');
+            QuerySelection selection = selections();
+            expect('}');
+            return selection;
+        }
+
+        private QuerySelection selections() {
+            List<String> fields = new ArrayList<>();
+            Map<String, QuerySelection> relations = new LinkedHashMap<>();
+            while (peek() != '}' && peek() != END) {
+                String name = name();
+                if (peek() == '{') {
+                    if (relations.put(name, selectionSet()) != null || fields.contains(name)) {
+                        throw error("campo repetido: " + name);
+                    }
+                } else if (relations.containsKey(name)) {
+                    throw error("campo repetido: " + name);
+                } else if (!fields.contains(name)) {
+                    fields.add(name);
+                }
+            }
+            if (fields.isEmpty() && relations.isEmpty()) {
+                throw error("seleção vazia");
+            }
+            return new QuerySelection(fields, relations);
+        }
+
+        private String name() {
+            int start = position;
+            while (position < query.length()
+                    && (Character.isLetterOrDigit(query.charAt(position)) || query.charAt(position) == '_')) {
+                position++;
+            }
+            if (start == position || Character.isDigit(query.charAt(start))) {
+                throw error("nome de campo esperado");
+            }
+            return query.substring(start, position);
+        }
+
+        private void expect(char expected) {
+            if (peek() != expected) {
+                throw error("'" + expected + "' esperado");
+            }
+            position++;
+        }
+
+        // Próximo caractere significativo (pula espaços e vírgulas, como no GraphQL)
+        private char peek() {
+            while (position < query.length()
+                    && (Character.isWhitespace(query.charAt(position)) || query.charAt(position) == ',')) {
+                position++;
+            }
+            return position < query.length() ? query.charAt(position) : END;
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException("Consulta inválida na posição " + position + ": " + message + ".");
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.taskmanager.service;
+
+/**
+ * Chaves de ordenação manual no estilo LexoRank: cada chave é a parte fracionária de um número em
+ * base 36 ("0"-"9", "a"-"z"), comparada lexicograficamente (a coluna usa COLLATE "C"). Sempre existe
+ * uma chave entre duas outras, então mover um cartão altera só a linha dele. As chaves nunca
+ * terminam em "0", o que garante espaço à esquerda de qualquer chave.
+ */
+public final class RankKeys {
+
+    private static final String DIGITS = "0123456789abcdefghijklmnopqrstuvwxyz";
+    private static final int BASE = DIGITS.length();
+
+    private RankKeys() {
+    }
+
+    /**
+     * Chave estritamente entre {@code before} e {@code after}; null significa início ou fim da coluna.
+     */
+    public static String between(String before, String after) {
+        String low = before == null ? "" : before;
+        if (after != null && low.compareTo(after) >= 0) {
+            throw new IllegalArgumentException("Chaves fora de ordem: " + before + " >= " + after);
+        }
+        return midpoint(low, after);
+    }
+
+    /**
+     * {@code count} chaves curtas e igualmente espaçadas, em ordem crescente, usadas pelo rebalanceamento.
+     */
+    public static String[] spread(int count) {
+        // Comprimento com folga de pelo menos um dígito entre chaves vizinhas
+        int length = 1;
+        long slots = BASE;
+        while (slots < (long) (count + 1) * BASE) {
+            length++;
+            slots *= BASE;
+        }
+        long step = slots / (count + 1);
+        String[] keys = new String[count];
+        for (int i = 0; i < count; i++) {
+            keys[i] = stripTrailingZeros(toDigits((i + 1) * step, length));
+        }
+        return keys;
+    }
+
+    // Ponto médio entre duas frações em base 36 (algoritmo de "fractional indexing")
+    private static String midpoint(String low, String high) {
+        if (high != null) {
+            // Prefixo comum (low completado com zeros): fica na resposta e o resto é resolvido recursivamente
+            int common = 0;
+            while (common < high.length() && digitAt(low, common) == high.charAt(common)) {
+                common++;
+            }
+            if (common > 0) {
+                return high.substring(0, common) + midpoint(low.length() > common ? low.substring(common) : "", high.substring(common));
+            }
+        }
+        int lowDigit = low.isEmpty() ? 0 : DIGITS.indexOf(low.charAt(0));
+        if (high == null && lowDigit < BASE - 1) {
+            // Fim da coluna: avança um dígito em vez de dividir ao meio, para que acréscimos
+            // sucessivos no fim (o caso comum) façam a chave crescer devagar
+            return String.valueOf(DIGITS.charAt(lowDigit + 1));
+        }
+        int highDigit = high == null ? BASE : DIGITS.indexOf(high.charAt(0));
+        if (highDigit - lowDigit > 1) {
+            return String.valueOf(DIGITS.charAt((lowDigit + highDigit) / 2));
+        }
+        if (high != null && high.length() > 1) {
+            // Dígitos vizinhos: o primeiro dígito de high sozinho já é menor que high e maior que low
+            return high.substring(0, 1);
+        }
+        return DIGITS.charAt(lowDigit) + midpoint(low.length() > 1 ? low.substring(1) : "", null);
+    }
+
+    private static char digitAt(String key, int index) {
+        return index < key.length() ? key.charAt(index) : DIGITS.charAt(0);
+    }
+
+    private static String toDigits(long value, int length) {
+        char[] digits = new char[length];
+        for (int i = length - 1; i >= 0; i--) {
+            digits[i] = DIGITS.charAt((int) (value % BASE));
+            value /= BASE;
+        }
+        return new String(digits);
+    }
+
+    private static String stripTrailingZeros(String key) {
+        int end = key.length();
+        while (end > 1 && key.charAt(end - 1) == DIGITS.charAt(0)) {
+            end--;
+        }
+        return key.substring(0, end);
+    }
+}
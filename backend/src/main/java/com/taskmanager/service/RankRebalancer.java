@@ -0,0 +1,139 @@
+package com.taskmanager.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.taskmanager.repository.TaskRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Renormaliza as chaves de ordenação manual (board_rank) das colunas em que alguma chave ficou longa
+ * demais, está ausente (tarefas anteriores à coluna) ou repetida. Cada coluna é regravada com chaves curtas e
+ * igualmente espaçadas numa transação própria, com a coluna (TaskRepository.lockColumn) e as linhas travadas
+ * (FOR UPDATE) para não competir com criações e movimentos simultâneos, e os UPDATEs vão em lotes JDBC. Mudanças
+ * adiadas com chaves calculadas antes da renormalização são conferidas no envio (TaskWriteBehindService).
+ */
+@Service
+public class RankRebalancer {
+
+    private static final Logger logger = LoggerFactory.getLogger(RankRebalancer.class);
+
+    private static final String FIND_COLUMNS_SQL = """
+            SELECT project_id, status FROM tasks
+            GROUP BY project_id, status
+            HAVING max(length(board_rank)) > ? OR bool_or(board_rank IS NULL)
+                OR count(board_rank) > count(DISTINCT board_rank)
+            LIMIT ?
+            """;
+
+    // Ordem atual da coluna; tarefas sem chave vão para o fim, na ordem de criação
+    private static final String LOCK_COLUMN_SQL =
+            "SELECT id FROM tasks WHERE project_id = ? AND status = ? ORDER BY board_rank NULLS LAST, created_at, id FOR UPDATE";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TaskRepository taskRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskListCache taskListCache;
+    private final boolean enabled;
+    private final long intervalMillis;
+    private final int maxLength;
+    private final int batchSize;
+    private final int columnsPerRun;
+
+    private ScheduledExecutorService executor;
+
+    public RankRebalancer(JdbcTemplate jdbcTemplate,
+                          TaskRepository taskRepository,
+                          PlatformTransactionManager transactionManager,
+                          TaskListCache taskListCache,
+                          @Value("${app.tasks.rank.rebalance-enabled:true}") boolean enabled,
+                          @Value("${app.tasks.rank.rebalance-interval-ms:60000}") long intervalMillis,
+                          @Value("${app.tasks.rank.max-length:16}") int maxLength,
+                          @Value("${app.tasks.rank.batch-size:500}") int batchSize,
+                          @Value("${app.tasks.rank.columns-per-run:100}") int columnsPerRun) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.taskRepository = taskRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.taskListCache = taskListCache;
+        this.enabled = enabled;
+        this.intervalMillis = intervalMillis;
+        this.maxLength = maxLength;
+        this.batchSize = batchSize;
+        this.columnsPerRun = columnsPerRun;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            logger.info("Rebalanceamento de posições desativado (app.tasks.rank.rebalance-enabled=false).");
+            return;
+        }
+        logger.info("Iniciando rebalanceamento de posições: a cada {} ms, chaves acima de {} caracteres", intervalMillis, maxLength);
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "rank-rebalancer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // A primeira execução, logo após a subida, preenche as chaves das tarefas já existentes
+        executor.scheduleWithFixedDelay(this::rebalanceAll, 0, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    public void rebalanceAll() {
+        try {
+            long startedAt = System.currentTimeMillis();
+            List<Object[]> columns = jdbcTemplate.query(FIND_COLUMNS_SQL,
+                    (rs, rowNum) -> new Object[] { rs.getLong("project_id"), rs.getString("status") }, maxLength, columnsPerRun);
+            int rows = 0;
+            for (Object[] column : columns) {
+                rows += transactionTemplate.execute(status -> rebalanceColumn((Long) column[0], (String) column[1]));
+            }
+            if (!columns.isEmpty()) {
+                logger.info("Posições renormalizadas: {} colunas, {} tarefas em {} ms",
+                        columns.size(), rows, System.currentTimeMillis() - startedAt);
+            }
+        } catch (Exception e) {
+            logger.error("Erro ao rebalancear posições: {}", e.getMessage(), e);
+        }
+    }
+
+    // Deve rodar dentro de uma transação: a coluna e as linhas ficam travadas até o commit
+    public int rebalanceColumn(long projectId, String status) {
+        taskRepository.lockColumn(projectId, status);
+        List<Long> rows = jdbcTemplate.query(LOCK_COLUMN_SQL, (rs, rowNum) -> rs.getLong("id"), projectId, status);
+        String[] keys = RankKeys.spread(rows.size());
+        for (int from = 0; from < rows.size(); from += batchSize) {
+            int to = Math.min(from + batchSize, rows.size());
+            List<Object[]> batch = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                batch.add(new Object[] { keys[i], rows.get(i), projectId });
+            }
+            // project_id no WHERE poda as partições quando a tabela é particionada por projeto
+            jdbcTemplate.batchUpdate("UPDATE tasks SET board_rank = ? WHERE id = ? AND project_id = ?", batch);
+        }
+        // As posições fazem parte do JSON da listagem
+        taskListCache.invalidate(projectId);
+        logger.debug("Coluna {} do projeto {} renormalizada: {} tarefas", status, projectId, rows.size());
+        return rows.size();
+    }
+}
@@ -0,0 +1,23 @@
+package com.taskmanager.service;
+
+/**
+ * Armazenamento dos baldes de tokens do limitador de requisições, no formato GCRA
+ * (generic cell rate algorithm): cada chave guarda só o "theoretical arrival time" (TAT),
+ * equivalente a um token bucket sem precisar de timer de reposição.
+ */
+public interface RateLimiterStore {
+
+    /**
+     * Tenta consumir {@code incrementMicros} (custo × intervalo entre tokens) do balde da chave.
+     * Aceita enquanto o TAT resultante não passar de {@code burstMicros} (capacidade × intervalo) à frente de agora.
+     *
+     * @return 0 se aceita; caso contrário, quantos microssegundos esperar antes de tentar de novo
+     */
+    long tryAcquire(String key, long incrementMicros, long burstMicros);
+
+    /**
+     * Devolve um consumo aceito por {@link #tryAcquire} quando uma barreira posterior recusa a requisição,
+     * para que ela não pese duas vezes no orçamento do cliente.
+     */
+    void refund(String key, long incrementMicros);
+}
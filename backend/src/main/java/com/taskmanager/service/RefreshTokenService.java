@@ -0,0 +1,111 @@
+package com.taskmanager.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.taskmanager.dto.AuthResponseDTO;
+import com.taskmanager.entity.RefreshToken;
+import com.taskmanager.entity.User;
+import com.taskmanager.repository.RefreshTokenRepository;
+import com.taskmanager.repository.UserRepository;
+
+@Service
+public class RefreshTokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserRepository userRepository;
+    private final JwtUtilService jwtUtilService;
+    private final long refreshExpirationMillis;
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               UserRepository userRepository,
+                               JwtUtilService jwtUtilService,
+                               @Value("${jwt.refresh-expiration:2592000000}") long refreshExpirationMillis) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.userRepository = userRepository;
+        this.jwtUtilService = jwtUtilService;
+        this.refreshExpirationMillis = refreshExpirationMillis;
+    }
+
+    // Login: novo token de acesso e um refresh token que inicia uma nova família
+    @Transactional
+    public AuthResponseDTO issueTokens(String username) {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new BadCredentialsException("Usuário não encontrado: " + username));
+        String refreshToken = createRefreshToken(user, UUID.randomUUID().toString());
+        return new AuthResponseDTO(jwtUtilService.generateToken(username), refreshToken);
+    }
+
+    // Troca o refresh token por um novo par; o token apresentado deixa de valer (rotação)
+    @Transactional(noRollbackFor = BadCredentialsException.class)
+    public AuthResponseDTO rotate(String rawRefreshToken) {
+        RefreshToken current = refreshTokenRepository.findByTokenHash(hash(rawRefreshToken))
+                .orElseThrow(() -> new BadCredentialsException("Refresh token inválido"));
+        LocalDateTime now = LocalDateTime.now();
+        if (current.getExpiresAt().isBefore(now) && current.getRevokedAt() == null) {
+            throw new BadCredentialsException("Refresh token expirado");
+        }
+        // A leitura acima não bloqueia: a marcação condicional decide qual pedido concorrente rotaciona,
+        // para que dois refreshes com o mesmo token não bifurquem a família
+        if (current.getRevokedAt() != null || refreshTokenRepository.markRotated(current.getId(), now) == 0) {
+            // Reuso de um token já rotacionado indica vazamento: revoga toda a família
+            int revoked = refreshTokenRepository.revokeFamily(current.getFamilyId(), now);
+            logger.warn("Reuso de refresh token detectado para o usuário {}; {} tokens da família revogados",
+                    current.getUser().getUsername(), revoked);
+            throw new BadCredentialsException("Refresh token já utilizado");
+        }
+        User user = current.getUser();
+        String refreshToken = createRefreshToken(user, current.getFamilyId());
+        logger.debug("Refresh token rotacionado para o usuário {}", user.getUsername());
+        return new AuthResponseDTO(jwtUtilService.generateToken(user.getUsername()), refreshToken);
+    }
+
+    @Transactional
+    public void revokeFamily(String rawRefreshToken) {
+        refreshTokenRepository.findByTokenHash(hash(rawRefreshToken))
+                .ifPresent(token -> refreshTokenRepository.revokeFamily(token.getFamilyId(), LocalDateTime.now()));
+    }
+
+    private String createRefreshToken(User user, String familyId) {
+        byte[] bytes = new byte[32];
+        secureRandom.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setTokenHash(hash(rawToken));
+        refreshToken.setFamilyId(familyId);
+        refreshToken.setUser(user);
+        refreshToken.setCreatedAt(LocalDateTime.now());
+        refreshToken.setExpiresAt(LocalDateTime.now().plus(refreshExpirationMillis, ChronoUnit.MILLIS));
+        refreshTokenRepository.save(refreshToken);
+        return rawToken;
+    }
+
+    // Tokens têm 256 bits aleatórios: um SHA-256 simples basta, sem necessidade de salt ou bcrypt
+    private static String hash(String rawToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(rawToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package com.taskmanager.service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.taskmanager.entity.Task;
+import com.taskmanager.repository.TaskDueDateView;
+import com.taskmanager.repository.TaskRepository;
+
+import jakarta.annotation.PreDestroy;
+
+@Service
+public class ReminderScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReminderScheduler.class);
+
+    private static final String DONE_STATUS = "Concluída";
+
+    private final TaskRepository taskRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+    private final long tickMillis;
+    private final long[] offsetsMinutes;
+
+    // Protege a roda e o índice por tarefa; as operações sob o lock são O(1)
+    private final ReentrantLock lock = new ReentrantLock();
+    private final TimingWheel<TaskReminderEvent> wheel;
+    private final Map<Long, List<TimingWheel.Timeout<TaskReminderEvent>>> timeoutsByTask = new HashMap<>();
+    // Tarefas alteradas (reschedule/cancel) durante uma reconstrução; null fora dela. A leitura em streaming
+    // não segura o lock, e a linha lida pode ser anterior à alteração: para essas tarefas vale a chamada ao vivo.
+    private Set<Long> changedDuringRebuild;
+
+    private ScheduledExecutorService ticker;
+
+    public ReminderScheduler(TaskRepository taskRepository,
+                             ApplicationEventPublisher eventPublisher,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${app.reminders.enabled:true}") boolean enabled,
+                             @Value("${app.reminders.tick-ms:1000}") long tickMillis,
+                             @Value("${app.reminders.offsets-minutes:1440,60,0}") long[] offsetsMinutes) {
+        this.taskRepository = taskRepository;
+        this.eventPublisher = eventPublisher;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = enabled;
+        this.tickMillis = tickMillis;
+        this.offsetsMinutes = offsetsMinutes;
+        this.wheel = new TimingWheel<>(toTick(System.currentTimeMillis()));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            logger.info("Agendador de lembretes desativado (app.reminders.enabled=false).");
+            return;
+        }
+        logger.info("Iniciando agendador de lembretes: tick = {} ms, antecedências (min) = {}", tickMillis, Arrays.toString(offsetsMinutes));
+        rebuild();
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "reminder-ticker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+        }
+    }
+
+    // Recarrega todos os prazos pendentes com uma única consulta em streaming; uma reconstrução por vez
+    public synchronized void rebuild() {
+        long startedAt = System.currentTimeMillis();
+        lock.lock();
+        try {
+            timeoutsByTask.values().forEach(timeouts -> timeouts.forEach(wheel::cancel));
+            timeoutsByTask.clear();
+            changedDuringRebuild = new HashSet<>();
+        } finally {
+            lock.unlock();
+        }
+        Integer loaded;
+        try {
+            loaded = readOnlyTransaction.execute(status -> {
+                int count = 0;
+                try (Stream<TaskDueDateView> pending = taskRepository.streamPendingDueDates(DONE_STATUS, LocalDateTime.now())) {
+                    for (TaskDueDateView view : (Iterable<TaskDueDateView>) pending::iterator) {
+                        schedule(view.getId(), view.getUserId(), view.getDueDate(), true);
+                        count++;
+                    }
+                }
+                return count;
+            });
+        } finally {
+            lock.lock();
+            try {
+                changedDuringRebuild = null;
+            } finally {
+                lock.unlock();
+            }
+        }
+        logger.info("Agendador de lembretes reconstruído: {} tarefas, {} lembretes pendentes em {} ms",
+                loaded, pendingCount(), System.currentTimeMillis() - startedAt);
+    }
+
+    // Chamado após criar/atualizar/arquivar/concluir: substitui os lembretes da tarefa. Dentro de uma transação,
+    // só vale depois do commit (como TaskFilterIndex e TaskListCache): um rollback não deixa a roda divergir do banco
+    public void reschedule(Task task) {
+        if (!enabled || task.getId() == null) {
+            return;
+        }
+        Long taskId = task.getId();
+        if (task.isArchived() || DONE_STATUS.equals(task.getStatus()) || task.getDueDate() == null) {
+            afterCommit(() -> remove(taskId));
+            return;
+        }
+        Long userId = task.getUserId();
+        LocalDateTime dueDate = task.getDueDate();
+        afterCommit(() -> schedule(taskId, userId, dueDate, false));
+    }
+
+    public void cancel(Long taskId) {
+        if (!enabled) {
+            return;
+        }
+        afterCommit(() -> remove(taskId));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private void remove(Long taskId) {
+        lock.lock();
+        try {
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.add(taskId);
+            }
+            List<TimingWheel.Timeout<TaskReminderEvent>> timeouts = timeoutsByTask.remove(taskId);
+            if (timeouts != null) {
+                timeouts.forEach(wheel::cancel);
+                logger.debug("Lembretes cancelados para a tarefa {}: {}", taskId, timeouts.size());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int pendingCount() {
+        lock.lock();
+        try {
+            return wheel.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void schedule(Long taskId, Long userId, LocalDateTime dueDate, boolean fromRebuild) {
+        long dueMillis = dueDate.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        long now = System.currentTimeMillis();
+        lock.lock();
+        try {
+            if (changedDuringRebuild != null) {
+                if (fromRebuild && changedDuringRebuild.contains(taskId)) {
+                    return;
+                }
+                if (!fromRebuild) {
+                    changedDuringRebuild.add(taskId);
+                }
+            }
+            List<TimingWheel.Timeout<TaskReminderEvent>> timeouts = new ArrayList<>(offsetsMinutes.length);
+            for (long offset : offsetsMinutes) {
+                long fireAt = dueMillis - TimeUnit.MINUTES.toMillis(offset);
+                // Antecedências que já passaram não geram lembrete
+                if (fireAt > now) {
+                    timeouts.add(wheel.schedule(toTick(fireAt), new TaskReminderEvent(taskId, userId, dueDate, offset)));
+                }
+            }
+            List<TimingWheel.Timeout<TaskReminderEvent>> previous = timeouts.isEmpty()
+                    ? timeoutsByTask.remove(taskId)
+                    : timeoutsByTask.put(taskId, timeouts);
+            if (previous != null) {
+                previous.forEach(wheel::cancel);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void tick() {
+        List<TaskReminderEvent> due = new ArrayList<>();
+        lock.lock();
+        try {
+            wheel.advance(toTick(System.currentTimeMillis()), event -> {
+                due.add(event);
+                List<TimingWheel.Timeout<TaskReminderEvent>> timeouts = timeoutsByTask.get(event.getTaskId());
+                if (timeouts != null) {
+                    timeouts.removeIf(timeout -> !timeout.isPending());
+                    if (timeouts.isEmpty()) {
+                        timeoutsByTask.remove(event.getTaskId());
+                    }
+                }
+            });
+        } catch (Exception e) {
+            logger.error("Erro ao avançar o agendador de lembretes: {}", e.getMessage(), e);
+        } finally {
+            lock.unlock();
+        }
+        // Eventos publicados fora do lock para não bloquear inserções e cancelamentos
+        for (TaskReminderEvent event : due) {
+            try {
+                eventPublisher.publishEvent(event);
+            } catch (Exception e) {
+                logger.error("Erro ao publicar lembrete {}: {}", event, e.getMessage(), e);
+            }
+        }
+    }
+
+    private long toTick(long epochMillis) {
+        return epochMillis / tickMillis;
+    }
+}
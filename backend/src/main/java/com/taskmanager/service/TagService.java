@@ -0,0 +1,154 @@
+package com.taskmanager.service;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.taskmanager.dto.TagUsageDTO;
+import com.taskmanager.entity.Tag;
+import com.taskmanager.repository.TagRepository;
+import com.taskmanager.repository.TagUsageRepository;
+import com.taskmanager.repository.TaskTagRepository;
+
+import io.micrometer.observation.annotation.Observed;
+
+/**
+ * Estatísticas de uso, renomeação e fusão de tags. As tags são globais: renomear e fundir ficam
+ * restritos aos usuários de app.tags.admin-users (vazio = qualquer usuário autenticado). A fusão
+ * move as associações em lotes, cada um numa transação curta com SQL de conjunto, sem carregar
+ * tarefas; a última transação move o que sobrou, apaga as tags de origem e recalcula os contadores.
+ */
+@Observed(name = "taskflow.service")
+@Service
+public class TagService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TagService.class);
+
+    private final TagRepository tagRepository;
+    private final TaskTagRepository taskTagRepository;
+    private final TagUsageRepository tagUsageRepository;
+    private final TaskFilterIndex taskFilterIndex;
+    private final TaskListCache taskListCache;
+    private final TransactionTemplate transactionTemplate;
+    private final int mergeChunkSize;
+    private final Set<String> adminUsers;
+
+    public TagService(TagRepository tagRepository,
+                      TaskTagRepository taskTagRepository,
+                      TagUsageRepository tagUsageRepository,
+                      TaskFilterIndex taskFilterIndex,
+                      TaskListCache taskListCache,
+                      PlatformTransactionManager transactionManager,
+                      @Value("${app.tags.merge-chunk-size:1000}") int mergeChunkSize,
+                      @Value("${app.tags.admin-users:}") String adminUsers) {
+        this.tagRepository = tagRepository;
+        this.taskTagRepository = taskTagRepository;
+        this.tagUsageRepository = tagUsageRepository;
+        this.taskFilterIndex = taskFilterIndex;
+        this.taskListCache = taskListCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.mergeChunkSize = mergeChunkSize;
+        this.adminUsers = Arrays.stream(adminUsers.split(","))
+                .map(String::trim)
+                .filter(user -> !user.isEmpty())
+                .collect(Collectors.toSet());
+    }
+
+    public boolean canManage(String username) {
+        return adminUsers.isEmpty() || adminUsers.contains(username);
+    }
+
+    public List<TagUsageDTO> getUsage(int limit) {
+        return tagUsageRepository.findAll(limit);
+    }
+
+    public List<TagUsageDTO> getUsageByUser(Long userId, int limit) {
+        return tagUsageRepository.findByUser(userId, limit);
+    }
+
+    public TagUsageDTO renameTag(Long tagId, String newName) {
+        if (newName == null || newName.trim().isEmpty()) {
+            logger.error("Nome da tag é nulo ou vazio.");
+            throw new IllegalArgumentException("Nome da tag é nulo ou vazio.");
+        }
+        String name = newName.trim();
+        if (name.length() > TaskTagService.MAX_TAG_NAME_LENGTH) {
+            throw new IllegalArgumentException("O nome da tag excede " + TaskTagService.MAX_TAG_NAME_LENGTH + " caracteres.");
+        }
+        Tag tag = tagRepository.findById(tagId)
+                .orElseThrow(() -> new RuntimeException("Tag não encontrada: " + tagId));
+        tagRepository.findByName(name)
+                .filter(existing -> !existing.getId().equals(tagId))
+                .ifPresent(existing -> {
+                    throw new IllegalStateException("Já existe a tag '" + name + "' (ID " + existing.getId() + "); use a fusão.");
+                });
+        String previousName = tag.getName();
+        tag.setName(name);
+        try {
+            tagRepository.saveAndFlush(tag);
+        } catch (DataIntegrityViolationException e) {
+            // Outra requisição criou o mesmo nome entre a verificação e o UPDATE
+            throw new IllegalStateException("Já existe a tag '" + name + "'; use a fusão.", e);
+        }
+        logger.info("Tag {} renomeada: '{}' -> '{}'", tagId, previousName, name);
+        // O nome aparece nas listagens de tarefas de qualquer projeto
+        taskListCache.invalidateAll();
+        return tagUsageRepository.findByTag(tagId);
+    }
+
+    /**
+     * Funde as tags {@code sourceIds} em {@code targetId}: as tarefas passam a ter só a tag de destino
+     * e as tags de origem são apagadas.
+     */
+    public TagUsageDTO mergeTags(Long targetId, List<Long> sourceIds) {
+        if (sourceIds == null || sourceIds.isEmpty()) {
+            throw new IllegalArgumentException("A lista de tags de origem não pode ser nula ou vazia.");
+        }
+        Set<Long> sources = new LinkedHashSet<>(sourceIds);
+        if (sources.contains(targetId)) {
+            throw new IllegalArgumentException("A tag de destino não pode estar entre as de origem.");
+        }
+        if (!tagRepository.existsById(targetId)) {
+            throw new RuntimeException("Tag não encontrada: " + targetId);
+        }
+        if (tagRepository.findAllById(sources).size() != sources.size()) {
+            throw new RuntimeException("Tag de origem não encontrada: " + sources);
+        }
+
+        long startedAt = System.currentTimeMillis();
+        int moved = 0;
+        for (Long sourceId : sources) {
+            int chunk;
+            do {
+                chunk = transactionTemplate.execute(status -> taskTagRepository.mergeChunk(sourceId, targetId, mergeChunkSize));
+                moved += chunk;
+            } while (chunk == mergeChunkSize);
+        }
+        // Associações incluídas na origem durante os lotes saem aqui, junto com as tags de origem
+        moved += transactionTemplate.execute(status -> {
+            int remaining = 0;
+            for (Long sourceId : sources) {
+                remaining += taskTagRepository.mergeChunk(sourceId, targetId, null);
+            }
+            tagRepository.deleteAllByIdInBatch(sources);
+            tagUsageRepository.recount(List.of(targetId));
+            return remaining;
+        });
+        // As tarefas de vários projetos mudaram de tag: os índices de filtro são remontados sob demanda
+        taskFilterIndex.invalidateAll();
+        taskListCache.invalidateAll();
+        logger.info("Tags {} fundidas em {}: {} associações movidas em {} ms",
+                sources, targetId, moved, System.currentTimeMillis() - startedAt);
+        return tagUsageRepository.findByTag(targetId);
+    }
+}
@@ -0,0 +1,73 @@
+package com.taskmanager.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.taskmanager.dto.AssigneeDTO;
+import com.taskmanager.dto.CursorPageDTO;
+import com.taskmanager.dto.InboxItemDTO;
+import com.taskmanager.repository.TaskAssignmentRepository;
+
+import io.micrometer.observation.annotation.Observed;
+
+// Responsáveis pelas tarefas e a caixa de entrada "atribuídas a mim". O acesso do usuário autenticado ao
+// projeto da tarefa é verificado pelo controller; o responsável precisa participar do mesmo projeto.
+@Observed(name = "taskflow.service")
+@Service
+public class TaskAssignmentService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskAssignmentService.class);
+
+    @Autowired
+    private TaskAssignmentRepository taskAssignmentRepository;
+
+    @Autowired
+    private ProjectMembershipService projectMembershipService;
+
+    @Autowired
+    private ActivityLogService activityLogService;
+
+    @Transactional
+    public List<AssigneeDTO> assign(Long taskId, Long projectId, String assigneeUsername, Long actorId) {
+        if (assigneeUsername == null || assigneeUsername.trim().isEmpty()) {
+            logger.error("O responsável não pode ser nulo ou vazio.");
+            throw new IllegalArgumentException("O responsável não pode ser nulo ou vazio.");
+        }
+        ProjectMembershipService.Membership assignee = projectMembershipService.find(assigneeUsername.trim())
+                .orElseThrow(() -> new IllegalArgumentException("Usuário não encontrado: " + assigneeUsername));
+        if (!assignee.canAccess(projectId)) {
+            logger.error("Usuário {} não participa do projeto {} da tarefa {}", assigneeUsername, projectId, taskId);
+            throw new IllegalArgumentException("O responsável deve participar do projeto da tarefa.");
+        }
+        if (taskAssignmentRepository.assign(taskId, assignee.getUserId(), actorId, LocalDateTime.now())) {
+            activityLogService.record(taskId, projectId, actorId, ActivityLogService.ASSIGNED, "responsável: " + assigneeUsername.trim());
+            logger.debug("Usuário {} atribuído à tarefa {}", assignee.getUserId(), taskId);
+        }
+        return taskAssignmentRepository.findAssignees(taskId);
+    }
+
+    @Transactional
+    public void unassign(Long taskId, Long projectId, Long assigneeId, Long actorId) {
+        if (!taskAssignmentRepository.unassign(taskId, assigneeId)) {
+            throw new RuntimeException("Responsável não encontrado: " + assigneeId);
+        }
+        activityLogService.record(taskId, projectId, actorId, ActivityLogService.UNASSIGNED, "responsável: " + assigneeId);
+        logger.debug("Usuário {} removido da tarefa {}", assigneeId, taskId);
+    }
+
+    public List<AssigneeDTO> getAssignees(Long taskId) {
+        return taskAssignmentRepository.findAssignees(taskId);
+    }
+
+    public CursorPageDTO<InboxItemDTO> getInbox(String username, boolean archived, String status, String cursor, int limit) {
+        ProjectMembershipService.Membership membership = projectMembershipService.forUser(username);
+        TaskAssignmentRepository.Cursor position = cursor == null || cursor.isEmpty() ? null : TaskAssignmentRepository.Cursor.decode(cursor);
+        return taskAssignmentRepository.findInbox(membership.getUserId(), archived, status, position, limit);
+    }
+}
@@ -0,0 +1,372 @@
+package com.taskmanager.service;
+
+import java.sql.Array;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.taskmanager.entity.Task;
+import com.taskmanager.entity.TaskTag;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Índice em memória dos filtros da busca, por projeto: um {@link IdBitmap} de ids de tarefa para cada
+ * status, tag, valor de archived e semana do prazo. Um filtro combinado vira interseção de conjuntos e
+ * só a página de ids resultante vai ao banco. O índice de um projeto é montado na primeira busca (uma
+ * consulta), atualizado pelas escritas desta réplica e descartado pelo TTL (escritas de outras réplicas)
+ * ou, o menos usado primeiro, quando o total passa do orçamento de memória.
+ */
+@Service
+public class TaskFilterIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskFilterIndex.class);
+
+    private static final String LOAD_SQL = """
+            SELECT t.id, t.status, t.archived, t.due_date,
+                   ARRAY(SELECT tt.tag_id FROM task_tags tt WHERE tt.task_id = t.id) AS tag_ids
+            FROM tasks t
+            WHERE t.project_id = ?
+            """;
+
+    // Contadores de escrita por faixa de projetos: tamanho fixo, qualquer que seja o número de projetos
+    private static final int VERSION_SLOTS = 1024;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final long ttlMillis;
+    private final long maxBytes;
+    private final ConcurrentHashMap<Long, ProjectIndex> indexes = new ConcurrentHashMap<>();
+    // Incrementado a cada escrita no projeto: uma carga que atravessou uma escrita não é guardada
+    private final AtomicLongArray versions = new AtomicLongArray(VERSION_SLOTS);
+
+    public TaskFilterIndex(JdbcTemplate jdbcTemplate,
+                           MeterRegistry meterRegistry,
+                           @Value("${app.filter-index.enabled:false}") boolean enabled,
+                           @Value("${app.filter-index.ttl-ms:300000}") long ttlMillis,
+                           @Value("${app.filter-index.max-bytes:67108864}") long maxBytes) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.ttlMillis = ttlMillis;
+        this.maxBytes = maxBytes;
+        Gauge.builder("taskflow.filter_index.bytes", this, TaskFilterIndex::sizeInBytes)
+                .description("Memória estimada dos índices de filtro em memória")
+                .register(meterRegistry);
+        Gauge.builder("taskflow.filter_index.projects", indexes, Map::size)
+                .description("Projetos com índice de filtro em memória")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Segunda-feira da semana da data: a chave usada para o prazo
+    public static LocalDate weekOf(LocalDate date) {
+        return date.with(DayOfWeek.MONDAY);
+    }
+
+    /**
+     * Até limit ids de tarefas do projeto que passam em todos os filtros (tagIds: todas as tags), menores
+     * que beforeId e em ordem decrescente. Null quando o índice não pode responder (desativado, ou uma
+     * escrita atravessou a carga): quem chama usa o SQL.
+     */
+    public long[] findIds(Long projectId, String status, Collection<Long> tagIds, boolean archived,
+                          LocalDate dueWeek, long beforeId, int limit) {
+        if (!enabled) {
+            return null;
+        }
+        ProjectIndex index = acquire(projectId);
+        if (index == null) {
+            return null;
+        }
+        index.lock.readLock().lock();
+        try {
+            List<IdBitmap> filters = new ArrayList<>();
+            if (status != null) {
+                filters.add(index.byStatus.get(status));
+            }
+            for (Long tagId : tagIds) {
+                filters.add(index.byTag.get(tagId));
+            }
+            if (dueWeek != null) {
+                filters.add(index.byWeek.get(weekOf(dueWeek).toEpochDay()));
+            }
+            if (filters.contains(null)) {
+                return new long[0];
+            }
+            // Os menores primeiro: cada interseção só encolhe o resultado
+            filters.sort(Comparator.comparingLong(IdBitmap::cardinality));
+            IdBitmap result = filters.isEmpty() ? index.all : filters.get(0);
+            for (int i = 1; i < filters.size() && !result.isEmpty(); i++) {
+                result = result.and(filters.get(i));
+            }
+            result = archived ? result.and(index.archived) : result.andNot(index.archived);
+            return result.pageDescending(beforeId, limit);
+        } finally {
+            index.lock.readLock().unlock();
+        }
+    }
+
+    // Criação ou alteração de uma tarefa (status, prazo, arquivamento); as tags seguem por onTagsChanged
+    public void onTaskSaved(Task task) {
+        long id = task.getId();
+        String status = task.getStatus();
+        boolean archived = task.isArchived();
+        LocalDateTime dueDate = task.getDueDate();
+        change(task.getProjectId(), index -> index.put(id, status, archived, dueDate));
+    }
+
+    public void onTaskDeleted(Long taskId, Long projectId) {
+        change(projectId, index -> index.remove(taskId));
+    }
+
+    // Associações incluídas ou removidas; projectIds é o projeto de cada tarefa
+    public void onTagsChanged(Collection<TaskTag> links, Map<Long, Long> projectIds, boolean added) {
+        if (!enabled || links.isEmpty()) {
+            return;
+        }
+        Map<Long, List<TaskTag>> byProject = new HashMap<>();
+        for (TaskTag link : links) {
+            byProject.computeIfAbsent(projectIds.get(link.getTaskId()), id -> new ArrayList<>()).add(link);
+        }
+        byProject.forEach((projectId, projectLinks) -> change(projectId, index -> {
+            for (TaskTag link : projectLinks) {
+                index.tag(link.getTaskId(), link.getTagId(), added);
+            }
+        }));
+    }
+
+    // Mudanças que atravessam projetos (fusão de tags): tudo é remontado sob demanda
+    public void invalidateAll() {
+        if (!enabled) {
+            return;
+        }
+        clear();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    clear();
+                }
+            });
+        }
+    }
+
+    private void clear() {
+        for (int i = 0; i < VERSION_SLOTS; i++) {
+            versions.incrementAndGet(i);
+        }
+        indexes.clear();
+        logger.debug("Índices de filtro descartados");
+    }
+
+    // Aplica a alteração depois do commit (antes dele uma carga concorrente ainda leria o estado antigo).
+    // As alterações são idempotentes: o índice montado antes ou depois do commit chega ao mesmo estado.
+    private void change(Long projectId, Consumer<ProjectIndex> update) {
+        if (!enabled || projectId == null) {
+            return;
+        }
+        Runnable apply = () -> {
+            versions.incrementAndGet(slot(projectId));
+            ProjectIndex index = indexes.get(projectId);
+            if (index != null) {
+                index.lock.writeLock().lock();
+                try {
+                    update.accept(index);
+                } finally {
+                    index.lock.writeLock().unlock();
+                }
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply.run();
+                }
+            });
+        } else {
+            apply.run();
+        }
+    }
+
+    private ProjectIndex acquire(Long projectId) {
+        long now = System.currentTimeMillis();
+        ProjectIndex index = indexes.get(projectId);
+        if (index != null && index.expiresAt > now) {
+            index.lastAccess = now;
+            return index;
+        }
+
+        int slot = slot(projectId);
+        long loadVersion = versions.get(slot);
+        ProjectIndex loaded = load(projectId, now);
+        if (versions.get(slot) != loadVersion) {
+            logger.debug("Índice de filtro do projeto {} descartado: escrita durante a carga", projectId);
+            return null;
+        }
+        long bytes = loaded.sizeInBytes();
+        if (bytes > maxBytes) {
+            // Grande demais para o orçamento inteiro: responde esta busca e não fica em memória
+            logger.warn("Índice de filtro do projeto {} ({} bytes) excede app.filter-index.max-bytes", projectId, bytes);
+            return loaded;
+        }
+        indexes.put(projectId, loaded);
+        evictOverBudget();
+        return loaded;
+    }
+
+    private void evictOverBudget() {
+        long total = sizeInBytes();
+        if (total <= maxBytes) {
+            return;
+        }
+        List<Map.Entry<Long, ProjectIndex>> entries = new ArrayList<>(indexes.entrySet());
+        entries.sort(Comparator.comparingLong(entry -> entry.getValue().lastAccess));
+        for (Map.Entry<Long, ProjectIndex> entry : entries) {
+            if (total <= maxBytes) {
+                break;
+            }
+            if (indexes.remove(entry.getKey(), entry.getValue())) {
+                total -= entry.getValue().sizeInBytes();
+                logger.debug("Índice de filtro do projeto {} removido pelo orçamento de memória", entry.getKey());
+            }
+        }
+    }
+
+    private ProjectIndex load(Long projectId, long now) {
+        long startedAt = System.currentTimeMillis();
+        ProjectIndex index = new ProjectIndex(now + ttlMillis, now);
+        jdbcTemplate.query(LOAD_SQL, rs -> {
+            long id = rs.getLong("id");
+            Timestamp dueDate = rs.getTimestamp("due_date");
+            index.put(id, rs.getString("status"), rs.getBoolean("archived"),
+                    dueDate == null ? null : dueDate.toLocalDateTime());
+            Array tagIds = rs.getArray("tag_ids");
+            if (tagIds != null) {
+                for (Object tagId : (Object[]) tagIds.getArray()) {
+                    index.tag(id, ((Number) tagId).longValue(), true);
+                }
+            }
+        }, projectId);
+        logger.debug("Índice de filtro do projeto {} carregado: {} tarefas, {} bytes em {} ms",
+                projectId, index.all.cardinality(), index.sizeInBytes(), System.currentTimeMillis() - startedAt);
+        return index;
+    }
+
+    long sizeInBytes() {
+        long total = 0;
+        for (ProjectIndex index : indexes.values()) {
+            total += index.sizeInBytes();
+        }
+        return total;
+    }
+
+    private static int slot(Long projectId) {
+        return (int) Math.floorMod(projectId, (long) VERSION_SLOTS);
+    }
+
+    private static final class ProjectIndex {
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private final IdBitmap all = new IdBitmap();
+        private final IdBitmap archived = new IdBitmap();
+        private final Map<String, IdBitmap> byStatus = new HashMap<>();
+        private final Map<Long, IdBitmap> byTag = new HashMap<>();
+        // Chave: dia epoch da segunda-feira da semana do prazo
+        private final Map<Long, IdBitmap> byWeek = new HashMap<>();
+        private final long expiresAt;
+        private volatile long lastAccess;
+
+        private ProjectIndex(long expiresAt, long lastAccess) {
+            this.expiresAt = expiresAt;
+            this.lastAccess = lastAccess;
+        }
+
+        // Substitui status, prazo e arquivamento da tarefa; as tags ficam como estão
+        private void put(long id, String status, boolean isArchived, LocalDateTime dueDate) {
+            if (all.contains(id)) {
+                removeFrom(byStatus, id);
+                removeFrom(byWeek, id);
+            }
+            all.add(id);
+            if (status != null) {
+                byStatus.computeIfAbsent(status, key -> new IdBitmap()).add(id);
+            }
+            if (dueDate != null) {
+                byWeek.computeIfAbsent(weekOf(dueDate.toLocalDate()).toEpochDay(), key -> new IdBitmap()).add(id);
+            }
+            if (isArchived) {
+                archived.add(id);
+            } else {
+                archived.remove(id);
+            }
+        }
+
+        private void remove(long id) {
+            if (all.remove(id)) {
+                archived.remove(id);
+                removeFrom(byStatus, id);
+                removeFrom(byWeek, id);
+                removeFrom(byTag, id);
+            }
+        }
+
+        private void tag(long id, long tagId, boolean added) {
+            if (added) {
+                // Tarefa ainda não indexada (criada em outra réplica): a próxima carga a traz com as tags
+                if (all.contains(id)) {
+                    byTag.computeIfAbsent(tagId, key -> new IdBitmap()).add(id);
+                }
+            } else {
+                IdBitmap tasks = byTag.get(tagId);
+                if (tasks != null && tasks.remove(id) && tasks.isEmpty()) {
+                    byTag.remove(tagId);
+                }
+            }
+        }
+
+        private static <K> void removeFrom(Map<K, IdBitmap> bitmaps, long id) {
+            bitmaps.values().removeIf(bitmap -> bitmap.remove(id) && bitmap.isEmpty());
+        }
+
+        private long sizeInBytes() {
+            lock.readLock().lock();
+            try {
+                long bytes = all.sizeInBytes() + archived.sizeInBytes();
+                for (IdBitmap bitmap : byStatus.values()) {
+                    bytes += bitmap.sizeInBytes();
+                }
+                for (IdBitmap bitmap : byTag.values()) {
+                    bytes += bitmap.sizeInBytes();
+                }
+                for (IdBitmap bitmap : byWeek.values()) {
+                    bytes += bitmap.sizeInBytes();
+                }
+                return bytes;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.taskmanager.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.taskmanager.dto.ActivityDTO;
+import com.taskmanager.dto.ActivitySummaryDTO;
+import com.taskmanager.dto.CommentDTO;
+import com.taskmanager.dto.CursorPageDTO;
+import com.taskmanager.entity.TaskComment;
+import com.taskmanager.repository.TaskCommentRepository;
+import com.taskmanager.repository.TaskHistoryRepository;
+
+import io.micrometer.observation.annotation.Observed;
+
+// Comentários e histórico de uma tarefa. O acesso ao projeto da tarefa é verificado pelo controller.
+@Observed(name = "taskflow.service")
+@Service
+public class TaskHistoryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskHistoryService.class);
+
+    public static final int MAX_COMMENT_LENGTH = 5000;
+
+    @Autowired
+    private TaskCommentRepository taskCommentRepository;
+
+    @Autowired
+    private TaskHistoryRepository taskHistoryRepository;
+
+    @Autowired
+    private ActivityLogService activityLogService;
+
+    public TaskComment addComment(Long taskId, Long projectId, Long authorId, String body) {
+        if (body == null || body.trim().isEmpty()) {
+            logger.error("O comentário não pode ser nulo ou vazio.");
+            throw new IllegalArgumentException("O comentário não pode ser nulo ou vazio.");
+        }
+        if (body.length() > MAX_COMMENT_LENGTH) {
+            logger.error("O comentário excede {} caracteres.", MAX_COMMENT_LENGTH);
+            throw new IllegalArgumentException("O comentário excede " + MAX_COMMENT_LENGTH + " caracteres.");
+        }
+        TaskComment comment = new TaskComment();
+        comment.setTaskId(taskId);
+        comment.setAuthorId(authorId);
+        comment.setBody(body.trim());
+        comment.setCreatedAt(LocalDateTime.now());
+        TaskComment saved = taskCommentRepository.save(comment);
+        activityLogService.record(taskId, projectId, authorId, ActivityLogService.COMMENTED, "comentário " + saved.getId());
+        logger.debug("Comentário {} adicionado à tarefa {}", saved.getId(), taskId);
+        return saved;
+    }
+
+    public CursorPageDTO<CommentDTO> getComments(Long taskId, String cursor, int limit) {
+        return taskHistoryRepository.findComments(taskId, decode(cursor), limit);
+    }
+
+    public CursorPageDTO<ActivityDTO> getActivity(Long taskId, String cursor, int limit) {
+        return taskHistoryRepository.findActivity(taskId, decode(cursor), limit);
+    }
+
+    public List<ActivitySummaryDTO> getActivitySummary(Long taskId) {
+        return taskHistoryRepository.findActivitySummary(taskId);
+    }
+
+    private static TaskHistoryRepository.Cursor decode(String cursor) {
+        return cursor == null || cursor.isEmpty() ? null : TaskHistoryRepository.Cursor.decode(cursor);
+    }
+}
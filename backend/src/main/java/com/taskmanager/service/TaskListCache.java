@@ -0,0 +1,178 @@
+package com.taskmanager.service;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * JSON pronto de GET /api/tasks, fora do heap ({@link OffHeapJsonCache}). A resposta depende só do projeto,
+ * do filtro de arquivadas e da ordenação (não de quem pede), então a entrada é do projeto e serve a todos
+ * os participantes; o acesso continua verificado a cada requisição. Escritas nas tarefas, nas tags das
+ * tarefas e nas próprias tags invalidam nesta réplica; nas demais vale o TTL.
+ */
+@Service
+public class TaskListCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskListCache.class);
+
+    // Contadores de escrita por faixa de projetos, como no TaskFilterIndex
+    private static final int VERSION_SLOTS = 1024;
+
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final OffHeapJsonCache cache;
+    // Incrementado a cada invalidação do projeto: uma carga que atravessou uma escrita não é guardada
+    private final AtomicLongArray versions = new AtomicLongArray(VERSION_SLOTS);
+    private final Counter hits;
+    private final Counter misses;
+
+    public TaskListCache(ObjectMapper objectMapper,
+                         MeterRegistry meterRegistry,
+                         @Value("${app.task-cache.enabled:false}") boolean enabled,
+                         @Value("${app.task-cache.max-bytes:67108864}") int maxBytes,
+                         @Value("${app.task-cache.block-bytes:4096}") int blockBytes,
+                         @Value("${app.task-cache.ttl-ms:30000}") long ttlMillis) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        // Desativado, não reserva a memória direta
+        this.cache = enabled ? new OffHeapJsonCache(maxBytes, blockBytes, ttlMillis) : null;
+        this.hits = Counter.builder("taskflow.task_cache.requests")
+                .description("Listagens de tarefas atendidas pelo cache fora do heap")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("taskflow.task_cache.requests")
+                .description("Listagens de tarefas atendidas pelo cache fora do heap")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        if (enabled) {
+            Gauge.builder("taskflow.task_cache.bytes.used", cache, OffHeapJsonCache::usedBytes)
+                    .description("Memória direta ocupada pelo cache de listagens")
+                    .baseUnit("bytes")
+                    .register(meterRegistry);
+            Gauge.builder("taskflow.task_cache.bytes.max", cache, OffHeapJsonCache::capacityBytes)
+                    .description("Memória direta reservada para o cache de listagens")
+                    .baseUnit("bytes")
+                    .register(meterRegistry);
+            Gauge.builder("taskflow.task_cache.entries", cache, OffHeapJsonCache::size)
+                    .description("Listagens guardadas no cache fora do heap")
+                    .register(meterRegistry);
+            Gauge.builder("taskflow.task_cache.hit_ratio", this, TaskListCache::hitRatio)
+                    .description("Fração das listagens atendidas pelo cache desde o início")
+                    .register(meterRegistry);
+            logger.info("Cache de listagens fora do heap: {} bytes em blocos de {}", cache.capacityBytes(), blockBytes);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Só JSON sai do cache: sem Accept, ou com JSON como primeira preferência (Smile/CBOR seguem o caminho normal)
+    public static boolean acceptsJson(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return true;
+        }
+        try {
+            List<MediaType> types = MediaType.parseMediaTypes(accept);
+            return types.isEmpty() || types.get(0).isCompatibleWith(MediaType.APPLICATION_JSON);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * JSON da listagem do projeto: do cache ou, na falta, serializando o resultado de loader (que também
+     * faz a verificação de acesso) e guardando-o.
+     */
+    public byte[] getOrLoad(Long projectId, boolean includeArchived, String sortBy, boolean ascending, Supplier<Object> loader) {
+        String key = projectId + ":" + includeArchived + ":" + sortBy + ":" + (ascending ? "asc" : "desc");
+        byte[] json = cache.get(key);
+        if (json != null) {
+            hits.increment();
+            return json;
+        }
+        misses.increment();
+        int slot = slot(projectId);
+        long loadVersion = versions.get(slot);
+        try {
+            json = objectMapper.writeValueAsBytes(loader.get());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar a listagem do projeto " + projectId, e);
+        }
+        if (versions.get(slot) == loadVersion && !cache.put(key, json)) {
+            logger.debug("Listagem do projeto {} ({} bytes) maior que o cache; não guardada", projectId, json.length);
+        }
+        return json;
+    }
+
+    // Chamado após qualquer escrita nas tarefas do projeto. Dentro de uma transação, repete após o commit:
+    // uma carga feita antes dele ainda teria lido o estado antigo.
+    public void invalidate(Long projectId) {
+        if (!enabled || projectId == null) {
+            return;
+        }
+        evict(projectId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(projectId);
+                }
+            });
+        }
+    }
+
+    // Renomeação e fusão de tags aparecem nas listagens de vários projetos
+    public void invalidateAll() {
+        if (!enabled) {
+            return;
+        }
+        clear();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    clear();
+                }
+            });
+        }
+    }
+
+    private void evict(Long projectId) {
+        versions.incrementAndGet(slot(projectId));
+        String prefix = projectId + ":";
+        int removed = cache.removeIf(key -> key.startsWith(prefix));
+        logger.debug("Cache de listagens invalidado para o projeto {}: {} entradas", projectId, removed);
+    }
+
+    private void clear() {
+        for (int i = 0; i < VERSION_SLOTS; i++) {
+            versions.incrementAndGet(i);
+        }
+        cache.clear();
+    }
+
+    private double hitRatio() {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0 : hits.count() / total;
+    }
+
+    private static int slot(Long projectId) {
+        return (int) Math.floorMod(projectId, (long) VERSION_SLOTS);
+    }
+}
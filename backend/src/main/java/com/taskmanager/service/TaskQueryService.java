@@ -0,0 +1,200 @@
+package com.taskmanager.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.taskmanager.dto.CursorPageDTO;
+import com.taskmanager.repository.TaskQueryRepository;
+
+import io.micrometer.observation.annotation.Observed;
+
+// Consultas de tarefas com seleção de campos (POST /api/query/tasks): o cliente pede só o formato de que cada
+// tela precisa. A seleção é validada contra as listas de campos do TaskQueryRepository, com limite de
+// profundidade e de custo (linhas x campos). Consultas persistidas, no estilo do Apollo: o cliente manda o
+// hash SHA-256 da consulta; o texto só é enviado na primeira vez (ou quando a réplica não o conhece) e a
+// seleção já analisada fica num LRU. O acesso ao projeto é verificado pelo controller.
+@Observed(name = "taskflow.service")
+@Service
+public class TaskQueryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskQueryService.class);
+
+    public static final int MAX_QUERY_LENGTH = 2000;
+    // Peso de cada relação no custo: um IN extra e várias linhas por tarefa
+    private static final int RELATION_COST = 10;
+
+    private final TaskQueryRepository taskQueryRepository;
+    private final int maxDepth;
+    private final int maxCost;
+    private final Map<String, QuerySelection> persisted;
+
+    public TaskQueryService(TaskQueryRepository taskQueryRepository,
+                            @Value("${app.query.max-depth:2}") int maxDepth,
+                            @Value("${app.query.max-cost:5000}") int maxCost,
+                            @Value("${app.query.persisted-max-entries:1000}") int persistedMaxEntries) {
+        this.taskQueryRepository = taskQueryRepository;
+        this.maxDepth = maxDepth;
+        this.maxCost = maxCost;
+        this.persisted = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, QuerySelection> eldest) {
+                return size() > persistedMaxEntries;
+            }
+        };
+    }
+
+    /**
+     * Seleção da requisição: pelo hash (consulta persistida) ou pelo texto. Com os dois, confere o hash e
+     * registra a consulta. Devolve null para hash desconhecido sem texto (o cliente deve reenviar com ele).
+     */
+    public QuerySelection resolve(String query, String sha256Hash) {
+        if (sha256Hash == null) {
+            return validate(parse(query));
+        }
+        String hash = sha256Hash.toLowerCase();
+        QuerySelection selection;
+        synchronized (persisted) {
+            selection = persisted.get(hash);
+        }
+        if (selection != null) {
+            return selection;
+        }
+        if (query == null) {
+            return null;
+        }
+        if (!sha256(query).equals(hash)) {
+            throw new IllegalArgumentException("O hash não corresponde à consulta.");
+        }
+        selection = validate(parse(query));
+        synchronized (persisted) {
+            persisted.put(hash, selection);
+        }
+        logger.debug("Consulta persistida registrada: {}", hash);
+        return selection;
+    }
+
+    public CursorPageDTO<Map<String, Object>> queryTasks(Long projectId, QuerySelection selection, String status,
+                                                         boolean archived, String cursor, int limit) {
+        int cost = limit * cost(selection);
+        if (cost > maxCost) {
+            throw new IllegalArgumentException("Consulta cara demais (custo " + cost + ", máximo " + maxCost
+                    + "): reduza o limit ou os campos.");
+        }
+        TaskQueryRepository.Cursor after = cursor == null ? null : TaskQueryRepository.Cursor.decode(cursor);
+        // Uma linha a mais indica se existe próxima página
+        List<TaskQueryRepository.Row> rows = taskQueryRepository.findTasks(projectId, status, archived, after, limit + 1,
+                selection.getFields());
+        CursorPageDTO<Map<String, Object>> page = new CursorPageDTO<>();
+        if (rows.size() > limit) {
+            rows = rows.subList(0, limit);
+            page.setNextCursor(TaskQueryRepository.Cursor.after(rows.get(limit - 1)).encode());
+        }
+        loadRelations(rows, selection);
+        List<Map<String, Object>> items = new ArrayList<>(rows.size());
+        for (TaskQueryRepository.Row row : rows) {
+            items.add(row.getValues());
+        }
+        page.setItems(items);
+        return page;
+    }
+
+    // Um IN por relação pedida, com as chaves da página inteira
+    private void loadRelations(List<TaskQueryRepository.Row> rows, QuerySelection selection) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        List<Long> taskIds = new ArrayList<>(rows.size());
+        Set<Long> ownerIds = new LinkedHashSet<>();
+        for (TaskQueryRepository.Row row : rows) {
+            taskIds.add(row.getId());
+            ownerIds.add(row.getOwnerId());
+        }
+        for (Map.Entry<String, QuerySelection> relation : selection.getRelations().entrySet()) {
+            List<String> fields = relation.getValue().getFields();
+            switch (relation.getKey()) {
+                case "tags" -> {
+                    Map<Long, List<Map<String, Object>>> tags = taskQueryRepository.findTags(taskIds, fields);
+                    rows.forEach(row -> row.getValues().put("tags", tags.getOrDefault(row.getId(), List.of())));
+                }
+                case "assignees" -> {
+                    Map<Long, List<Map<String, Object>>> assignees = taskQueryRepository.findAssignees(taskIds, fields);
+                    rows.forEach(row -> row.getValues().put("assignees", assignees.getOrDefault(row.getId(), List.of())));
+                }
+                case "owner" -> {
+                    Map<Long, Map<String, Object>> owners = taskQueryRepository.findUsers(ownerIds, fields);
+                    rows.forEach(row -> row.getValues().put("owner", owners.get(row.getOwnerId())));
+                }
+                default -> throw new IllegalArgumentException("Relação desconhecida: " + relation.getKey());
+            }
+        }
+    }
+
+    private QuerySelection parse(String query) {
+        if (query == null) {
+            throw new IllegalArgumentException("Consulta ausente.");
+        }
+        if (query.length() > MAX_QUERY_LENGTH) {
+            throw new IllegalArgumentException("Consulta excede " + MAX_QUERY_LENGTH + " caracteres.");
+        }
+        return QuerySelection.parse(query);
+    }
+
+    // Campos e relações conhecidos, profundidade máxima e relações sem sub-relações
+    private QuerySelection validate(QuerySelection selection) {
+        if (selection.depth() > maxDepth) {
+            throw new IllegalArgumentException("Consulta com profundidade " + selection.depth() + " (máximo " + maxDepth + ").");
+        }
+        checkFields(selection, TaskQueryRepository.TASK_FIELDS.keySet());
+        for (Map.Entry<String, QuerySelection> relation : selection.getRelations().entrySet()) {
+            Set<String> allowed = switch (relation.getKey()) {
+                case "tags" -> TaskQueryRepository.TAG_FIELDS.keySet();
+                case "owner", "assignees" -> TaskQueryRepository.USER_FIELDS.keySet();
+                default -> throw new IllegalArgumentException("Relação desconhecida: " + relation.getKey());
+            };
+            if (!relation.getValue().getRelations().isEmpty()) {
+                throw new IllegalArgumentException("A relação " + relation.getKey() + " não tem sub-relações.");
+            }
+            checkFields(relation.getValue(), allowed);
+        }
+        return selection;
+    }
+
+    private static void checkFields(QuerySelection selection, Set<String> allowed) {
+        for (String field : selection.getFields()) {
+            if (!allowed.contains(field)) {
+                throw new IllegalArgumentException("Campo desconhecido: " + field);
+            }
+        }
+    }
+
+    // Custo por tarefa: um por campo e RELATION_COST mais os campos de cada relação
+    static int cost(QuerySelection selection) {
+        int cost = selection.getFields().size();
+        for (QuerySelection relation : selection.getRelations().values()) {
+            cost += RELATION_COST + relation.getFields().size();
+        }
+        return Math.max(cost, 1);
+    }
+
+    static String sha256(String query) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(query.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.taskmanager.service;
+
+import java.time.LocalDateTime;
+
+public class TaskReminderEvent {
+
+    private final Long taskId;
+    private final Long userId;
+    private final LocalDateTime dueDate;
+    private final long offsetMinutes;
+
+    public TaskReminderEvent(Long taskId, Long userId, LocalDateTime dueDate, long offsetMinutes) {
+        this.taskId = taskId;
+        this.userId = userId;
+        this.dueDate = dueDate;
+        this.offsetMinutes = offsetMinutes;
+    }
+
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public LocalDateTime getDueDate() {
+        return dueDate;
+    }
+
+    public long getOffsetMinutes() {
+        return offsetMinutes;
+    }
+
+    @Override
+    public String toString() {
+        return "TaskReminderEvent{" +
+                "taskId=" + taskId +
+                ", userId=" + userId +
+                ", dueDate=" + dueDate +
+                ", offsetMinutes=" + offsetMinutes +
+                '}';
+    }
+}
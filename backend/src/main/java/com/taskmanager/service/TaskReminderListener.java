@@ -0,0 +1,23 @@
+package com.taskmanager.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+@Component
+public class TaskReminderListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskReminderListener.class);
+
+    // Ponto de integração para os alertas do frontend; por enquanto apenas registra o lembrete
+    @EventListener
+    public void onReminder(TaskReminderEvent event) {
+        if (event.getOffsetMinutes() == 0) {
+            logger.info("Prazo da tarefa {} (usuário {}) venceu agora: {}", event.getTaskId(), event.getUserId(), event.getDueDate());
+        } else {
+            logger.info("Lembrete: tarefa {} (usuário {}) vence em {} minutos ({})",
+                    event.getTaskId(), event.getUserId(), event.getOffsetMinutes(), event.getDueDate());
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.taskmanager.service;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import com.taskmanager.dto.BoardCardDTO;
+import com.taskmanager.dto.CursorPageDTO;
+import com.taskmanager.repository.TaskSearchRepository;
+
+import io.micrometer.observation.annotation.Observed;
+
+// Busca combinada (GET /api/tasks/search): os ids da página saem das interseções do TaskFilterIndex
+// (ou do SQL, com o índice desativado ou indisponível) e os cartões de uma consulta por id. O acesso ao
+// projeto é verificado pelo controller.
+@Observed(name = "taskflow.service")
+@Service
+public class TaskSearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskSearchService.class);
+
+    private final TaskFilterIndex taskFilterIndex;
+    private final TaskSearchRepository taskSearchRepository;
+
+    public TaskSearchService(TaskFilterIndex taskFilterIndex, TaskSearchRepository taskSearchRepository) {
+        this.taskFilterIndex = taskFilterIndex;
+        this.taskSearchRepository = taskSearchRepository;
+    }
+
+    public CursorPageDTO<BoardCardDTO> search(Long projectId, String status, Collection<Long> tagIds, boolean archived,
+                                             LocalDate dueWeek, TaskSearchRepository.Cursor cursor, int limit) {
+        long beforeId = cursor == null ? Long.MAX_VALUE : cursor.getId();
+        // Uma linha a mais indica se existe próxima página
+        long[] ids = taskFilterIndex.findIds(projectId, status, tagIds, archived, dueWeek, beforeId, limit + 1);
+        if (ids == null) {
+            LocalDate week = dueWeek == null ? null : TaskFilterIndex.weekOf(dueWeek);
+            ids = taskSearchRepository.findIds(projectId, status, tagIds, archived,
+                    week == null ? null : week.atStartOfDay(), week == null ? null : week.plusWeeks(1).atStartOfDay(),
+                    beforeId, limit + 1).stream().mapToLong(Long::longValue).toArray();
+            logger.debug("Busca no projeto {} pelo SQL: {} ids", projectId, ids.length);
+        }
+
+        CursorPageDTO<BoardCardDTO> page = new CursorPageDTO<>();
+        boolean hasMore = ids.length > limit;
+        List<BoardCardDTO> cards = taskSearchRepository.findCards(projectId, hasMore ? Arrays.copyOf(ids, limit) : ids);
+        page.setItems(cards);
+        if (hasMore) {
+            // O cursor é o último id da página, mesmo que a tarefa tenha sumido entre as duas consultas
+            page.setNextCursor(new TaskSearchRepository.Cursor(ids[limit - 1]).encode());
+        }
+        return page;
+    }
+}
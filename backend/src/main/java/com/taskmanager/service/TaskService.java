@@ -2,20 +2,32 @@ package com.taskmanager.service;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.taskmanager.dto.TaskDTO;
 import com.taskmanager.entity.Task;
 import com.taskmanager.entity.User;
+import com.taskmanager.repository.TaskAssignmentRepository;
+import com.taskmanager.repository.TaskRankView;
 import com.taskmanager.repository.TaskRepository;
+import com.taskmanager.repository.TaskTagRepository;
 import com.taskmanager.repository.UserRepository;
 
+import io.micrometer.observation.annotation.Observed;
+
+// Cada método público vira um span (e um timer taskflow.service com as tags class/method)
+@Observed(name = "taskflow.service")
 @Service
 public class TaskService {
 
@@ -27,14 +39,38 @@ public class TaskService {
     @Autowired
     private UserRepository userRepository;
 
-    public List<Task> getAllTasks(String username, boolean includeArchived, String sortBy, String sortOrder) {
-        logger.debug("Buscando tarefas para o usuário: {}", username);
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("Usuário não encontrado: " + username));
+    @Autowired
+    private ReminderScheduler reminderScheduler;
+
+    @Autowired
+    private RankRebalancer rankRebalancer;
+
+    @Autowired
+    private ProjectMembershipService projectMembershipService;
+
+    @Autowired
+    private ActivityLogService activityLogService;
+
+    @Autowired
+    private TaskAssignmentRepository taskAssignmentRepository;
+
+    @Autowired
+    private TaskTagRepository taskTagRepository;
+
+    @Autowired
+    private TaskFilterIndex taskFilterIndex;
+
+    @Autowired
+    private TaskListCache taskListCache;
+
+    public List<Task> getAllTasks(String username, Long projectId, boolean includeArchived, String sortBy, String sortOrder) {
+        logger.debug("Buscando tarefas para o usuário: {} no projeto: {}", username, projectId);
+        Long scope = accessibleProject(projectMembershipService.forUser(username), projectId, username);
         Sort sort = Sort.by(sortOrder.equalsIgnoreCase("asc") ? Sort.Direction.ASC : Sort.Direction.DESC, sortBy);
-        return taskRepository.findByUserAndArchived(user, includeArchived, sort);
+        return taskRepository.findByProjectIdAndArchived(scope, includeArchived, sort);
     }
 
+    @Transactional
     public Task createTask(TaskDTO taskDTO, String username) {
         logger.debug("Criando tarefa para o usuário: {}", username);
 
@@ -66,6 +102,7 @@ public class TaskService {
 
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("Usuário não encontrado: " + username));
+        Long projectId = accessibleProject(projectMembershipService.forUser(username), taskDTO.getProjectId(), username);
 
         Task task = new Task();
         task.setTitle(taskDTO.getTitle());
@@ -73,14 +110,24 @@ public class TaskService {
         task.setStatus(taskDTO.getStatus());
         task.setDueDate(dueDateTime);
         task.setUser(user);
+        task.setProjectId(projectId);
         task.setCreatedAt(LocalDateTime.now());
         task.setArchived(taskDTO.isArchived());
+        // Novas tarefas entram no fim da coluna (travada até o commit: criações simultâneas não empatam)
+        taskRepository.lockColumn(projectId, taskDTO.getStatus());
+        task.setRank(RankKeys.between(taskRepository.findMaxRank(projectId, taskDTO.getStatus()), null));
 
         Task savedTask = taskRepository.save(task);
+        reminderScheduler.reschedule(savedTask);
+        taskFilterIndex.onTaskSaved(savedTask);
+        taskListCache.invalidate(projectId);
+        activityLogService.record(savedTask.getId(), projectId, user.getId(), ActivityLogService.CREATED,
+                "título: " + savedTask.getTitle() + "; status: " + savedTask.getStatus());
         logger.debug("Tarefa criada com sucesso: {}", savedTask.getId());
         return savedTask;
     }
 
+    @Transactional
     public Task updateTask(Long id, TaskDTO taskDTO, String username) {
         logger.debug("Atualizando tarefa com ID: {} para o usuário: {}", id, username);
 
@@ -110,18 +157,25 @@ public class TaskService {
             }
         }
 
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("Usuário não encontrado: " + username));
+        ProjectMembershipService.Membership membership = projectMembershipService.forUser(username);
 
         Task task = taskRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Tarefa não encontrada: " + id));
 
-        // Verificar se a tarefa pertence ao usuário autenticado
-        if (!task.getUser().getId().equals(user.getId())) {
-            logger.error("Usuário {} (ID: {}) não tem permissão para atualizar a tarefa {} (user_id: {})", username, user.getId(), id, task.getUser().getId());
+        // Verificar se o usuário autenticado participa do projeto da tarefa
+        if (!membership.canAccess(task.getProjectId())) {
+            logger.error("Usuário {} (ID: {}) não tem permissão para atualizar a tarefa {} (project_id: {})", username, membership.getUserId(), id, task.getProjectId());
             throw new RuntimeException("Usuário não tem permissão para atualizar esta tarefa.");
         }
 
+        String changes = describeChanges(task, taskDTO, dueDateTime);
+
+        // Mudou de coluna: vai para o fim da nova coluna
+        if (!taskDTO.getStatus().equals(task.getStatus())) {
+            taskRepository.lockColumn(task.getProjectId(), taskDTO.getStatus());
+            task.setRank(RankKeys.between(taskRepository.findMaxRank(task.getProjectId(), taskDTO.getStatus()), null));
+        }
+
         // Atualizar os campos da tarefa
         task.setTitle(taskDTO.getTitle());
         task.setDescription(taskDTO.getDescription());
@@ -130,26 +184,160 @@ public class TaskService {
         task.setArchived(taskDTO.isArchived());
 
         Task updatedTask = taskRepository.save(task);
+        reminderScheduler.reschedule(updatedTask);
+        taskFilterIndex.onTaskSaved(updatedTask);
+        taskListCache.invalidate(updatedTask.getProjectId());
+        taskAssignmentRepository.refreshInbox(List.of(updatedTask));
+        if (!changes.isEmpty()) {
+            activityLogService.record(updatedTask.getId(), updatedTask.getProjectId(), membership.getUserId(), ActivityLogService.UPDATED, changes);
+        }
         logger.debug("Tarefa atualizada com sucesso: {}", updatedTask.getId());
         return updatedTask;
     }
 
+    /**
+     * Move a tarefa para a coluna {@code status}, entre {@code previousTaskId} (o cartão acima) e
+     * {@code nextTaskId} (o cartão abaixo); qualquer um pode ser nulo (início ou fim da coluna).
+     * Em regra só a linha da tarefa movida é atualizada.
+     */
+    @Transactional
+    public Task moveTask(Long id, String status, Long previousTaskId, Long nextTaskId, String username) {
+        logger.debug("Movendo tarefa {} para a coluna {} entre {} e {} (usuário {})", id, status, previousTaskId, nextTaskId, username);
+        if (!status.equals("Pendente") && !status.equals("Em Andamento") && !status.equals("Concluída")) {
+            logger.error("O status deve ser 'Pendente', 'Em Andamento' ou 'Concluída'.");
+            throw new IllegalArgumentException("O status deve ser 'Pendente', 'Em Andamento' ou 'Concluída'.");
+        }
+        if (id.equals(previousTaskId) || id.equals(nextTaskId)
+                || (previousTaskId != null && previousTaskId.equals(nextTaskId))) {
+            throw new IllegalArgumentException("A tarefa vizinha deve ser diferente da tarefa movida.");
+        }
+
+        ProjectMembershipService.Membership membership = projectMembershipService.forUser(username);
+
+        // Coluna de destino travada antes das linhas, na mesma ordem de createTask, updateTask e RankRebalancer
+        // (project_id da tarefa nunca muda: pode ser lido sem trava)
+        taskRepository.findRanks(List.of(id)).stream().findFirst()
+                .ifPresent(view -> taskRepository.lockColumn(view.getProjectId(), status));
+
+        List<Long> ids = new ArrayList<>(List.of(id));
+        if (previousTaskId != null) {
+            ids.add(previousTaskId);
+        }
+        if (nextTaskId != null) {
+            ids.add(nextTaskId);
+        }
+        Map<Long, TaskRankView> locked = lockRanks(ids, membership, status, id);
+        Long projectId = locked.get(id).getProjectId();
+        String lower = previousTaskId != null ? locked.get(previousTaskId).getRank() : null;
+        String upper = nextTaskId != null ? locked.get(nextTaskId).getRank() : null;
+        if ((previousTaskId != null && lower == null) || (nextTaskId != null && upper == null)
+                || (lower != null && upper != null && lower.compareTo(upper) >= 0)) {
+            // Vizinhas sem chave (anteriores à ordenação manual) ou empatadas: renormaliza a coluna antes
+            logger.info("Renormalizando a coluna {} do usuário {} antes de mover a tarefa {}", status, username, id);
+            rankRebalancer.rebalanceColumn(projectId, status);
+            locked = lockRanks(ids, membership, status, id);
+            lower = previousTaskId != null ? locked.get(previousTaskId).getRank() : null;
+            upper = nextTaskId != null ? locked.get(nextTaskId).getRank() : null;
+        }
+        if (lower != null && upper != null && lower.compareTo(upper) >= 0) {
+            throw new IllegalArgumentException("A tarefa anterior deve estar acima da próxima na coluna.");
+        }
+        if (lower == null && upper == null) {
+            lower = taskRepository.findMaxRank(projectId, status);
+        }
+
+        Task task = taskRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Tarefa não encontrada: " + id));
+        String previousStatus = task.getStatus();
+        task.setStatus(status);
+        task.setRank(RankKeys.between(lower, upper));
+        Task movedTask = taskRepository.save(task);
+        reminderScheduler.reschedule(movedTask);
+        taskFilterIndex.onTaskSaved(movedTask);
+        taskListCache.invalidate(movedTask.getProjectId());
+        taskAssignmentRepository.refreshInbox(List.of(movedTask));
+        activityLogService.record(id, projectId, membership.getUserId(), ActivityLogService.MOVED,
+                "status: " + previousStatus + " -> " + status + "; anterior: " + previousTaskId + "; próxima: " + nextTaskId);
+        logger.debug("Tarefa {} movida para {} com posição {}", id, status, movedTask.getRank());
+        return movedTask;
+    }
+
+    private Map<Long, TaskRankView> lockRanks(List<Long> ids, ProjectMembershipService.Membership membership, String status, Long movedId) {
+        Map<Long, TaskRankView> locked = new HashMap<>();
+        for (TaskRankView view : taskRepository.lockRanks(ids)) {
+            locked.put(view.getId(), view);
+        }
+        for (Long taskId : ids) {
+            TaskRankView view = locked.get(taskId);
+            if (view == null) {
+                throw new RuntimeException("Tarefa não encontrada: " + taskId);
+            }
+            if (!membership.canAccess(view.getProjectId())) {
+                logger.error("Usuário {} não tem permissão para mover a tarefa {} (project_id: {})", membership.getUserId(), taskId, view.getProjectId());
+                throw new RuntimeException("Usuário não tem permissão para mover esta tarefa.");
+            }
+            if (!taskId.equals(movedId) && (!view.getStatus().equals(status)
+                    || !view.getProjectId().equals(locked.get(movedId).getProjectId()))) {
+                throw new IllegalArgumentException("A tarefa vizinha " + taskId + " não está na coluna " + status + " do mesmo projeto.");
+            }
+        }
+        return locked;
+    }
+
+    // Texto do histórico com os campos alterados ("campo: antes -> depois"); vazio se nada mudou
+    private static String describeChanges(Task task, TaskDTO taskDTO, LocalDateTime dueDateTime) {
+        List<String> changes = new ArrayList<>();
+        if (!Objects.equals(task.getTitle(), taskDTO.getTitle())) {
+            changes.add("título: " + task.getTitle() + " -> " + taskDTO.getTitle());
+        }
+        if (!Objects.equals(task.getDescription(), taskDTO.getDescription())) {
+            changes.add("descrição alterada");
+        }
+        if (!Objects.equals(task.getStatus(), taskDTO.getStatus())) {
+            changes.add("status: " + task.getStatus() + " -> " + taskDTO.getStatus());
+        }
+        if (!Objects.equals(task.getDueDate(), dueDateTime)) {
+            changes.add("prazo: " + task.getDueDate() + " -> " + dueDateTime);
+        }
+        if (task.isArchived() != taskDTO.isArchived()) {
+            changes.add("arquivada: " + task.isArchived() + " -> " + taskDTO.isArchived());
+        }
+        return String.join("; ", changes);
+    }
+
+    // Projeto pedido (ou o pessoal, sem projectId) desde que o usuário participe dele
+    private Long accessibleProject(ProjectMembershipService.Membership membership, Long projectId, String username) {
+        Long scope = membership.resolve(projectId);
+        if (!membership.canAccess(scope)) {
+            logger.error("Usuário {} não participa do projeto {}", username, scope);
+            throw new RuntimeException("Usuário não tem permissão sobre este projeto.");
+        }
+        return scope;
+    }
+
+    @Transactional
     public void deleteTask(Long id, String username) {
         logger.debug("Excluindo tarefa com ID: {} para o usuário: {}", id, username);
 
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("Usuário não encontrado: " + username));
+        ProjectMembershipService.Membership membership = projectMembershipService.forUser(username);
 
         Task task = taskRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Tarefa não encontrada: " + id));
 
-        // Verificar se a tarefa pertence ao usuário autenticado
-        if (!task.getUser().getId().equals(user.getId())) {
-            logger.error("Usuário {} (ID: {}) não tem permissão para excluir a tarefa {} (user_id: {})", username, user.getId(), id, task.getUser().getId());
+        // Verificar se o usuário autenticado participa do projeto da tarefa
+        if (!membership.canAccess(task.getProjectId())) {
+            logger.error("Usuário {} (ID: {}) não tem permissão para excluir a tarefa {} (project_id: {})", username, membership.getUserId(), id, task.getProjectId());
             throw new RuntimeException("Usuário não tem permissão para excluir esta tarefa.");
         }
 
+        // As tags saem antes, descontando os contadores de uso; a exclusão da tarefa não as regrava
+        taskTagRepository.removeAllTags(id);
         taskRepository.delete(task);
+        reminderScheduler.cancel(id);
+        taskFilterIndex.onTaskDeleted(id, task.getProjectId());
+        taskListCache.invalidate(task.getProjectId());
+        taskAssignmentRepository.deleteByTask(id);
+        activityLogService.record(id, task.getProjectId(), membership.getUserId(), ActivityLogService.DELETED, "título: " + task.getTitle());
         logger.debug("Tarefa excluída com sucesso: {}", id);
     }
 }
\ No newline at end of file
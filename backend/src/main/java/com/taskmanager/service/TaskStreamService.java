@@ -0,0 +1,91 @@
+package com.taskmanager.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.taskmanager.dto.BoardCardDTO;
+import com.taskmanager.repository.TaskStreamRepository;
+
+import io.micrometer.observation.annotation.Observed;
+
+// Listagens de tarefas em NDJSON (uma tarefa por linha), escritas à medida que as linhas chegam do banco.
+// A escrita no socket é bloqueante: cliente lento segura a thread (virtual) e, com ela, o cursor do
+// PostgreSQL, que só busca o próximo lote quando este foi consumido. Por isso o fluxo tem duração máxima
+// (app.tasks.stream.max-duration-ms): excedida, é abortado e a conexão volta ao pool; um cliente parado
+// na escrita é derrubado pelo tempo limite do Tomcat. O acesso ao projeto é verificado pelo controller.
+@Observed(name = "taskflow.service")
+@Service
+public class TaskStreamService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskStreamService.class);
+
+    private final TaskStreamRepository taskStreamRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectWriter writer;
+    private final int flushEvery;
+    private final long maxDurationNanos;
+
+    public TaskStreamService(TaskStreamRepository taskStreamRepository,
+                             PlatformTransactionManager transactionManager,
+                             ObjectMapper objectMapper,
+                             @Value("${app.tasks.stream.flush-every:100}") int flushEvery,
+                             @Value("${app.tasks.stream.max-duration-ms:60000}") long maxDurationMillis) {
+        this.taskStreamRepository = taskStreamRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.writer = objectMapper.writerFor(BoardCardDTO.class);
+        this.flushEvery = flushEvery;
+        this.maxDurationNanos = TimeUnit.MILLISECONDS.toNanos(maxDurationMillis);
+    }
+
+    public void writeTasks(Long projectId, String status, boolean overdue, boolean archived, String sortBy, boolean ascending,
+                           OutputStream out) {
+        LocalDateTime overdueAt = overdue ? LocalDateTime.now() : null;
+        long startedAt = System.nanoTime();
+        int[] written = {0};
+        try {
+            // Transação só de leitura: sem ela o driver ignora o fetch size e carrega o resultado inteiro
+            transactionTemplate.executeWithoutResult(tx -> taskStreamRepository.stream(
+                    projectId, status, overdueAt, archived, sortBy, ascending, card -> {
+                        if (System.nanoTime() - startedAt > maxDurationNanos) {
+                            throw new IllegalStateException("Fluxo excedeu a duração máxima após " + written[0] + " linhas");
+                        }
+                        try {
+                            out.write(writer.writeValueAsBytes(card));
+                            out.write('\n');
+                            // A primeira linha sai logo; depois, em blocos
+                            if (++written[0] == 1 || written[0] % flushEvery == 0) {
+                                out.flush();
+                            }
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }));
+            out.flush();
+        } catch (UncheckedIOException e) {
+            // Cliente desconectou: a transação é desfeita e o cursor fechado
+            logger.debug("Fluxo de tarefas do projeto {} interrompido após {} linhas: {}", projectId, written[0], e.getMessage());
+            return;
+        } catch (IOException e) {
+            logger.debug("Fluxo de tarefas do projeto {} interrompido após {} linhas: {}", projectId, written[0], e.getMessage());
+            return;
+        } catch (IllegalStateException e) {
+            // A transação já foi desfeita; a exceção segue para que a resposta termine com erro, não como completa
+            logger.warn("Fluxo de tarefas do projeto {} abortado: {}", projectId, e.getMessage());
+            throw e;
+        }
+        logger.debug("Fluxo de tarefas do projeto {}: {} linhas em {} ms", projectId, written[0], (System.nanoTime() - startedAt) / 1_000_000);
+    }
+}
@@ -0,0 +1,154 @@
+package com.taskmanager.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.taskmanager.entity.TaskTag;
+import com.taskmanager.repository.TaskTagRepository;
+
+import io.micrometer.observation.annotation.Observed;
+
+// Inclusão e remoção de tags em tarefas, uma a uma ou em lote. O acesso ao projeto das tarefas é
+// verificado pelo controller; aqui só se validam os nomes e se registra o histórico.
+@Observed(name = "taskflow.service")
+@Service
+public class TaskTagService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskTagService.class);
+
+    public static final int MAX_TAG_NAME_LENGTH = 255;
+
+    @Autowired
+    private TaskTagRepository taskTagRepository;
+
+    @Autowired
+    private ActivityLogService activityLogService;
+
+    @Autowired
+    private TaskFilterIndex taskFilterIndex;
+
+    @Autowired
+    private TaskListCache taskListCache;
+
+    @Value("${app.tags.bulk-max-tasks:1000}")
+    private int bulkMaxTasks;
+
+    @Value("${app.tags.bulk-max-tags:50}")
+    private int bulkMaxTags;
+
+    // true se a tag ainda não estava na tarefa
+    @Transactional
+    public boolean addTag(Long taskId, Long projectId, String tagName, Long actorId) {
+        Set<String> names = normalize(List.of(tagName));
+        Map<String, Long> tagIds = taskTagRepository.findOrCreateTags(names);
+        List<TaskTag> links = taskTagRepository.addTags(List.of(taskId), tagIds.values());
+        taskFilterIndex.onTagsChanged(links, Collections.singletonMap(taskId, projectId), true);
+        boolean added = !links.isEmpty();
+        if (added) {
+            taskListCache.invalidate(projectId);
+            activityLogService.record(taskId, projectId, actorId, ActivityLogService.TAG_ADDED, "tag: " + names.iterator().next());
+        }
+        return added;
+    }
+
+    // true se a tag estava na tarefa
+    @Transactional
+    public boolean removeTag(Long taskId, Long projectId, Long tagId, String tagName, Long actorId) {
+        List<TaskTag> links = taskTagRepository.removeTags(List.of(taskId), List.of(tagId));
+        taskFilterIndex.onTagsChanged(links, Collections.singletonMap(taskId, projectId), false);
+        boolean removed = !links.isEmpty();
+        if (removed) {
+            taskListCache.invalidate(projectId);
+            activityLogService.record(taskId, projectId, actorId, ActivityLogService.TAG_REMOVED, "tag: " + tagName);
+        }
+        return removed;
+    }
+
+    /**
+     * Inclui todas as tags em todas as tarefas (criando as tags que faltam). {@code projectIds} é o
+     * projeto de cada tarefa, já verificado. Devolve o número de associações novas.
+     */
+    @Transactional
+    public int addTags(Map<Long, Long> projectIds, Collection<String> tagNames, Long actorId) {
+        Set<String> names = validateBulk(projectIds.keySet(), tagNames);
+        Map<String, Long> tagIds = taskTagRepository.findOrCreateTags(names);
+        List<TaskTag> added = taskTagRepository.addTags(projectIds.keySet(), tagIds.values());
+        taskFilterIndex.onTagsChanged(added, projectIds, true);
+        invalidateLists(added, projectIds);
+        recordPerTask(added, tagIds, projectIds, actorId, ActivityLogService.TAG_ADDED);
+        logger.debug("{} associações incluídas ({} tarefas x {} tags)", added.size(), projectIds.size(), names.size());
+        return added.size();
+    }
+
+    // Remove as tags (pelo nome) de todas as tarefas num único DELETE; nomes desconhecidos são ignorados
+    @Transactional
+    public int removeTags(Map<Long, Long> projectIds, Collection<String> tagNames, Long actorId) {
+        Set<String> names = validateBulk(projectIds.keySet(), tagNames);
+        Map<String, Long> tagIds = taskTagRepository.findTags(names);
+        List<TaskTag> removed = taskTagRepository.removeTags(projectIds.keySet(), tagIds.values());
+        taskFilterIndex.onTagsChanged(removed, projectIds, false);
+        invalidateLists(removed, projectIds);
+        recordPerTask(removed, tagIds, projectIds, actorId, ActivityLogService.TAG_REMOVED);
+        logger.debug("{} associações removidas ({} tarefas x {} tags)", removed.size(), projectIds.size(), names.size());
+        return removed.size();
+    }
+
+    private Set<String> validateBulk(Collection<Long> taskIds, Collection<String> tagNames) {
+        if (taskIds.size() > bulkMaxTasks) {
+            throw new IllegalArgumentException("No máximo " + bulkMaxTasks + " tarefas por requisição.");
+        }
+        Set<String> names = normalize(tagNames);
+        if (names.size() > bulkMaxTags) {
+            throw new IllegalArgumentException("No máximo " + bulkMaxTags + " tags por requisição.");
+        }
+        return names;
+    }
+
+    private static Set<String> normalize(Collection<String> tagNames) {
+        if (tagNames == null || tagNames.isEmpty()) {
+            throw new IllegalArgumentException("A lista de tags não pode ser nula ou vazia.");
+        }
+        Set<String> names = new LinkedHashSet<>();
+        for (String tagName : tagNames) {
+            if (tagName == null || tagName.trim().isEmpty()) {
+                logger.error("Nome da tag é nulo ou vazio.");
+                throw new IllegalArgumentException("Nome da tag é nulo ou vazio.");
+            }
+            if (tagName.trim().length() > MAX_TAG_NAME_LENGTH) {
+                throw new IllegalArgumentException("O nome da tag excede " + MAX_TAG_NAME_LENGTH + " caracteres.");
+            }
+            names.add(tagName.trim());
+        }
+        return names;
+    }
+
+    private void invalidateLists(List<TaskTag> links, Map<Long, Long> projectIds) {
+        links.stream().map(link -> projectIds.get(link.getTaskId())).distinct().forEach(taskListCache::invalidate);
+    }
+
+    // Um evento por tarefa com todas as tags alteradas, e não um por associação
+    private void recordPerTask(List<TaskTag> links, Map<String, Long> tagIds, Map<Long, Long> projectIds, Long actorId, String action) {
+        Map<Long, String> names = tagIds.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getValue, Map.Entry::getKey));
+        Map<Long, List<String>> byTask = new TreeMap<>();
+        for (TaskTag link : links) {
+            byTask.computeIfAbsent(link.getTaskId(), id -> new ArrayList<>()).add(names.get(link.getTagId()));
+        }
+        byTask.forEach((taskId, tags) -> activityLogService.record(taskId, projectIds.get(taskId), actorId, action,
+                "tags: " + String.join(", ", tags) + " (em lote)"));
+    }
+}
@@ -0,0 +1,697 @@
+package com.taskmanager.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.taskmanager.dto.TaskDTO;
+import com.taskmanager.entity.Task;
+import com.taskmanager.repository.TaskAssignmentRepository;
+import com.taskmanager.repository.TaskRankView;
+import com.taskmanager.repository.TaskRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Gravação adiada (write-behind) de mudanças de coluna e posição, pedida com {@code Prefer: respond-async}
+ * em PUT /api/tasks/{id} (só o status muda) e POST /api/tasks/{id}/move. A mudança é validada, anotada num
+ * diário local (fsync antes da resposta 202, um para várias mudanças simultâneas) e guardada num mapa por tarefa, onde as seguintes substituem
+ * as anteriores; a cada janela o que se acumulou vai ao banco numa única transação, com os UPDATEs em lote.
+ *
+ * Posições: a chave calculada no pedido é conferida no envio, com a coluna travada; se as vizinhas mudaram nesse
+ * meio-tempo (renormalização do RankRebalancer, outro movimento), ela é recalculada entre as atuais.
+ *
+ * Ordem: uma tarefa tem no máximo uma mudança pendente (a última), os envios são serializados e as escritas
+ * síncronas na tarefa (edição, movimento, exclusão, status em massa) enviam antes a pendente, fora da
+ * transação delas, e não acontecem se o envio falhar. Quem fez a mudança a vê nas leituras seguintes:
+ * qualquer outra requisição do mesmo usuário envia as suas pendências antes (WriteBehindConfig). Depois de
+ * uma queda, o diário é reaplicado na subida.
+ */
+@Service
+public class TaskWriteBehindService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskWriteBehindService.class);
+
+    public static final String PREFER_HEADER = "Prefer";
+    public static final String PREFERENCE_APPLIED_HEADER = "Preference-Applied";
+    public static final String RESPOND_ASYNC = "respond-async";
+
+    private final TaskRepository taskRepository;
+    private final TaskAssignmentRepository taskAssignmentRepository;
+    private final ProjectMembershipService projectMembershipService;
+    private final ReminderScheduler reminderScheduler;
+    private final ActivityLogService activityLogService;
+    private final TaskFilterIndex taskFilterIndex;
+    private final TaskListCache taskListCache;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final long windowMillis;
+    private final int maxPending;
+    private final boolean fsync;
+    private final long journalCompactBytes;
+    private final Path journalPath;
+    private final Counter enqueued;
+    private final Counter flushed;
+
+    private final ConcurrentHashMap<Long, PendingWrite> pending = new ConcurrentHashMap<>();
+    // Quantas pendências cada usuário tem: a requisição de quem não tem nenhuma não passa por trava alguma
+    private final ConcurrentHashMap<String, Integer> pendingByUser = new ConcurrentHashMap<>();
+    // Diário e mapa mudam juntos: a compactação vê exatamente o que ainda falta enviar
+    private final ReentrantLock journalLock = new ReentrantLock();
+    // Um envio por vez: uma mudança nunca ultrapassa a anterior da mesma tarefa
+    private final ReentrantLock flushLock = new ReentrantLock();
+    // Um fsync por vez; quem espera costuma encontrar a sua linha já coberta pelo anterior
+    private final ReentrantLock syncLock = new ReentrantLock();
+    // Linhas anotadas no diário (sob o journalLock) e quantas delas já passaram por fsync
+    private long appendedSequence;
+    private final AtomicLong syncedSequence = new AtomicLong();
+    // Envios concluídos, incrementado sob o journalLock ao tirar as tarefas do mapa
+    private volatile long flushGeneration;
+    private FileChannel journal;
+    private ScheduledExecutorService executor;
+
+    public TaskWriteBehindService(TaskRepository taskRepository,
+                                  TaskAssignmentRepository taskAssignmentRepository,
+                                  ProjectMembershipService projectMembershipService,
+                                  ReminderScheduler reminderScheduler,
+                                  ActivityLogService activityLogService,
+                                  TaskFilterIndex taskFilterIndex,
+                                  TaskListCache taskListCache,
+                                  PlatformTransactionManager transactionManager,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${app.tasks.write-behind.enabled:false}") boolean enabled,
+                                  @Value("${app.tasks.write-behind.window-ms:200}") long windowMillis,
+                                  @Value("${app.tasks.write-behind.max-pending:10000}") int maxPending,
+                                  @Value("${app.tasks.write-behind.journal-path:data/write-behind.journal}") String journalPath,
+                                  @Value("${app.tasks.write-behind.fsync:true}") boolean fsync,
+                                  @Value("${app.tasks.write-behind.journal-compact-bytes:1048576}") long journalCompactBytes) {
+        this.taskRepository = taskRepository;
+        this.taskAssignmentRepository = taskAssignmentRepository;
+        this.projectMembershipService = projectMembershipService;
+        this.reminderScheduler = reminderScheduler;
+        this.activityLogService = activityLogService;
+        this.taskFilterIndex = taskFilterIndex;
+        this.taskListCache = taskListCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.windowMillis = windowMillis;
+        this.maxPending = maxPending;
+        this.journalPath = Path.of(journalPath);
+        this.fsync = fsync;
+        this.journalCompactBytes = journalCompactBytes;
+        this.enqueued = Counter.builder("taskflow.write_behind.enqueued")
+                .description("Mudanças de coluna/posição aceitas para gravação adiada")
+                .register(meterRegistry);
+        this.flushed = Counter.builder("taskflow.write_behind.flushed")
+                .description("Tarefas gravadas pelos envios da gravação adiada (após a junção)")
+                .register(meterRegistry);
+        Gauge.builder("taskflow.write_behind.pending", pending, Map::size)
+                .description("Tarefas com mudança ainda não gravada no banco")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            Path parent = journalPath.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            replayJournal();
+            journal = FileChannel.open(journalPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível abrir o diário da gravação adiada: " + journalPath, e);
+        }
+        // Mudanças recuperadas do diário vão ao banco antes da primeira requisição
+        flush(write -> true, false);
+        logger.info("Gravação adiada ativa: janela de {} ms, diário em {}", windowMillis, journalPath.toAbsolutePath());
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "write-behind-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::flushAll, windowMillis, windowMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (executor == null) {
+            return;
+        }
+        executor.shutdownNow();
+        // O que não for enviado agora continua no diário e é reaplicado na próxima subida
+        flushAll();
+        try {
+            journal.close();
+        } catch (IOException e) {
+            logger.warn("Erro ao fechar o diário da gravação adiada: {}", e.getMessage());
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled && journal != null;
+    }
+
+    // Prefer: respond-async (RFC 7240), possivelmente junto de outras preferências
+    public static boolean prefersAsync(String prefer) {
+        if (prefer == null) {
+            return false;
+        }
+        for (String preference : prefer.split(",")) {
+            if (preference.trim().equalsIgnoreCase(RESPOND_ASYNC)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Edição que só troca o status: adiada, com a tarefa indo para o fim da nova coluna (como em
+     * TaskService.updateTask). false se a edição não se qualifica; quem chama segue pelo caminho normal,
+     * que também produz os erros de validação e permissão.
+     */
+    public boolean updateStatusLater(Long id, TaskDTO taskDTO, String username) {
+        if (!isEnabled() || !isValidStatus(taskDTO.getStatus()) || pending.size() >= maxPending) {
+            return false;
+        }
+        ProjectMembershipService.Membership membership = projectMembershipService.forUser(username);
+        Task task = taskRepository.findById(id).orElse(null);
+        if (task == null || !membership.canAccess(task.getProjectId())) {
+            return false;
+        }
+        if (!Objects.equals(task.getTitle(), taskDTO.getTitle())
+                || !Objects.equals(task.getDescription(), taskDTO.getDescription())
+                || !Objects.equals(task.getDueDate(), taskDTO.getDueDateAsLocalDateTime())
+                || task.isArchived() != taskDTO.isArchived()
+                || (task.getDueDate() != null && task.getDueDate().toLocalDate().isBefore(LocalDate.now()))) {
+            // Outras mudanças (ou vencimento passado, que a edição síncrona recusa) seguem o caminho normal
+            return false;
+        }
+        PendingWrite current = pending.get(id);
+        String status = current != null ? current.status : task.getStatus();
+        if (status.equals(taskDTO.getStatus())) {
+            return true;
+        }
+        return enqueue(id, task.getProjectId(), taskDTO.getStatus(), null, null, null, null, membership.getUserId(), username);
+    }
+
+    /**
+     * Movimento adiado, com as mesmas regras de TaskService.moveTask sobre as posições já pendentes.
+     * false se não se qualifica (vizinhas sem posição ou empatadas pedem a renormalização síncrona).
+     */
+    public boolean moveLater(Long id, String status, Long previousTaskId, Long nextTaskId, String username) {
+        if (!isEnabled() || !isValidStatus(status) || pending.size() >= maxPending
+                || id.equals(previousTaskId) || id.equals(nextTaskId)
+                || (previousTaskId != null && previousTaskId.equals(nextTaskId))) {
+            return false;
+        }
+        ProjectMembershipService.Membership membership = projectMembershipService.forUser(username);
+        List<Long> ids = new ArrayList<>(List.of(id));
+        if (previousTaskId != null) {
+            ids.add(previousTaskId);
+        }
+        if (nextTaskId != null) {
+            ids.add(nextTaskId);
+        }
+        List<TaskRankView> views = taskRepository.findRanks(ids);
+        if (views.size() != ids.size()) {
+            return false;
+        }
+        Long projectId = views.get(0).getProjectId();
+        Map<Long, String[]> columns = new HashMap<>();
+        for (TaskRankView view : views) {
+            if (!view.getProjectId().equals(projectId) || !membership.canAccess(projectId)) {
+                return false;
+            }
+            // Estado visto por quem move: o pendente, se houver
+            PendingWrite current = pending.get(view.getId());
+            columns.put(view.getId(), current != null
+                    ? new String[] { current.status, current.rank }
+                    : new String[] { view.getStatus(), view.getRank() });
+        }
+        for (Long neighbor : ids.subList(1, ids.size())) {
+            if (!columns.get(neighbor)[0].equals(status)) {
+                return false;
+            }
+        }
+        String lower = previousTaskId != null ? columns.get(previousTaskId)[1] : null;
+        String upper = nextTaskId != null ? columns.get(nextTaskId)[1] : null;
+        if ((previousTaskId != null && lower == null) || (nextTaskId != null && upper == null)
+                || (lower != null && upper != null && lower.compareTo(upper) >= 0)) {
+            return false;
+        }
+        return enqueue(id, projectId, status, previousTaskId, nextTaskId, lower, upper, membership.getUserId(), username);
+    }
+
+    /**
+     * Envia antes as pendências destas tarefas: a escrita síncrona que vem a seguir não pode ser ultrapassada.
+     * Falhando o envio, lança a exceção e a escrita síncrona não deve acontecer (a pendente, reenviada depois,
+     * a sobrescreveria). Chamado fora de transação: o envio usa a sua, e dentro de outra a requisição
+     * ocuparia duas conexões do pool.
+     */
+    public void flushTasks(Collection<Long> taskIds) {
+        if (isEnabled() && !pending.isEmpty()) {
+            requireNoTransaction();
+            flush(write -> taskIds.contains(write.taskId), true);
+        }
+    }
+
+    // Leitura do próprio usuário: as suas mudanças pendentes vão ao banco antes (ou a requisição falha)
+    public void flushUser(String username) {
+        if (isEnabled() && pendingByUser.containsKey(username)) {
+            requireNoTransaction();
+            flush(write -> write.username.equals(username), true);
+        }
+    }
+
+    // Envio periódico e na parada: uma falha fica no log e as mudanças são reenviadas na próxima janela
+    public void flushAll() {
+        if (!pending.isEmpty()) {
+            flush(write -> true, false);
+        }
+    }
+
+    private static void requireNoTransaction() {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("O envio das mudanças adiadas deve acontecer antes de abrir a transação");
+        }
+    }
+
+    /**
+     * Calcula a posição e anota a mudança sob o journalLock: duas mudanças para o fim da mesma coluna (sem
+     * vizinhas) veem uma a outra e não recebem a mesma chave. Entre vizinhas, uma chave igual à de outra
+     * pendente da coluna (vizinhas vistas antes de outro movimento) devolve false: o caminho síncrono decide.
+     * A consulta ao banco e o fsync ficam fora da trava.
+     */
+    private boolean enqueue(long taskId, long projectId, String status, Long previousTaskId, Long nextTaskId,
+                            String lower, String upper, long actorId, String username) {
+        if (username.indexOf('\t') >= 0 || username.indexOf('\n') >= 0) {
+            return false;
+        }
+        boolean atEnd = lower == null && upper == null;
+        PendingWrite write = null;
+        long sequence = 0;
+        while (write == null) {
+            long generation = flushGeneration;
+            String columnMax = atEnd ? taskRepository.findMaxRank(projectId, status) : null;
+            journalLock.lock();
+            try {
+                if (atEnd && generation != flushGeneration) {
+                    // Um envio terminou durante a consulta: uma tarefa que ele tirou do mapa pode não ter sido vista no banco
+                    continue;
+                }
+                String rank = RankKeys.between(atEnd ? maxRank(taskId, projectId, status, columnMax) : lower, upper);
+                for (PendingWrite other : pending.values()) {
+                    if (other.taskId != taskId && other.projectId == projectId && other.status.equals(status) && other.rank.equals(rank)) {
+                        logger.debug("Posição {} já pendente para a tarefa {}; tarefa {} segue pelo caminho síncrono", rank, other.taskId, taskId);
+                        return false;
+                    }
+                }
+                write = new PendingWrite(taskId, projectId, status, previousTaskId, nextTaskId, rank, actorId, username);
+                appendToJournal(List.of(write));
+                sequence = ++appendedSequence;
+                putPending(write);
+            } catch (IOException e) {
+                logger.error("Falha ao gravar no diário da gravação adiada; seguindo pelo caminho síncrono: {}", e.getMessage());
+                return false;
+            } finally {
+                journalLock.unlock();
+            }
+        }
+        try {
+            syncJournal(sequence);
+        } catch (IOException e) {
+            // Sem a garantia do disco não há 202. A mudança já está no mapa, e o caminho síncrono a envia antes
+            // de gravar a sua (flushTasks): o resultado final é o mesmo.
+            logger.error("Falha no fsync do diário da gravação adiada; seguindo pelo caminho síncrono: {}", e.getMessage());
+            return false;
+        }
+        enqueued.increment();
+        logger.debug("Tarefa {} adiada: {} / {} ({} mudanças juntadas)", write.taskId, write.status, write.rank, write.coalesced);
+        return true;
+    }
+
+    private void flush(Predicate<PendingWrite> selector, boolean propagate) {
+        flushLock.lock();
+        try {
+            List<PendingWrite> batch = new ArrayList<>();
+            for (PendingWrite write : pending.values()) {
+                if (selector.test(write)) {
+                    batch.add(write);
+                }
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+            long startedAt = System.currentTimeMillis();
+            List<Task> saved = transactionTemplate.execute(tx -> apply(batch));
+            // Só saem do mapa as que não foram substituídas durante o envio
+            journalLock.lock();
+            try {
+                for (PendingWrite write : batch) {
+                    removePending(write);
+                }
+                flushGeneration++;
+            } finally {
+                journalLock.unlock();
+            }
+            for (Task task : saved) {
+                reminderScheduler.reschedule(task);
+                taskFilterIndex.onTaskSaved(task);
+            }
+            saved.stream().map(Task::getProjectId).distinct().forEach(taskListCache::invalidate);
+            flushed.increment(saved.size());
+            compactJournal();
+            logger.debug("Gravação adiada: {} tarefas enviadas em {} ms", saved.size(), System.currentTimeMillis() - startedAt);
+        } catch (RuntimeException e) {
+            // As mudanças continuam no mapa e no diário; o próximo envio tenta de novo
+            logger.error("Erro ao enviar {} mudanças adiadas: {}", pending.size(), e.getMessage(), e);
+            if (propagate) {
+                throw e;
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    // Dentro da transação: as entidades são atualizadas e gravadas em lote (hibernate.jdbc.batch_size)
+    private List<Task> apply(List<PendingWrite> batch) {
+        Map<Long, PendingWrite> byTask = new LinkedHashMap<>();
+        Map<Long, Set<String>> columns = new TreeMap<>();
+        for (PendingWrite write : batch) {
+            byTask.put(write.taskId, write);
+            columns.computeIfAbsent(write.projectId, id -> new TreeSet<>()).add(write.status);
+        }
+        // Colunas antes das linhas, como em TaskService e RankRebalancer, e sempre na mesma ordem
+        columns.forEach((projectId, statuses) -> statuses.forEach(status -> taskRepository.lockColumn(projectId, status)));
+        // Tarefas excluídas nesse meio-tempo simplesmente não voltam
+        List<Task> tasks = new ArrayList<>(taskRepository.findAllById(byTask.keySet()));
+        // Na ordem das chaves pedidas: as que vão para o fim da mesma coluna mantêm a ordem entre si
+        tasks.sort(Comparator.comparing(task -> byTask.get(task.getId()).rank));
+        Map<Long, String> ranks = resolveRanks(byTask, tasks);
+        Map<Long, String> previousStatuses = new HashMap<>();
+        for (Task task : tasks) {
+            PendingWrite write = byTask.get(task.getId());
+            previousStatuses.put(task.getId(), task.getStatus());
+            task.setStatus(write.status);
+            task.setRank(ranks.get(task.getId()));
+        }
+        List<Task> saved = taskRepository.saveAll(tasks);
+        taskRepository.flush();
+        taskAssignmentRepository.refreshInbox(saved);
+        for (Task task : saved) {
+            PendingWrite write = byTask.get(task.getId());
+            activityLogService.record(task.getId(), task.getProjectId(), write.actorId, ActivityLogService.MOVED,
+                    "status: " + previousStatuses.get(task.getId()) + " -> " + write.status
+                            + "; posição: " + task.getRank() + " (" + write.coalesced + " mudanças adiadas)");
+        }
+        return saved;
+    }
+
+    /**
+     * Chave final de cada tarefa, com as colunas já travadas: a pedida, se ainda fica entre as vizinhas atuais
+     * (ou depois da última da coluna, quando foi para o fim); senão uma nova entre elas. Vizinha que saiu da
+     * coluna ou vizinhas fora de ordem mandam a tarefa para o fim.
+     */
+    private Map<Long, String> resolveRanks(Map<Long, PendingWrite> byTask, List<Task> tasks) {
+        Set<Long> neighborIds = new HashSet<>();
+        for (Task task : tasks) {
+            PendingWrite write = byTask.get(task.getId());
+            if (write.previousTaskId != null) {
+                neighborIds.add(write.previousTaskId);
+            }
+            if (write.nextTaskId != null) {
+                neighborIds.add(write.nextTaskId);
+            }
+        }
+        Map<Long, TaskRankView> neighbors = new HashMap<>();
+        if (!neighborIds.isEmpty()) {
+            for (TaskRankView view : taskRepository.findRanks(neighborIds)) {
+                neighbors.put(view.getId(), view);
+            }
+        }
+        Map<Long, String> ranks = new HashMap<>();
+        Map<String, String> columnMax = new HashMap<>();
+        for (Task task : tasks) {
+            PendingWrite write = byTask.get(task.getId());
+            String lower = write.previousTaskId != null ? neighborRank(write, write.previousTaskId, byTask, neighbors, ranks) : null;
+            String upper = write.nextTaskId != null ? neighborRank(write, write.nextTaskId, byTask, neighbors, ranks) : null;
+            String column = write.projectId + ":" + write.status;
+            boolean atEnd = (write.previousTaskId == null && write.nextTaskId == null)
+                    || (write.previousTaskId != null && lower == null) || (write.nextTaskId != null && upper == null)
+                    || (lower != null && upper != null && lower.compareTo(upper) >= 0);
+            if (atEnd) {
+                if (!columnMax.containsKey(column)) {
+                    columnMax.put(column, taskRepository.findMaxRank(write.projectId, write.status));
+                }
+                lower = columnMax.get(column);
+                upper = null;
+            }
+            String rank = write.rank;
+            if ((lower != null && rank.compareTo(lower) <= 0) || (upper != null && rank.compareTo(upper) >= 0)) {
+                rank = RankKeys.between(lower, upper);
+                logger.debug("Posição {} da tarefa {} não vale mais entre {} e {}; gravada como {}", write.rank, write.taskId, lower, upper, rank);
+            }
+            ranks.put(write.taskId, rank);
+            // A próxima que for para o fim desta coluna fica depois desta
+            if (columnMax.containsKey(column) && (columnMax.get(column) == null || rank.compareTo(columnMax.get(column)) > 0)) {
+                columnMax.put(column, rank);
+            }
+        }
+        return ranks;
+    }
+
+    // Posição atual da vizinha na coluna da mudança: a que vai ser gravada neste envio ou a do banco; null se saiu dela
+    private static String neighborRank(PendingWrite write, long neighborId, Map<Long, PendingWrite> byTask,
+                                       Map<Long, TaskRankView> neighbors, Map<Long, String> ranks) {
+        PendingWrite pendingNeighbor = byTask.get(neighborId);
+        if (pendingNeighbor != null) {
+            return pendingNeighbor.projectId == write.projectId && pendingNeighbor.status.equals(write.status)
+                    ? ranks.getOrDefault(neighborId, pendingNeighbor.rank) : null;
+        }
+        TaskRankView view = neighbors.get(neighborId);
+        return view != null && view.getProjectId() == write.projectId && write.status.equals(view.getStatus())
+                ? view.getRank() : null;
+    }
+
+    // Maior posição da coluna: a do banco (columnMax) ou a de uma pendente, menos a da própria tarefa. Sob o
+    // journalLock: um envio tira as tarefas do mapa também sob ele e depois do commit, e quem chama refaz a
+    // consulta se algum terminou depois dela (flushGeneration), então cada uma está no banco lido ou no mapa.
+    private String maxRank(long taskId, long projectId, String status, String columnMax) {
+        String max = columnMax;
+        for (PendingWrite write : pending.values()) {
+            if (write.taskId != taskId && write.projectId == projectId && write.status.equals(status)
+                    && (max == null || write.rank.compareTo(max) > 0)) {
+                max = write.rank;
+            }
+        }
+        return max;
+    }
+
+    // Sob o journalLock: mapa e contagem por usuário mudam juntos
+    private void putPending(PendingWrite write) {
+        PendingWrite previous = pending.put(write.taskId, write);
+        write.coalesced = previous == null ? 1 : previous.coalesced + 1;
+        if (previous != null) {
+            countUser(previous.username, -1);
+        }
+        countUser(write.username, 1);
+    }
+
+    // Só sai do mapa se não foi substituída durante o envio
+    private void removePending(PendingWrite write) {
+        if (pending.remove(write.taskId, write)) {
+            countUser(write.username, -1);
+        }
+    }
+
+    private void countUser(String username, int delta) {
+        pendingByUser.merge(username, delta, (count, change) -> count + change == 0 ? null : count + change);
+    }
+
+    private static boolean isValidStatus(String status) {
+        return "Pendente".equals(status) || "Em Andamento".equals(status) || "Concluída".equals(status);
+    }
+
+    private void appendToJournal(Collection<PendingWrite> writes) throws IOException {
+        StringBuilder lines = new StringBuilder();
+        for (PendingWrite write : writes) {
+            lines.append(write.taskId).append('\t').append(write.projectId).append('\t').append(write.status).append('\t')
+                    .append(write.rank).append('\t').append(write.actorId).append('\t').append(write.username).append('\t')
+                    .append(write.previousTaskId == null ? "" : write.previousTaskId).append('\t')
+                    .append(write.nextTaskId == null ? "" : write.nextTaskId).append('\n');
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+            journal.write(buffer);
+        }
+    }
+
+    // Gravação em grupo: cada mudança espera o fsync que cobre a sua linha, e um fsync cobre todas as linhas
+    // anotadas até ele, então várias mudanças simultâneas pagam um só
+    private void syncJournal(long sequence) throws IOException {
+        if (!fsync || syncedSequence.get() >= sequence) {
+            return;
+        }
+        syncLock.lock();
+        try {
+            if (syncedSequence.get() >= sequence) {
+                return;
+            }
+            FileChannel channel;
+            long covered;
+            journalLock.lock();
+            try {
+                channel = journal;
+                covered = appendedSequence;
+            } finally {
+                journalLock.unlock();
+            }
+            try {
+                channel.force(false);
+            } catch (ClosedChannelException e) {
+                // A compactação trocou o arquivo, e ele já foi gravado em disco com tudo o que estava pendente
+                if (syncedSequence.get() >= sequence) {
+                    return;
+                }
+                throw e;
+            }
+            syncedSequence.accumulateAndGet(covered, Math::max);
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    // Sem pendências o diário é zerado; com pendências, reescrito só com elas quando cresce demais
+    private void compactJournal() {
+        journalLock.lock();
+        try {
+            if (pending.isEmpty()) {
+                journal.truncate(0);
+            } else if (journal.size() > journalCompactBytes) {
+                Path temporary = journalPath.resolveSibling(journalPath.getFileName() + ".tmp");
+                try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                    FileChannel current = journal;
+                    journal = channel;
+                    try {
+                        appendToJournal(pending.values());
+                        channel.force(true);
+                    } finally {
+                        journal = current;
+                    }
+                }
+                journal.close();
+                Files.move(temporary, journalPath, StandardCopyOption.ATOMIC_MOVE);
+                journal = FileChannel.open(journalPath, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+                // Tudo o que foi anotado até aqui está no arquivo novo, já em disco (ou no banco)
+                syncedSequence.accumulateAndGet(appendedSequence, Math::max);
+            }
+        } catch (IOException e) {
+            logger.warn("Não foi possível compactar o diário da gravação adiada: {}", e.getMessage());
+        } finally {
+            journalLock.unlock();
+        }
+    }
+
+    // Linhas na ordem de gravação: a última de cada tarefa vale. Uma linha cortada pela queda é ignorada; as de
+    // versões anteriores, sem as vizinhas (6 campos), valem como mudanças para o fim da coluna.
+    private void replayJournal() throws IOException {
+        if (!Files.exists(journalPath)) {
+            return;
+        }
+        int lines = 0;
+        for (String line : Files.readAllLines(journalPath, StandardCharsets.UTF_8)) {
+            String[] fields = line.split("\t", -1);
+            if (fields.length != 6 && fields.length != 8) {
+                logger.warn("Linha inválida no diário da gravação adiada ignorada: {}", line);
+                continue;
+            }
+            try {
+                Long previousTaskId = fields.length == 8 ? parseId(fields[6]) : null;
+                Long nextTaskId = fields.length == 8 ? parseId(fields[7]) : null;
+                PendingWrite write = new PendingWrite(Long.parseLong(fields[0]), Long.parseLong(fields[1]), fields[2],
+                        previousTaskId, nextTaskId, fields[3], Long.parseLong(fields[4]), fields[5]);
+                putPending(write);
+                lines++;
+            } catch (NumberFormatException e) {
+                logger.warn("Linha inválida no diário da gravação adiada ignorada: {}", line);
+            }
+        }
+        if (lines > 0) {
+            logger.info("Diário da gravação adiada: {} mudanças recuperadas ({} tarefas)", lines, pending.size());
+        }
+    }
+
+    private static Long parseId(String field) {
+        return field.isEmpty() ? null : Long.parseLong(field);
+    }
+
+    private static final class PendingWrite {
+        private final long taskId;
+        private final long projectId;
+        private final String status;
+        // Vizinhas pedidas no movimento (null: fim da coluna), para conferir a chave no envio
+        private final Long previousTaskId;
+        private final Long nextTaskId;
+        private final String rank;
+        private final long actorId;
+        private final String username;
+        private int coalesced;
+
+        private PendingWrite(long taskId, long projectId, String status, Long previousTaskId, Long nextTaskId,
+                             String rank, long actorId, String username) {
+            this.taskId = taskId;
+            this.projectId = projectId;
+            this.status = status;
+            this.previousTaskId = previousTaskId;
+            this.nextTaskId = nextTaskId;
+            this.rank = rank;
+            this.actorId = actorId;
+            this.username = username;
+        }
+    }
+}
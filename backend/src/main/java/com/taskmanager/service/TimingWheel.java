@@ -0,0 +1,174 @@
+package com.taskmanager.service;
+
+import java.util.function.Consumer;
+
+/**
+ * Timing wheel hierárquico com índices absolutos (estilo kernel Linux).
+ * Cada nível tem 64 posições; o nível N cobre 64^(N+1) ticks. Inserção e
+ * cancelamento são O(1) (lista duplamente encadeada por posição) e cada tick
+ * só processa a posição corrente do nível 0, mais as cascatas quando um nível
+ * superior vira. Não é thread-safe: o chamador deve sincronizar o acesso.
+ */
+public class TimingWheel<T> {
+
+    private static final int WHEEL_BITS = 6;
+    private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    // Níveis suficientes para qualquer prazo representável em um long
+    private static final int LEVELS = (Long.SIZE + WHEEL_BITS - 1) / WHEEL_BITS;
+
+    public static final class Timeout<T> {
+        private final long deadline;
+        private final T payload;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+        private Bucket<T> bucket;
+
+        private Timeout(long deadline, T payload) {
+            this.deadline = deadline;
+            this.payload = payload;
+        }
+
+        public long getDeadline() {
+            return deadline;
+        }
+
+        public T getPayload() {
+            return payload;
+        }
+
+        public boolean isPending() {
+            return bucket != null;
+        }
+    }
+
+    private static final class Bucket<T> {
+        private Timeout<T> head;
+        private Timeout<T> tail;
+
+        private void add(Timeout<T> timeout) {
+            timeout.bucket = this;
+            timeout.prev = tail;
+            timeout.next = null;
+            if (tail == null) {
+                head = timeout;
+            } else {
+                tail.next = timeout;
+            }
+            tail = timeout;
+        }
+
+        private void remove(Timeout<T> timeout) {
+            if (timeout.prev == null) {
+                head = timeout.next;
+            } else {
+                timeout.prev.next = timeout.next;
+            }
+            if (timeout.next == null) {
+                tail = timeout.prev;
+            } else {
+                timeout.next.prev = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+
+        private Timeout<T> detachAll() {
+            Timeout<T> first = head;
+            head = null;
+            tail = null;
+            return first;
+        }
+    }
+
+    private final Bucket<T>[][] wheels;
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long startTick) {
+        if (startTick < 0) {
+            throw new IllegalArgumentException("O tick inicial não pode ser negativo: " + startTick);
+        }
+        this.currentTick = startTick;
+        this.wheels = new Bucket[LEVELS][WHEEL_SIZE];
+        for (Bucket<T>[] wheel : wheels) {
+            for (int slot = 0; slot < WHEEL_SIZE; slot++) {
+                wheel[slot] = new Bucket<>();
+            }
+        }
+    }
+
+    // Prazos que já passaram disparam no próximo tick
+    public Timeout<T> schedule(long deadlineTick, T payload) {
+        Timeout<T> timeout = new Timeout<>(Math.max(deadlineTick, currentTick + 1), payload);
+        place(timeout);
+        size++;
+        return timeout;
+    }
+
+    public boolean cancel(Timeout<T> timeout) {
+        if (timeout == null || timeout.bucket == null) {
+            return false;
+        }
+        timeout.bucket.remove(timeout);
+        size--;
+        return true;
+    }
+
+    public void advance(long toTick, Consumer<T> onExpire) {
+        while (currentTick < toTick) {
+            currentTick++;
+
+            // Ao virar um nível superior, redistribui a posição corrente dele nos níveis abaixo
+            int level = 1;
+            while (level < LEVELS && (currentTick & ((1L << (WHEEL_BITS * level)) - 1)) == 0) {
+                level++;
+            }
+            for (int cascade = level - 1; cascade >= 1; cascade--) {
+                Timeout<T> timeout = wheels[cascade][slot(currentTick, cascade)].detachAll();
+                while (timeout != null) {
+                    Timeout<T> next = timeout.next;
+                    timeout.prev = null;
+                    timeout.next = null;
+                    place(timeout);
+                    timeout = next;
+                }
+            }
+
+            Timeout<T> expired = wheels[0][slot(currentTick, 0)].detachAll();
+            while (expired != null) {
+                Timeout<T> next = expired.next;
+                expired.prev = null;
+                expired.next = null;
+                expired.bucket = null;
+                size--;
+                onExpire.accept(expired.payload);
+                expired = next;
+            }
+        }
+    }
+
+    public long currentTick() {
+        return currentTick;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // O nível é o menor em que prazo e tick corrente caem no mesmo bloco do nível acima
+    private void place(Timeout<T> timeout) {
+        long diff = timeout.deadline ^ currentTick;
+        int level = 0;
+        while (level < LEVELS - 1 && (diff >>> (WHEEL_BITS * (level + 1))) != 0) {
+            level++;
+        }
+        wheels[level][slot(timeout.deadline, level)].add(timeout);
+    }
+
+    private static int slot(long tick, int level) {
+        return (int) ((tick >>> (WHEEL_BITS * level)) & WHEEL_MASK);
+    }
+}
@@ -0,0 +1,160 @@
+package com.taskmanager.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.taskmanager.entity.RevokedToken;
+import com.taskmanager.repository.RevokedTokenRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Lista de tokens de acesso revogados, mantida em memória em cada réplica.
+ * Um filtro de Bloom responde "não revogado" para quase todas as requisições sem
+ * tocar no conjunto exato; só os acertos do filtro consultam o mapa. A tabela
+ * revoked_tokens é a fonte de verdade e é lida incrementalmente em segundo plano.
+ *
+ * A leitura incremental não usa o maior id visto: ids são reservados na inserção e uma transação
+ * que confirma depois de outra com id maior ficaria para trás para sempre. Cada ciclo relê as
+ * revogações desde o início do ciclo anterior menos uma margem (app.auth.revocation-sync-overlap-ms),
+ * que cobre a demora entre o revoked_at e o commit e a diferença de relógio entre réplicas.
+ */
+@Service
+public class TokenRevocationList {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationList.class);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final long syncMillis;
+    private final long expectedRevocations;
+    private final Duration syncOverlap;
+
+    // jti -> instante (epoch ms) em que o token expiraria naturalmente
+    private final ConcurrentHashMap<String, Long> revoked = new ConcurrentHashMap<>();
+    private volatile BloomFilter filter;
+    // Início da última sincronização bem-sucedida; null até a carga inicial
+    private volatile LocalDateTime lastSyncStartedAt;
+
+    private ScheduledExecutorService syncExecutor;
+
+    public TokenRevocationList(RevokedTokenRepository revokedTokenRepository,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${app.auth.revocation-sync-ms:5000}") long syncMillis,
+                               @Value("${app.auth.revocation-expected-entries:100000}") long expectedRevocations,
+                               @Value("${app.auth.revocation-sync-overlap-ms:60000}") long syncOverlapMillis) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.syncMillis = syncMillis;
+        this.expectedRevocations = expectedRevocations;
+        this.syncOverlap = Duration.ofMillis(syncOverlapMillis);
+        this.filter = new BloomFilter(expectedRevocations, 0.01);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        sync();
+        syncExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "token-revocation-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        syncExecutor.scheduleWithFixedDelay(this::syncSafely, syncMillis, syncMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (syncExecutor != null) {
+            syncExecutor.shutdownNow();
+        }
+    }
+
+    // Caminho quente do JwtRequestFilter: sem I/O e, no caso comum, sem acessar o mapa
+    public boolean isRevoked(String jti) {
+        if (jti == null || !filter.mightContain(jti)) {
+            return false;
+        }
+        Long expiresAt = revoked.get(jti);
+        return expiresAt != null && expiresAt > System.currentTimeMillis();
+    }
+
+    public void revoke(String jti, LocalDateTime expiresAt) {
+        if (jti == null) {
+            return;
+        }
+        remember(jti, expiresAt);
+        RevokedToken revokedToken = new RevokedToken();
+        revokedToken.setJti(jti);
+        revokedToken.setExpiresAt(expiresAt);
+        revokedToken.setRevokedAt(LocalDateTime.now());
+        try {
+            revokedTokenRepository.save(revokedToken);
+            logger.info("Token de acesso revogado: jti={}", jti);
+        } catch (DataIntegrityViolationException e) {
+            logger.debug("Token {} já estava revogado.", jti);
+        }
+    }
+
+    private void syncSafely() {
+        try {
+            sync();
+        } catch (Exception e) {
+            logger.error("Erro ao sincronizar lista de tokens revogados: {}", e.getMessage(), e);
+        }
+    }
+
+    // Relê as revogações recentes (com sobreposição; as já conhecidas são ignoradas) e descarta as que já expiraram
+    void sync() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        LocalDateTime since = lastSyncStartedAt;
+        List<RevokedToken> entries = since == null
+                ? revokedTokenRepository.findByExpiresAtAfter(startedAt)
+                : revokedTokenRepository.findByRevokedAtAfterAndExpiresAtAfter(since.minus(syncOverlap), startedAt);
+        int added = 0;
+        for (RevokedToken entry : entries) {
+            if (!revoked.containsKey(entry.getJti())) {
+                remember(entry.getJti(), entry.getExpiresAt());
+                added++;
+            }
+        }
+        lastSyncStartedAt = startedAt;
+        if (added > 0) {
+            logger.debug("Lista de revogação sincronizada: {} novas entradas, {} no total", added, revoked.size());
+        }
+        purgeExpired();
+    }
+
+    // Sincronizado com purgeExpired para que nenhuma revogação se perca durante a troca do filtro
+    private synchronized void remember(String jti, LocalDateTime expiresAt) {
+        revoked.put(jti, expiresAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        filter.put(jti);
+    }
+
+    // O filtro de Bloom não remove elementos: ao expirar entradas, um novo filtro é construído e publicado
+    private synchronized void purgeExpired() {
+        long now = System.currentTimeMillis();
+        if (!revoked.values().removeIf(expiresAt -> expiresAt <= now)) {
+            return;
+        }
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedRevocations, revoked.size() * 2L), 0.01);
+        revoked.keySet().forEach(rebuilt::put);
+        filter = rebuilt;
+        transactionTemplate.executeWithoutResult(status -> revokedTokenRepository.deleteExpired(LocalDateTime.now()));
+    }
+}
@@ -0,0 +1,33 @@
+-- Responsáveis por tarefa e caixa de entrada desnormalizada por responsável ("atribuídas a mim").
+-- task_inbox repete os campos exibidos da tarefa: a listagem é uma única varredura de intervalo no
+-- índice do responsável, sem junção com tasks, qualquer que seja o número de donos e projetos.
+-- Sem chave estrangeira para tasks, que pode ser particionada; a aplicação mantém as duas tabelas.
+CREATE TABLE IF NOT EXISTS task_assignees (
+    task_id     BIGINT NOT NULL,
+    user_id     BIGINT NOT NULL REFERENCES users (id),
+    assigned_by BIGINT NOT NULL,
+    assigned_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (task_id, user_id)
+);
+
+CREATE TABLE IF NOT EXISTS task_inbox (
+    user_id     BIGINT NOT NULL,
+    task_id     BIGINT NOT NULL,
+    project_id  BIGINT NOT NULL,
+    owner_id    BIGINT NOT NULL,
+    title       VARCHAR(255) NOT NULL,
+    status      VARCHAR(255) NOT NULL,
+    due_date    TIMESTAMP(6),
+    archived    BOOLEAN NOT NULL,
+    assigned_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (user_id, task_id)
+);
+
+-- Caixa de entrada ordenada por prazo (sem prazo por último), com e sem filtro de status
+CREATE INDEX IF NOT EXISTS idx_task_inbox_user_due
+    ON task_inbox (user_id, archived, due_date NULLS LAST, task_id);
+CREATE INDEX IF NOT EXISTS idx_task_inbox_user_status_due
+    ON task_inbox (user_id, archived, status, due_date NULLS LAST, task_id);
+-- Atualização das cópias quando a tarefa muda e remoção ao sair do projeto
+CREATE INDEX IF NOT EXISTS idx_task_inbox_task ON task_inbox (task_id);
+CREATE INDEX IF NOT EXISTS idx_task_inbox_user_project ON task_inbox (user_id, project_id);
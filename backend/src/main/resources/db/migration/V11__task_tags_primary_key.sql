@@ -0,0 +1,19 @@
+-- task_tags passa a ter semântica de conjunto (entidade TaskTag): chave primária (task_id, tag_id).
+-- Inclusões usam INSERT ... ON CONFLICT DO NOTHING, que depende dessa chave. Duplicatas antigas
+-- (a coleção era uma "bag" do Hibernate) são removidas antes.
+DELETE FROM task_tags a
+USING task_tags b
+WHERE a.task_id = b.task_id AND a.tag_id = b.tag_id AND a.ctid > b.ctid;
+
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conrelid = 'task_tags'::regclass AND contype = 'p') THEN
+        ALTER TABLE task_tags ADD CONSTRAINT task_tags_pkey PRIMARY KEY (task_id, tag_id);
+    END IF;
+END $$;
+
+-- A chave primária já atende às buscas por tarefa
+DROP INDEX IF EXISTS idx_task_tags_task;
+
+-- Filtro por tag e remoção em lote por tag
+CREATE INDEX IF NOT EXISTS idx_task_tags_tag ON task_tags (tag_id, task_id);
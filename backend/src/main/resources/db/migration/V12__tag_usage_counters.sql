@@ -0,0 +1,28 @@
+-- Contadores de uso das tags: total de tarefas por tag e por tag e dono da tarefa (tasks.user_id).
+-- Mantidos pelo TaskTagRepository no mesmo comando que inclui ou remove as associações; rename e
+-- merge recalculam os contadores das tags envolvidas.
+CREATE TABLE IF NOT EXISTS tag_usage (
+    tag_id     BIGINT PRIMARY KEY REFERENCES tags (id) ON DELETE CASCADE,
+    task_count BIGINT NOT NULL DEFAULT 0
+);
+
+CREATE TABLE IF NOT EXISTS tag_user_usage (
+    tag_id     BIGINT NOT NULL REFERENCES tags (id) ON DELETE CASCADE,
+    user_id    BIGINT NOT NULL,
+    task_count BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (tag_id, user_id)
+);
+
+-- Tags de um usuário, das mais usadas para as menos usadas
+CREATE INDEX IF NOT EXISTS idx_tag_user_usage_user ON tag_user_usage (user_id, task_count DESC);
+
+INSERT INTO tag_usage (tag_id, task_count)
+SELECT tag_id, count(*) FROM task_tags GROUP BY tag_id
+ON CONFLICT (tag_id) DO UPDATE SET task_count = EXCLUDED.task_count;
+
+INSERT INTO tag_user_usage (tag_id, user_id, task_count)
+SELECT tt.tag_id, t.user_id, count(*)
+FROM task_tags tt
+JOIN tasks t ON t.id = tt.task_id
+GROUP BY tt.tag_id, t.user_id
+ON CONFLICT (tag_id, user_id) DO UPDATE SET task_count = EXCLUDED.task_count;
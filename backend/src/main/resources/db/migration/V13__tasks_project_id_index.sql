@@ -0,0 +1,2 @@
+-- Listagem de POST /api/query/tasks: tarefas do projeto das mais novas para as mais antigas, paginadas por id
+CREATE INDEX IF NOT EXISTS idx_tasks_project_archived_id ON tasks (project_id, archived, id);
@@ -0,0 +1,2 @@
+-- Sincronização incremental da lista de revogação: lê por revoked_at (com janela de sobreposição)
+CREATE INDEX IF NOT EXISTS idx_revoked_tokens_revoked_at ON revoked_tokens (revoked_at);
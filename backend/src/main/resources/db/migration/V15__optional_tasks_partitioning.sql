@@ -0,0 +1,92 @@
+-- Particionamento opcional de "tasks", escolhido por app.tasks.partitioning (placeholder tasks_partitioning):
+--   none          nada muda (padrão);
+--   project-hash  HASH(project_id) em 16 partições: todas as consultas filtram por project_id e tocam uma só;
+--   archived-list LIST(archived): as tarefas ativas ficam numa partição pequena e quente, separadas do
+--                 histórico; arquivar/desarquivar move a linha entre partições (UPDATE com row movement).
+--
+-- A tabela nova é copiada da atual (colunas, padrões, índices e chaves estrangeiras de saída), então o
+-- particionamento acompanha o esquema até esta versão e as migrations seguintes rodam sobre as duas formas.
+-- Limites:
+--   * o modo vale quando esta migration é aplicada; mudar app.tasks.partitioning depois não converte a tabela;
+--   * a PK passa a ser (id, chave de partição): nenhuma FK pode apontar só para tasks(id). A única existente
+--     (task_tags.task_id, V1) é removida; migrations futuras não devem criar outras;
+--   * CREATE INDEX CONCURRENTLY não é aceito na tabela particionada.
+DO $$
+DECLARE
+    mode          TEXT := '${tasks_partitioning}';
+    partition_key TEXT;
+    indexes       TEXT[];
+    foreign_keys  TEXT[];
+    fk            RECORD;
+    definition    TEXT;
+BEGIN
+    IF mode = 'none' THEN
+        RETURN;
+    END IF;
+    IF mode NOT IN ('project-hash', 'archived-list') THEN
+        RAISE EXCEPTION 'app.tasks.partitioning inválido: % (use none, project-hash ou archived-list)', mode;
+    END IF;
+    IF EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = 'tasks'::regclass) THEN
+        RAISE NOTICE 'tasks já é particionada; nada a fazer';
+        RETURN;
+    END IF;
+
+    -- Índices (menos a PK) e FKs de saída, lidos antes do RENAME para já referenciarem "tasks"
+    SELECT coalesce(array_agg(pg_get_indexdef(indexrelid)), '{}') INTO indexes
+    FROM pg_index
+    WHERE indrelid = 'tasks'::regclass AND NOT indisprimary;
+
+    SELECT coalesce(array_agg(format('ALTER TABLE tasks ADD CONSTRAINT %I %s', conname, pg_get_constraintdef(oid))), '{}')
+    INTO foreign_keys
+    FROM pg_constraint
+    WHERE contype = 'f' AND conrelid = 'tasks'::regclass;
+
+    FOR fk IN
+        SELECT conrelid::regclass AS table_name, conname
+        FROM pg_constraint
+        WHERE contype = 'f' AND confrelid = 'tasks'::regclass
+    LOOP
+        RAISE NOTICE 'Removendo a chave estrangeira %.% (aponta para tasks(id))', fk.table_name, fk.conname;
+        EXECUTE format('ALTER TABLE %s DROP CONSTRAINT %I', fk.table_name, fk.conname);
+    END LOOP;
+
+    ALTER TABLE tasks RENAME TO tasks_unpartitioned;
+
+    -- Colunas IDENTITY só são aceitas em tabelas particionadas a partir do PostgreSQL 17
+    CREATE SEQUENCE tasks_partitioned_id_seq AS BIGINT;
+
+    IF mode = 'project-hash' THEN
+        CREATE TABLE tasks (LIKE tasks_unpartitioned INCLUDING DEFAULTS INCLUDING CONSTRAINTS)
+            PARTITION BY HASH (project_id);
+        FOR i IN 0..15 LOOP
+            EXECUTE format('CREATE TABLE tasks_p%s PARTITION OF tasks FOR VALUES WITH (MODULUS 16, REMAINDER %s)',
+                    lpad(i::text, 2, '0'), i);
+        END LOOP;
+        partition_key := 'project_id';
+    ELSE
+        CREATE TABLE tasks (LIKE tasks_unpartitioned INCLUDING DEFAULTS INCLUDING CONSTRAINTS)
+            PARTITION BY LIST (archived);
+        CREATE TABLE tasks_active PARTITION OF tasks FOR VALUES IN (false);
+        CREATE TABLE tasks_archived PARTITION OF tasks FOR VALUES IN (true);
+        partition_key := 'archived';
+    END IF;
+
+    ALTER TABLE tasks ALTER COLUMN id SET DEFAULT nextval('tasks_partitioned_id_seq');
+
+    INSERT INTO tasks SELECT * FROM tasks_unpartitioned;
+
+    PERFORM setval('tasks_partitioned_id_seq', coalesce((SELECT max(id) FROM tasks), 0) + 1, false);
+    ALTER SEQUENCE tasks_partitioned_id_seq OWNED BY tasks.id;
+
+    DROP TABLE tasks_unpartitioned;
+
+    -- Só depois do DROP: os nomes (tasks_pkey, idx_...) ainda pertenciam à tabela antiga
+    EXECUTE format('ALTER TABLE tasks ADD PRIMARY KEY (id, %I)', partition_key);
+    -- Recriados na tabela particionada: cada partição recebe o seu índice local
+    FOREACH definition IN ARRAY indexes LOOP
+        EXECUTE definition;
+    END LOOP;
+    FOREACH definition IN ARRAY foreign_keys LOOP
+        EXECUTE definition;
+    END LOOP;
+END $$;
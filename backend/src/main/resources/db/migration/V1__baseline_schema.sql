@@ -0,0 +1,31 @@
+-- Esquema inicial, equivalente ao gerado pelo Hibernate (ddl-auto=update).
+-- Bancos já existentes recebem baseline na versão 1 e pulam este script.
+
+CREATE TABLE IF NOT EXISTS users (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username   VARCHAR(255) NOT NULL UNIQUE,
+    password   VARCHAR(255) NOT NULL,
+    email      VARCHAR(255) NOT NULL UNIQUE,
+    created_at TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS tags (
+    id   BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(255) NOT NULL UNIQUE
+);
+
+CREATE TABLE IF NOT EXISTS tasks (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    title       VARCHAR(255) NOT NULL,
+    description VARCHAR(255),
+    status      VARCHAR(255) NOT NULL,
+    due_date    TIMESTAMP(6),
+    created_at  TIMESTAMP(6),
+    archived    BOOLEAN NOT NULL,
+    user_id     BIGINT NOT NULL REFERENCES users (id)
+);
+
+CREATE TABLE IF NOT EXISTS task_tags (
+    task_id BIGINT NOT NULL REFERENCES tasks (id),
+    tag_id  BIGINT NOT NULL REFERENCES tags (id)
+);
@@ -0,0 +1,5 @@
+-- Índice parcial para a reconstrução do agendador de lembretes (ReminderScheduler):
+-- cobre apenas tarefas ativas e não concluídas, que são as que recebem lembretes.
+CREATE INDEX IF NOT EXISTS idx_tasks_pending_due_date
+    ON tasks (due_date)
+    WHERE archived = false AND status <> 'Concluída';
@@ -0,0 +1,6 @@
+-- Baldes do limitador de requisições compartilhado entre réplicas (app.ratelimit.store=jdbc).
+-- tat_micros é o "theoretical arrival time" do GCRA, em microssegundos desde a época (relógio do banco).
+CREATE TABLE IF NOT EXISTS rate_limit_buckets (
+    bucket_key VARCHAR(255) PRIMARY KEY,
+    tat_micros BIGINT NOT NULL
+);
@@ -0,0 +1,12 @@
+-- Respostas gravadas por Idempotency-Key (app.idempotency.store=jdbc), compartilhadas entre réplicas.
+-- status nulo = chave reservada por uma execução em andamento; expires_at é o fim do lease ou do TTL.
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    idempotency_key VARCHAR(512) PRIMARY KEY,
+    fingerprint     VARCHAR(64)  NOT NULL,
+    status          INTEGER,
+    content_type    VARCHAR(255),
+    body            BYTEA,
+    expires_at      TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_idempotency_keys_expires_at ON idempotency_keys (expires_at);
@@ -0,0 +1,8 @@
+-- Quadro Kanban (TaskBoardRepository): as tarefas do usuário já saem agrupadas por status e na
+-- ordenação padrão (createdAt desc), servindo a função de janela e o keyset de "carregar mais".
+CREATE INDEX IF NOT EXISTS idx_tasks_user_status_created
+    ON tasks (user_id, status, created_at DESC NULLS LAST, id DESC);
+
+-- Tags de cada cartão (e o carregamento de Task.tags): task_tags não tinha índice por tarefa.
+-- O particionamento opcional (V15) só recria os índices de tasks; este fica como está.
+CREATE INDEX IF NOT EXISTS idx_task_tags_task ON task_tags (task_id);
@@ -0,0 +1,7 @@
+-- Ordem manual dos cartões dentro de cada coluna do quadro (arrastar e soltar). A chave é uma
+-- string fracionária em base 36 (RankKeys): mover um cartão grava só a linha dele. O nome não é
+-- "rank" porque RANK é palavra reservada no SQL. COLLATE "C" garante a comparação byte a byte,
+-- a mesma usada pelo RankKeys; linhas antigas ficam nulas até o RankRebalancer preenchê-las.
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS board_rank VARCHAR(255) COLLATE "C";
+
+CREATE INDEX IF NOT EXISTS idx_tasks_user_status_rank ON tasks (user_id, status, board_rank);
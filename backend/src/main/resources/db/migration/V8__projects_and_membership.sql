@@ -0,0 +1,55 @@
+-- Projetos compartilhados (quadros) e participação. Cada usuário recebe um projeto pessoal, e as
+-- tarefas existentes passam para o projeto pessoal de quem as criou.
+CREATE TABLE IF NOT EXISTS projects (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name       VARCHAR(255) NOT NULL,
+    owner_id   BIGINT NOT NULL REFERENCES users (id),
+    personal   BOOLEAN NOT NULL,
+    created_at TIMESTAMP(6)
+);
+
+-- No máximo um projeto pessoal por usuário
+CREATE UNIQUE INDEX IF NOT EXISTS idx_projects_personal_owner ON projects (owner_id) WHERE personal;
+
+CREATE TABLE IF NOT EXISTS project_users (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    project_id BIGINT NOT NULL REFERENCES projects (id),
+    user_id    BIGINT NOT NULL REFERENCES users (id),
+    role       VARCHAR(16) NOT NULL,
+    joined_at  TIMESTAMP(6),
+    UNIQUE (project_id, user_id)
+);
+
+-- Carga do conjunto de projetos de um usuário (ProjectMembershipService)
+CREATE INDEX IF NOT EXISTS idx_project_users_user ON project_users (user_id);
+
+INSERT INTO projects (name, owner_id, personal, created_at)
+SELECT u.username, u.id, true, now()
+FROM users u
+WHERE NOT EXISTS (SELECT 1 FROM projects p WHERE p.owner_id = u.id AND p.personal);
+
+INSERT INTO project_users (project_id, user_id, role, joined_at)
+SELECT p.id, p.owner_id, 'OWNER', p.created_at
+FROM projects p
+WHERE p.personal
+  AND NOT EXISTS (SELECT 1 FROM project_users pu WHERE pu.project_id = p.id AND pu.user_id = p.owner_id);
+
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS project_id BIGINT REFERENCES projects (id);
+
+UPDATE tasks t
+SET project_id = p.id
+FROM projects p
+WHERE p.owner_id = t.user_id AND p.personal AND t.project_id IS NULL;
+
+ALTER TABLE tasks ALTER COLUMN project_id SET NOT NULL;
+
+-- As listagens, o quadro e a ordem manual passam a filtrar por project_id: os índices do quadro
+-- (V6 e V7) são recriados com project_id no lugar de user_id.
+CREATE INDEX IF NOT EXISTS idx_tasks_project_archived_created ON tasks (project_id, archived, created_at);
+CREATE INDEX IF NOT EXISTS idx_tasks_project_archived_due ON tasks (project_id, archived, due_date);
+CREATE INDEX IF NOT EXISTS idx_tasks_project_status_created
+    ON tasks (project_id, status, created_at DESC NULLS LAST, id DESC);
+CREATE INDEX IF NOT EXISTS idx_tasks_project_status_rank ON tasks (project_id, status, board_rank);
+
+DROP INDEX IF EXISTS idx_tasks_user_status_created;
+DROP INDEX IF EXISTS idx_tasks_user_status_rank;
@@ -0,0 +1,51 @@
+-- Comentários e histórico de alterações das tarefas, somente inclusão. Sem chave estrangeira para
+-- tasks: o histórico sobrevive à exclusão da tarefa (auditoria) e a tabela tasks pode ser particionada.
+CREATE TABLE IF NOT EXISTS task_comments (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    task_id    BIGINT NOT NULL,
+    author_id  BIGINT NOT NULL REFERENCES users (id),
+    body       TEXT NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS task_activity (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    task_id    BIGINT NOT NULL,
+    project_id BIGINT NOT NULL,
+    actor_id   BIGINT NOT NULL,
+    action     VARCHAR(32) NOT NULL,
+    details    TEXT,
+    created_at TIMESTAMP(6) NOT NULL
+);
+
+-- Paginação por keyset (task_id, created_at, id), do mais recente para o mais antigo
+CREATE INDEX IF NOT EXISTS idx_task_comments_task_created ON task_comments (task_id, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_task_activity_task_created ON task_activity (task_id, created_at DESC, id DESC);
+-- Compactação: eventos mais antigos que a retenção
+CREATE INDEX IF NOT EXISTS idx_task_activity_created ON task_activity (created_at);
+
+-- Resumo diário dos eventos compactados: uma linha por tarefa, dia e ação
+CREATE TABLE IF NOT EXISTS task_activity_daily (
+    task_id  BIGINT NOT NULL,
+    day      DATE NOT NULL,
+    action   VARCHAR(32) NOT NULL,
+    events   BIGINT NOT NULL,
+    first_at TIMESTAMP(6) NOT NULL,
+    last_at  TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (task_id, day, action)
+);
+
+-- Somente inclusão: linhas gravadas não podem ser alteradas (a compactação só remove eventos já resumidos)
+CREATE OR REPLACE FUNCTION reject_history_update() RETURNS trigger AS $$
+BEGIN
+    RAISE EXCEPTION '% é somente inclusão', TG_TABLE_NAME;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS task_comments_append_only ON task_comments;
+CREATE TRIGGER task_comments_append_only BEFORE UPDATE OR DELETE ON task_comments
+    FOR EACH ROW EXECUTE FUNCTION reject_history_update();
+
+DROP TRIGGER IF EXISTS task_activity_append_only ON task_activity;
+CREATE TRIGGER task_activity_append_only BEFORE UPDATE ON task_activity
+    FOR EACH ROW EXECUTE FUNCTION reject_history_update();
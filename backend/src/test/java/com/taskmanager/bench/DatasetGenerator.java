@@ -0,0 +1,333 @@
+package com.taskmanager.bench;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+// Carrega no PostgreSQL local um volume configurável de usuários, projetos, tarefas, tags e task_tags
+// via COPY, com distribuição parecida com a de produção: poucos usuários concentram boa parte das
+// tarefas, o uso das tags segue uma Zipf e os prazos se espalham entre o passado e os próximos meses.
+// O esquema precisa existir (suba a aplicação uma vez para o Flyway). Todos os usuários gerados têm a
+// senha "password123" e nomes "<prefixo>-<n>", os mesmos que o LoadTest usa.
+// Uso: mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.taskmanager.bench.DatasetGenerator
+//      -Ddataset.users=10000 -Ddataset.tasks=1000000 -Ddataset.tags=500 (demais opções em Options)
+public class DatasetGenerator {
+
+    static final String PASSWORD = "password123";
+    static final String[] STATUSES = {"Pendente", "Em Andamento", "Concluída"};
+
+    private static final int COPY_BUFFER_BYTES = 1 << 20;
+
+    public static void main(String[] args) throws Exception {
+        Options options = new Options();
+        System.out.printf("Gerando %d usuários, %d tarefas e %d tags em %s (prefixo \"%s\", semente %d)%n",
+                options.users, options.tasks, options.tags, options.url, options.prefix, options.seed);
+        long startedAt = System.nanoTime();
+        try (Connection connection = DriverManager.getConnection(options.url, options.username, options.password)) {
+            connection.setAutoCommit(false);
+            try {
+                new DatasetGenerator(connection, options).generate();
+                connection.commit();
+            } catch (Exception e) {
+                connection.rollback();
+                throw e;
+            }
+            // Estatísticas do planejador atualizadas antes de medir
+            connection.setAutoCommit(true);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("ANALYZE users, projects, project_users, tasks, tags, task_tags, tag_usage, tag_user_usage");
+            }
+        }
+        System.out.printf("Concluído em %.1f s%n", (System.nanoTime() - startedAt) / 1e9);
+    }
+
+    private final Connection connection;
+    private final Options options;
+    private final CopyManager copyManager;
+    private final SplittableRandom random;
+    private final LocalDateTime now = LocalDateTime.now().withNano(0);
+
+    private DatasetGenerator(Connection connection, Options options) throws SQLException {
+        this.connection = connection;
+        this.options = options;
+        this.copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+        this.random = new SplittableRandom(options.seed);
+    }
+
+    private void generate() throws Exception {
+        long userBase = maxId("users");
+        long projectBase = maxId("projects");
+        long memberBase = maxId("project_users");
+        long tagBase = maxId("tags");
+        long taskBase = maxId("tasks");
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT count(*) FROM users WHERE username LIKE '" + options.prefix + "-%'")) {
+            rs.next();
+            if (rs.getLong(1) > 0) {
+                throw new IllegalStateException("Já existem usuários com o prefixo \"" + options.prefix + "\"; use -Ddataset.prefix=outro");
+            }
+        }
+
+        // Usuários: o hash é calculado uma vez (mesmo custo padrão da aplicação)
+        String hash = new BCryptPasswordEncoder(options.bcryptStrength).encode(PASSWORD);
+        long rows = copy("COPY users (id, username, password, email, created_at) FROM STDIN (FORMAT csv)", out -> {
+            for (int i = 0; i < options.users; i++) {
+                String username = options.prefix + "-" + i;
+                row(out, userBase + 1 + i, username, hash, username + "@example.com", timestamp(now.minusDays(random.nextInt(730))));
+            }
+        });
+        report("users", rows);
+
+        // Projetos: um pessoal por usuário (id = projectBase + 1 + i) e alguns compartilhados
+        long[][] sharedMembers = new long[options.sharedProjects][];
+        for (int p = 0; p < options.sharedProjects; p++) {
+            int size = 2 + random.nextInt(options.maxProjectMembers - 1);
+            long[] members = random.ints(0, options.users).distinct().limit(Math.min(size, options.users))
+                    .mapToLong(i -> userBase + 1 + i).toArray();
+            sharedMembers[p] = members;
+        }
+        rows = copy("COPY projects (id, name, owner_id, personal, created_at) FROM STDIN (FORMAT csv)", out -> {
+            for (int i = 0; i < options.users; i++) {
+                row(out, projectBase + 1 + i, options.prefix + "-" + i, userBase + 1 + i, true, timestamp(now));
+            }
+            for (int p = 0; p < options.sharedProjects; p++) {
+                row(out, projectBase + options.users + 1 + p, options.prefix + "-time-" + p, sharedMembers[p][0], false, timestamp(now));
+            }
+        });
+        report("projects", rows);
+        rows = copy("COPY project_users (id, project_id, user_id, role, joined_at) FROM STDIN (FORMAT csv)", out -> {
+            long id = memberBase;
+            for (int i = 0; i < options.users; i++) {
+                row(out, ++id, projectBase + 1 + i, userBase + 1 + i, "OWNER", timestamp(now));
+            }
+            for (int p = 0; p < options.sharedProjects; p++) {
+                for (int m = 0; m < sharedMembers[p].length; m++) {
+                    row(out, ++id, projectBase + options.users + 1 + p, sharedMembers[p][m], m == 0 ? "OWNER" : "MEMBER", timestamp(now));
+                }
+            }
+        });
+        report("project_users", rows);
+
+        rows = copy("COPY tags (id, name) FROM STDIN (FORMAT csv)", out -> {
+            for (int t = 0; t < options.tags; t++) {
+                row(out, tagBase + 1 + t, tagName(options.prefix, t));
+            }
+        });
+        report("tags", rows);
+
+        int heavyUsers = Math.max(1, (int) Math.round(options.users * options.heavyUserFraction));
+        rows = copy("COPY tasks (id, title, description, status, due_date, created_at, archived, user_id, project_id) FROM STDIN (FORMAT csv)", out -> {
+            for (long n = 0; n < options.tasks; n++) {
+                long taskId = taskBase + 1 + n;
+                long userId;
+                long projectId;
+                if (options.sharedProjects > 0 && random.nextDouble() < options.sharedTaskShare) {
+                    int p = random.nextInt(options.sharedProjects);
+                    userId = sharedMembers[p][random.nextInt(sharedMembers[p].length)];
+                    projectId = projectBase + options.users + 1 + p;
+                } else {
+                    // Poucos usuários "pesados" concentram options.heavyTaskShare das tarefas pessoais
+                    int user = random.nextDouble() < options.heavyTaskShare || heavyUsers == options.users
+                            ? random.nextInt(heavyUsers)
+                            : heavyUsers + random.nextInt(options.users - heavyUsers);
+                    userId = userBase + 1 + user;
+                    projectId = projectBase + 1 + user;
+                }
+                double statusRoll = random.nextDouble();
+                String status = statusRoll < 0.4 ? STATUSES[0] : statusRoll < 0.6 ? STATUSES[1] : STATUSES[2];
+                // Prazos: um quarto sem prazo, o resto entre 90 dias atrás e 180 dias à frente
+                String dueDate = random.nextDouble() < 0.25 ? null
+                        : timestamp(now.minusDays(90).plusMinutes(random.nextLong(270L * 24 * 60)));
+                String createdAt = timestamp(now.minusMinutes(random.nextLong(365L * 24 * 60)));
+                row(out, taskId, "Tarefa " + taskId, "Descrição gerada " + n, status, dueDate, createdAt,
+                        random.nextDouble() < options.archivedShare, userId, projectId);
+            }
+        });
+        report("tasks", rows);
+
+        // Cada tarefa recebe de 0 a maxTagsPerTask tags distintas, sorteadas pela Zipf
+        ZipfSampler tagSampler = new ZipfSampler(options.tags, options.tagSkew);
+        rows = copy("COPY task_tags (task_id, tag_id) FROM STDIN (FORMAT csv)", out -> {
+            int[] taskTags = new int[options.maxTagsPerTask];
+            for (long n = 0; n < options.tasks; n++) {
+                int count = 0;
+                for (int attempt = 0; attempt < options.maxTagsPerTask && random.nextDouble() < options.tagProbability; attempt++) {
+                    int tag = tagSampler.sample(random);
+                    if (!contains(taskTags, count, tag)) {
+                        taskTags[count++] = tag;
+                    }
+                }
+                for (int i = 0; i < count; i++) {
+                    row(out, taskBase + 1 + n, tagBase + 1 + taskTags[i]);
+                }
+            }
+        });
+        report("task_tags", rows);
+
+        try (Statement statement = connection.createStatement()) {
+            for (String table : List.of("users", "projects", "project_users", "tags", "tasks")) {
+                statement.execute("SELECT setval(pg_get_serial_sequence('" + table + "', 'id'), (SELECT max(id) FROM " + table + "))");
+            }
+            // Contadores de uso das tags geradas (mesma consulta do V12)
+            statement.execute("""
+                    INSERT INTO tag_usage (tag_id, task_count)
+                    SELECT tag_id, count(*) FROM task_tags WHERE tag_id > %1$d GROUP BY tag_id
+                    ON CONFLICT (tag_id) DO UPDATE SET task_count = EXCLUDED.task_count
+                    """.formatted(tagBase));
+            statement.execute("""
+                    INSERT INTO tag_user_usage (tag_id, user_id, task_count)
+                    SELECT tt.tag_id, t.user_id, count(*)
+                    FROM task_tags tt JOIN tasks t ON t.id = tt.task_id
+                    WHERE tt.tag_id > %1$d
+                    GROUP BY tt.tag_id, t.user_id
+                    ON CONFLICT (tag_id, user_id) DO UPDATE SET task_count = EXCLUDED.task_count
+                    """.formatted(tagBase));
+        }
+    }
+
+    private long copy(String sql, CopyWriter writer) throws Exception {
+        CopyIn copyIn = copyManager.copyIn(sql);
+        try {
+            StringBuilder out = new StringBuilder(COPY_BUFFER_BYTES + 4096);
+            writer.write(new CopyBuffer(copyIn, out));
+            if (out.length() > 0) {
+                byte[] bytes = out.toString().getBytes(StandardCharsets.UTF_8);
+                copyIn.writeToCopy(bytes, 0, bytes.length);
+            }
+            return copyIn.endCopy();
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+
+    private long maxId(String table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT COALESCE(max(id), 0) FROM " + table)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private static void row(CopyBuffer out, Object... values) throws SQLException {
+        StringBuilder line = out.line;
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                line.append(',');
+            }
+            Object value = values[i];
+            if (value instanceof String text) {
+                line.append('"').append(text.replace("\"", "\"\"")).append('"');
+            } else if (value != null) {
+                line.append(value);
+            }
+        }
+        line.append('\n');
+        out.flushIfFull();
+    }
+
+    private static String timestamp(LocalDateTime dateTime) {
+        return Timestamp.valueOf(dateTime).toString();
+    }
+
+    private static boolean contains(int[] values, int count, int value) {
+        for (int i = 0; i < count; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void report(String table, long rows) {
+        System.out.printf("  %-14s %,12d linhas%n", table, rows);
+    }
+
+    static String tagName(String prefix, int rank) {
+        return prefix + "-tag-" + rank;
+    }
+
+    @FunctionalInterface
+    private interface CopyWriter {
+        void write(CopyBuffer out) throws Exception;
+    }
+
+    private static final class CopyBuffer {
+        private final CopyIn copyIn;
+        private final StringBuilder line;
+
+        private CopyBuffer(CopyIn copyIn, StringBuilder line) {
+            this.copyIn = copyIn;
+            this.line = line;
+        }
+
+        private void flushIfFull() throws SQLException {
+            if (line.length() >= COPY_BUFFER_BYTES) {
+                byte[] bytes = line.toString().getBytes(StandardCharsets.UTF_8);
+                copyIn.writeToCopy(bytes, 0, bytes.length);
+                line.setLength(0);
+            }
+        }
+    }
+
+    /**
+     * Sorteia postos 0..n-1 com probabilidade proporcional a 1/(posto+1)^s (Zipf): com s perto de 1,
+     * as primeiras tags aparecem em boa parte das tarefas e a maioria quase não é usada.
+     */
+    static final class ZipfSampler {
+        private final double[] cumulative;
+
+        ZipfSampler(int n, double s) {
+            cumulative = new double[n];
+            double sum = 0;
+            for (int i = 0; i < n; i++) {
+                sum += 1.0 / Math.pow(i + 1, s);
+                cumulative[i] = sum;
+            }
+            for (int i = 0; i < n; i++) {
+                cumulative[i] /= sum;
+            }
+        }
+
+        int sample(SplittableRandom random) {
+            int index = Arrays.binarySearch(cumulative, random.nextDouble());
+            return Math.min(index >= 0 ? index : -index - 1, cumulative.length - 1);
+        }
+    }
+
+    // Opções por propriedade de sistema (-Ddataset.<nome>=valor); a conexão usa o mesmo banco do application.properties
+    static final class Options {
+        final String url = System.getProperty("dataset.url", "jdbc:postgresql://localhost:5433/task_manager");
+        final String username = System.getProperty("dataset.db-user", "admin");
+        final String password = System.getProperty("dataset.db-password", "admin");
+        final String prefix = System.getProperty("dataset.prefix", "load");
+        final long seed = Long.getLong("dataset.seed", 42);
+        final int users = Integer.getInteger("dataset.users", 1_000);
+        final int tasks = Integer.getInteger("dataset.tasks", 100_000);
+        final int tags = Integer.getInteger("dataset.tags", 200);
+        final int sharedProjects = Integer.getInteger("dataset.shared-projects", users / 50);
+        final int maxProjectMembers = Integer.getInteger("dataset.max-project-members", 20);
+        final double sharedTaskShare = Double.parseDouble(System.getProperty("dataset.shared-task-share", "0.3"));
+        final double heavyUserFraction = Double.parseDouble(System.getProperty("dataset.heavy-user-fraction", "0.01"));
+        final double heavyTaskShare = Double.parseDouble(System.getProperty("dataset.heavy-task-share", "0.5"));
+        final double tagSkew = Double.parseDouble(System.getProperty("dataset.tag-skew", "1.1"));
+        final double tagProbability = Double.parseDouble(System.getProperty("dataset.tag-probability", "0.55"));
+        final int maxTagsPerTask = Integer.getInteger("dataset.max-tags-per-task", 5);
+        final double archivedShare = Double.parseDouble(System.getProperty("dataset.archived-share", "0.1"));
+        final int bcryptStrength = Integer.getInteger("dataset.bcrypt-strength", 10);
+    }
+}
@@ -0,0 +1,338 @@
+package com.taskmanager.bench;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Repete uma carga mista contra a aplicação local (TaskController, AuthController e TagController)
+// e informa vazão e percentis de latência por operação. Usa os usuários do DatasetGenerator; suba a
+// aplicação com o perfil loadtest (sem log de SQL e com limites por usuário altos).
+// Uso: mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.taskmanager.bench.LoadTest
+//      -Dloadtest.threads=32 -Dloadtest.duration-seconds=60 (mistura em -Dloadtest.mix=board:20,list:15,...)
+public class LoadTest {
+
+    private static final String DEFAULT_MIX = "board:20,list:15,filter-status:10,filter-tag:8,overdue-count:7,assigned:5,"
+            + "create:8,move:6,add-tag:5,delete:3,tag-stats:4,my-tag-stats:3,refresh:2,login:1";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = System.getProperty("loadtest.base-url", "http://localhost:8080");
+        String prefix = System.getProperty("loadtest.prefix", "load");
+        int users = Integer.getInteger("loadtest.users", 200);
+        int threads = Integer.getInteger("loadtest.threads", 32);
+        long durationSeconds = Long.getLong("loadtest.duration-seconds", 60);
+        long warmupSeconds = Long.getLong("loadtest.warmup-seconds", 10);
+        int tags = Integer.getInteger("loadtest.tags", 200);
+        double tagSkew = Double.parseDouble(System.getProperty("loadtest.tag-skew", "1.1"));
+        Mix mix = new Mix(System.getProperty("loadtest.mix", DEFAULT_MIX));
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        DatasetGenerator.ZipfSampler tagSampler = new DatasetGenerator.ZipfSampler(tags, tagSkew);
+
+        System.out.printf("Carga em %s: %d threads, %d usuários, %d s (+%d s de aquecimento)%n",
+                baseUrl, threads, users, durationSeconds, warmupSeconds);
+        long measureFrom = System.nanoTime() + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        long deadline = measureFrom + TimeUnit.SECONDS.toNanos(durationSeconds);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<Recorder>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            String username = prefix + "-" + (i % users);
+            long seed = 1_000 + i;
+            futures.add(executor.submit(() ->
+                    new VirtualUser(client, baseUrl, username, prefix, tagSampler, mix, new SplittableRandom(seed))
+                            .run(measureFrom, deadline)));
+        }
+        Recorder total = new Recorder();
+        for (Future<Recorder> future : futures) {
+            total.merge(future.get());
+        }
+        executor.shutdown();
+        total.print(durationSeconds);
+    }
+
+    // Um usuário virtual por thread: faz login e executa operações sorteadas pela mistura até o prazo
+    private static final class VirtualUser {
+        private final HttpClient client;
+        private final String baseUrl;
+        private final String username;
+        private final String prefix;
+        private final DatasetGenerator.ZipfSampler tagSampler;
+        private final Mix mix;
+        private final SplittableRandom random;
+        private final Recorder recorder = new Recorder();
+        // Tarefas criadas por este usuário virtual, alvo de move/add-tag/delete
+        private final List<Long> createdTasks = new ArrayList<>();
+        private String token;
+        private String refreshToken;
+        private long measureFrom;
+
+        private VirtualUser(HttpClient client, String baseUrl, String username, String prefix,
+                            DatasetGenerator.ZipfSampler tagSampler, Mix mix, SplittableRandom random) {
+            this.client = client;
+            this.baseUrl = baseUrl;
+            this.username = username;
+            this.prefix = prefix;
+            this.tagSampler = tagSampler;
+            this.mix = mix;
+            this.random = random;
+        }
+
+        private Recorder run(long measureFrom, long deadline) throws Exception {
+            this.measureFrom = measureFrom;
+            login();
+            if (token == null) {
+                throw new IllegalStateException("Login falhou para " + username + "; rode o DatasetGenerator antes");
+            }
+            while (System.nanoTime() < deadline) {
+                String operation = mix.next(random);
+                switch (operation) {
+                    case "board" -> get(operation, "/api/tasks/board");
+                    case "list" -> get(operation, "/api/tasks");
+                    case "filter-status" -> get(operation, "/api/tasks/filter?status="
+                            + encode(DatasetGenerator.STATUSES[random.nextInt(DatasetGenerator.STATUSES.length)]));
+                    case "filter-tag" -> get(operation, "/api/tasks/filter-by-tag?tag="
+                            + encode(DatasetGenerator.tagName(prefix, tagSampler.sample(random))));
+                    case "overdue-count" -> get(operation, "/api/tasks/overdue/count");
+                    case "assigned" -> get(operation, "/api/tasks/assigned");
+                    case "tag-stats" -> get(operation, "/api/tags/stats");
+                    case "my-tag-stats" -> get(operation, "/api/tags/stats/me");
+                    case "create" -> create();
+                    case "move" -> {
+                        if (createdTasks.isEmpty()) {
+                            create();
+                        } else {
+                            send(operation, "POST", "/api/tasks/" + pick() + "/move", Map.of(
+                                    "status", DatasetGenerator.STATUSES[random.nextInt(DatasetGenerator.STATUSES.length)]));
+                        }
+                    }
+                    case "add-tag" -> {
+                        if (createdTasks.isEmpty()) {
+                            create();
+                        } else {
+                            send(operation, "POST", "/api/tasks/" + pick() + "/tags",
+                                    Map.of("tagName", DatasetGenerator.tagName(prefix, tagSampler.sample(random))));
+                        }
+                    }
+                    case "delete" -> {
+                        if (createdTasks.isEmpty()) {
+                            create();
+                        } else {
+                            Long id = createdTasks.remove(createdTasks.size() - 1);
+                            send(operation, "DELETE", "/api/tasks/" + id, null);
+                        }
+                    }
+                    case "refresh" -> refresh();
+                    case "login" -> login();
+                    default -> throw new IllegalArgumentException("Operação desconhecida na mistura: " + operation);
+                }
+            }
+            return recorder;
+        }
+
+        private void create() throws Exception {
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("title", "Carga " + username + " " + random.nextInt(1_000_000));
+            body.put("description", "Criada pelo LoadTest");
+            body.put("status", "Pendente");
+            body.put("dueDate", LocalDate.now().plusDays(random.nextInt(60)).toString());
+            HttpResponse<String> response = send("create", "POST", "/api/tasks", body);
+            if (response != null && response.statusCode() == 200) {
+                createdTasks.add(MAPPER.readTree(response.body()).path("id").asLong());
+                // Lista limitada: as mais antigas deixam de ser alvo
+                if (createdTasks.size() > 200) {
+                    createdTasks.remove(0);
+                }
+            }
+        }
+
+        private void login() throws Exception {
+            HttpResponse<String> response = send("login", "POST", "/api/auth/login",
+                    Map.of("username", username, "password", DatasetGenerator.PASSWORD), false);
+            readTokens(response);
+        }
+
+        private void refresh() throws Exception {
+            HttpResponse<String> response = send("refresh", "POST", "/api/auth/refresh", Map.of("refreshToken", refreshToken), false);
+            readTokens(response);
+        }
+
+        private void readTokens(HttpResponse<String> response) throws Exception {
+            if (response != null && response.statusCode() == 200) {
+                JsonNode tokens = MAPPER.readTree(response.body());
+                token = tokens.path("token").asText();
+                refreshToken = tokens.path("refreshToken").asText();
+            }
+        }
+
+        private Long pick() {
+            return createdTasks.get(random.nextInt(createdTasks.size()));
+        }
+
+        private void get(String operation, String path) throws Exception {
+            send(operation, "GET", path, null);
+        }
+
+        private HttpResponse<String> send(String operation, String method, String path, Object body) throws Exception {
+            return send(operation, method, path, body, true);
+        }
+
+        private HttpResponse<String> send(String operation, String method, String path, Object body, boolean authenticated) throws Exception {
+            HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .timeout(Duration.ofSeconds(30))
+                    .header("Accept", "application/json");
+            if (authenticated) {
+                request.header("Authorization", "Bearer " + token);
+            }
+            if (body != null) {
+                request.header("Content-Type", "application/json")
+                        .method(method, HttpRequest.BodyPublishers.ofString(MAPPER.writeValueAsString(body)));
+            } else {
+                request.method(method, HttpRequest.BodyPublishers.noBody());
+            }
+            long startedAt = System.nanoTime();
+            HttpResponse<String> response;
+            try {
+                response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+            } catch (IOException e) {
+                if (startedAt >= measureFrom) {
+                    recorder.record(operation, -1, System.nanoTime() - startedAt);
+                }
+                return null;
+            }
+            if (startedAt >= measureFrom) {
+                recorder.record(operation, response.statusCode(), System.nanoTime() - startedAt);
+            }
+            // Token de acesso expirado durante a carga: renova e segue
+            if (authenticated && response.statusCode() == 401) {
+                login();
+            }
+            return response;
+        }
+
+        private static String encode(String value) {
+            return URLEncoder.encode(value, StandardCharsets.UTF_8);
+        }
+    }
+
+    // Pesos por operação ("nome:peso,..."); o sorteio é proporcional ao peso
+    private static final class Mix {
+        private final String[] operations;
+        private final int[] cumulative;
+
+        private Mix(String spec) {
+            List<String> names = new ArrayList<>();
+            List<Integer> sums = new ArrayList<>();
+            int sum = 0;
+            for (String entry : spec.split(",")) {
+                String[] parts = entry.trim().split(":");
+                sum += Integer.parseInt(parts[1]);
+                names.add(parts[0]);
+                sums.add(sum);
+            }
+            operations = names.toArray(new String[0]);
+            cumulative = sums.stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        private String next(SplittableRandom random) {
+            int roll = random.nextInt(cumulative[cumulative.length - 1]);
+            int index = Arrays.binarySearch(cumulative, roll + 1);
+            return operations[index >= 0 ? index : -index - 1];
+        }
+    }
+
+    // Latências (ns) e códigos de status por operação; cada thread tem o seu e eles são somados no fim
+    private static final class Recorder {
+        private final Map<String, Samples> samples = new LinkedHashMap<>();
+
+        private void record(String operation, int status, long nanos) {
+            samples.computeIfAbsent(operation, name -> new Samples()).add(status, nanos);
+        }
+
+        private void merge(Recorder other) {
+            other.samples.forEach((operation, theirs) -> samples.computeIfAbsent(operation, name -> new Samples()).addAll(theirs));
+        }
+
+        private void print(long durationSeconds) {
+            System.out.printf("%n%-14s %9s %9s %7s %7s %9s %9s %9s %9s %9s%n",
+                    "operação", "total", "req/s", "erros", "429", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "máx ms");
+            Samples all = new Samples();
+            samples.entrySet().stream()
+                    .sorted(Map.Entry.comparingByKey())
+                    .forEach(entry -> {
+                        entry.getValue().print(entry.getKey(), durationSeconds);
+                        all.addAll(entry.getValue());
+                    });
+            all.print("TOTAL", durationSeconds);
+        }
+    }
+
+    private static final class Samples {
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+        private long throttled;
+
+        private void add(int status, long nanos) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+            if (status == 429) {
+                throttled++;
+            } else if (status < 200 || status >= 300) {
+                errors++;
+            }
+        }
+
+        private void addAll(Samples other) {
+            if (count + other.count > latencies.length) {
+                latencies = Arrays.copyOf(latencies, Math.max(latencies.length * 2, count + other.count));
+            }
+            System.arraycopy(other.latencies, 0, latencies, count, other.count);
+            count += other.count;
+            errors += other.errors;
+            throttled += other.throttled;
+        }
+
+        private void print(String name, long durationSeconds) {
+            if (count == 0) {
+                return;
+            }
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            System.out.printf("%-14s %9d %9.1f %7d %7d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    name, count, (double) count / durationSeconds, errors, throttled,
+                    percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99),
+                    percentile(sorted, 0.999), sorted[count - 1] / 1e6);
+        }
+
+        private static double percentile(long[] sorted, double quantile) {
+            int index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1e6;
+        }
+    }
+}
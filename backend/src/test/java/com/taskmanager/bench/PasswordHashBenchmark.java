@@ -0,0 +1,59 @@
+package com.taskmanager.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+// Mede logins por segundo por núcleo (custo dominado por BCrypt.matches) para cada custo de bcrypt.
+// Uso: mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.taskmanager.bench.PasswordHashBenchmark
+//      (argumentos opcionais: custos separados por vírgula e duração de cada rodada em segundos)
+public class PasswordHashBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        String[] strengths = (args.length > 0 ? args[0] : "8,10,12").split(",");
+        long seconds = args.length > 1 ? Long.parseLong(args[1]) : 10;
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        System.out.printf("Núcleos: %d, duração por rodada: %d s%n", cores, seconds);
+        System.out.printf("%-6s %-8s %-14s %-14s%n", "custo", "threads", "logins/s", "logins/s/núcleo");
+
+        for (String strength : strengths) {
+            BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(Integer.parseInt(strength.trim()));
+            String hash = encoder.encode("password123");
+            for (int threads : new int[] {1, cores}) {
+                double perSecond = run(encoder, hash, threads, seconds);
+                System.out.printf("%-6s %-8d %-14.1f %-14.1f%n", strength.trim(), threads, perSecond, perSecond / Math.min(threads, cores));
+            }
+        }
+    }
+
+    private static double run(BCryptPasswordEncoder encoder, String hash, int threads, long seconds) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        AtomicLong logins = new AtomicLong();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        List<Future<?>> workers = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int i = 0; i < threads; i++) {
+            workers.add(executor.submit(() -> {
+                while (System.nanoTime() < deadline) {
+                    if (!encoder.matches("password123", hash)) {
+                        throw new IllegalStateException("Hash não confere");
+                    }
+                    logins.incrementAndGet();
+                }
+            }));
+        }
+        for (Future<?> worker : workers) {
+            worker.get();
+        }
+        double elapsed = (System.nanoTime() - start) / 1e9;
+        executor.shutdown();
+        return logins.get() / elapsed;
+    }
+}
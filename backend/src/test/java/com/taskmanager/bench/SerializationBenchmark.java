@@ -0,0 +1,94 @@
+package com.taskmanager.bench;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanager.config.JacksonConfig;
+import com.taskmanager.entity.Tag;
+import com.taskmanager.entity.Task;
+import com.taskmanager.entity.User;
+
+// Compara CPU de serialização e bytes trafegados de uma lista de tarefas em JSON, Smile e CBOR,
+// com e sem gzip (o mesmo que o Tomcat aplica acima de server.compression.min-response-size).
+// Argumentos opcionais: número de tarefas (padrão 10000) e iterações medidas (padrão 50).
+public class SerializationBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int taskCount = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+        List<Task> tasks = sampleTasks(taskCount);
+
+        String[] formats = {"json", "smile", "cbor"};
+        ObjectMapper[] mappers = {
+                JacksonConfig.mapperBuilder().build(),
+                JacksonConfig.mapperBuilder().smile().build(),
+                JacksonConfig.mapperBuilder().cbor().build()
+        };
+
+        System.out.printf("%d tarefas, %d iterações%n", taskCount, iterations);
+        System.out.printf("%-6s %-12s %-12s %-14s %-14s%n", "formato", "bytes", "gzip bytes", "serializar ms", "gzip ms");
+        for (int f = 0; f < formats.length; f++) {
+            ObjectMapper mapper = mappers[f];
+            // Aquecimento do JIT
+            for (int i = 0; i < 10; i++) {
+                gzip(mapper.writeValueAsBytes(tasks));
+            }
+            long serializeNanos = 0;
+            long gzipNanos = 0;
+            byte[] payload = null;
+            byte[] compressed = null;
+            for (int i = 0; i < iterations; i++) {
+                long start = System.nanoTime();
+                payload = mapper.writeValueAsBytes(tasks);
+                long serialized = System.nanoTime();
+                compressed = gzip(payload);
+                serializeNanos += serialized - start;
+                gzipNanos += System.nanoTime() - serialized;
+            }
+            System.out.printf("%-6s %-12d %-12d %-14.2f %-14.2f%n", formats[f], payload.length, compressed.length,
+                    serializeNanos / 1e6 / iterations, gzipNanos / 1e6 / iterations);
+        }
+    }
+
+    private static byte[] gzip(byte[] payload) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(payload.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(payload);
+        }
+        return out.toByteArray();
+    }
+
+    private static List<Task> sampleTasks(int count) {
+        User user = new User();
+        user.setId(1L);
+        user.setUsername("usuario");
+        user.setEmail("usuario@example.com");
+        List<Tag> tags = new ArrayList<>();
+        for (long i = 1; i <= 20; i++) {
+            Tag tag = new Tag();
+            tag.setId(i);
+            tag.setName("tag-" + i);
+            tags.add(tag);
+        }
+        List<Task> tasks = new ArrayList<>(count);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < count; i++) {
+            Task task = new Task();
+            task.setId((long) i);
+            task.setTitle("Tarefa " + i);
+            task.setDescription("Descrição da tarefa " + i);
+            task.setStatus(i % 3 == 0 ? "Pendente" : i % 3 == 1 ? "Em Andamento" : "Concluída");
+            task.setCreatedAt(now.minusHours(i));
+            task.setDueDate(now.plusDays(i % 60));
+            task.setUser(user);
+            task.setTags(new LinkedHashSet<>(tags.subList(i % 17, i % 17 + 3)));
+            tasks.add(task);
+        }
+        return tasks;
+    }
+}
@@ -0,0 +1,180 @@
+package com.taskmanager.bench;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Mede, para cada modo de partida, o tempo até o readiness, até a primeira requisição autenticada e até a vazão
+// de pico (primeiro segundo cuja média móvel de 3 s chega a 95% da maior observada). Sobe a aplicação como
+// processo filho; gere antes os artefatos do modo (mvn package, -Paot, -Pcds, -Pnative native:compile) e a base
+// com o DatasetGenerator (usuário "<prefixo>-0", perfil loadtest para não esbarrar no limite por usuário).
+// Uso: mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.taskmanager.bench.StartupBenchmark
+//      -Dstartup.modes=jvm,aot,cds,native -Dstartup.threads=16 -Dstartup.duration-seconds=60
+public class StartupBenchmark {
+
+    private static final String JAR = "target/task-manager-backend-0.0.1-SNAPSHOT.jar";
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    public static void main(String[] args) throws Exception {
+        String[] modes = System.getProperty("startup.modes", "jvm,aot,cds").split(",");
+        String profiles = System.getProperty("startup.profiles", "loadtest,fast-startup");
+        String username = System.getProperty("startup.username", "load-0");
+        String path = System.getProperty("startup.path", "/api/tasks/board");
+        int threads = Integer.getInteger("startup.threads", 16);
+        int durationSeconds = Integer.getInteger("startup.duration-seconds", 60);
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        List<String> results = new ArrayList<>();
+        for (String mode : modes) {
+            List<String> command = new ArrayList<>(command(mode.trim()));
+            command.add("--spring.profiles.active=" + profiles);
+            // O aquecimento usa outro usuário para não misturar com a medição
+            command.add("--app.warmup.username=" + System.getProperty("startup.warmup-username", "load-1"));
+            System.out.println("Modo " + mode + ": " + String.join(" ", command));
+
+            long startedAt = System.nanoTime();
+            Process process = new ProcessBuilder(command)
+                    .redirectErrorStream(true)
+                    .redirectOutput(new File("target/startup-" + mode.trim() + ".log"))
+                    .start();
+            try {
+                long readyAt = waitFor(client, "http://localhost:8081/actuator/health/readiness", null, startedAt);
+                String token = login(client, username);
+                long firstRequestAt = waitFor(client, "http://localhost:8080" + path, token, startedAt);
+                int[] perSecond = measure(client, "http://localhost:8080" + path, token, threads, durationSeconds);
+                long measureStartMillis = TimeUnit.NANOSECONDS.toMillis(firstRequestAt - startedAt);
+                results.add(String.format("%-8s readiness %6d ms  primeira requisição %6d ms  pico %8.1f req/s em %6d ms",
+                        mode, TimeUnit.NANOSECONDS.toMillis(readyAt - startedAt), measureStartMillis,
+                        peak(perSecond), measureStartMillis + secondsToPeak(perSecond) * 1000L));
+            } finally {
+                process.destroy();
+                if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            }
+        }
+        System.out.println();
+        results.forEach(System.out::println);
+    }
+
+    private static List<String> command(String mode) {
+        return switch (mode) {
+            case "jvm" -> List.of("java", "-jar", JAR);
+            case "aot" -> List.of("java", "-Dspring.aot.enabled=true", "-jar", JAR);
+            case "cds" -> List.of("java", "-XX:SharedArchiveFile=target/cds/application.jsa", "-Dspring.aot.enabled=true",
+                    "-jar", "target/cds/task-manager-backend-0.0.1-SNAPSHOT.jar");
+            case "native" -> List.of("target/task-manager-backend");
+            default -> throw new IllegalArgumentException("Modo desconhecido: " + mode);
+        };
+    }
+
+    // Espera a primeira resposta 200; devolve o instante (nanoTime) em que ela chegou
+    private static long waitFor(HttpClient client, String url, String token, long startedAt) throws Exception {
+        long deadline = startedAt + TimeUnit.MINUTES.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            try {
+                if (client.send(get(url, token), HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return System.nanoTime();
+                }
+            } catch (IOException e) {
+                // Ainda subindo
+            }
+            Thread.sleep(10);
+        }
+        throw new IllegalStateException("Sem resposta 200 de " + url + " em 5 minutos");
+    }
+
+    private static String login(HttpClient client, String username) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:8080/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(MAPPER.writeValueAsString(
+                        Map.of("username", username, "password", DatasetGenerator.PASSWORD))))
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login de " + username + " falhou: " + response.statusCode());
+        }
+        return MAPPER.readTree(response.body()).path("token").asText();
+    }
+
+    // Requisições concluídas com sucesso em cada segundo da medição
+    private static int[] measure(HttpClient client, String url, String token, int threads, int durationSeconds)
+            throws InterruptedException {
+        AtomicIntegerArray completed = new AtomicIntegerArray(durationSeconds);
+        long startedAt = System.nanoTime();
+        long deadline = startedAt + TimeUnit.SECONDS.toNanos(durationSeconds);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int i = 0; i < threads; i++) {
+            executor.submit(() -> {
+                while (System.nanoTime() < deadline) {
+                    try {
+                        if (client.send(get(url, token), HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                            int second = (int) TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - startedAt);
+                            if (second < durationSeconds) {
+                                completed.incrementAndGet(second);
+                            }
+                        }
+                    } catch (Exception e) {
+                        // Conta só sucessos
+                    }
+                }
+                return null;
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(durationSeconds + 60L, TimeUnit.SECONDS);
+        int[] perSecond = new int[durationSeconds];
+        Arrays.setAll(perSecond, completed::get);
+        return perSecond;
+    }
+
+    private static double[] movingAverage(int[] perSecond) {
+        double[] averages = new double[perSecond.length];
+        for (int i = 0; i < perSecond.length; i++) {
+            int from = Math.max(0, i - 2);
+            double sum = 0;
+            for (int j = from; j <= i; j++) {
+                sum += perSecond[j];
+            }
+            averages[i] = sum / (i - from + 1);
+        }
+        return averages;
+    }
+
+    private static double peak(int[] perSecond) {
+        return Arrays.stream(movingAverage(perSecond)).max().orElse(0);
+    }
+
+    private static int secondsToPeak(int[] perSecond) {
+        double[] averages = movingAverage(perSecond);
+        double target = 0.95 * peak(perSecond);
+        for (int i = 0; i < averages.length; i++) {
+            if (averages[i] >= target) {
+                return i + 1;
+            }
+        }
+        return averages.length;
+    }
+
+    private static HttpRequest get(String url, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(10)).GET();
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder.build();
+    }
+}
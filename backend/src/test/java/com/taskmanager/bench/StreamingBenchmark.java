@@ -0,0 +1,156 @@
+package com.taskmanager.bench;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Compara a listagem servlet (GET /api/tasks, lista inteira em JSON) com o fluxo NDJSON (GET /api/tasks/stream)
+// sob muitos clientes simultâneos (padrão 10k, um por thread virtual). Para cada caminho informa vazão, tempo
+// até o primeiro byte e latência total (p50/p99/máx), além de erros e 429 da concorrência adaptativa.
+// Suba a aplicação com o perfil loadtest sobre uma base do DatasetGenerator; os clientes se revezam entre os
+// usuários "<prefixo>-0" a "<prefixo>-(users-1)". Aumente o limite de arquivos abertos (ulimit -n) dos dois lados.
+// Uso: mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.taskmanager.bench.StreamingBenchmark
+//      -Dstreaming.clients=10000 -Dstreaming.duration-seconds=60
+public class StreamingBenchmark {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = System.getProperty("streaming.base-url", "http://localhost:8080");
+        String prefix = System.getProperty("streaming.prefix", "load");
+        int users = Integer.getInteger("streaming.users", 100);
+        int clients = Integer.getInteger("streaming.clients", 10_000);
+        int durationSeconds = Integer.getInteger("streaming.duration-seconds", 60);
+        String query = System.getProperty("streaming.query", "status=Pendente");
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        String[] tokens = new String[users];
+        for (int i = 0; i < users; i++) {
+            tokens[i] = login(client, baseUrl, prefix + "-" + i);
+        }
+
+        String[] paths = {"/api/tasks/filter?" + query, "/api/tasks/stream?" + query};
+        for (String path : paths) {
+            Result result = run(client, baseUrl + path, tokens, clients, durationSeconds);
+            result.print(path, durationSeconds);
+        }
+    }
+
+    private static Result run(HttpClient client, String url, String[] tokens, int clients, int durationSeconds)
+            throws InterruptedException {
+        Result result = new Result();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(durationSeconds);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                String token = tokens[i % tokens.length];
+                executor.submit(() -> {
+                    byte[] buffer = new byte[8192];
+                    while (System.nanoTime() < deadline) {
+                        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                                .timeout(Duration.ofSeconds(120))
+                                .header("Authorization", "Bearer " + token)
+                                .GET()
+                                .build();
+                        long startedAt = System.nanoTime();
+                        try {
+                            HttpResponse<InputStream> response = client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+                            try (InputStream body = response.body()) {
+                                int read = body.read(buffer);
+                                long firstByte = System.nanoTime();
+                                long bytes = Math.max(read, 0);
+                                while ((read = body.read(buffer)) >= 0) {
+                                    bytes += read;
+                                }
+                                result.record(response.statusCode(), firstByte - startedAt, System.nanoTime() - startedAt, bytes);
+                            }
+                        } catch (IOException e) {
+                            result.record(-1, 0, System.nanoTime() - startedAt, 0);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        }
+                    }
+                });
+            }
+        }
+        return result;
+    }
+
+    private static String login(HttpClient client, String baseUrl, String username) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(MAPPER.writeValueAsString(
+                        Map.of("username", username, "password", DatasetGenerator.PASSWORD))))
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login de " + username + " falhou: " + response.statusCode());
+        }
+        return MAPPER.readTree(response.body()).path("token").asText();
+    }
+
+    // Amostras compartilhadas por todos os clientes (acesso sincronizado: o custo é pequeno perto do HTTP)
+    private static final class Result {
+        private long[] firstByte = new long[1 << 16];
+        private long[] total = new long[1 << 16];
+        private int count;
+        private long errors;
+        private long throttled;
+        private final AtomicLong bytes = new AtomicLong();
+
+        private synchronized void record(int status, long firstByteNanos, long totalNanos, long bodyBytes) {
+            if (status == 429) {
+                throttled++;
+                return;
+            }
+            if (status != 200) {
+                errors++;
+                return;
+            }
+            if (count == total.length) {
+                total = Arrays.copyOf(total, count * 2);
+                firstByte = Arrays.copyOf(firstByte, count * 2);
+            }
+            firstByte[count] = firstByteNanos;
+            total[count++] = totalNanos;
+            bytes.addAndGet(bodyBytes);
+        }
+
+        private synchronized void print(String path, int durationSeconds) {
+            long[] sortedFirstByte = Arrays.copyOf(firstByte, count);
+            long[] sortedTotal = Arrays.copyOf(total, count);
+            Arrays.sort(sortedFirstByte);
+            Arrays.sort(sortedTotal);
+            System.out.printf("%s%n  %d respostas (%.1f/s, %.1f MB), %d erros, %d recusadas (429)%n",
+                    path, count, (double) count / durationSeconds, bytes.get() / 1e6, errors, throttled);
+            System.out.printf("  primeiro byte ms: p50 %.1f  p99 %.1f  máx %.1f%n",
+                    percentile(sortedFirstByte, 0.50), percentile(sortedFirstByte, 0.99), percentile(sortedFirstByte, 1.0));
+            System.out.printf("  total ms:         p50 %.1f  p99 %.1f  máx %.1f%n",
+                    percentile(sortedTotal, 0.50), percentile(sortedTotal, 0.99), percentile(sortedTotal, 1.0));
+        }
+
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1e6;
+        }
+    }
+}
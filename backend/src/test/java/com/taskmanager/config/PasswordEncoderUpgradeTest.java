@@ -0,0 +1,30 @@
+package com.taskmanager.config;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+class PasswordEncoderUpgradeTest {
+
+	private final PasswordEncoder encoder = new SecurityConfig().passwordEncoder(6);
+
+	@Test
+	void upgradesAnyStoredCostDifferentFromTheConfiguredOne() {
+		String lower = "{bcrypt}" + new BCryptPasswordEncoder(5).encode("segredo");
+		String higher = "{bcrypt}" + new BCryptPasswordEncoder(7).encode("segredo");
+		String same = encoder.encode("segredo");
+
+		assertTrue(encoder.matches("segredo", higher));
+		assertTrue(encoder.upgradeEncoding(lower));
+		assertTrue(encoder.upgradeEncoding(higher));
+		assertFalse(encoder.upgradeEncoding(same));
+	}
+
+	@Test
+	void upgradesLegacyHashesWithoutPrefix() {
+		assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("segredo")));
+	}
+}
@@ -0,0 +1,47 @@
+package com.taskmanager.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+
+class SqlStatementCounterTest {
+
+	private final SqlStatementCounter counter = new SqlStatementCounter();
+
+	@Test
+	void countsStatementsOfTheBoundRequestOnly() throws Exception {
+		counter.beforeQuery(new ExecutionInfo(), List.of(new QueryInfo("SELECT 1")));
+		assertNull(SqlStatementCounter.current());
+
+		SqlStatementCounter.Stats stats = SqlStatementCounter.begin();
+		try {
+			counter.beforeQuery(new ExecutionInfo(), List.of(new QueryInfo("SELECT * FROM tags WHERE id = ?")));
+			counter.beforeQuery(new ExecutionInfo(), List.of(new QueryInfo("SELECT * FROM tags WHERE id = ?")));
+			counter.beforeQuery(new ExecutionInfo(), List.of(new QueryInfo("UPDATE tasks SET status = ? WHERE id = ?")));
+		} finally {
+			SqlStatementCounter.end();
+		}
+		assertEquals(3, stats.getTotal());
+		assertEquals(2, stats.getMaxRepeats());
+		assertEquals("SELECT * FROM tags WHERE id = ?", stats.getMostRepeatedSql());
+
+		// Outra thread que trabalha para a mesma requisição soma nas mesmas estatísticas
+		Thread worker = new Thread(() -> {
+			SqlStatementCounter.bind(stats);
+			try {
+				counter.beforeQuery(new ExecutionInfo(), List.of(new QueryInfo("SELECT 2")));
+			} finally {
+				SqlStatementCounter.unbind();
+			}
+		});
+		worker.start();
+		worker.join();
+		assertEquals(4, stats.getTotal());
+	}
+}
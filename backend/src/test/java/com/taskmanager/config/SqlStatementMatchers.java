@@ -0,0 +1,23 @@
+package com.taskmanager.config;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.springframework.test.web.servlet.ResultMatcher;
+
+// Asserções de MockMvc sobre os comandos SQL contados pelo RequestMetricsFilter
+public final class SqlStatementMatchers {
+
+	private SqlStatementMatchers() {
+	}
+
+	public static ResultMatcher statementsAtMost(int max) {
+		return result -> {
+			SqlStatementCounter.Stats stats = (SqlStatementCounter.Stats) result.getRequest()
+					.getAttribute(SqlStatementCounter.STATS_ATTRIBUTE);
+			assertNotNull(stats, "RequestMetricsFilter não registrou a contagem de SQL");
+			assertTrue(stats.getTotal() <= max, () -> "Esperado no máximo " + max + " comandos SQL, emitidos "
+					+ stats.getTotal() + "; mais repetido (" + stats.getMaxRepeats() + "x): " + stats.getMostRepeatedSql());
+		};
+	}
+}
@@ -0,0 +1,73 @@
+package com.taskmanager.controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.taskmanager.entity.Project;
+import com.taskmanager.entity.User;
+import com.taskmanager.repository.ProjectMemberRepository;
+import com.taskmanager.repository.ProjectRepository;
+import com.taskmanager.repository.UserRepository;
+import com.taskmanager.service.ProjectService;
+
+// /api/projects passa pela cadeia de segurança (a regra final é denyAll) e chega ao controller
+@SpringBootTest
+@AutoConfigureMockMvc
+class ProjectControllerTest {
+
+	private static final String USERNAME = "project-controller-user";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private ProjectService projectService;
+
+	@Autowired
+	private ProjectRepository projectRepository;
+
+	@Autowired
+	private ProjectMemberRepository projectMemberRepository;
+
+	private User user;
+	private Project project;
+
+	@BeforeEach
+	void setUp() {
+		user = new User();
+		user.setUsername(USERNAME);
+		user.setEmail(USERNAME + "@example.com");
+		user.setPassword("{noop}secret");
+		user = userRepository.save(user);
+		project = projectService.createPersonalProject(user);
+	}
+
+	@AfterEach
+	void tearDown() {
+		projectMemberRepository.deleteAll(projectMemberRepository.findByProjectId(project.getId()));
+		projectRepository.delete(project);
+		userRepository.delete(user);
+	}
+
+	@Test
+	@WithMockUser(username = USERNAME)
+	void authenticatedUserListsOwnProjects() throws Exception {
+		mockMvc.perform(get("/api/projects"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.length()").value(1))
+				.andExpect(jsonPath("$[0].id").value(project.getId()));
+	}
+}
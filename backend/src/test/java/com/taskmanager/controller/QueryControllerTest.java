@@ -0,0 +1,93 @@
+package com.taskmanager.controller;
+
+import static com.taskmanager.config.SqlStatementMatchers.statementsAtMost;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.taskmanager.entity.Project;
+import com.taskmanager.entity.Task;
+import com.taskmanager.entity.User;
+import com.taskmanager.repository.ProjectMemberRepository;
+import com.taskmanager.repository.ProjectRepository;
+import com.taskmanager.repository.TaskRepository;
+import com.taskmanager.repository.UserRepository;
+import com.taskmanager.service.ProjectService;
+
+// POST /api/query/tasks de ponta a ponta: segurança, seleção de campos e orçamento de SQL
+@SpringBootTest
+@AutoConfigureMockMvc
+class QueryControllerTest {
+
+	private static final String USERNAME = "query-controller-user";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private TaskRepository taskRepository;
+
+	@Autowired
+	private ProjectService projectService;
+
+	@Autowired
+	private ProjectRepository projectRepository;
+
+	@Autowired
+	private ProjectMemberRepository projectMemberRepository;
+
+	private User user;
+	private Project project;
+
+	@BeforeEach
+	void setUp() {
+		user = new User();
+		user.setUsername(USERNAME);
+		user.setEmail(USERNAME + "@example.com");
+		user.setPassword("{noop}secret");
+		user = userRepository.save(user);
+		project = projectService.createPersonalProject(user);
+
+		Task task = new Task();
+		task.setTitle("Tarefa consultada");
+		task.setStatus("Pendente");
+		task.setUser(user);
+		task.setProjectId(project.getId());
+		taskRepository.save(task);
+	}
+
+	@AfterEach
+	void tearDown() {
+		taskRepository.deleteAll(taskRepository.findByProjectIdAndArchived(project.getId(), false, Sort.unsorted()));
+		projectMemberRepository.deleteAll(projectMemberRepository.findByProjectId(project.getId()));
+		projectRepository.delete(project);
+		userRepository.delete(user);
+	}
+
+	@Test
+	@WithMockUser(username = USERNAME)
+	void selectsOnlyRequestedFields() throws Exception {
+		mockMvc.perform(post("/api/query/tasks")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"query\": \"{ id title tags { name } }\"}"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.items.length()").value(1))
+				.andExpect(jsonPath("$.items[0].title").value("Tarefa consultada"))
+				.andExpect(jsonPath("$.items[0].status").doesNotExist())
+				.andExpect(statementsAtMost(4));
+	}
+}
@@ -0,0 +1,111 @@
+package com.taskmanager.controller;
+
+import static com.taskmanager.config.SqlStatementMatchers.statementsAtMost;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.taskmanager.entity.Project;
+import com.taskmanager.entity.Tag;
+import com.taskmanager.entity.Task;
+import com.taskmanager.entity.User;
+import com.taskmanager.repository.ProjectMemberRepository;
+import com.taskmanager.repository.ProjectRepository;
+import com.taskmanager.repository.TagRepository;
+import com.taskmanager.repository.TaskRepository;
+import com.taskmanager.repository.UserRepository;
+import com.taskmanager.service.ProjectService;
+
+// Garante que a listagem não volte a ter N+1 nas tags: o número de comandos não depende da quantidade de tarefas
+@SpringBootTest
+@AutoConfigureMockMvc
+class TaskControllerSqlBudgetTest {
+
+	private static final String USERNAME = "sql-budget-user";
+	private static final int TASKS = 20;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private TaskRepository taskRepository;
+
+	@Autowired
+	private TagRepository tagRepository;
+
+	@Autowired
+	private ProjectService projectService;
+
+	@Autowired
+	private ProjectRepository projectRepository;
+
+	@Autowired
+	private ProjectMemberRepository projectMemberRepository;
+
+	private User user;
+	private Project project;
+	private List<Tag> tags;
+
+	@BeforeEach
+	void setUp() {
+		user = new User();
+		user.setUsername(USERNAME);
+		user.setEmail(USERNAME + "@example.com");
+		user.setPassword("{noop}secret");
+		user = userRepository.save(user);
+		project = projectService.createPersonalProject(user);
+
+		tags = tagRepository.saveAll(List.of(tag("sql-budget-a"), tag("sql-budget-b")));
+		for (int i = 0; i < TASKS; i++) {
+			Task task = new Task();
+			task.setTitle("Tarefa " + i);
+			task.setStatus("Pendente");
+			task.setUser(user);
+			task.setProjectId(project.getId());
+			task.setTags(new LinkedHashSet<>(tags));
+			taskRepository.save(task);
+		}
+	}
+
+	@AfterEach
+	void tearDown() {
+		taskRepository.deleteAll(taskRepository.findByProjectIdAndArchived(project.getId(), false, Sort.unsorted()));
+		tagRepository.deleteAll(tags);
+		projectMemberRepository.deleteAll(projectMemberRepository.findByProjectId(project.getId()));
+		projectRepository.delete(project);
+		userRepository.delete(user);
+	}
+
+	@Test
+	@WithMockUser(username = USERNAME)
+	void listingTasksLoadsTagsWithoutNPlusOne() throws Exception {
+		// Projetos do usuário (falha do cache) + listagem com tags e autor por join
+		mockMvc.perform(get("/api/tasks"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.length()").value(TASKS))
+				.andExpect(jsonPath("$[0].tags.length()").value(tags.size()))
+				.andExpect(statementsAtMost(2));
+	}
+
+	private static Tag tag(String name) {
+		Tag tag = new Tag();
+		tag.setName(name);
+		return tag;
+	}
+}
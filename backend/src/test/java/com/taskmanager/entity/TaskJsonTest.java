@@ -0,0 +1,32 @@
+package com.taskmanager.entity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+class TaskJsonTest {
+
+	@Test
+	void embeddedCreatorExposesOnlyIdAndUsername() throws Exception {
+		User user = new User();
+		user.setId(7L);
+		user.setUsername("alice");
+		user.setEmail("alice@example.com");
+		user.setPassword("hash");
+		Task task = new Task();
+		task.setTitle("Revisar");
+		task.setUser(user);
+
+		JsonNode json = new ObjectMapper().registerModule(new JavaTimeModule()).valueToTree(task).get("user");
+
+		assertEquals(7L, json.get("id").asLong());
+		assertEquals("alice", json.get("username").asText());
+		assertFalse(json.has("email"));
+		assertFalse(json.has("password"));
+	}
+}
@@ -0,0 +1,39 @@
+package com.taskmanager.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import org.junit.jupiter.api.Test;
+
+import com.taskmanager.dto.BoardCardDTO;
+
+class TaskBoardCursorTest {
+
+	@Test
+	void roundTripsSortValueIncludingSeparatorsAndNulls() {
+		BoardCardDTO card = new BoardCardDTO();
+		card.setId(42L);
+		card.setTitle("linha 1\nlinha 2");
+		card.setCreatedAt(LocalDateTime.of(2025, 5, 15, 10, 0));
+
+		String byTitle = TaskBoardRepository.Cursor.after(card, "title", true).encode();
+		assertEquals(byTitle, TaskBoardRepository.Cursor.decode(byTitle).encode());
+
+		String byCreatedAt = TaskBoardRepository.Cursor.after(card, "createdAt", false).encode();
+		assertEquals(byCreatedAt, TaskBoardRepository.Cursor.decode(byCreatedAt).encode());
+
+		// dueDate nulo: o cursor precisa distinguir "sem valor" de valor vazio
+		String byDueDate = TaskBoardRepository.Cursor.after(card, "dueDate", false).encode();
+		assertEquals(byDueDate, TaskBoardRepository.Cursor.decode(byDueDate).encode());
+	}
+
+	@Test
+	void rejectsTamperedCursor() {
+		assertThrows(IllegalArgumentException.class, () -> TaskBoardRepository.Cursor.decode("não-é-base64"));
+		String unknownSort = Base64.getUrlEncoder().encodeToString("status\nasc\n1\nvx".getBytes());
+		assertThrows(IllegalArgumentException.class, () -> TaskBoardRepository.Cursor.decode(unknownSort));
+	}
+}
@@ -0,0 +1,25 @@
+package com.taskmanager.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import org.junit.jupiter.api.Test;
+
+class TaskHistoryCursorTest {
+
+	@Test
+	void roundTripsCreatedAtWithNanosAndId() {
+		String encoded = new TaskHistoryRepository.Cursor(LocalDateTime.of(2025, 5, 15, 10, 0, 0, 123_456_000), 42L).encode();
+		assertEquals(encoded, TaskHistoryRepository.Cursor.decode(encoded).encode());
+	}
+
+	@Test
+	void rejectsMalformedCursors() {
+		assertThrows(IllegalArgumentException.class, () -> TaskHistoryRepository.Cursor.decode("%%%"));
+		String noId = Base64.getUrlEncoder().encodeToString("2025-05-15T10:00".getBytes());
+		assertThrows(IllegalArgumentException.class, () -> TaskHistoryRepository.Cursor.decode(noId));
+	}
+}
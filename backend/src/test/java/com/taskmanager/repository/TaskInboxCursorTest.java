@@ -0,0 +1,31 @@
+package com.taskmanager.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import org.junit.jupiter.api.Test;
+
+class TaskInboxCursorTest {
+
+	@Test
+	void roundTripsDueDateAndTaskId() {
+		String encoded = new TaskAssignmentRepository.Cursor(LocalDateTime.of(2025, 6, 1, 18, 30), 7L).encode();
+		assertEquals(encoded, TaskAssignmentRepository.Cursor.decode(encoded).encode());
+	}
+
+	@Test
+	void roundTripsTasksWithoutDueDate() {
+		String encoded = new TaskAssignmentRepository.Cursor(null, 7L).encode();
+		assertEquals(encoded, TaskAssignmentRepository.Cursor.decode(encoded).encode());
+	}
+
+	@Test
+	void rejectsMalformedCursors() {
+		assertThrows(IllegalArgumentException.class, () -> TaskAssignmentRepository.Cursor.decode("%%%"));
+		String noDueDate = Base64.getUrlEncoder().encodeToString("7".getBytes());
+		assertThrows(IllegalArgumentException.class, () -> TaskAssignmentRepository.Cursor.decode(noDueDate));
+	}
+}
@@ -0,0 +1,56 @@
+package com.taskmanager.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class AdaptiveConcurrencyLimiterTest {
+
+	private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+	private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(500);
+
+	@Test
+	void shedsLoadAboveLimitAndBacksOffOnSlowDatabase() {
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(new SimpleMeterRegistry(), 10, 2, 20, 250, 0.5);
+
+		for (int i = 0; i < 10; i++) {
+			assertTrue(limiter.tryAcquire());
+		}
+		assertFalse(limiter.tryAcquire());
+
+		limiter.release(SLOW, true);
+		assertEquals(5, limiter.getLimit());
+		// Ainda há 9 em andamento: nada entra até a concorrência cair abaixo do novo limite
+		assertFalse(limiter.tryAcquire());
+
+		for (int i = 0; i < 9; i++) {
+			limiter.release(SLOW, true);
+		}
+		assertEquals(2, limiter.getLimit());
+		assertEquals(0, limiter.getInFlight());
+	}
+
+	@Test
+	void growsAdditivelyOnlyWhenLimitIsInUse() {
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(new SimpleMeterRegistry(), 4, 2, 20, 250, 0.5);
+
+		limiter.tryAcquire();
+		limiter.release(FAST, true);
+		assertEquals(4, limiter.getLimit());
+
+		for (int i = 0; i < 4; i++) {
+			limiter.tryAcquire();
+		}
+		limiter.release(FAST, true);
+		assertEquals(5, limiter.getLimit());
+		// Requisições sem acesso ao banco não alteram o limite
+		limiter.release(SLOW, false);
+		assertEquals(5, limiter.getLimit());
+	}
+}
@@ -0,0 +1,31 @@
+package com.taskmanager.service;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+class BloomFilterTest {
+
+	@Test
+	void neverReportsFalseNegativesAndKeepsFalsePositivesNearTarget() {
+		BloomFilter filter = new BloomFilter(10_000, 0.01);
+		String[] inserted = new String[10_000];
+		for (int i = 0; i < inserted.length; i++) {
+			inserted[i] = UUID.randomUUID().toString();
+			filter.put(inserted[i]);
+		}
+		for (String jti : inserted) {
+			assertTrue(filter.mightContain(jti));
+		}
+
+		int falsePositives = 0;
+		for (int i = 0; i < 100_000; i++) {
+			if (filter.mightContain(UUID.randomUUID().toString())) {
+				falsePositives++;
+			}
+		}
+		assertTrue(falsePositives < 2_000, "Taxa de falsos positivos acima do esperado: " + falsePositives);
+	}
+}
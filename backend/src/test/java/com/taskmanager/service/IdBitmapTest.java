@@ -0,0 +1,90 @@
+package com.taskmanager.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.NavigableSet;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+
+class IdBitmapTest {
+
+	@Test
+	void matchesSortedSetAcrossSparseAndDenseGroups() {
+		Random random = new Random(42);
+		IdBitmap bitmap = new IdBitmap();
+		TreeSet<Long> expected = new TreeSet<>();
+		for (int i = 0; i < 50_000; i++) {
+			// Um grupo denso (vira mapa de bits) e ids espalhados por vários grupos esparsos
+			long id = random.nextBoolean() ? random.nextInt(10_000) : random.nextInt(5_000_000);
+			if (random.nextInt(4) == 0) {
+				assertEquals(expected.remove(id), bitmap.remove(id));
+			} else {
+				assertEquals(expected.add(id), bitmap.add(id));
+			}
+		}
+		assertEquals(expected.size(), bitmap.cardinality());
+		for (long id = 0; id < 12_000; id++) {
+			assertEquals(expected.contains(id), bitmap.contains(id));
+		}
+		assertArrayEquals(page(expected, Long.MAX_VALUE, expected.size()), bitmap.pageDescending(Long.MAX_VALUE, expected.size()));
+
+		// Esvaziar o grupo denso devolve-o a vetor e depois o remove
+		for (long id = 0; id < 65_536; id++) {
+			bitmap.remove(id);
+			expected.remove(id);
+		}
+		assertEquals(expected.size(), bitmap.cardinality());
+		assertFalse(bitmap.contains(5));
+	}
+
+	@Test
+	void intersectsAndSubtracts() {
+		Random random = new Random(7);
+		IdBitmap a = new IdBitmap();
+		IdBitmap b = new IdBitmap();
+		TreeSet<Long> setA = new TreeSet<>();
+		TreeSet<Long> setB = new TreeSet<>();
+		for (int i = 0; i < 30_000; i++) {
+			long idA = random.nextInt(200_000);
+			long idB = random.nextInt(i % 2 == 0 ? 8_000 : 200_000);
+			a.add(idA);
+			setA.add(idA);
+			b.add(idB);
+			setB.add(idB);
+		}
+		TreeSet<Long> and = new TreeSet<>(setA);
+		and.retainAll(setB);
+		TreeSet<Long> andNot = new TreeSet<>(setA);
+		andNot.removeAll(setB);
+
+		assertArrayEquals(page(and, Long.MAX_VALUE, and.size()), a.and(b).pageDescending(Long.MAX_VALUE, and.size()));
+		assertArrayEquals(page(and, Long.MAX_VALUE, and.size()), b.and(a).pageDescending(Long.MAX_VALUE, and.size()));
+		assertArrayEquals(page(andNot, Long.MAX_VALUE, andNot.size()), a.andNot(b).pageDescending(Long.MAX_VALUE, andNot.size()));
+		assertEquals(setA.size(), a.cardinality());
+	}
+
+	@Test
+	void pagesDescendingFromCursor() {
+		IdBitmap bitmap = new IdBitmap();
+		TreeSet<Long> expected = new TreeSet<>();
+		for (long id : new long[] {1, 2, 65_535, 65_536, 65_537, 131_072, 1_000_000, 70_000}) {
+			bitmap.add(id);
+			expected.add(id);
+		}
+		assertArrayEquals(new long[] {1_000_000, 131_072, 70_000}, bitmap.pageDescending(Long.MAX_VALUE, 3));
+		assertArrayEquals(new long[] {65_537, 65_536, 65_535}, bitmap.pageDescending(70_000, 3));
+		assertArrayEquals(new long[] {65_535, 2, 1}, bitmap.pageDescending(65_536, 10));
+		assertArrayEquals(page(expected, 131_000, 4), bitmap.pageDescending(131_000, 4));
+		assertEquals(0, bitmap.pageDescending(1, 10).length);
+		assertTrue(new IdBitmap().isEmpty());
+	}
+
+	private static long[] page(NavigableSet<Long> set, long before, int limit) {
+		return set.headSet(before, false).descendingSet().stream().limit(limit).mapToLong(Long::longValue).toArray();
+	}
+}
@@ -0,0 +1,53 @@
+package com.taskmanager.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class IdempotencyServiceTest {
+
+	private final IdempotencyService service = new IdempotencyService(new InMemoryIdempotencyStore(100), 24, 60_000, 5_000);
+
+	@Test
+	void concurrentDuplicateWaitsForFirstExecutionAndReplaysItsResponse() throws Exception {
+		assertEquals(IdempotencyService.Outcome.EXECUTE, service.claim("alice:k1", "fp").getOutcome());
+
+		CompletableFuture<IdempotencyService.Claim> duplicate = CompletableFuture.supplyAsync(() -> {
+			try {
+				return service.claim("alice:k1", "fp");
+			} catch (InterruptedException e) {
+				throw new IllegalStateException(e);
+			}
+		});
+		Thread.sleep(100);
+		byte[] body = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+		service.complete("alice:k1", "fp", 201, "application/json", body);
+
+		IdempotencyService.Claim claim = duplicate.get(5, TimeUnit.SECONDS);
+		assertEquals(IdempotencyService.Outcome.REPLAY, claim.getOutcome());
+		assertEquals(201, claim.getResponse().getStatus());
+		assertArrayEquals(body, claim.getResponse().getBody());
+		// Repetições posteriores vêm do store
+		assertEquals(IdempotencyService.Outcome.REPLAY, service.claim("alice:k1", "fp").getOutcome());
+	}
+
+	@Test
+	void rejectsKeyReusedWithDifferentRequest() throws Exception {
+		service.claim("alice:k2", "fp-a");
+		assertEquals(IdempotencyService.Outcome.MISMATCH, service.claim("alice:k2", "fp-b").getOutcome());
+		service.complete("alice:k2", "fp-a", 200, "application/json", new byte[0]);
+		assertEquals(IdempotencyService.Outcome.MISMATCH, service.claim("alice:k2", "fp-b").getOutcome());
+	}
+
+	@Test
+	void serverErrorsAreNotStoredSoRetryExecutesAgain() throws Exception {
+		service.claim("alice:k3", "fp");
+		service.complete("alice:k3", "fp", 503, "text/plain", new byte[0]);
+		assertEquals(IdempotencyService.Outcome.EXECUTE, service.claim("alice:k3", "fp").getOutcome());
+	}
+}
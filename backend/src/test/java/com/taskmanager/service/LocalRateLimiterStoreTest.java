@@ -0,0 +1,77 @@
+package com.taskmanager.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class LocalRateLimiterStoreTest {
+
+	// 10 requisições/s (intervalo de 100 ms) com burst de 5
+	private static final long INTERVAL = 100_000;
+	private static final long BURST = 5 * INTERVAL;
+
+	@Test
+	void allowsBurstThenRefillsAtConfiguredRate() {
+		AtomicLong clock = new AtomicLong(1_000_000_000L);
+		LocalRateLimiterStore store = new LocalRateLimiterStore(clock::get);
+
+		for (int i = 0; i < 5; i++) {
+			assertEquals(0, store.tryAcquire("alice", INTERVAL, BURST));
+		}
+		long wait = store.tryAcquire("alice", INTERVAL, BURST);
+		assertEquals(INTERVAL, wait);
+		// Outro usuário tem o próprio balde
+		assertEquals(0, store.tryAcquire("bob", INTERVAL, BURST));
+
+		clock.addAndGet(wait);
+		assertEquals(0, store.tryAcquire("alice", INTERVAL, BURST));
+		assertTrue(store.tryAcquire("alice", INTERVAL, BURST) > 0);
+	}
+
+	@Test
+	void weightedCostConsumesSeveralTokens() {
+		AtomicLong clock = new AtomicLong(0);
+		LocalRateLimiterStore store = new LocalRateLimiterStore(clock::get);
+
+		assertEquals(0, store.tryAcquire("alice", 3 * INTERVAL, BURST));
+		assertEquals(INTERVAL, store.tryAcquire("alice", 3 * INTERVAL, BURST));
+		assertEquals(0, store.tryAcquire("alice", 2 * INTERVAL, BURST));
+	}
+
+	@Test
+	void refundGivesBackAnAcceptedToken() {
+		AtomicLong clock = new AtomicLong(0);
+		LocalRateLimiterStore store = new LocalRateLimiterStore(clock::get);
+
+		for (int i = 0; i < 5; i++) {
+			assertEquals(0, store.tryAcquire("alice", INTERVAL, BURST));
+		}
+		assertTrue(store.tryAcquire("alice", INTERVAL, BURST) > 0);
+		store.refund("alice", INTERVAL);
+		assertEquals(0, store.tryAcquire("alice", INTERVAL, BURST));
+	}
+
+	@Test
+	void purgesIdleBucketsAtMostOncePerInterval() {
+		AtomicLong clock = new AtomicLong(0);
+		LocalRateLimiterStore store = new LocalRateLimiterStore(clock::get);
+
+		for (int i = 0; i <= 10_000; i++) {
+			store.tryAcquire("user-" + i, INTERVAL, BURST);
+		}
+		// Todos ativos: a primeira varredura não remove nada e a próxima só ocorre depois do intervalo
+		store.tryAcquire("extra", INTERVAL, BURST);
+		assertEquals(10_002, store.size());
+
+		clock.addAndGet(INTERVAL + 1);
+		store.tryAcquire("late", INTERVAL, BURST);
+		assertEquals(10_003, store.size());
+
+		clock.addAndGet(1_000_000);
+		store.tryAcquire("after", INTERVAL, BURST);
+		assertEquals(1, store.size());
+	}
+}
@@ -0,0 +1,64 @@
+package com.taskmanager.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+class OffHeapJsonCacheTest {
+
+	@Test
+	void storesValuesAcrossBlocksAndEvictsLeastRecentlyUsed() {
+		OffHeapJsonCache cache = new OffHeapJsonCache(1024, 64, 60_000);
+		byte[] large = new byte[300];
+		Arrays.fill(large, (byte) 'x');
+		large[299] = 'y';
+		assertTrue(cache.put("1:a", large));
+		assertTrue(cache.put("1:b", json("[]")));
+		assertArrayEquals(large, cache.get("1:a"));
+		assertEquals(5 * 64 + 64, cache.usedBytes());
+
+		// 1:b é o menos usado e sai primeiro; 1:a continua
+		assertTrue(cache.put("2:a", new byte[704]));
+		assertNull(cache.get("1:b"));
+		assertNotNull(cache.get("1:a"));
+		assertEquals(2, cache.size());
+
+		assertFalse(cache.put("3:a", new byte[2048]));
+		assertEquals(1, cache.removeIf(key -> key.startsWith("2:")));
+		assertEquals(5 * 64, cache.usedBytes());
+
+		// Substituir a entrada devolve os blocos antigos
+		assertTrue(cache.put("1:a", json("[{\"id\":1}]")));
+		assertArrayEquals(json("[{\"id\":1}]"), cache.get("1:a"));
+		assertEquals(64, cache.usedBytes());
+	}
+
+	@Test
+	void expiresEntriesAfterTtl() {
+		OffHeapJsonCache cache = new OffHeapJsonCache(1024, 64, 0);
+		cache.put("1:a", json("[]"));
+		assertNull(cache.get("1:a"));
+		assertEquals(0, cache.usedBytes());
+	}
+
+	@Test
+	void servesJsonOnlyWhenPreferred() {
+		assertTrue(TaskListCache.acceptsJson(null));
+		assertTrue(TaskListCache.acceptsJson("*/*"));
+		assertTrue(TaskListCache.acceptsJson("application/json, text/plain, */*"));
+		assertFalse(TaskListCache.acceptsJson("application/x-jackson-smile"));
+		assertFalse(TaskListCache.acceptsJson("application/cbor, */*;q=0.1"));
+	}
+
+	private static byte[] json(String value) {
+		return value.getBytes(StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,48 @@
+package com.taskmanager.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class QuerySelectionTest {
+
+	@Test
+	void parsesFieldsAndRelations() {
+		QuerySelection selection = QuerySelection.parse("{ id title, status tags { name } owner { id username } }");
+		assertEquals(List.of("id", "title", "status"), selection.getFields());
+		assertEquals(List.of("tags", "owner"), List.copyOf(selection.getRelations().keySet()));
+		assertEquals(List.of("id", "username"), selection.getRelations().get("owner").getFields());
+		assertEquals(2, selection.depth());
+		assertEquals(List.of("id", "title"), QuerySelection.parse("id title id").getFields());
+	}
+
+	@Test
+	void rejectsMalformedQueries() {
+		assertThrows(IllegalArgumentException.class, () -> QuerySelection.parse("{ id title"));
+		assertThrows(IllegalArgumentException.class, () -> QuerySelection.parse("{ tags { } }"));
+		assertThrows(IllegalArgumentException.class, () -> QuerySelection.parse("{ id(limit: 5) }"));
+		assertThrows(IllegalArgumentException.class, () -> QuerySelection.parse("{ tags { id } tags { name } }"));
+		assertThrows(IllegalArgumentException.class, () -> QuerySelection.parse("   "));
+	}
+
+	@Test
+	void enforcesDepthFieldsAndPersistedHashes() {
+		TaskQueryService service = new TaskQueryService(null, 2, 5000, 10);
+		assertThrows(IllegalArgumentException.class, () -> service.resolve("{ id tags { name owner { id } } }", null));
+		assertThrows(IllegalArgumentException.class, () -> service.resolve("{ id password }", null));
+		assertThrows(IllegalArgumentException.class, () -> service.resolve("{ id owner { email } }", null));
+
+		String query = "{ id title tags { name } }";
+		String hash = TaskQueryService.sha256(query);
+		assertNull(service.resolve(null, hash));
+		assertThrows(IllegalArgumentException.class, () -> service.resolve(query, TaskQueryService.sha256("{ id }")));
+		QuerySelection registered = service.resolve(query, hash);
+		assertSame(registered, service.resolve(null, hash));
+		assertEquals(2 + 10 + 1, TaskQueryService.cost(registered));
+	}
+}
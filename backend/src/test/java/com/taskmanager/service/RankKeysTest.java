@@ -0,0 +1,46 @@
+package com.taskmanager.service;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class RankKeysTest {
+
+	@Test
+	void keepsOrderUnderRandomInsertions() {
+		Random random = new Random(42);
+		List<String> keys = new ArrayList<>();
+		for (int i = 0; i < 2_000; i++) {
+			int position = random.nextInt(keys.size() + 1);
+			String before = position == 0 ? null : keys.get(position - 1);
+			String after = position == keys.size() ? null : keys.get(position);
+			String key = RankKeys.between(before, after);
+			assertTrue(before == null || before.compareTo(key) < 0, before + " >= " + key);
+			assertTrue(after == null || key.compareTo(after) < 0, key + " >= " + after);
+			assertFalse(key.endsWith("0"), key);
+			keys.add(position, key);
+		}
+	}
+
+	@Test
+	void spreadIsSortedAndShort() {
+		String[] keys = RankKeys.spread(10_000);
+		for (int i = 1; i < keys.length; i++) {
+			assertTrue(keys[i - 1].compareTo(keys[i]) < 0, keys[i - 1] + " >= " + keys[i]);
+			assertFalse(keys[i].endsWith("0"), keys[i]);
+			assertTrue(keys[i].length() <= 4, keys[i]);
+		}
+	}
+
+	@Test
+	void rejectsOutOfOrderNeighbours() {
+		assertThrows(IllegalArgumentException.class, () -> RankKeys.between("b", "a"));
+		assertThrows(IllegalArgumentException.class, () -> RankKeys.between("a", "a"));
+	}
+}
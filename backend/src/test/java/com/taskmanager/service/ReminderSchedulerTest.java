@@ -0,0 +1,53 @@
+package com.taskmanager.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.taskmanager.entity.Task;
+
+class ReminderSchedulerTest {
+
+	private final ReminderScheduler scheduler = new ReminderScheduler(null, event -> { }, null, true, 1000, new long[] { 60, 0 });
+
+	@AfterEach
+	void clearSynchronization() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	@Test
+	void appliesChangesOnlyAfterCommit() {
+		TransactionSynchronizationManager.initSynchronization();
+		scheduler.reschedule(task(1L, "Pendente"));
+		assertEquals(0, scheduler.pendingCount());
+
+		TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+		assertEquals(2, scheduler.pendingCount());
+	}
+
+	@Test
+	void rolledBackChangesNeverReachTheWheel() {
+		scheduler.reschedule(task(1L, "Pendente"));
+
+		TransactionSynchronizationManager.initSynchronization();
+		scheduler.cancel(1L);
+		TransactionSynchronizationManager.getSynchronizations()
+				.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+		assertEquals(2, scheduler.pendingCount());
+	}
+
+	private static Task task(Long id, String status) {
+		Task task = new Task();
+		task.setId(id);
+		task.setStatus(status);
+		task.setDueDate(LocalDateTime.now().plusDays(1));
+		return task;
+	}
+}
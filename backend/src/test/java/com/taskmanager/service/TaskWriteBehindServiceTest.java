@@ -0,0 +1,362 @@
+package com.taskmanager.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.taskmanager.entity.Task;
+import com.taskmanager.repository.TaskAssignmentRepository;
+import com.taskmanager.repository.TaskRankView;
+import com.taskmanager.repository.TaskRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class TaskWriteBehindServiceTest {
+
+	@TempDir
+	Path directory;
+
+	// "Banco" em memória: cada leitura devolve cópias, como entidades novas de outra transação
+	private final Map<Long, Task> rows = new ConcurrentHashMap<>();
+	private final List<Long> savedIds = new ArrayList<>();
+	private volatile boolean failSaves;
+
+	private TaskWriteBehindService service;
+
+	@AfterEach
+	void stopService() {
+		failSaves = false;
+		if (TransactionSynchronizationManager.isActualTransactionActive()) {
+			TransactionSynchronizationManager.setActualTransactionActive(false);
+		}
+		if (service != null) {
+			service.stop();
+		}
+	}
+
+	@Test
+	void replayKeepsTheLastLineOfEachTaskAndSkipsATornLine() throws Exception {
+		row(1L, "Pendente", "a");
+		row(2L, "Pendente", "b");
+		row(3L, "Pendente", "c");
+		Files.writeString(journal(), ""
+				+ "1\t1\tEm Andamento\ti\t7\talice\t\t\n"
+				+ "2\t1\tConcluída\tm\t7\talice\n"
+				+ "1\t1\tConcluída\tq\t7\talice\t\t\n"
+				+ "3\t1\tConcl", StandardCharsets.UTF_8);
+
+		start(1_048_576);
+
+		assertTask(1L, "Concluída", "q");
+		assertTask(2L, "Concluída", "m");
+		assertTask(3L, "Pendente", "c");
+		// Tudo enviado: o diário é zerado
+		assertEquals(0, Files.size(journal()));
+	}
+
+	@Test
+	void coalescesChangesToTheSameTaskIntoOneWrite() throws Exception {
+		row(1L, "Pendente", "a");
+		start(1_048_576);
+
+		assertTrue(service.moveLater(1L, "Em Andamento", null, null, "alice"));
+		assertTrue(service.moveLater(1L, "Concluída", null, null, "alice"));
+		assertTrue(service.moveLater(1L, "Em Andamento", null, null, "alice"));
+		assertEquals(3, journalLines().size());
+
+		service.flushAll();
+
+		assertEquals(List.of(1L), savedIds);
+		assertEquals("Em Andamento", rows.get(1L).getStatus());
+		assertEquals(0, Files.size(journal()));
+	}
+
+	@Test
+	void compactionRewritesTheJournalWithOnlyWhatIsStillPending() throws Exception {
+		row(1L, "Pendente", "a");
+		row(2L, "Pendente", "b");
+		start(1);
+
+		assertTrue(service.moveLater(1L, "Em Andamento", null, null, "alice"));
+		assertTrue(service.moveLater(1L, "Concluída", null, null, "alice"));
+		assertTrue(service.moveLater(2L, "Concluída", null, null, "bob"));
+		assertEquals(3, journalLines().size());
+
+		service.flushUser("bob");
+
+		List<String> lines = journalLines();
+		assertEquals(1, lines.size());
+		assertTrue(lines.get(0).startsWith("1\t1\tConcluída\t"), lines.get(0));
+		assertEquals("Pendente", rows.get(1L).getStatus());
+		assertEquals("Concluída", rows.get(2L).getStatus());
+	}
+
+	@Test
+	void flushUserSendsOnlyThatUsersChanges() throws Exception {
+		row(1L, "Pendente", "a");
+		start(1_048_576);
+
+		assertTrue(service.moveLater(1L, "Concluída", null, null, "alice"));
+		service.flushUser("bob");
+		assertEquals("Pendente", rows.get(1L).getStatus());
+
+		service.flushUser("alice");
+		assertEquals("Concluída", rows.get(1L).getStatus());
+	}
+
+	@Test
+	void synchronousWriteIsNotOvertakenByAnEarlierPendingChange() throws Exception {
+		row(1L, "Pendente", "a");
+		start(1_048_576);
+
+		assertTrue(service.moveLater(1L, "Concluída", null, null, "alice"));
+		// Como o TaskController: envia a pendente antes e só então grava
+		service.flushTasks(List.of(1L));
+		assertEquals("Concluída", rows.get(1L).getStatus());
+		rows.get(1L).setStatus("Em Andamento");
+
+		service.flushAll();
+		assertEquals("Em Andamento", rows.get(1L).getStatus());
+	}
+
+	@Test
+	void failedFlushAbortsTheSynchronousWriteAndKeepsTheChange() throws Exception {
+		row(1L, "Pendente", "a");
+		start(1_048_576);
+
+		assertTrue(service.moveLater(1L, "Concluída", null, null, "alice"));
+		failSaves = true;
+		assertThrows(IllegalStateException.class, () -> service.flushTasks(List.of(1L)));
+		assertEquals("Pendente", rows.get(1L).getStatus());
+		assertEquals(1, journalLines().size());
+
+		failSaves = false;
+		service.flushAll();
+		assertEquals("Concluída", rows.get(1L).getStatus());
+	}
+
+	@Test
+	void flushInsideATransactionIsRefused() throws Exception {
+		row(1L, "Pendente", "a");
+		start(1_048_576);
+
+		assertTrue(service.moveLater(1L, "Concluída", null, null, "alice"));
+		TransactionSynchronizationManager.setActualTransactionActive(true);
+		assertThrows(IllegalStateException.class, () -> service.flushTasks(List.of(1L)));
+	}
+
+	@Test
+	void movesToTheEndOfTheSameColumnGetDistinctRanks() throws Exception {
+		row(1L, "Pendente", "a");
+		row(2L, "Pendente", "b");
+		row(3L, "Concluída", "m");
+		start(1_048_576);
+
+		assertTrue(service.moveLater(1L, "Concluída", null, null, "alice"));
+		assertTrue(service.moveLater(2L, "Concluída", null, null, "bob"));
+		service.flushAll();
+
+		String first = rows.get(1L).getRank();
+		String second = rows.get(2L).getRank();
+		assertTrue(first.compareTo("m") > 0, first);
+		assertTrue(second.compareTo(first) > 0, second);
+	}
+
+	@Test
+	void rankIsRecomputedWhenTheColumnWasRebalancedBeforeTheFlush() throws Exception {
+		row(1L, "Pendente", "w");
+		row(2L, "Pendente", "x");
+		row(3L, "Pendente", "y");
+		start(1_048_576);
+
+		assertTrue(service.moveLater(3L, "Pendente", 1L, 2L, "alice"));
+		// RankRebalancer regrava a coluna com as chaves antigas (1, 2, 3) antes do envio
+		String[] keys = RankKeys.spread(3);
+		rows.get(1L).setRank(keys[0]);
+		rows.get(2L).setRank(keys[1]);
+		rows.get(3L).setRank(keys[2]);
+
+		service.flushAll();
+
+		String rank = rows.get(3L).getRank();
+		assertTrue(rank.compareTo(keys[0]) > 0 && rank.compareTo(keys[1]) < 0, rank);
+	}
+
+	@Test
+	void changeFromAnotherProjectIsNotDeferred() throws Exception {
+		row(1L, "Pendente", "a");
+		rows.get(1L).setProjectId(2L);
+		start(1_048_576);
+
+		assertFalse(service.moveLater(1L, "Concluída", null, null, "alice"));
+		assertEquals(0, Files.size(journal()));
+	}
+
+	private void start(long journalCompactBytes) {
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		service = new TaskWriteBehindService(
+				taskRepository(),
+				new TaskAssignmentRepository(null) {
+					@Override
+					public void refreshInbox(Collection<Task> tasks) {
+					}
+				},
+				new ProjectMembershipService(null, 0, 0) {
+					@Override
+					public Membership forUser(String username) {
+						return new Membership("alice".equals(username) ? 7L : 8L, 1L, Map.of(1L, "OWNER"));
+					}
+				},
+				new ReminderScheduler(null, event -> { }, null, false, 1000, new long[] { 60, 0 }),
+				new ActivityLogService(null, meterRegistry, 1000, 500, 200, 90, 5000, 3_600_000),
+				new TaskFilterIndex(null, meterRegistry, false, 1000, 1024),
+				new TaskListCache(null, meterRegistry, false, 1024, 64, 1000),
+				new NoOpTransactionManager(),
+				meterRegistry,
+				true, 3_600_000, 100, journal().toString(), true, journalCompactBytes);
+		service.start();
+	}
+
+	private Path journal() {
+		return directory.resolve("write-behind.journal");
+	}
+
+	private List<String> journalLines() throws Exception {
+		return Files.readAllLines(journal(), StandardCharsets.UTF_8);
+	}
+
+	private void row(Long id, String status, String rank) {
+		Task task = new Task();
+		task.setId(id);
+		task.setProjectId(1L);
+		task.setTitle("Tarefa " + id);
+		task.setStatus(status);
+		task.setRank(rank);
+		rows.put(id, task);
+	}
+
+	private void assertTask(Long id, String status, String rank) {
+		assertEquals(status, rows.get(id).getStatus());
+		assertEquals(rank, rows.get(id).getRank());
+	}
+
+	private static Task copy(Task task) {
+		Task copy = new Task();
+		copy.setId(task.getId());
+		copy.setProjectId(task.getProjectId());
+		copy.setTitle(task.getTitle());
+		copy.setStatus(task.getStatus());
+		copy.setRank(task.getRank());
+		return copy;
+	}
+
+	// Só os métodos usados pela gravação adiada
+	private TaskRepository taskRepository() {
+		return (TaskRepository) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { TaskRepository.class },
+				(proxy, method, args) -> switch (method.getName()) {
+					case "findById" -> Optional.ofNullable(rows.get(args[0])).map(TaskWriteBehindServiceTest::copy);
+					case "findAllById" -> {
+						List<Task> found = new ArrayList<>();
+						for (Object id : (Iterable<?>) args[0]) {
+							Optional.ofNullable(rows.get(id)).map(TaskWriteBehindServiceTest::copy).ifPresent(found::add);
+						}
+						yield found;
+					}
+					case "saveAll" -> {
+						if (failSaves) {
+							throw new IllegalStateException("Falha simulada no banco");
+						}
+						List<Task> saved = new ArrayList<>();
+						for (Object entity : (Iterable<?>) args[0]) {
+							Task task = (Task) entity;
+							rows.put(task.getId(), copy(task));
+							savedIds.add(task.getId());
+							saved.add(task);
+						}
+						yield saved;
+					}
+					case "findMaxRank" -> rows.values().stream()
+							.filter(task -> task.getProjectId().equals(args[0]) && task.getStatus().equals(args[1]))
+							.map(Task::getRank)
+							.max(String::compareTo)
+							.orElse(null);
+					case "findRanks" -> {
+						List<TaskRankView> views = new ArrayList<>();
+						for (Object id : (Collection<?>) args[0]) {
+							Task task = rows.get(id);
+							if (task != null) {
+								views.add(view(copy(task)));
+							}
+						}
+						yield views;
+					}
+					case "lockColumn" -> 1;
+					case "flush" -> null;
+					case "hashCode" -> System.identityHashCode(proxy);
+					case "equals" -> proxy == args[0];
+					case "toString" -> "TaskRepository em memória";
+					default -> throw new UnsupportedOperationException(method.getName());
+				});
+	}
+
+	private static TaskRankView view(Task task) {
+		return new TaskRankView() {
+			@Override
+			public Long getId() {
+				return task.getId();
+			}
+
+			@Override
+			public Long getProjectId() {
+				return task.getProjectId();
+			}
+
+			@Override
+			public String getStatus() {
+				return task.getStatus();
+			}
+
+			@Override
+			public String getRank() {
+				return task.getRank();
+			}
+		};
+	}
+
+	private static final class NoOpTransactionManager implements PlatformTransactionManager {
+
+		@Override
+		public TransactionStatus getTransaction(TransactionDefinition definition) {
+			return new SimpleTransactionStatus();
+		}
+
+		@Override
+		public void commit(TransactionStatus status) {
+		}
+
+		@Override
+		public void rollback(TransactionStatus status) {
+		}
+	}
+}
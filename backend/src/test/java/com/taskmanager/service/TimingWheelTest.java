@@ -0,0 +1,66 @@
+package com.taskmanager.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class TimingWheelTest {
+
+	@Test
+	void firesEachTimeoutExactlyAtItsDeadline() {
+		TimingWheel<Long> wheel = new TimingWheel<>(1_000);
+		Random random = new Random(42);
+		List<Long> deadlines = new ArrayList<>();
+		for (int i = 0; i < 5_000; i++) {
+			// Mistura prazos próximos e distantes para exercitar as cascatas entre níveis
+			long deadline = 1_001 + (i % 2 == 0 ? random.nextInt(100) : random.nextInt(1_000_000));
+			deadlines.add(deadline);
+			wheel.schedule(deadline, deadline);
+		}
+
+		List<Long> fired = new ArrayList<>();
+		for (long tick = 1_001; tick <= 1_001_000; tick += 997) {
+			final long now = tick;
+			wheel.advance(tick, deadline -> {
+				assertTrue(deadline <= now && deadline > now - 997, "Disparou fora do intervalo: " + deadline + " em " + now);
+				fired.add(deadline);
+			});
+		}
+		wheel.advance(1_001_001, fired::add);
+
+		assertEquals(deadlines.size(), fired.size());
+		assertEquals(0, wheel.size());
+	}
+
+	@Test
+	void cancelledTimeoutNeverFires() {
+		TimingWheel<String> wheel = new TimingWheel<>(0);
+		TimingWheel.Timeout<String> kept = wheel.schedule(5_000, "mantido");
+		TimingWheel.Timeout<String> cancelled = wheel.schedule(5_000, "cancelado");
+
+		assertTrue(wheel.cancel(cancelled));
+		assertFalse(wheel.cancel(cancelled));
+		assertFalse(cancelled.isPending());
+
+		List<String> fired = new ArrayList<>();
+		wheel.advance(10_000, fired::add);
+		assertEquals(List.of("mantido"), fired);
+		assertFalse(kept.isPending());
+	}
+
+	@Test
+	void pastDeadlineFiresOnNextTick() {
+		TimingWheel<String> wheel = new TimingWheel<>(100);
+		wheel.schedule(50, "atrasado");
+
+		List<String> fired = new ArrayList<>();
+		wheel.advance(101, fired::add);
+		assertEquals(List.of("atrasado"), fired);
+	}
+}
@@ -0,0 +1,85 @@
+-- Benchmark de poda de partições para as consultas de getAllTasks e getOverdueTasks.
+-- Uso (banco descartável, não rode em produção):
+--   psql -h localhost -p 5433 -U admin -d task_bench -f partition-pruning.sql
+--
+-- Cria três cópias de "tasks" com 10M de linhas (10 mil usuários, distribuição
+-- uniforme) e roda EXPLAIN ANALYZE das duas consultas em cada uma. Compare
+-- "Execution Time", "Buffers: shared hit/read" e a lista de partições no plano.
+
+\timing on
+SET max_parallel_workers_per_gather = 0;
+
+DROP TABLE IF EXISTS bench_tasks_plain, bench_tasks_user_hash, bench_tasks_archived_list CASCADE;
+
+CREATE TABLE bench_tasks_plain (
+    id BIGINT NOT NULL, title VARCHAR(255) NOT NULL, description VARCHAR(255),
+    status VARCHAR(255) NOT NULL, due_date TIMESTAMP(6), created_at TIMESTAMP(6),
+    archived BOOLEAN NOT NULL, user_id BIGINT NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE bench_tasks_user_hash (LIKE bench_tasks_plain INCLUDING DEFAULTS,
+    PRIMARY KEY (id, user_id)) PARTITION BY HASH (user_id);
+DO $$
+BEGIN
+    FOR i IN 0..15 LOOP
+        EXECUTE format('CREATE TABLE bench_tasks_user_hash_p%s PARTITION OF bench_tasks_user_hash '
+                       'FOR VALUES WITH (MODULUS 16, REMAINDER %s)', i, i);
+    END LOOP;
+END $$;
+
+CREATE TABLE bench_tasks_archived_list (LIKE bench_tasks_plain INCLUDING DEFAULTS,
+    PRIMARY KEY (id, archived)) PARTITION BY LIST (archived);
+CREATE TABLE bench_tasks_archived_list_active PARTITION OF bench_tasks_archived_list FOR VALUES IN (false);
+CREATE TABLE bench_tasks_archived_list_archived PARTITION OF bench_tasks_archived_list FOR VALUES IN (true);
+
+-- 10M de tarefas; ~80% arquivadas, como num histórico real.
+INSERT INTO bench_tasks_plain
+SELECT g,
+       'Tarefa ' || g,
+       NULL,
+       (ARRAY['Pendente', 'Em Andamento', 'Concluída'])[1 + g % 3],
+       now() - interval '365 days' + (g % 730) * interval '1 day',
+       now() - (g % 1000) * interval '1 hour',
+       g % 5 <> 0,
+       1 + g % 10000
+FROM generate_series(1, 10000000) AS g;
+
+INSERT INTO bench_tasks_user_hash SELECT * FROM bench_tasks_plain;
+INSERT INTO bench_tasks_archived_list SELECT * FROM bench_tasks_plain;
+
+CREATE INDEX ON bench_tasks_plain (user_id, archived, created_at);
+CREATE INDEX ON bench_tasks_plain (user_id, archived, due_date);
+CREATE INDEX ON bench_tasks_user_hash (user_id, archived, created_at);
+CREATE INDEX ON bench_tasks_user_hash (user_id, archived, due_date);
+CREATE INDEX ON bench_tasks_archived_list (user_id, archived, created_at);
+CREATE INDEX ON bench_tasks_archived_list (user_id, archived, due_date);
+
+VACUUM ANALYZE bench_tasks_plain;
+VACUUM ANALYZE bench_tasks_user_hash;
+VACUUM ANALYZE bench_tasks_archived_list;
+
+-- getAllTasks: findByUserAndArchived(user, false, Sort.by(DESC, "createdAt"))
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM bench_tasks_plain WHERE user_id = 4242 AND archived = false ORDER BY created_at DESC;
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM bench_tasks_user_hash WHERE user_id = 4242 AND archived = false ORDER BY created_at DESC;
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM bench_tasks_archived_list WHERE user_id = 4242 AND archived = false ORDER BY created_at DESC;
+
+-- getOverdueTasks: findByUserAndDueDateBeforeAndStatusNotAndArchived(user, now, "Concluída", false, sort)
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM bench_tasks_plain
+WHERE user_id = 4242 AND due_date < now() AND status <> 'Concluída' AND archived = false ORDER BY created_at DESC;
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM bench_tasks_user_hash
+WHERE user_id = 4242 AND due_date < now() AND status <> 'Concluída' AND archived = false ORDER BY created_at DESC;
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM bench_tasks_archived_list
+WHERE user_id = 4242 AND due_date < now() AND status <> 'Concluída' AND archived = false ORDER BY created_at DESC;
+
+-- Varredura sem user_id (ex.: agendador de lembretes): aqui só LIST(archived) poda.
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT count(*) FROM bench_tasks_user_hash WHERE archived = false AND due_date < now();
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT count(*) FROM bench_tasks_archived_list WHERE archived = false AND due_date < now();